@@ -16,10 +16,12 @@
 
 package com.exonum.binding.app;
 
+import com.exonum.binding.app.export.ExportApiController;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.core.runtime.FrameworkModule;
 import com.exonum.binding.core.runtime.ServiceRuntimeAdapter;
 import com.exonum.binding.core.service.Service;
+import com.exonum.binding.core.transport.Server;
 import com.exonum.binding.core.util.LibraryLoader;
 import com.exonum.binding.time.TimeSchema;
 import com.google.common.collect.ImmutableMap;
@@ -29,8 +31,10 @@ import com.google.inject.Injector;
 import com.google.inject.Module;
 import com.google.inject.Stage;
 import io.vertx.core.Vertx;
+import io.vertx.ext.web.Router;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZoneOffset;
@@ -93,13 +97,31 @@ public final class ServiceRuntimeBootstrap {
           DEPENDENCY_REFERENCE_CLASSES);
       Injector frameworkInjector = Guice.createInjector(APP_STAGE, frameworkModule);
 
-      return frameworkInjector.getInstance(ServiceRuntimeAdapter.class);
+      ServiceRuntimeAdapter runtime = frameworkInjector.getInstance(ServiceRuntimeAdapter.class);
+
+      // Mount the export API if it is enabled
+      String exportDir = System.getProperty(ExportApiController.EXPORT_DIR_PROPERTY);
+      if (exportDir != null) {
+        Server server = frameworkInjector.getInstance(Server.class);
+        mountExportApi(server, runtime, Paths.get(exportDir));
+      }
+      return runtime;
     } catch (Throwable t) {
       logger.fatal("Failed to create the Java Service Runtime", t);
       throw t;
     }
   }
 
+  private static void mountExportApi(Server server, ServiceRuntimeAdapter runtime,
+      Path exportDir) {
+    Router router = server.createRouter();
+    new ExportApiController(exportDir, runtime::getNode)
+        .mountApi(router);
+    server.mountSubRouter(ExportApiController.EXPORT_API_PATH, router);
+    logger.info("Mounted the blockchain export API at {}, exporting to {}",
+        ExportApiController.EXPORT_API_PATH, exportDir);
+  }
+
   private static void logRuntimeInfo() {
     logExonumInfo();
     logVmInfo();
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.app.export;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.core.blockchain.Block;
+import com.exonum.binding.core.blockchain.TransactionInfo;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+
+/**
+ * A block with the information on its transactions, in the order of their positions
+ * in the block.
+ */
+final class BlockRecord {
+
+  private final Block block;
+  private final List<TransactionInfo> transactions;
+
+  BlockRecord(Block block, List<TransactionInfo> transactions) {
+    this.block = checkNotNull(block);
+    this.transactions = ImmutableList.copyOf(transactions);
+  }
+
+  Block getBlock() {
+    return block;
+  }
+
+  List<TransactionInfo> getTransactions() {
+    return transactions;
+  }
+}
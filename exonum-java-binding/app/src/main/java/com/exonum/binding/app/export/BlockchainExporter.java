@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.app.export;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.stream.Collectors.toList;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.core.blockchain.Block;
+import com.exonum.binding.core.blockchain.Blockchain;
+import com.exonum.binding.core.blockchain.TransactionInfo;
+import com.exonum.binding.core.storage.database.View;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Exports the blocks in a range of heights, with the messages, locations and execution
+ * statuses of their transactions, to a stream in a certain {@linkplain ExportFormat format}.
+ *
+ * <p>The blockchain data is read from the given database view in batches of blocks,
+ * with a few native calls per batch. The batches are serialized in parallel on a pool
+ * of threads and written to the stream in the order of heights. The number of batches
+ * read but not yet written is bounded, hence the memory required does not depend
+ * on the size of the exported range.
+ *
+ * <p>The view may be obtained from the node with
+ * {@link com.exonum.binding.core.service.Node#withSnapshot(java.util.function.Function)};
+ * or from the {@link com.exonum.binding.core.storage.database.Database} in tests and tools.
+ * A node exports the blockchain to files through the {@link ExportApiController}.
+ */
+public final class BlockchainExporter {
+
+  /**
+   * The number of blocks read from the database and serialized as a unit.
+   */
+  @VisibleForTesting
+  static final int BATCH_SIZE = 64;
+
+  private static final Logger logger = LogManager.getLogger(BlockchainExporter.class);
+
+  private final ExportFormat format;
+  private final int parallelism;
+
+  /**
+   * Creates an exporter.
+   *
+   * @param format the format of the exported data
+   * @param parallelism the number of threads serializing the data; must be positive
+   */
+  public BlockchainExporter(ExportFormat format, int parallelism) {
+    checkArgument(parallelism > 0, "parallelism (%s) must be positive", parallelism);
+    this.format = checkNotNull(format);
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Exports the blocks at heights in range {@code [fromHeight, toHeight]} with their
+   * transactions. The stream is flushed, but not closed.
+   *
+   * <p>The view is accessed in the calling thread only.
+   *
+   * @param view the database view to read the blockchain data from
+   * @param fromHeight the height of the first block to export, inclusive
+   * @param toHeight the height of the last block to export, inclusive; must not exceed
+   *     the blockchain height
+   * @param out the stream to write the data to
+   * @throws IllegalArgumentException if the range of heights is not valid
+   * @throws IOException if the stream fails to write the data
+   */
+  public void export(View view, long fromHeight, long toHeight, OutputStream out)
+      throws IOException {
+    Blockchain blockchain = Blockchain.newInstance(view);
+    long blockchainHeight = blockchain.getHeight();
+    checkArgument(0 <= fromHeight && fromHeight <= toHeight && toHeight <= blockchainHeight,
+        "Invalid range of heights [%s, %s], must be within [0, %s]", fromHeight, toHeight,
+        blockchainHeight);
+
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+        new ThreadFactoryBuilder()
+            .setNameFormat("blockchain-export-%d")
+            .setDaemon(true)
+            .build());
+    // Bound the number of batches being serialized and waiting to be written
+    int maxPendingBatches = 2 * parallelism;
+    Deque<Future<byte[]>> pendingBatches = new ArrayDeque<>(maxPendingBatches);
+    long numTransactions = 0;
+    try {
+      long batchFrom = fromHeight;
+      while (batchFrom <= toHeight) {
+        long batchTo = Math.min(batchFrom + BATCH_SIZE - 1, toHeight);
+        List<BlockRecord> records = readBatch(blockchain, batchFrom, batchTo);
+        numTransactions += records.stream()
+            .mapToInt(r -> r.getTransactions().size())
+            .sum();
+
+        if (pendingBatches.size() == maxPendingBatches) {
+          writeNext(pendingBatches, out);
+        }
+        pendingBatches.add(executor.submit(() -> encode(records)));
+        batchFrom = batchTo + 1;
+      }
+      while (!pendingBatches.isEmpty()) {
+        writeNext(pendingBatches, out);
+      }
+      out.flush();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    logger.info("Exported {} blocks with {} transactions at heights [{}, {}] as {}",
+        toHeight - fromHeight + 1, numTransactions, fromHeight, toHeight, format);
+  }
+
+  /**
+   * Exports the blocks at heights in range {@code [fromHeight, toHeight]} with their
+   * transactions to a new file. If the export fails, the file is deleted.
+   *
+   * @param view the database view to read the blockchain data from
+   * @param fromHeight the height of the first block to export, inclusive
+   * @param toHeight the height of the last block to export, inclusive; must not exceed
+   *     the blockchain height
+   * @param file the file to write the data to; must not exist
+   * @throws IllegalArgumentException if the range of heights is not valid
+   * @throws java.nio.file.FileAlreadyExistsException if the file already exists
+   * @throws IOException if the file cannot be created or written
+   * @see #export(View, long, long, OutputStream)
+   */
+  public void export(View view, long fromHeight, long toHeight, Path file) throws IOException {
+    OutputStream fileStream = Files.newOutputStream(file, CREATE_NEW, WRITE);
+    try (OutputStream out = new BufferedOutputStream(fileStream)) {
+      export(view, fromHeight, toHeight, out);
+    } catch (IOException | RuntimeException e) {
+      deleteIncomplete(file, e);
+      throw e;
+    }
+  }
+
+  private static void deleteIncomplete(Path file, Exception exportFailure) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      exportFailure.addSuppressed(e);
+    }
+  }
+
+  private static List<BlockRecord> readBatch(Blockchain blockchain, long fromHeight,
+      long toHeight) {
+    List<Block> blocks = blockchain.getBlocks(fromHeight, toHeight)
+        .collect(toList());
+    List<List<HashCode>> blockTransactions = blockchain.getBlockTransactions(fromHeight, toHeight)
+        .collect(toList());
+    List<HashCode> txHashes = blockTransactions.stream()
+        .flatMap(List::stream)
+        .collect(toList());
+    Map<HashCode, TransactionInfo> transactions = blockchain.getTransactions(txHashes);
+
+    List<BlockRecord> records = new ArrayList<>(blocks.size());
+    for (int i = 0; i < blocks.size(); i++) {
+      List<TransactionInfo> txInfos = blockTransactions.get(i).stream()
+          .map(transactions::get)
+          .collect(toList());
+      records.add(new BlockRecord(blocks.get(i), txInfos));
+    }
+    return records;
+  }
+
+  private byte[] encode(List<BlockRecord> records) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    format.encode(records, out);
+    return out.toByteArray();
+  }
+
+  private static void writeNext(Deque<Future<byte[]>> pendingBatches, OutputStream out)
+      throws IOException {
+    Future<byte[]> batch = pendingBatches.remove();
+    try {
+      out.write(batch.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a batch to be serialized");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      Throwables.throwIfInstanceOf(cause, IOException.class);
+      Throwables.throwIfUnchecked(cause);
+      throw new IllegalStateException(cause);
+    }
+  }
+}
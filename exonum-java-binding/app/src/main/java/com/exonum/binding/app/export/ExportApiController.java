@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.app.export;
+
+import static com.exonum.binding.common.serialization.json.JsonSerializer.json;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
+
+import com.exonum.binding.core.blockchain.Blockchain;
+import com.exonum.binding.core.service.Node;
+import com.exonum.binding.core.transport.BlockingHandler;
+import com.google.gson.JsonObject;
+import io.vertx.core.MultiMap;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Serves the requests to export the blockchain to files. The controller is mounted
+ * at {@value #EXPORT_API_PATH} if the {@value #EXPORT_DIR_PROPERTY} system property
+ * specifies the directory for the exported files:
+ *
+ * <pre>{@code
+ * POST /api/runtime/export?file=blocks.ndjson&from=0&to=1000&format=ndjson
+ * }</pre>
+ *
+ * <p>The request parameters:
+ * <ul>
+ *   <li>{@code file} — the name of a new file in the export directory. It must not exist
+ *   <li>{@code from} — the height of the first block to export. Zero by default
+ *   <li>{@code to} — the height of the last block to export. The blockchain height by default
+ *   <li>{@code format} — the {@linkplain ExportFormat format} of the data, case-insensitive.
+ *   {@code ndjson} by default
+ * </ul>
+ *
+ * <p>The blocks are exported from a single snapshot of the node database. The response is
+ * a JSON object with the {@code file} path and the range of heights: {@code fromHeight}
+ * and {@code toHeight}. As the endpoint writes to the local file system of the node,
+ * enable it only on the nodes which API port is not exposed publicly.
+ */
+public final class ExportApiController {
+
+  /**
+   * The name of the system property specifying the directory for the exported files.
+   * If it is not set, the export API is not mounted.
+   */
+  public static final String EXPORT_DIR_PROPERTY = "exonum.export.dir";
+
+  /** The path at which the export API is mounted. */
+  public static final String EXPORT_API_PATH = "/api/runtime/export";
+
+  static final String FILE_PARAM = "file";
+  static final String FROM_HEIGHT_PARAM = "from";
+  static final String TO_HEIGHT_PARAM = "to";
+  static final String FORMAT_PARAM = "format";
+
+  private static final Logger logger = LogManager.getLogger(ExportApiController.class);
+
+  private final Path exportDir;
+  private final Supplier<Optional<Node>> nodeSupplier;
+  private final int parallelism;
+
+  /**
+   * Creates a controller.
+   *
+   * @param exportDir the directory to create the exported files in
+   * @param nodeSupplier the supplier of the node to take the snapshots from; returns
+   *     an empty optional until the node is initialized
+   */
+  public ExportApiController(Path exportDir, Supplier<Optional<Node>> nodeSupplier) {
+    this.exportDir = exportDir.toAbsolutePath().normalize();
+    this.nodeSupplier = checkNotNull(nodeSupplier);
+    this.parallelism = Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Mounts the export API to the given router.
+   */
+  public void mountApi(Router router) {
+    router.post("/").handler(BlockingHandler.of(this::export));
+    router.route().failureHandler(this::failureHandler);
+  }
+
+  private void export(RoutingContext rc) {
+    MultiMap params = rc.request().params();
+    Path file = resolveFile(getRequiredParameter(params, FILE_PARAM));
+    long fromHeight = getParameter(params, FROM_HEIGHT_PARAM, Long::parseLong).orElse(0L);
+    Optional<Long> toHeight = getParameter(params, TO_HEIGHT_PARAM, Long::parseLong);
+    ExportFormat format = getParameter(params, FORMAT_PARAM,
+        f -> ExportFormat.valueOf(f.toUpperCase(Locale.ROOT)))
+        .orElse(ExportFormat.NDJSON);
+    Node node = nodeSupplier.get()
+        .orElseThrow(() -> new NodeNotInitializedException("The node is not initialized"));
+
+    BlockchainExporter exporter = new BlockchainExporter(format, parallelism);
+    long exportedToHeight = node.withSnapshot(snapshot -> {
+      long to = toHeight.orElseGet(() -> Blockchain.newInstance(snapshot).getHeight());
+      try {
+        exporter.export(snapshot, fromHeight, to, file);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return to;
+    });
+
+    JsonObject response = new JsonObject();
+    response.addProperty("file", file.toString());
+    response.addProperty("fromHeight", fromHeight);
+    response.addProperty("toHeight", exportedToHeight);
+    rc.response()
+        .putHeader(CONTENT_TYPE, "application/json")
+        .end(json().toJson(response));
+  }
+
+  /**
+   * Resolves the given file name against the export directory. The name must not include
+   * any directories, so that the files are created in the export directory only.
+   */
+  private Path resolveFile(String fileName) {
+    Path file = exportDir.resolve(fileName).normalize();
+    checkArgument(!fileName.isEmpty() && exportDir.equals(file.getParent())
+        && file.getFileName().toString().equals(fileName),
+        "Invalid file name (%s): must be a name of a file in the export directory", fileName);
+    return file;
+  }
+
+  private static String getRequiredParameter(MultiMap parameters, String key) {
+    String parameter = parameters.get(key);
+    checkArgument(parameter != null, "No required key (%s) in request parameters: %s",
+        key, parameters);
+    return parameter;
+  }
+
+  private static <T> Optional<T> getParameter(MultiMap parameters, String key,
+      Function<String, T> converter) {
+    String parameter = parameters.get(key);
+    if (parameter == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(converter.apply(parameter));
+    } catch (Exception e) {
+      String message = String.format("Failed to convert parameter (%s): %s", key, e.getMessage());
+      throw new IllegalArgumentException(message);
+    }
+  }
+
+  private void failureHandler(RoutingContext rc) {
+    Throwable failure = rc.failure();
+    if (failure == null) {
+      rc.response()
+          .setStatusCode(rc.statusCode())
+          .end();
+      return;
+    }
+    Throwable cause = failure instanceof UncheckedIOException ? failure.getCause() : failure;
+    if (cause instanceof IllegalArgumentException) {
+      respondWithError(rc, HTTP_BAD_REQUEST, cause);
+    } else if (cause instanceof FileAlreadyExistsException) {
+      respondWithError(rc, HTTP_CONFLICT, cause);
+    } else if (cause instanceof NodeNotInitializedException) {
+      respondWithError(rc, HTTP_UNAVAILABLE, cause);
+    } else {
+      logger.error("Failed to export the blockchain", cause);
+      rc.response()
+          .setStatusCode(HTTP_INTERNAL_ERROR)
+          .end();
+    }
+  }
+
+  private static void respondWithError(RoutingContext rc, int statusCode, Throwable cause) {
+    rc.response()
+        .setStatusCode(statusCode)
+        .end(String.valueOf(cause.getMessage()));
+  }
+
+  private static final class NodeNotInitializedException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    NodeNotInitializedException(String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.app.export;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.exonum.binding.common.blockchain.TransactionLocation;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.common.serialization.json.JsonSerializer;
+import com.exonum.binding.core.blockchain.Block;
+import com.exonum.binding.core.blockchain.TransactionInfo;
+import com.exonum.binding.core.blockchain.serialization.BlockSerializer;
+import com.exonum.binding.core.blockchain.serialization.CoreTypeAdapterFactory;
+import com.exonum.binding.core.blockchain.serialization.TransactionLocationSerializer;
+import com.exonum.core.messages.Runtime.ExecutionError;
+import com.exonum.core.messages.Runtime.ExecutionStatus;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.google.protobuf.CodedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * A format of the exported blockchain data.
+ *
+ * @see BlockchainExporter
+ */
+public enum ExportFormat {
+
+  /**
+   * Newline-delimited JSON: a JSON object per block, each on its own line. The object has
+   * the {@code block} header and the list of {@code transactions}, each having
+   * the message {@code hash}, the {@code message} itself, its {@code location}
+   * and the execution {@code status}. For example (formatted for readability):
+   *
+   * <pre>{@code
+   * {"block": {...},
+   *  "transactions": [{"hash": "a4cf...", "message": "3a92...",
+   *                    "location": {"block_height": "1", "position_in_block": "0"},
+   *                    "status": {"type": "error", "kind": "SERVICE", "code": 1,
+   *                               "description": "..."}}]}
+   * }</pre>
+   */
+  NDJSON {
+    @Override
+    void encode(List<BlockRecord> records, OutputStream out) throws IOException {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+      for (BlockRecord record : records) {
+        JsonWriter json = JSON.newJsonWriter(writer);
+        writeJson(record, json);
+        json.flush();
+        writer.write('\n');
+      }
+      writer.flush();
+    }
+  },
+
+  /**
+   * Length-delimited Protocol Buffers messages, each preceded by its size as a varint
+   * (as written by {@code MessageLite#writeDelimitedTo}). Each block is written
+   * as an {@code exonum.Block} message, followed by a triple of messages per each of its
+   * {@code tx_count} transactions: the {@code exonum.SignedMessage}, its
+   * {@code exonum.TxLocation} and {@code exonum.runtime.ExecutionStatus}.
+   */
+  PROTOBUF_DELIMITED {
+    @Override
+    void encode(List<BlockRecord> records, OutputStream out) throws IOException {
+      CodedOutputStream output = CodedOutputStream.newInstance(out);
+      for (BlockRecord record : records) {
+        output.writeByteArrayNoTag(BLOCK_SERIALIZER.toBytes(record.getBlock()));
+        for (TransactionInfo transaction : record.getTransactions()) {
+          checkState(transaction.isCommitted(), "Uncommitted transaction in block: %s",
+              transaction);
+          output.writeByteArrayNoTag(transaction.getMessage().toBytes());
+          output.writeByteArrayNoTag(
+              LOCATION_SERIALIZER.toBytes(transaction.getLocation().get()));
+          output.writeByteArrayNoTag(transaction.getExecutionStatus().get().toByteArray());
+        }
+      }
+      output.flush();
+    }
+  };
+
+  private static final Gson JSON = JsonSerializer.builder()
+      .registerTypeAdapterFactory(CoreTypeAdapterFactory.create())
+      .create();
+  private static final Serializer<Block> BLOCK_SERIALIZER = BlockSerializer.INSTANCE;
+  private static final Serializer<TransactionLocation> LOCATION_SERIALIZER =
+      TransactionLocationSerializer.INSTANCE;
+
+  /**
+   * Writes the given records in this format to the stream. The stream is flushed,
+   * but not closed.
+   */
+  abstract void encode(List<BlockRecord> records, OutputStream out) throws IOException;
+
+  private static void writeJson(BlockRecord record, JsonWriter json) throws IOException {
+    json.beginObject();
+    json.name("block");
+    JSON.toJson(record.getBlock(), Block.class, json);
+    json.name("transactions");
+    json.beginArray();
+    for (TransactionInfo transaction : record.getTransactions()) {
+      TransactionMessage message = transaction.getMessage();
+      json.beginObject();
+      json.name("hash");
+      JSON.toJson(message.hash(), HashCode.class, json);
+      json.name("message");
+      JSON.toJson(message, TransactionMessage.class, json);
+      json.name("location");
+      if (transaction.getLocation().isPresent()) {
+        JSON.toJson(transaction.getLocation().get(), TransactionLocation.class, json);
+      } else {
+        json.nullValue();
+      }
+      json.name("status");
+      if (transaction.getExecutionStatus().isPresent()) {
+        writeJson(transaction.getExecutionStatus().get(), json);
+      } else {
+        json.nullValue();
+      }
+      json.endObject();
+    }
+    json.endArray();
+    json.endObject();
+  }
+
+  private static void writeJson(ExecutionStatus status, JsonWriter json) throws IOException {
+    json.beginObject();
+    if (status.hasError()) {
+      ExecutionError error = status.getError();
+      json.name("type").value("error");
+      json.name("kind").value(error.getKind().name());
+      json.name("code").value(error.getCode());
+      json.name("description").value(error.getDescription());
+    } else {
+      json.name("type").value("success");
+    }
+    json.endObject();
+  }
+}
@@ -37,6 +37,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.primitives.Ints;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import javax.annotation.Nullable;
 
 /**
@@ -103,6 +105,31 @@ public abstract class HashCode {
     return maxLength;
   }
 
+  /**
+   * Copies bytes from this hash code into the buffer, starting at its current position.
+   * On return, the position of the buffer is advanced by the number of bytes written.
+   *
+   * @param dest the buffer into which the hash code will be written
+   * @return the number of bytes written to {@code dest}
+   * @throws BufferOverflowException if there is not enough room in {@code dest}
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+   */
+  @CanIgnoreReturnValue
+  public int writeBytesTo(ByteBuffer dest) {
+    int length = bits() / 8;
+    if (dest.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+    if (dest.hasArray()) {
+      int position = dest.position();
+      writeBytesToImpl(dest.array(), dest.arrayOffset() + position, length);
+      dest.position(position + length);
+    } else {
+      dest.put(getBytesInternal());
+    }
+    return length;
+  }
+
   abstract void writeBytesToImpl(byte[] dest, int offset, int maxLength);
 
   /**
@@ -25,7 +25,12 @@ import com.exonum.core.messages.Consensus.ExonumMessage;
 import com.exonum.core.messages.Runtime.AnyTx;
 import com.google.common.base.MoreObjects;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Objects;
 
 /**
@@ -98,6 +103,31 @@ final class ParsedTransactionMessage implements TransactionMessage {
     return signedMessage.toByteArray();
   }
 
+  @Override
+  public int serializedSize() {
+    // The size is memoized in the message
+    return signedMessage.getSerializedSize();
+  }
+
+  @Override
+  public void writeTo(ByteBuffer buffer) {
+    if (buffer.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+    if (buffer.remaining() < serializedSize()) {
+      throw new BufferOverflowException();
+    }
+    // The encoder writes directly into the buffer and advances its position on flush
+    CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+    try {
+      signedMessage.writeTo(output);
+      output.flush();
+    } catch (IOException e) {
+      // Cannot happen: the buffer has enough space
+      throw new IllegalStateException(e);
+    }
+  }
+
   @Override
   public String toString() {
     // Include only the fields that identify this message and allow to re-create it.
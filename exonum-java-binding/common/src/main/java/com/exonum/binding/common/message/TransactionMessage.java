@@ -88,6 +88,27 @@ public interface TransactionMessage {
    */
   byte[] toBytes();
 
+  /**
+   * Returns the size of the {@linkplain #toBytes() binary representation} of this message
+   * in bytes.
+   */
+  default int serializedSize() {
+    return toBytes().length;
+  }
+
+  /**
+   * Writes the {@linkplain #toBytes() binary representation} of this message into the buffer,
+   * starting at its current position. On return, the position of the buffer is advanced
+   * by the {@linkplain #serializedSize() size} of the message.
+   *
+   * @param buffer a buffer to write the message to
+   * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+   */
+  default void writeTo(ByteBuffer buffer) {
+    buffer.put(toBytes());
+  }
+
   /**
    * Creates a new builder for the transaction message.
    */
@@ -18,25 +18,50 @@
 package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.checkRemaining;
 import static com.google.common.base.Preconditions.checkArgument;
 
-enum BoolSerializer implements Serializer<Boolean> {
+import java.nio.ByteBuffer;
+
+enum BoolSerializer implements BufferSerializer<Boolean> {
   INSTANCE;
 
   private static final int BOOLEAN_BYTES = 1;
   private static final byte BOOLEAN_TRUE = 1;
   private static final byte BOOLEAN_FALSE = 0;
 
+  @Override
+  public int serializedSize(Boolean value) {
+    return BOOLEAN_BYTES;
+  }
+
+  @Override
+  public void writeTo(Boolean value, ByteBuffer buffer) {
+    buffer.put(toByte(value));
+  }
+
+  @Override
+  public Boolean readFrom(ByteBuffer serializedValue) {
+    checkRemaining(serializedValue, BOOLEAN_BYTES);
+    return fromByte(serializedValue.get());
+  }
+
   @Override
   public byte[] toBytes(Boolean value) {
-    byte b = value ? BOOLEAN_TRUE : BOOLEAN_FALSE;
-    return new byte[]{b};
+    return new byte[]{toByte(value)};
   }
 
   @Override
   public Boolean fromBytes(byte[] serializedValue) {
     checkLength(serializedValue, BOOLEAN_BYTES);
-    byte value = serializedValue[0];
+    return fromByte(serializedValue[0]);
+  }
+
+  private static byte toByte(Boolean value) {
+    return value ? BOOLEAN_TRUE : BOOLEAN_FALSE;
+  }
+
+  private static Boolean fromByte(byte value) {
     checkArgument(isValidBoolean(value), "%s is not a boolean value", value);
 
     return value == BOOLEAN_TRUE;
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A serializer that can write values into and read them from a {@link ByteBuffer}.
+ * Compared to {@link Serializer}, it allows the clients to serialize values into
+ * a reusable buffer instead of allocating a new array of the exact size for each value;
+ * and to de-serialize values from a slice of a larger buffer.
+ *
+ * <p>Implementations <strong>must</strong> ensure that for any object o,
+ * {@link #writeTo(Object, ByteBuffer)} writes exactly {@link #serializedSize(Object)} bytes;
+ * and that these bytes are equal to {@link #toBytes(Object)}.
+ *
+ * <p>All {@linkplain StandardSerializers standard serializers} implement this interface.
+ *
+ * @param <T> a type of serializable object
+ *
+ * @see StandardSerializers
+ */
+public interface BufferSerializer<T> extends Serializer<T> {
+
+  /**
+   * Returns the size of the serialized representation of the given value in bytes.
+   *
+   * @param value a value to serialize, must not be null
+   * @throws NullPointerException if value is null
+   */
+  int serializedSize(T value);
+
+  /**
+   * Serializes a given value into the buffer, starting at its current position.
+   * On return, the position of the buffer is advanced by {@linkplain #serializedSize(Object)
+   * the size} of the serialized value. The byte order of the buffer is not used
+   * and is not modified.
+   *
+   * @param value a value to serialize, must not be null
+   * @param buffer a buffer to write the serialized value to
+   * @throws NullPointerException if value is null
+   * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+   */
+  void writeTo(T value, ByteBuffer buffer);
+
+  /**
+   * De-serializes a value from the <em>remaining</em> bytes of the given buffer.
+   * On return, the position of the buffer is equal to its limit. The byte order of the buffer
+   * is not used and is not modified.
+   *
+   * <p>The buffer may be a slice of a larger buffer: only the bytes between
+   * its position and its limit are interpreted as a serialized value.
+   *
+   * @param serializedValue a buffer containing a serialized value of type T in its remaining
+   *     bytes, must not be null
+   * @return a value
+   * @throws NullPointerException if the buffer is null
+   * @throws IllegalArgumentException if the remaining bytes cannot be decoded into a value
+   *     of type T (e.g., contains 2 bytes when 4 are expected)
+   */
+  T readFrom(ByteBuffer serializedValue);
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The default implementation allocates an array of the {@linkplain #serializedSize(Object)
+   * exact size} and {@linkplain #writeTo(Object, ByteBuffer) writes} the value into it.
+   */
+  @Override
+  default byte[] toBytes(T value) {
+    byte[] result = new byte[serializedSize(value)];
+    writeTo(value, ByteBuffer.wrap(result));
+    return result;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The default implementation {@linkplain #readFrom(ByteBuffer) reads} the value
+   * from a buffer wrapping the given array.
+   */
+  @Override
+  default T fromBytes(byte[] serializedValue) {
+    return readFrom(ByteBuffer.wrap(serializedValue));
+  }
+}
@@ -19,6 +19,8 @@ package com.exonum.binding.common.serialization;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.nio.ByteBuffer;
+
 /**
  * A serializer decorator, that performs some extra checks to ensure that a user-supplied
  * serializer adheres to {@link Serializer} contract. These are required in Java code
@@ -30,9 +32,10 @@ import static com.google.common.base.Preconditions.checkState;
  *
  * @param <T> a type of serializable object
  */
-public final class CheckingSerializerDecorator<T> implements Serializer<T> {
+public final class CheckingSerializerDecorator<T> implements BufferSerializer<T> {
 
   private final Serializer<T> delegate;
+  private final BufferSerializer<T> bufferDelegate;
 
   /**
    * Creates a checking serializer decorator. Will not decorate itself.
@@ -46,8 +49,54 @@ public final class CheckingSerializerDecorator<T> implements Serializer<T> {
     return new CheckingSerializerDecorator<>(serializer);
   }
 
+  @SuppressWarnings("unchecked")
   private CheckingSerializerDecorator(Serializer<T> delegate) {
     this.delegate = checkNotNull(delegate);
+    this.bufferDelegate = (delegate instanceof BufferSerializer)
+        ? (BufferSerializer<T>) delegate
+        : null;
+  }
+
+  @Override
+  public int serializedSize(T value) {
+    checkNotNull(value, "value is null");
+    if (bufferDelegate == null) {
+      return toBytes(value).length;
+    }
+    int size = bufferDelegate.serializedSize(value);
+    checkState(size >= 0,
+        "Broken serializer (%s): produces negative serialized size (%s)", delegate, size);
+    return size;
+  }
+
+  @Override
+  public void writeTo(T value, ByteBuffer buffer) {
+    checkNotNull(value, "value is null");
+    checkNotNull(buffer, "buffer is null");
+    if (bufferDelegate == null) {
+      buffer.put(toBytes(value));
+      return;
+    }
+    int expectedSize = bufferDelegate.serializedSize(value);
+    int start = buffer.position();
+    bufferDelegate.writeTo(value, buffer);
+    int size = buffer.position() - start;
+    checkState(size == expectedSize,
+        "Broken serializer (%s): wrote %s bytes, but its serialized size is %s",
+        delegate, size, expectedSize);
+  }
+
+  @Override
+  public T readFrom(ByteBuffer serializedValue) {
+    checkNotNull(serializedValue, "serializedValue is null");
+    if (bufferDelegate == null) {
+      return fromBytes(SerializationUtils.remainingBytes(serializedValue));
+    }
+    T value = bufferDelegate.readFrom(serializedValue);
+    checkState(value != null, "Broken serializer (%s): produces a null value for a non-null "
+        + "buffer. You must throw an exception if a serialized value cannot be converted "
+        + "to an instance of the given type.", delegate);
+    return value;
   }
 
   @Override
@@ -17,29 +17,30 @@
 
 package com.exonum.binding.common.serialization;
 
-import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.checkRemaining;
+import static com.exonum.binding.common.serialization.SerializationUtils.getLongLittleEndian;
+import static com.exonum.binding.common.serialization.SerializationUtils.putLongLittleEndian;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 
-enum DoubleSerializer implements Serializer<Double> {
+enum DoubleSerializer implements BufferSerializer<Double> {
   INSTANCE;
 
   @Override
-  public byte[] toBytes(Double value) {
-    return ByteBuffer.allocate(Double.BYTES)
-        .order(ByteOrder.LITTLE_ENDIAN)
-        .putDouble(value)
-        .array();
+  public int serializedSize(Double value) {
+    return Double.BYTES;
   }
 
   @Override
-  public Double fromBytes(byte[] serializedValue) {
-    checkLength(serializedValue, Double.BYTES);
+  public void writeTo(Double value, ByteBuffer buffer) {
+    putLongLittleEndian(buffer, Double.doubleToRawLongBits(value));
+  }
+
+  @Override
+  public Double readFrom(ByteBuffer serializedValue) {
+    checkRemaining(serializedValue, Double.BYTES);
 
-    return ByteBuffer.wrap(serializedValue)
-        .order(ByteOrder.LITTLE_ENDIAN)
-        .getDouble();
+    return Double.longBitsToDouble(getLongLittleEndian(serializedValue));
   }
 
 }
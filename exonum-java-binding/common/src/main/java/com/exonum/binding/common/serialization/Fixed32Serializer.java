@@ -17,29 +17,30 @@
 
 package com.exonum.binding.common.serialization;
 
-import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.checkRemaining;
+import static com.exonum.binding.common.serialization.SerializationUtils.getIntLittleEndian;
+import static com.exonum.binding.common.serialization.SerializationUtils.putIntLittleEndian;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 
-enum Fixed32Serializer implements Serializer<Integer> {
+enum Fixed32Serializer implements BufferSerializer<Integer> {
   INSTANCE;
 
   @Override
-  public byte[] toBytes(Integer value) {
-    return ByteBuffer.allocate(Integer.BYTES)
-        .order(ByteOrder.LITTLE_ENDIAN)
-        .putInt(value)
-        .array();
+  public int serializedSize(Integer value) {
+    return Integer.BYTES;
   }
 
   @Override
-  public Integer fromBytes(byte[] serializedValue) {
-    checkLength(serializedValue, Integer.BYTES);
+  public void writeTo(Integer value, ByteBuffer buffer) {
+    putIntLittleEndian(buffer, value);
+  }
+
+  @Override
+  public Integer readFrom(ByteBuffer serializedValue) {
+    checkRemaining(serializedValue, Integer.BYTES);
 
-    return ByteBuffer.wrap(serializedValue)
-        .order(ByteOrder.LITTLE_ENDIAN)
-        .getInt();
+    return getIntLittleEndian(serializedValue);
   }
 
 }
@@ -17,29 +17,30 @@
 
 package com.exonum.binding.common.serialization;
 
-import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.checkRemaining;
+import static com.exonum.binding.common.serialization.SerializationUtils.getLongLittleEndian;
+import static com.exonum.binding.common.serialization.SerializationUtils.putLongLittleEndian;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 
-enum Fixed64Serializer implements Serializer<Long> {
+enum Fixed64Serializer implements BufferSerializer<Long> {
   INSTANCE;
 
   @Override
-  public byte[] toBytes(Long value) {
-    ByteBuffer buf = ByteBuffer.allocate(Long.BYTES)
-        .order(ByteOrder.LITTLE_ENDIAN);
-    buf.putLong(value);
-    return buf.array();
+  public int serializedSize(Long value) {
+    return Long.BYTES;
   }
 
   @Override
-  public Long fromBytes(byte[] serializedValue) {
-    checkLength(serializedValue, Long.BYTES);
+  public void writeTo(Long value, ByteBuffer buffer) {
+    putLongLittleEndian(buffer, value);
+  }
+
+  @Override
+  public Long readFrom(ByteBuffer serializedValue) {
+    checkRemaining(serializedValue, Long.BYTES);
 
-    return ByteBuffer.wrap(serializedValue)
-        .order(ByteOrder.LITTLE_ENDIAN)
-        .getLong();
+    return getLongLittleEndian(serializedValue);
   }
 
 }
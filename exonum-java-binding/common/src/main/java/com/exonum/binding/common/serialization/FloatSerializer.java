@@ -17,29 +17,30 @@
 
 package com.exonum.binding.common.serialization;
 
-import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.checkRemaining;
+import static com.exonum.binding.common.serialization.SerializationUtils.getIntLittleEndian;
+import static com.exonum.binding.common.serialization.SerializationUtils.putIntLittleEndian;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 
-enum FloatSerializer implements Serializer<Float> {
+enum FloatSerializer implements BufferSerializer<Float> {
   INSTANCE;
 
   @Override
-  public byte[] toBytes(Float value) {
-    return ByteBuffer.allocate(Float.BYTES)
-        .order(ByteOrder.LITTLE_ENDIAN)
-        .putFloat(value)
-        .array();
+  public int serializedSize(Float value) {
+    return Float.BYTES;
   }
 
   @Override
-  public Float fromBytes(byte[] serializedValue) {
-    checkLength(serializedValue, Float.BYTES);
+  public void writeTo(Float value, ByteBuffer buffer) {
+    putIntLittleEndian(buffer, Float.floatToRawIntBits(value));
+  }
+
+  @Override
+  public Float readFrom(ByteBuffer serializedValue) {
+    checkRemaining(serializedValue, Float.BYTES);
 
-    return ByteBuffer.wrap(serializedValue)
-        .order(ByteOrder.LITTLE_ENDIAN)
-        .getFloat();
+    return Float.intBitsToFloat(getIntLittleEndian(serializedValue));
   }
 
 }
@@ -17,11 +17,29 @@
 
 package com.exonum.binding.common.serialization;
 
+import static com.exonum.binding.common.serialization.SerializationUtils.remainingBytes;
+
 import com.exonum.binding.common.hash.HashCode;
+import java.nio.ByteBuffer;
 
-enum HashCodeSerializer implements Serializer<HashCode> {
+enum HashCodeSerializer implements BufferSerializer<HashCode> {
   INSTANCE;
 
+  @Override
+  public int serializedSize(HashCode value) {
+    return value.bits() / Byte.SIZE;
+  }
+
+  @Override
+  public void writeTo(HashCode value, ByteBuffer buffer) {
+    value.writeBytesTo(buffer);
+  }
+
+  @Override
+  public HashCode readFrom(ByteBuffer serializedValue) {
+    return fromBytes(remainingBytes(serializedValue));
+  }
+
   @Override
   public byte[] toBytes(HashCode value) {
     return value.asBytes();
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * A value that is de-serialized on first access. It keeps the serialized representation
+ * of the value, therefore, the clients that only need it in a binary form (e.g., to pass it
+ * to a client as is) may {@linkplain #asBytes() get it} without de-serializing the value.
+ *
+ * <p>Lazy values are usually obtained from a collection that uses
+ * a {@linkplain StandardSerializers#lazy(Serializer) lazy serializer}; and can also be created
+ * from a value, e.g., to be put in such a collection.
+ *
+ * <p>This class is not thread-safe and its instances shall not be shared between threads.
+ *
+ * @param <V> the type of the value
+ * @see StandardSerializers#lazy(Serializer)
+ */
+public final class LazyValue<V> {
+
+  private final Serializer<V> serializer;
+  @Nullable private byte[] serializedValue;
+  @Nullable private V value;
+
+  private LazyValue(Serializer<V> serializer, @Nullable byte[] serializedValue,
+      @Nullable V value) {
+    this.serializer = checkNotNull(serializer);
+    this.serializedValue = serializedValue;
+    this.value = value;
+  }
+
+  /**
+   * Creates a lazy value from its serialized representation. The value is not de-serialized
+   * until it is {@linkplain #get() requested}.
+   *
+   * @param serializedValue a serialized value; is not copied, hence must not be modified
+   *     by the caller
+   * @param serializer a serializer of values
+   */
+  public static <V> LazyValue<V> fromBytes(byte[] serializedValue, Serializer<V> serializer) {
+    return new LazyValue<>(serializer, checkNotNull(serializedValue), null);
+  }
+
+  /**
+   * Creates a lazy value from an already de-serialized value. The value is serialized
+   * on the first request of {@linkplain #asBytes() its binary representation}.
+   *
+   * @param value a value
+   * @param serializer a serializer of values
+   */
+  public static <V> LazyValue<V> of(V value, Serializer<V> serializer) {
+    return new LazyValue<>(serializer, null, checkNotNull(value));
+  }
+
+  /**
+   * Returns the value, de-serializing it on the first invocation.
+   *
+   * @throws IllegalArgumentException if the serialized value cannot be decoded into a value
+   *     of type V
+   */
+  public V get() {
+    if (value == null) {
+      value = serializer.fromBytes(serializedValue);
+    }
+    return value;
+  }
+
+  /**
+   * Returns true if the value has been de-serialized or was created from a de-serialized value.
+   */
+  public boolean isParsed() {
+    return value != null;
+  }
+
+  /**
+   * Returns the serialized value. It does not require to de-serialize the value
+   * if this lazy value was created from its serialized representation.
+   */
+  public byte[] asBytes() {
+    return serializedValue().clone();
+  }
+
+  /**
+   * Returns the serialized value without a defensive copy. The array must not be modified.
+   */
+  byte[] serializedValue() {
+    if (serializedValue == null) {
+      serializedValue = serializer.toBytes(value);
+    }
+    return serializedValue;
+  }
+
+  /**
+   * Returns true if the given object is a lazy value that has the same serialized
+   * representation. The values are not de-serialized.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof LazyValue)) {
+      return false;
+    }
+    LazyValue<?> that = (LazyValue<?>) o;
+    return Arrays.equals(serializedValue(), that.serializedValue());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(serializedValue());
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("value", value)
+        .add("parsed", isParsed())
+        .toString();
+  }
+}
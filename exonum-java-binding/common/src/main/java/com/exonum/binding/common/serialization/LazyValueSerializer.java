@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.exonum.binding.common.serialization.SerializationUtils.remainingBytes;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A serializer of lazy values. It does not de-serialize the values when they are read;
+ * and writes the serialized representation of the values, if it is available.
+ *
+ * @param <V> the type of the values
+ */
+final class LazyValueSerializer<V> implements BufferSerializer<LazyValue<V>> {
+
+  private final Serializer<V> valueSerializer;
+
+  LazyValueSerializer(Serializer<V> valueSerializer) {
+    this.valueSerializer = checkNotNull(valueSerializer);
+  }
+
+  @Override
+  public int serializedSize(LazyValue<V> value) {
+    return value.serializedValue().length;
+  }
+
+  @Override
+  public void writeTo(LazyValue<V> value, ByteBuffer buffer) {
+    buffer.put(value.serializedValue());
+  }
+
+  @Override
+  public LazyValue<V> readFrom(ByteBuffer serializedValue) {
+    return fromBytes(remainingBytes(serializedValue));
+  }
+
+  @Override
+  public byte[] toBytes(LazyValue<V> value) {
+    return value.serializedValue();
+  }
+
+  @Override
+  public LazyValue<V> fromBytes(byte[] serializedValue) {
+    return LazyValue.fromBytes(serializedValue, valueSerializer);
+  }
+}
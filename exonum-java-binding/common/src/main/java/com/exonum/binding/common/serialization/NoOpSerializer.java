@@ -17,9 +17,28 @@
 
 package com.exonum.binding.common.serialization;
 
-enum NoOpSerializer implements Serializer<byte[]> {
+import static com.exonum.binding.common.serialization.SerializationUtils.remainingBytes;
+
+import java.nio.ByteBuffer;
+
+enum NoOpSerializer implements BufferSerializer<byte[]> {
   INSTANCE;
 
+  @Override
+  public int serializedSize(byte[] value) {
+    return value.length;
+  }
+
+  @Override
+  public void writeTo(byte[] value, ByteBuffer buffer) {
+    buffer.put(value);
+  }
+
+  @Override
+  public byte[] readFrom(ByteBuffer serializedValue) {
+    return remainingBytes(serializedValue);
+  }
+
   @Override
   public byte[] toBytes(byte[] value) {
     return value;
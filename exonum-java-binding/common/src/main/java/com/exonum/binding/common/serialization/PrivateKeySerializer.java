@@ -17,11 +17,29 @@
 
 package com.exonum.binding.common.serialization;
 
+import static com.exonum.binding.common.serialization.SerializationUtils.remainingBytes;
+
 import com.exonum.binding.common.crypto.PrivateKey;
+import java.nio.ByteBuffer;
 
-enum PrivateKeySerializer implements Serializer<PrivateKey> {
+enum PrivateKeySerializer implements BufferSerializer<PrivateKey> {
   INSTANCE;
 
+  @Override
+  public int serializedSize(PrivateKey value) {
+    return value.size();
+  }
+
+  @Override
+  public void writeTo(PrivateKey value, ByteBuffer buffer) {
+    buffer.put(toBytes(value));
+  }
+
+  @Override
+  public PrivateKey readFrom(ByteBuffer serializedValue) {
+    return fromBytes(remainingBytes(serializedValue));
+  }
+
   @Override
   public byte[] toBytes(PrivateKey value) {
     return value.toBytes();
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A serializer-adapter of protobuf messages. Uses the {@linkplain Parser parser}
+ * of the message type to de-serialize the messages.
+ *
+ * <p>Uses {@linkplain CodedOutputStream#useDeterministicSerialization() deterministic}
+ * protocol buffer serialization mode.
+ *
+ * <p>Use {@link #forType(Class)} to get an instance of the serializer.
+ *
+ * @param <MessageT> a type of a protobuf message. Usually, autogenerated with protoc
+ */
+final class ProtobufSerializer<MessageT extends MessageLite>
+    implements BufferSerializer<MessageT> {
+
+  /**
+   * The serializers of protobuf message types. As the same message class may be loaded by
+   * multiple classloaders (e.g., several PF4J classloaders if several instances of the same
+   * artifact are loaded; or PF4J and TestKit classloaders), the serializers are associated
+   * with the message class; and do not prevent its classloader from being unloaded.
+   */
+  private static final ClassValue<ProtobufSerializer<?>> SERIALIZERS =
+      new ClassValue<ProtobufSerializer<?>>() {
+        @Override
+        protected ProtobufSerializer<?> computeValue(Class<?> messageType) {
+          return new ProtobufSerializer<>(messageType.asSubclass(MessageLite.class));
+        }
+      };
+
+  private final Parser<MessageT> parser;
+
+  /**
+   * Returns a serializer of the given message type. The serializers are cached,
+   * hence subsequent invocations with the same class return the same instance.
+   *
+   * @param messageType the class of a protobuf message
+   * @throws IllegalArgumentException if {@code MessageT} does not have a public static
+   *     {@code #getDefaultInstance()} method
+   */
+  @SuppressWarnings("unchecked") // The serializer is created for the messageType
+  static <MessageT extends MessageLite> ProtobufSerializer<MessageT> forType(
+      Class<MessageT> messageType) {
+    checkNotNull(messageType);
+    return (ProtobufSerializer<MessageT>) SERIALIZERS.get(messageType);
+  }
+
+  ProtobufSerializer(Class<MessageT> messageType) {
+    MessageLite defaultInstance = getDefaultInstance(messageType);
+    @SuppressWarnings("unchecked") // The parser of MessageT produces MessageT
+    Parser<MessageT> parser = (Parser<MessageT>) defaultInstance.getParserForType();
+    this.parser = parser;
+  }
+
+  private static MessageLite getDefaultInstance(Class<? extends MessageLite> messageType) {
+    try {
+      Method getDefaultInstance = messageType.getMethod("getDefaultInstance");
+      checkArgument(Modifier.isStatic(getDefaultInstance.getModifiers())
+              && messageType.equals(getDefaultInstance.getReturnType()),
+          "Invalid message: %s#getDefaultInstance is not a static factory of %s",
+          messageType, messageType);
+      return (MessageLite) getDefaultInstance.invoke(null);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalArgumentException("Invalid message: cannot find public static "
+          + "getDefaultInstance method in " + messageType, e);
+    } catch (InvocationTargetException e) {
+      throw new IllegalArgumentException("Invalid message: " + messageType
+          + "#getDefaultInstance failed", e.getCause());
+    }
+  }
+
+  @Override
+  public int serializedSize(MessageT value) {
+    return value.getSerializedSize();
+  }
+
+  @Override
+  public void writeTo(MessageT value, ByteBuffer buffer) {
+    CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+    output.useDeterministicSerialization();
+
+    try {
+      value.writeTo(output);
+      // Flush the output to update the position of the buffer
+      output.flush();
+    } catch (CodedOutputStream.OutOfSpaceException e) {
+      throw new BufferOverflowException();
+    } catch (IOException e) {
+      throw new AssertionError("Failed to serialize " + value
+          + " to a byte buffer (should never happen)", e);
+    }
+  }
+
+  @Override
+  public MessageT readFrom(ByteBuffer serializedValue) {
+    checkNotNull(serializedValue);
+    try {
+      MessageT message = parser.parseFrom(serializedValue);
+      // The parser does not advance the position of the buffer
+      serializedValue.position(serializedValue.limit());
+      return message;
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  @Override
+  public byte[] toBytes(MessageT value) {
+    // Essentially, the same as com.google.protobuf.AbstractMessageLite.toByteArray,
+    // but uses a deterministic mode of CodedOutputStream.
+    byte[] result = new byte[value.getSerializedSize()];
+
+    CodedOutputStream output = CodedOutputStream.newInstance(result);
+    output.useDeterministicSerialization();
+
+    try {
+      value.writeTo(output);
+      output.checkNoSpaceLeft();
+      return result;
+    } catch (IOException e) {
+      throw new AssertionError("Failed to serialize " + value
+          + " to a byte array (should never happen)", e);
+    }
+  }
+
+  @Override
+  public MessageT fromBytes(byte[] serializedValue) {
+    checkNotNull(serializedValue);
+    try {
+      return parser.parseFrom(serializedValue);
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+}
@@ -17,11 +17,29 @@
 
 package com.exonum.binding.common.serialization;
 
+import static com.exonum.binding.common.serialization.SerializationUtils.remainingBytes;
+
 import com.exonum.binding.common.crypto.PublicKey;
+import java.nio.ByteBuffer;
 
-enum PublicKeySerializer implements Serializer<PublicKey> {
+enum PublicKeySerializer implements BufferSerializer<PublicKey> {
   INSTANCE;
 
+  @Override
+  public int serializedSize(PublicKey value) {
+    return value.size();
+  }
+
+  @Override
+  public void writeTo(PublicKey value, ByteBuffer buffer) {
+    buffer.put(toBytes(value));
+  }
+
+  @Override
+  public PublicKey readFrom(ByteBuffer serializedValue) {
+    return fromBytes(remainingBytes(serializedValue));
+  }
+
   @Override
   public byte[] toBytes(PublicKey value) {
     return value.toBytes();
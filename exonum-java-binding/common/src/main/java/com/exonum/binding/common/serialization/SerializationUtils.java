@@ -19,6 +19,9 @@ package com.exonum.binding.common.serialization;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 final class SerializationUtils {
 
   /**
@@ -33,6 +36,65 @@ final class SerializationUtils {
         "Expected an array of size %s, but was %s", length, array.length);
   }
 
+  /**
+   * Performs check that a buffer has the correct number of remaining bytes.
+   *
+   * @param buffer a buffer
+   * @param length expected number of remaining bytes
+   * @throws IllegalArgumentException thrown if the number of remaining bytes is incorrect
+   */
+  static void checkRemaining(ByteBuffer buffer, int length) {
+    checkArgument(buffer.remaining() == length,
+        "Expected a buffer with %s remaining bytes, but was %s", length, buffer.remaining());
+  }
+
+  /**
+   * Returns a copy of the remaining bytes of the buffer, and advances its position
+   * to the limit. The returned array never aliases the buffer contents, so that the value
+   * read from it remains unaffected by subsequent modifications of the buffer.
+   *
+   * @param buffer a buffer
+   */
+  static byte[] remainingBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Writes an integer in little-endian byte order at the current position of the buffer,
+   * regardless of the buffer order.
+   */
+  static void putIntLittleEndian(ByteBuffer buffer, int value) {
+    buffer.putInt(buffer.order() == ByteOrder.LITTLE_ENDIAN ? value : Integer.reverseBytes(value));
+  }
+
+  /**
+   * Reads an integer in little-endian byte order at the current position of the buffer,
+   * regardless of the buffer order.
+   */
+  static int getIntLittleEndian(ByteBuffer buffer) {
+    int value = buffer.getInt();
+    return buffer.order() == ByteOrder.LITTLE_ENDIAN ? value : Integer.reverseBytes(value);
+  }
+
+  /**
+   * Writes a long in little-endian byte order at the current position of the buffer,
+   * regardless of the buffer order.
+   */
+  static void putLongLittleEndian(ByteBuffer buffer, long value) {
+    buffer.putLong(buffer.order() == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value));
+  }
+
+  /**
+   * Reads a long in little-endian byte order at the current position of the buffer,
+   * regardless of the buffer order.
+   */
+  static long getLongLittleEndian(ByteBuffer buffer) {
+    long value = buffer.getLong();
+    return buffer.order() == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+  }
+
   private SerializationUtils() {
   }
 }
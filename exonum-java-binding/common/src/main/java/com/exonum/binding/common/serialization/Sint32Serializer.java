@@ -17,14 +17,26 @@
 
 package com.exonum.binding.common.serialization;
 
-enum Sint32Serializer implements Serializer<Integer> {
+import java.nio.ByteBuffer;
+
+enum Sint32Serializer implements BufferSerializer<Integer> {
   INSTANCE;
 
   private static final Uint32Serializer WRITER = Uint32Serializer.INSTANCE;
 
   @Override
-  public byte[] toBytes(Integer value) {
-    return WRITER.toBytes(encodeZigZag32(value));
+  public int serializedSize(Integer value) {
+    return Uint32Serializer.varint32Size(encodeZigZag32(value));
+  }
+
+  @Override
+  public void writeTo(Integer value, ByteBuffer buffer) {
+    Uint32Serializer.writeVarint32(encodeZigZag32(value), buffer);
+  }
+
+  @Override
+  public Integer readFrom(ByteBuffer serializedValue) {
+    return decodeZigZag32(WRITER.readFrom(serializedValue));
   }
 
   @Override
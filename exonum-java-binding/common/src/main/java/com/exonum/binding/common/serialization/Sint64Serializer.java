@@ -17,14 +17,26 @@
 
 package com.exonum.binding.common.serialization;
 
-enum Sint64Serializer implements Serializer<Long> {
+import java.nio.ByteBuffer;
+
+enum Sint64Serializer implements BufferSerializer<Long> {
   INSTANCE;
 
   private static final Uint64Serializer WRITER = Uint64Serializer.INSTANCE;
 
   @Override
-  public byte[] toBytes(Long value) {
-    return WRITER.toBytes(encodeZigZag64(value));
+  public int serializedSize(Long value) {
+    return Uint64Serializer.varint64Size(encodeZigZag64(value));
+  }
+
+  @Override
+  public void writeTo(Long value, ByteBuffer buffer) {
+    Uint64Serializer.writeVarint64(encodeZigZag64(value), buffer);
+  }
+
+  @Override
+  public Long readFrom(ByteBuffer serializedValue) {
+    return decodeZigZag64(WRITER.readFrom(serializedValue));
   }
 
   @Override
@@ -25,20 +25,23 @@ import com.google.protobuf.MessageLite;
 
 /**
  * A collection of pre-defined serializers.
+ *
+ * <p>All serializers in this collection are {@linkplain BufferSerializer buffer serializers},
+ * i.e., support writing values into a buffer and reading them from a buffer slice.
  */
 public final class StandardSerializers {
 
   /**
    * Returns a serializer of byte arrays, which passes them as is.
    */
-  public static Serializer<byte[]> bytes() {
+  public static BufferSerializer<byte[]> bytes() {
     return NoOpSerializer.INSTANCE;
   }
 
   /**
    * Returns a serializer of booleans.
    */
-  public static Serializer<Boolean> bool() {
+  public static BufferSerializer<Boolean> bool() {
     return BoolSerializer.INSTANCE;
   }
 
@@ -47,7 +50,7 @@ public final class StandardSerializers {
    * More efficient than {@link StandardSerializers#uint32()}
    * if values are often greater than {@code 2^28}.
    */
-  public static Serializer<Integer> fixed32() {
+  public static BufferSerializer<Integer> fixed32() {
     return Fixed32Serializer.INSTANCE;
   }
 
@@ -56,7 +59,7 @@ public final class StandardSerializers {
    * These more efficiently encodes values for the range {@code [0; 2^21-1]}
    * than {@link StandardSerializers#fixed32()}.
    */
-  public static Serializer<Integer> uint32() {
+  public static BufferSerializer<Integer> uint32() {
     return Uint32Serializer.INSTANCE;
   }
 
@@ -66,7 +69,7 @@ public final class StandardSerializers {
    * than {@link StandardSerializers#fixed32()}.
    * If your values are strictly non-negative, consider using {@link StandardSerializers#uint32()}.
    */
-  public static Serializer<Integer> sint32() {
+  public static BufferSerializer<Integer> sint32() {
     return Sint32Serializer.INSTANCE;
   }
 
@@ -75,7 +78,7 @@ public final class StandardSerializers {
    * More efficient than {@link StandardSerializers#uint32()}
    * if values are often greater than {@code 2^56}.
    */
-  public static Serializer<Long> fixed64() {
+  public static BufferSerializer<Long> fixed64() {
     return Fixed64Serializer.INSTANCE;
   }
 
@@ -84,7 +87,7 @@ public final class StandardSerializers {
    * These more efficiently encodes values for the range {@code [0; 2^49-1]}
    * than {@link StandardSerializers#fixed64()}.
    */
-  public static Serializer<Long> uint64() {
+  public static BufferSerializer<Long> uint64() {
     return Uint64Serializer.INSTANCE;
   }
 
@@ -93,21 +96,21 @@ public final class StandardSerializers {
    * These more efficiently encodes values for the range {@code [-2^48; 2^48-1]}
    * than {@link StandardSerializers#fixed64()}.
    */
-  public static Serializer<Long> sint64() {
+  public static BufferSerializer<Long> sint64() {
     return Sint64Serializer.INSTANCE;
   }
 
   /**
    * Returns a serializer of floats in little-endian byte order.
    */
-  public static Serializer<Float> floats() {
+  public static BufferSerializer<Float> floats() {
     return FloatSerializer.INSTANCE;
   }
 
   /**
    * Returns a serializer of doubles in little-endian byte order.
    */
-  public static Serializer<Double> doubles() {
+  public static BufferSerializer<Double> doubles() {
     return DoubleSerializer.INSTANCE;
   }
 
@@ -115,52 +118,71 @@ public final class StandardSerializers {
    * Returns a serializer of strings in UTF-8. Deserializer will reject malformed input,
    * but replace the characters not representable in UTF-16 with the default replacement character.
    */
-  public static Serializer<String> string() {
+  public static BufferSerializer<String> string() {
     return StringSerializer.INSTANCE;
   }
 
   /**
    * Returns a serializer of hash codes.
    */
-  public static Serializer<HashCode> hash() {
+  public static BufferSerializer<HashCode> hash() {
     return HashCodeSerializer.INSTANCE;
   }
 
   /**
    * Returns a serializer of public keys.
    */
-  public static Serializer<PublicKey> publicKey() {
+  public static BufferSerializer<PublicKey> publicKey() {
     return PublicKeySerializer.INSTANCE;
   }
 
   /**
    * Returns a serializer of private keys.
    */
-  public static Serializer<PrivateKey> privateKey() {
+  public static BufferSerializer<PrivateKey> privateKey() {
     return PrivateKeySerializer.INSTANCE;
   }
 
   /**
    * Returns a serializer of transaction messages.
    */
-  public static Serializer<TransactionMessage> transactionMessage() {
+  public static BufferSerializer<TransactionMessage> transactionMessage() {
     return TransactionMessageSerializer.INSTANCE;
   }
 
   /**
    * Returns a serializer for the given protocol buffer message type. The returned serializer
    * uses {@linkplain CodedOutputStream#useDeterministicSerialization() deterministic}
-   * serialization mode.
+   * serialization mode, and the {@linkplain com.google.protobuf.Parser parser} of the message
+   * type for de-serialization.
+   *
+   * <p>The serializers are cached per message class, therefore, this method is cheap to call
+   * repeatedly with the same type (e.g., each time a service schema is created).
    *
    * @param messageType the class of a protobuf message
    * @param <MessageT> the type of a message; must have a public static
-   * {@code #parseFrom(byte[])} method — as any auto-generated protobuf message does
+   * {@code #getDefaultInstance()} method — as any auto-generated protobuf message does
    * @throws IllegalArgumentException if {@code MessageT} does not contain the static
-   *        factory method {@code #parseFrom(byte[])}
+   *        factory method {@code #getDefaultInstance()}
    */
-  public static <MessageT extends MessageLite> Serializer<MessageT> protobuf(
+  public static <MessageT extends MessageLite> BufferSerializer<MessageT> protobuf(
       Class<MessageT> messageType) {
-    return new ProtobufReflectiveSerializer<>(messageType);
+    return ProtobufSerializer.forType(messageType);
+  }
+
+  /**
+   * Returns a serializer of lazy values, which are de-serialized on first access.
+   * It is useful when the values are often read only to be passed as is
+   * (e.g., to a light client); or only some of the values read are accessed.
+   *
+   * <p>Note that invalid serialized values are not detected when they are read from a collection,
+   * but when the {@linkplain LazyValue#get() value} is accessed.
+   *
+   * @param serializer a serializer of values
+   * @param <V> the type of values
+   */
+  public static <V> BufferSerializer<LazyValue<V>> lazy(Serializer<V> serializer) {
+    return new LazyValueSerializer<>(serializer);
   }
 
   private StandardSerializers() {
@@ -24,16 +24,70 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 
-enum StringSerializer implements Serializer<String> {
+enum StringSerializer implements BufferSerializer<String> {
   INSTANCE;
 
+  /**
+   * The character that replaces unpaired surrogates, as in {@link String#getBytes}.
+   */
+  private static final byte REPLACEMENT_BYTE = '?';
+
   @Override
-  public byte[] toBytes(String value) {
-    return value.getBytes(StandardCharsets.UTF_8);
+  public int serializedSize(String value) {
+    int size = 0;
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        size += 1;
+      } else if (c < 0x800) {
+        size += 2;
+      } else if (Character.isSurrogate(c)) {
+        if (isSurrogatePair(value, i)) {
+          size += 4;
+          i++;
+        } else {
+          size += 1;
+        }
+      } else {
+        size += 3;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public void writeTo(String value, ByteBuffer buffer) {
+    // Encodes the string as String#getBytes(UTF_8) does, but without
+    // an intermediate array.
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer.put((byte) c);
+      } else if (c < 0x800) {
+        buffer.put((byte) (0xC0 | (c >>> 6)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      } else if (Character.isSurrogate(c)) {
+        if (isSurrogatePair(value, i)) {
+          int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          buffer.put((byte) (0xF0 | (codePoint >>> 18)));
+          buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+          buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+          buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+          buffer.put(REPLACEMENT_BYTE);
+        }
+      } else {
+        buffer.put((byte) (0xE0 | (c >>> 12)));
+        buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      }
+    }
   }
 
   @Override
-  public String fromBytes(byte[] serializedValue) {
+  public String readFrom(ByteBuffer serializedValue) {
     try {
       // Since the String(bytes, charset) constructor is specified so that
       // it "… always replaces malformed-input and unmappable-character sequences …",
@@ -49,11 +103,22 @@ enum StringSerializer implements Serializer<String> {
           .onUnmappableCharacter(CodingErrorAction.REPLACE);
 
       // Decode the buffer in a character buffer
-      CharBuffer strBuffer = decoder.decode(ByteBuffer.wrap(serializedValue));
+      CharBuffer strBuffer = decoder.decode(serializedValue);
       return new String(strBuffer.array(), strBuffer.arrayOffset(), strBuffer.remaining());
     } catch (CharacterCodingException e) {
       throw new IllegalArgumentException("Cannot decode the input", e);
     }
   }
 
+  @Override
+  public byte[] toBytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static boolean isSurrogatePair(String value, int index) {
+    return Character.isHighSurrogate(value.charAt(index))
+        && index + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(index + 1));
+  }
+
 }
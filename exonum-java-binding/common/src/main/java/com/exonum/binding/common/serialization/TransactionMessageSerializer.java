@@ -16,11 +16,29 @@
 
 package com.exonum.binding.common.serialization;
 
+import static com.exonum.binding.common.serialization.SerializationUtils.remainingBytes;
+
 import com.exonum.binding.common.message.TransactionMessage;
+import java.nio.ByteBuffer;
 
-enum TransactionMessageSerializer implements Serializer<TransactionMessage> {
+enum TransactionMessageSerializer implements BufferSerializer<TransactionMessage> {
   INSTANCE;
 
+  @Override
+  public int serializedSize(TransactionMessage value) {
+    return value.serializedSize();
+  }
+
+  @Override
+  public void writeTo(TransactionMessage value, ByteBuffer buffer) {
+    value.writeTo(buffer);
+  }
+
+  @Override
+  public TransactionMessage readFrom(ByteBuffer serializedValue) {
+    return fromBytes(remainingBytes(serializedValue));
+  }
+
   @Override
   public byte[] toBytes(TransactionMessage value) {
     return value.toBytes();
@@ -18,36 +18,30 @@
 package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.remainingBytes;
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.util.Arrays.copyOf;
 
-import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.Arrays;
 
-enum Uint32Serializer implements Serializer<Integer> {
+enum Uint32Serializer implements BufferSerializer<Integer> {
   INSTANCE;
 
   private static final int VARINT32_MAX_BYTES = 5;
 
   @Override
-  public byte[] toBytes(Integer value) {
-    ByteBuffer buffer = ByteBuffer.allocate(VARINT32_MAX_BYTES).order(ByteOrder.LITTLE_ENDIAN);
-    int val = value; // un-box the value
-    try {
-      while (true) {
-        if ((val & ~0x7F) == 0) {
-          buffer.put((byte) val);
-          return copyOf(buffer.array(), buffer.position());
-        } else {
-          buffer.put((byte) ((val & 0x7F) | 0x80));
-          val >>>= 7;
-        }
-      }
-    } catch (BufferOverflowException e) {
-      throw new AssertionError("Couldn't serialize value " + val, e);
-    }
+  public int serializedSize(Integer value) {
+    return varint32Size(value);
+  }
+
+  @Override
+  public void writeTo(Integer value, ByteBuffer buffer) {
+    writeVarint32(value, buffer);
+  }
+
+  @Override
+  public Integer readFrom(ByteBuffer serializedValue) {
+    return fromBytes(remainingBytes(serializedValue));
   }
 
   @Override
@@ -88,4 +82,31 @@ enum Uint32Serializer implements Serializer<Integer> {
     }
   }
 
+  /**
+   * Returns the size of the given value in variable length encoding.
+   */
+  static int varint32Size(int val) {
+    int size = 1;
+    while ((val & ~0x7F) != 0) {
+      size++;
+      val >>>= 7;
+    }
+    return size;
+  }
+
+  /**
+   * Writes the given value in variable length encoding at the current position of the buffer.
+   */
+  static void writeVarint32(int val, ByteBuffer buffer) {
+    while (true) {
+      if ((val & ~0x7F) == 0) {
+        buffer.put((byte) val);
+        return;
+      } else {
+        buffer.put((byte) ((val & 0x7F) | 0x80));
+        val >>>= 7;
+      }
+    }
+  }
+
 }
@@ -18,36 +18,30 @@
 package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.remainingBytes;
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.util.Arrays.copyOf;
 
-import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.Arrays;
 
-enum Uint64Serializer implements Serializer<Long> {
+enum Uint64Serializer implements BufferSerializer<Long> {
   INSTANCE;
 
   private static final int VARINT64_MAX_BYTES = 10;
 
   @Override
-  public byte[] toBytes(Long value) {
-    ByteBuffer buffer = ByteBuffer.allocate(VARINT64_MAX_BYTES).order(ByteOrder.LITTLE_ENDIAN);
-    long val = value; // un-box the value
-    try {
-      while (true) {
-        if ((val & ~0x7FL) == 0) {
-          buffer.put((byte) val);
-          return copyOf(buffer.array(), buffer.position());
-        } else {
-          buffer.put((byte) (((int) val & 0x7F) | 0x80));
-          val >>>= 7;
-        }
-      }
-    } catch (BufferOverflowException e) {
-      throw new AssertionError("Couldn't serialize value " + val, e);
-    }
+  public int serializedSize(Long value) {
+    return varint64Size(value);
+  }
+
+  @Override
+  public void writeTo(Long value, ByteBuffer buffer) {
+    writeVarint64(value, buffer);
+  }
+
+  @Override
+  public Long readFrom(ByteBuffer serializedValue) {
+    return fromBytes(remainingBytes(serializedValue));
   }
 
   @Override
@@ -108,4 +102,31 @@ enum Uint64Serializer implements Serializer<Long> {
     }
   }
 
+  /**
+   * Returns the size of the given value in variable length encoding.
+   */
+  static int varint64Size(long val) {
+    int size = 1;
+    while ((val & ~0x7FL) != 0) {
+      size++;
+      val >>>= 7;
+    }
+    return size;
+  }
+
+  /**
+   * Writes the given value in variable length encoding at the current position of the buffer.
+   */
+  static void writeVarint64(long val, ByteBuffer buffer) {
+    while (true) {
+      if ((val & ~0x7FL) == 0) {
+        buffer.put((byte) val);
+        return;
+      } else {
+        buffer.put((byte) (((int) val & 0x7F) | 0x80));
+        val >>>= 7;
+      }
+    }
+  }
+
 }
@@ -19,45 +19,36 @@ package com.exonum.binding.common.serialization.json;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.exonum.binding.common.hash.HashCode;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import java.lang.reflect.Type;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 
 /**
- * {@link HashCode} string serializer. Used to serialize/deserialize HashCode values from/to hex
+ * {@link HashCode} string type adapter. Used to serialize/deserialize HashCode values from/to hex
  * strings.
  *
- * <p>All method arguments are non-null by default.
+ * <p>The adapter does not support nulls, use {@link #nullSafe()} to support them.
  */
-final class HashCodeJsonSerializer implements JsonSerializer<HashCode>, JsonDeserializer<HashCode> {
+final class HashCodeJsonSerializer extends TypeAdapter<HashCode> {
 
   /**
-   * Serialize HashCode to JsonElement.
+   * Writes HashCode as a JSON string.
    *
    * @throws NullPointerException in case of src is null
    */
   @Override
-  public JsonElement serialize(HashCode src, Type typeOfSrc, JsonSerializationContext context) {
+  public void write(JsonWriter out, HashCode src) throws IOException {
     checkNotNull(src, "HashCode value is null");
 
-    return new JsonPrimitive(src.toString());
+    out.value(src.toString());
   }
 
   /**
-   * Deserialize HashCode from JsonElement.
-   *
-   * @throws NullPointerException in case of json element is null
+   * Reads HashCode from a JSON string.
    */
   @Override
-  public HashCode deserialize(JsonElement json, Type typeOfT,
-      JsonDeserializationContext context) throws JsonParseException {
-    checkNotNull(json, "HashCode json input is null");
-
-    return HashCode.fromString(json.getAsString());
+  public HashCode read(JsonReader in) throws IOException {
+    return HashCode.fromString(in.nextString());
   }
 }
@@ -23,7 +23,16 @@ import com.exonum.binding.common.message.TransactionMessage;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.LongSerializationPolicy;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
+import java.util.Iterator;
 
 /**
  * Provides {@link Gson} serializer for converting Java objects to Json and vice versa.
@@ -31,6 +40,10 @@ import java.time.ZonedDateTime;
  * and light clients (e.g., {@link HashCode} as a hex string). If needed, a new serializer
  * with adapters for service-specific types can be {@linkplain #builder() created}, with
  * Exonum types support already included.
+ *
+ * <p>Large collections can be {@linkplain #writeArray(Gson, Iterator, Type, OutputStream) written}
+ * as a JSON array directly to a stream, element by element, without building the whole
+ * JSON string in memory.
  */
 public final class JsonSerializer {
 
@@ -43,10 +56,10 @@ public final class JsonSerializer {
   public static GsonBuilder builder() {
     return new GsonBuilder()
         .registerTypeHierarchyAdapter(TransactionMessage.class,
-            new TransactionMessageJsonSerializer())
-        .registerTypeHierarchyAdapter(HashCode.class, new HashCodeJsonSerializer())
-        .registerTypeAdapter(PublicKey.class, new PublicKeyJsonSerializer())
-        .registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeJsonSerializer())
+            new TransactionMessageJsonSerializer().nullSafe())
+        .registerTypeHierarchyAdapter(HashCode.class, new HashCodeJsonSerializer().nullSafe())
+        .registerTypeAdapter(PublicKey.class, new PublicKeyJsonSerializer().nullSafe())
+        .registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeJsonSerializer().nullSafe())
         .registerTypeAdapterFactory(CommonTypeAdapterFactory.create())
         .setLongSerializationPolicy(LongSerializationPolicy.STRING);
   }
@@ -59,6 +72,49 @@ public final class JsonSerializer {
     return INSTANCE;
   }
 
+  /**
+   * Writes the elements as a JSON array to the given output stream in UTF-8. Each element
+   * is serialized and written as soon as it is obtained from the iterator, hence the memory
+   * required does not depend on the number of elements.
+   *
+   * <p>The stream is flushed, but not closed.
+   *
+   * @param gson a Gson instance to serialize the elements with, usually, {@link #json()}
+   * @param elements the elements to write
+   * @param elementType the type of the elements; used to find a suitable type adapter
+   * @param out the stream to write the array to
+   * @throws IOException if the stream fails to write the array
+   */
+  public static void writeArray(Gson gson, Iterator<?> elements, Type elementType,
+      OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writeArray(gson, elements, elementType, writer);
+  }
+
+  /**
+   * Writes the elements as a JSON array to the given writer. Each element
+   * is serialized and written as soon as it is obtained from the iterator, hence the memory
+   * required does not depend on the number of elements.
+   *
+   * <p>The writer is flushed, but not closed.
+   *
+   * @param gson a Gson instance to serialize the elements with, usually, {@link #json()}
+   * @param elements the elements to write
+   * @param elementType the type of the elements; used to find a suitable type adapter
+   * @param writer the writer to write the array to
+   * @throws IOException if the writer fails to write the array
+   */
+  public static void writeArray(Gson gson, Iterator<?> elements, Type elementType,
+      Writer writer) throws IOException {
+    JsonWriter jsonWriter = gson.newJsonWriter(writer);
+    jsonWriter.beginArray();
+    while (elements.hasNext()) {
+      gson.toJson(elements.next(), elementType, jsonWriter);
+    }
+    jsonWriter.endArray();
+    jsonWriter.flush();
+  }
+
   private JsonSerializer() {
   }
 }
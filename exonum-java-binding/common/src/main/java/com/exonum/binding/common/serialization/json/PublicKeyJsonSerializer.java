@@ -19,46 +19,36 @@ package com.exonum.binding.common.serialization.json;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.exonum.binding.common.crypto.PublicKey;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import java.lang.reflect.Type;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 
 /**
- * {@link PublicKey} string serializer. Used to serialize/deserialize PublicKey values from/to hex
+ * {@link PublicKey} string type adapter. Used to serialize/deserialize PublicKey values from/to hex
  * strings.
  *
- * <p>All method arguments are non-null by default.
+ * <p>The adapter does not support nulls, use {@link #nullSafe()} to support them.
  */
-final class PublicKeyJsonSerializer
-    implements JsonSerializer<PublicKey>, JsonDeserializer<PublicKey> {
+final class PublicKeyJsonSerializer extends TypeAdapter<PublicKey> {
 
   /**
-   * Serialize PublicKey to JsonElement.
+   * Writes PublicKey as a JSON string.
    *
    * @throws NullPointerException in case of src is null
    */
   @Override
-  public JsonElement serialize(PublicKey src, Type typeOfSrc, JsonSerializationContext context) {
+  public void write(JsonWriter out, PublicKey src) throws IOException {
     checkNotNull(src, "PublicKey value is null");
 
-    return new JsonPrimitive(src.toString());
+    out.value(src.toString());
   }
 
   /**
-   * Deserialize PublicKey from JsonElement.
-   *
-   * @throws NullPointerException in case of src is null
+   * Reads PublicKey from a JSON string.
    */
   @Override
-  public PublicKey deserialize(JsonElement json, Type typeOfT,
-      JsonDeserializationContext context) throws JsonParseException {
-    checkNotNull(json, "PublicKey json input is null");
-
-    return PublicKey.fromHexString(json.getAsString());
+  public PublicKey read(JsonReader in) throws IOException {
+    return PublicKey.fromHexString(in.nextString());
   }
 }
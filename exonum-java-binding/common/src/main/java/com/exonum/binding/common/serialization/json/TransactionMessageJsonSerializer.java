@@ -20,37 +20,38 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.exonum.binding.common.message.TransactionMessage;
 import com.google.common.io.BaseEncoding;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import java.lang.reflect.Type;
-
-final class TransactionMessageJsonSerializer implements JsonSerializer<TransactionMessage>,
-    JsonDeserializer<TransactionMessage> {
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * {@link TransactionMessage} type adapter. Used to serialize/deserialize TransactionMessage values
+ * from/to hex strings of their binary representation.
+ *
+ * <p>The adapter does not support nulls, use {@link #nullSafe()} to support them.
+ */
+final class TransactionMessageJsonSerializer extends TypeAdapter<TransactionMessage> {
+
   private static final BaseEncoding HEX_ENCODER = BaseEncoding.base16().lowerCase();
 
+  /**
+   * Writes TransactionMessage as a JSON string.
+   *
+   * @throws NullPointerException in case of src is null
+   */
   @Override
-  public JsonElement serialize(TransactionMessage src, Type typeOfSrc,
-      JsonSerializationContext context) {
+  public void write(JsonWriter out, TransactionMessage src) throws IOException {
     checkNotNull(src, "Transaction message value is null");
-    byte[] bytes = src.toBytes();
-    String hex = HEX_ENCODER.encode(bytes);
 
-    return new JsonPrimitive(hex);
+    out.value(HEX_ENCODER.encode(src.toBytes()));
   }
 
+  /**
+   * Reads TransactionMessage from a JSON string.
+   */
   @Override
-  public TransactionMessage deserialize(JsonElement json, Type typeOfT,
-      JsonDeserializationContext context) throws JsonParseException {
-    checkNotNull(json, "Transaction message json input is null");
-    String hex = json.getAsString();
-    byte[] bytes = HEX_ENCODER.decode(hex);
-
-    return TransactionMessage.fromBytes(bytes);
+  public TransactionMessage read(JsonReader in) throws IOException {
+    return TransactionMessage.fromBytes(HEX_ENCODER.decode(in.nextString()));
   }
-
 }
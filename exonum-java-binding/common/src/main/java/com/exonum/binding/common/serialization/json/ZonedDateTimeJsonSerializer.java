@@ -20,42 +20,41 @@ package com.exonum.binding.common.serialization.json;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.time.format.DateTimeFormatter.ISO_ZONED_DATE_TIME;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import java.lang.reflect.Type;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
- * {@link ZonedDateTime} string serializer. Used to serialize/deserialize ZonedDateTime values
+ * {@link ZonedDateTime} string type adapter. Used to serialize/deserialize ZonedDateTime values
  * from/to strings in the {@link DateTimeFormatter#ISO_ZONED_DATE_TIME} date-time format with
  * offset and zone, such as '2011-12-03T10:15:30+01:00[Europe/Paris]'.
  *
- * <p>All method arguments are non-null by default.
+ * <p>The adapter does not support nulls, use {@link #nullSafe()} to support them.
  */
-final class ZonedDateTimeJsonSerializer implements JsonSerializer<ZonedDateTime>,
-    JsonDeserializer<ZonedDateTime> {
+final class ZonedDateTimeJsonSerializer extends TypeAdapter<ZonedDateTime> {
 
   private static final DateTimeFormatter DATE_TIME_FORMATTER = ISO_ZONED_DATE_TIME;
 
+  /**
+   * Writes ZonedDateTime as a JSON string.
+   *
+   * @throws NullPointerException in case of src is null
+   */
   @Override
-  public JsonElement serialize(ZonedDateTime src, Type typeOfSrc,
-      JsonSerializationContext context) {
+  public void write(JsonWriter out, ZonedDateTime src) throws IOException {
     checkNotNull(src, "ZonedDateTime value is null");
 
-    return new JsonPrimitive(DATE_TIME_FORMATTER.format(src));
+    out.value(DATE_TIME_FORMATTER.format(src));
   }
 
+  /**
+   * Reads ZonedDateTime from a JSON string.
+   */
   @Override
-  public ZonedDateTime deserialize(JsonElement json, Type typeOfT,
-      JsonDeserializationContext context) throws JsonParseException {
-    checkNotNull(json, "ZonedDateTime json input is null");
-
-    return ZonedDateTime.parse(json.getAsString(), DATE_TIME_FORMATTER);
+  public ZonedDateTime read(JsonReader in) throws IOException {
+    return ZonedDateTime.parse(in.nextString(), DATE_TIME_FORMATTER);
   }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.serialization.TestProtos.Point;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class BufferSerializerTest {
+
+  /**
+   * The number of bytes before and after a serialized value in the test buffers.
+   */
+  private static final int PADDING = 3;
+
+  @ParameterizedTest
+  @MethodSource("testSource")
+  <T> void serializedSizeMatchesToBytes(BufferSerializer<T> serializer, T value) {
+    byte[] expected = serializer.toBytes(value);
+
+    assertThat(serializer.serializedSize(value), equalTo(expected.length));
+  }
+
+  @ParameterizedTest
+  @MethodSource("testSource")
+  <T> void writeToMatchesToBytes(BufferSerializer<T> serializer, T value) {
+    byte[] expected = serializer.toBytes(value);
+    // Use a buffer in the byte order opposite to the one of the standard serializers
+    // to check they do not depend on it
+    ByteBuffer buffer = ByteBuffer.allocate(expected.length + 2 * PADDING)
+        .order(ByteOrder.BIG_ENDIAN);
+    buffer.position(PADDING);
+
+    serializer.writeTo(value, buffer);
+
+    assertThat(buffer.position(), equalTo(PADDING + expected.length));
+    assertThat(buffer.order(), equalTo(ByteOrder.BIG_ENDIAN));
+    byte[] actual = Arrays.copyOfRange(buffer.array(), PADDING, PADDING + expected.length);
+    assertThat(actual, equalTo(expected));
+  }
+
+  @ParameterizedTest
+  @MethodSource("testSource")
+  <T> void readFromSlice(BufferSerializer<T> serializer, T value) {
+    byte[] serialized = serializer.toBytes(value);
+    ByteBuffer buffer = ByteBuffer.allocate(serialized.length + 2 * PADDING);
+    buffer.position(PADDING);
+    buffer.put(serialized);
+    buffer.position(PADDING);
+    buffer.limit(PADDING + serialized.length);
+    ByteBuffer slice = buffer.slice();
+
+    T actual = serializer.readFrom(slice);
+
+    assertThat(actual, equalTo(value));
+    assertThat(slice.hasRemaining(), equalTo(false));
+  }
+
+  private static Stream<Arguments> testSource() {
+    return Stream.of(
+        arguments(StandardSerializers.bytes(), new byte[]{1, 2, 3}),
+        arguments(StandardSerializers.bool(), true),
+        arguments(StandardSerializers.bool(), false),
+        arguments(StandardSerializers.fixed32(), Integer.MIN_VALUE),
+        arguments(StandardSerializers.fixed32(), 0x01020304),
+        arguments(StandardSerializers.uint32(), 0),
+        arguments(StandardSerializers.uint32(), 300),
+        arguments(StandardSerializers.uint32(), -1),
+        arguments(StandardSerializers.sint32(), -300),
+        arguments(StandardSerializers.sint32(), Integer.MAX_VALUE),
+        arguments(StandardSerializers.fixed64(), 0x0102030405060708L),
+        arguments(StandardSerializers.uint64(), 0L),
+        arguments(StandardSerializers.uint64(), 1L << 49),
+        arguments(StandardSerializers.uint64(), -1L),
+        arguments(StandardSerializers.sint64(), Long.MIN_VALUE),
+        arguments(StandardSerializers.sint64(), -300L),
+        arguments(StandardSerializers.floats(), -1.5f),
+        arguments(StandardSerializers.doubles(), Math.PI),
+        arguments(StandardSerializers.string(), ""),
+        arguments(StandardSerializers.string(), "cat"),
+        arguments(StandardSerializers.string(), "δ"), // A two-byte character
+        arguments(StandardSerializers.string(), "€"), // A three-byte character
+        arguments(StandardSerializers.string(), "🤷"), // A four-byte character
+        arguments(StandardSerializers.string(), "Iñtërnâtiônàlizætiøn"),
+        arguments(StandardSerializers.hash(), HashCode.fromString("a0b1c2d3")),
+        arguments(StandardSerializers.protobuf(Point.class), Point.newBuilder()
+            .setX(-1)
+            .setY(1)
+            .build()),
+        arguments(StandardSerializers.lazy(StandardSerializers.string()),
+            LazyValue.of("cat", StandardSerializers.string()))
+    );
+  }
+}
@@ -19,10 +19,13 @@ package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.StandardSerializersTest.invalidBytesValueTest;
 import static com.exonum.binding.common.serialization.StandardSerializersTest.roundTripTest;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
 
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.Hashing;
 import com.google.common.collect.Streams;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -40,6 +43,20 @@ class HashCodeSerializerTest {
     roundTripTest(hashCode, serializer);
   }
 
+  @ParameterizedTest
+  @MethodSource("testHashes")
+  void writeToDirectBuffer(HashCode hashCode) {
+    BufferSerializer<HashCode> serializer = HashCodeSerializer.INSTANCE;
+    ByteBuffer buffer = ByteBuffer.allocateDirect(serializer.serializedSize(hashCode) + 1);
+    buffer.put((byte) 0);
+
+    serializer.writeTo(hashCode, buffer);
+
+    assertThat(buffer.hasRemaining(), equalTo(false));
+    buffer.position(1);
+    assertThat(serializer.readFrom(buffer), equalTo(hashCode));
+  }
+
   @Test
   void deserializeInvalidValue() {
     byte[] invalidValue = {};
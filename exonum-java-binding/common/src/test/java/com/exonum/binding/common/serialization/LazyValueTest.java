@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.test.Bytes;
+import org.junit.jupiter.api.Test;
+
+class LazyValueTest {
+
+  @Test
+  void fromBytesDoesNotParse() {
+    Serializer<String> serializer = mockSerializer();
+    byte[] serializedValue = Bytes.bytes("cat");
+
+    LazyValue<String> value = LazyValue.fromBytes(serializedValue, serializer);
+
+    assertThat(value.isParsed(), equalTo(false));
+    assertThat(value.asBytes(), equalTo(serializedValue));
+    verify(serializer, never()).fromBytes(any());
+  }
+
+  @Test
+  void getParsesOnce() {
+    Serializer<String> serializer = mockSerializer();
+    byte[] serializedValue = Bytes.bytes("cat");
+    when(serializer.fromBytes(serializedValue)).thenReturn("cat");
+    LazyValue<String> value = LazyValue.fromBytes(serializedValue, serializer);
+
+    assertThat(value.get(), equalTo("cat"));
+    assertThat(value.get(), equalTo("cat"));
+    assertThat(value.isParsed(), equalTo(true));
+
+    verify(serializer, times(1)).fromBytes(serializedValue);
+  }
+
+  @Test
+  void getInvalidValue() {
+    byte[] invalidValue = Bytes.bytes(0x01, 0x02);
+    LazyValue<Integer> value = LazyValue.fromBytes(invalidValue, StandardSerializers.fixed32());
+
+    assertThrows(IllegalArgumentException.class, value::get);
+  }
+
+  @Test
+  void ofSerializesOnRequest() {
+    Serializer<String> serializer = StandardSerializers.string();
+    LazyValue<String> value = LazyValue.of("cat", serializer);
+
+    assertThat(value.isParsed(), equalTo(true));
+    assertThat(value.get(), equalTo("cat"));
+    assertThat(value.asBytes(), equalTo(serializer.toBytes("cat")));
+  }
+
+  @Test
+  void asBytesReturnsCopy() {
+    byte[] serializedValue = Bytes.bytes("cat");
+    LazyValue<String> value = LazyValue.fromBytes(serializedValue,
+        StandardSerializers.string());
+
+    assertThat(value.asBytes(), not(sameInstance(serializedValue)));
+  }
+
+  @Test
+  void equalsUsesSerializedValue() {
+    Serializer<String> serializer = StandardSerializers.string();
+
+    assertThat(LazyValue.of("cat", serializer),
+        equalTo(LazyValue.fromBytes(Bytes.bytes("cat"), serializer)));
+    assertThat(LazyValue.of("cat", serializer),
+        not(equalTo(LazyValue.of("dog", serializer))));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Serializer<String> mockSerializer() {
+    return mock(Serializer.class);
+  }
+}
@@ -18,10 +18,14 @@
 package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.StandardSerializersTest.roundTripTest;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
 
 import com.exonum.binding.test.Bytes;
 import com.google.common.collect.ImmutableList;
+import java.nio.ByteBuffer;
 import java.util.List;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -35,6 +39,16 @@ class NoOpSerializerTest {
     roundTripTest(value, serializer);
   }
 
+  @Test
+  void readFromDoesNotAliasTheBuffer() {
+    byte[] source = Bytes.bytes(1, 2, 3);
+
+    byte[] value = NoOpSerializer.INSTANCE.readFrom(ByteBuffer.wrap(source));
+    source[0] = 10;
+
+    assertThat(value, equalTo(Bytes.bytes(1, 2, 3)));
+  }
+
   private static List<byte[]> testSource() {
     return ImmutableList.of(
         Bytes.bytes(),
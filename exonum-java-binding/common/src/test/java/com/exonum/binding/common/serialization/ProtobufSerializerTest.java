@@ -20,6 +20,7 @@ import static com.exonum.binding.common.serialization.StandardSerializersTest.ro
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
@@ -35,19 +36,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
-class ProtobufReflectiveSerializerTest {
+class ProtobufSerializerTest {
 
-  private final ProtobufReflectiveSerializer<Point> serializer =
-      new ProtobufReflectiveSerializer<>(Point.class);
+  private final ProtobufSerializer<Point> serializer = new ProtobufSerializer<>(Point.class);
 
   @Test
   void constructorRejectsInvalidMessages() {
-    MessageLite m = mock(MessageLite.class); // Does not have a public static parseFrom method.
+    // Does not have a public static getDefaultInstance method.
+    MessageLite m = mock(MessageLite.class);
     IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
-        () -> new ProtobufReflectiveSerializer<>(m.getClass()));
+        () -> new ProtobufSerializer<>(m.getClass()));
 
     assertThat(e.getMessage(),
-        containsString("Invalid message: cannot find public static parseFrom"));
+        containsString("Invalid message: cannot find public static getDefaultInstance"));
 
     assertThat(e.getCause(), instanceOf(NoSuchMethodException.class));
   }
@@ -68,13 +69,27 @@ class ProtobufReflectiveSerializerTest {
     Targets t1 = pointsAsTargetsInOrder(p1, p2, p3);
     Targets t2 = pointsAsTargetsInOrder(p3, p2, p1);
 
-    ProtobufReflectiveSerializer<Targets> serializer =
-        new ProtobufReflectiveSerializer<>(Targets.class);
+    ProtobufSerializer<Targets> serializer = new ProtobufSerializer<>(Targets.class);
 
     assertThat("The protobuf serializer is not deterministic:",
         serializer.toBytes(t1), equalTo(serializer.toBytes(t2)));
   }
 
+  @Test
+  void forTypeReturnsCachedInstance() {
+    ProtobufSerializer<Point> s1 = ProtobufSerializer.forType(Point.class);
+    ProtobufSerializer<Point> s2 = ProtobufSerializer.forType(Point.class);
+
+    assertThat(s1, sameInstance(s2));
+  }
+
+  @Test
+  void forTypeRejectsInvalidMessages() {
+    MessageLite m = mock(MessageLite.class);
+
+    assertThrows(IllegalArgumentException.class, () -> ProtobufSerializer.forType(m.getClass()));
+  }
+
   @Test
   void toBytesNullMessage() {
     assertThrows(NullPointerException.class, () -> serializer.toBytes(null));
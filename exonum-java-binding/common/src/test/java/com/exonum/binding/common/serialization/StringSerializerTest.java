@@ -19,7 +19,11 @@ package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.StandardSerializersTest.invalidBytesValueTest;
 import static com.exonum.binding.common.serialization.StandardSerializersTest.roundTripTest;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -41,6 +45,24 @@ class StringSerializerTest {
     roundTripTest(value, serializer);
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "\uD83E", // An unpaired high surrogate
+      "a\uDD37b", // An unpaired low surrogate
+      "\uDD37\uD83E", // Surrogates in the wrong order
+      "\uD83E\uD83E\uDD37"})
+  void writeToUnpairedSurrogates(String value) {
+    // Unpaired surrogates must be replaced as String#getBytes does
+    byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+    StringSerializer serializer = StringSerializer.INSTANCE;
+    ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+
+    serializer.writeTo(value, buffer);
+
+    assertThat(serializer.serializedSize(value), equalTo(expected.length));
+    assertThat(buffer.array(), equalTo(expected));
+  }
+
   @Test
   void deserializeInvalidValue() {
     byte[] invalidValue = {-1};
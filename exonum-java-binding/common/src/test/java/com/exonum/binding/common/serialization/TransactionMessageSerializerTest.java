@@ -17,6 +17,9 @@
 package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.StandardSerializersTest.roundTripTest;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -26,6 +29,9 @@ import com.exonum.binding.common.crypto.CryptoFunctions.Ed25519;
 import com.exonum.binding.common.crypto.KeyPair;
 import com.exonum.binding.common.message.TransactionMessage;
 import com.exonum.binding.test.Bytes;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -35,6 +41,42 @@ class TransactionMessageSerializerTest {
 
   @Test
   void roundTrip() {
+    TransactionMessage message = createMessage();
+
+    roundTripTest(message, serializer);
+  }
+
+  @Test
+  void writeToMatchesToBytes() {
+    TransactionMessage message = createMessage();
+    byte[] expected = message.toBytes();
+    ByteBuffer buffer = ByteBuffer.allocate(expected.length + 2);
+    buffer.position(1);
+
+    TransactionMessageSerializer.INSTANCE.writeTo(message, buffer);
+
+    assertThat(buffer.position(), equalTo(1 + expected.length));
+    assertThat(Arrays.copyOfRange(buffer.array(), 1, 1 + expected.length), equalTo(expected));
+  }
+
+  @Test
+  void serializedSizeMatchesToBytes() {
+    TransactionMessage message = createMessage();
+
+    assertThat(TransactionMessageSerializer.INSTANCE.serializedSize(message),
+        equalTo(message.toBytes().length));
+  }
+
+  @Test
+  void writeToFailsIfInsufficientSpace() {
+    TransactionMessage message = createMessage();
+    ByteBuffer buffer = ByteBuffer.allocate(message.serializedSize() - 1);
+
+    assertThrows(BufferOverflowException.class,
+        () -> TransactionMessageSerializer.INSTANCE.writeTo(message, buffer));
+  }
+
+  private static TransactionMessage createMessage() {
     byte[] payload = Bytes.randomBytes(100);
     byte[] publicKey = Bytes.randomBytes(Ed25519.PUBLIC_KEY_BYTES);
     KeyPair keys = KeyPair.createKeyPair(Bytes.bytes(0x00), publicKey);
@@ -42,14 +84,12 @@ class TransactionMessageSerializerTest {
     CryptoFunction cryptoFunction = Mockito.mock(CryptoFunction.class);
     when(cryptoFunction.signMessage(any(), eq(keys.getPrivateKey()))).thenReturn(signature);
 
-    TransactionMessage message = TransactionMessage.builder()
+    return TransactionMessage.builder()
         .serviceId((short) 1)
         .transactionId((short) 2)
         .payload(payload)
         .signedWith(keys, cryptoFunction)
         .build();
-
-    roundTripTest(message, serializer);
   }
 
 }
@@ -31,6 +31,12 @@ import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.message.TransactionMessage;
 import com.exonum.binding.test.Bytes;
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class JsonSerializerTest {
@@ -72,6 +78,29 @@ class JsonSerializerTest {
     assertJsonValue(json, expectedValue);
   }
 
+  @Test
+  void writeArray() throws IOException {
+    List<HashCode> hashes = ImmutableList.of(
+        HashCode.fromBytes(bytes(0x00, 0x01)),
+        HashCode.fromBytes(bytes(0x02, 0x03)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    JsonSerializer.writeArray(json(), hashes.iterator(), HashCode.class, out);
+
+    String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+    assertThat(json, equalTo(json().toJson(hashes)));
+  }
+
+  @Test
+  void writeArrayEmpty() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    JsonSerializer.writeArray(json(), Collections.emptyIterator(), HashCode.class, out);
+
+    String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+    assertThat(json, equalTo("[]"));
+  }
+
   private static void assertJsonValue(String json, Object expectedValue) {
     assertThat(json, isJson(withJsonPath("$.value", equalTo(expectedValue))));
   }
@@ -19,9 +19,9 @@
 
 use jni::{sys::jlong, JNIEnv};
 
-use std::panic;
+use std::{mem, panic};
 
-use super::utils::unwrap_exc_or_default;
+use super::utils::{any_to_string, unwrap_exc_or_default};
 
 pub mod resource_manager;
 
@@ -72,14 +72,58 @@ pub fn acquire_handle_ownership<T: 'static>(handle: Handle) -> Box<T> {
 ///
 /// Panics if the handle is not valid, or if it identifies a native-owned object.
 pub fn drop_handle<T: 'static>(env: &JNIEnv, handle: Handle) {
-    let res = panic::catch_unwind(|| unsafe {
-        resource_manager::remove_handle::<T>(handle);
-        Box::from_raw(handle as *mut T);
+    let res = panic::catch_unwind(|| {
+        drop_boxed::<T>(handle);
         Ok(())
     });
     unwrap_exc_or_default(env, res);
 }
 
+/// A type-erased destructor of Java-owned objects.
+pub type DropFunction = fn(Handle);
+
+/// Returns a pointer to the type-erased destructor of Java-owned objects of type `T`.
+///
+/// The Java side passes such pointers, along with the handles, to `drop_all` to destroy
+/// several objects of different types in a single native call.
+pub fn drop_function<T: 'static>() -> jlong {
+    drop_boxed::<T> as DropFunction as usize as jlong
+}
+
+/// Destroys the Java-owned objects identified by the given handles, using the corresponding
+/// destructors obtained with `drop_function`. Attempts to destroy all objects, even if some
+/// destructors panic.
+///
+/// # Panics
+///
+/// Panics if any destructor panicked, after all objects are processed.
+pub fn drop_all(handles: &[Handle], drop_functions: &[jlong]) {
+    assert_eq!(handles.len(), drop_functions.len());
+    let mut failures = Vec::new();
+    for (&handle, &drop_fn) in handles.iter().zip(drop_functions) {
+        assert_ne!(drop_fn, 0, "Invalid drop function");
+        let drop_fn: DropFunction = unsafe { mem::transmute(drop_fn as usize) };
+        if let Err(e) = panic::catch_unwind(|| drop_fn(handle)) {
+            failures.push(any_to_string(&e));
+        }
+    }
+    if !failures.is_empty() {
+        panic!(
+            "Failed to destroy {} of {} native objects: {}",
+            failures.len(),
+            handles.len(),
+            failures.join("; ")
+        );
+    }
+}
+
+fn drop_boxed<T: 'static>(handle: Handle) {
+    resource_manager::remove_handle::<T>(handle);
+    unsafe {
+        Box::from_raw(handle as *mut T);
+    }
+}
+
 #[cfg(test)]
 mod tests {
     use super::*;
@@ -95,6 +139,17 @@ mod tests {
         assert_eq!(casted, &VALUE);
     }
 
+    #[cfg(not(feature = "resource-manager"))]
+    #[test]
+    fn drop_all_objects() {
+        let handles = [
+            Box::into_raw(Box::new(1_i32)) as Handle,
+            Box::into_raw(Box::new(String::from("value"))) as Handle,
+        ];
+        let drop_functions = [drop_function::<i32>(), drop_function::<String>()];
+        drop_all(&handles, &drop_functions);
+    }
+
     #[test]
     #[should_panic(expected = "Invalid handle value")]
     fn cast_zero_object() {
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+use jni::objects::JClass;
+use jni::sys::{jint, jlong, jlongArray};
+use jni::JNIEnv;
+
+use std::panic;
+
+use handle::{self, Handle};
+use utils::unwrap_exc_or_default;
+
+/// Destroys the given number of Java-owned native objects identified by the handles,
+/// each with the corresponding type-erased destructor (see `handle::drop_function`).
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_proxy_NativeDropBatch_nativeDropAll(
+    env: JNIEnv,
+    _: JClass,
+    handles: jlongArray,
+    drop_functions: jlongArray,
+    size: jint,
+) {
+    let res = panic::catch_unwind(|| {
+        let size = size as usize;
+        let mut handles_buf: Vec<Handle> = vec![0; size];
+        let mut drop_functions_buf: Vec<jlong> = vec![0; size];
+        env.get_long_array_region(handles, 0, &mut handles_buf)?;
+        env.get_long_array_region(drop_functions, 0, &mut drop_functions_buf)?;
+        handle::drop_all(&handles_buf, &drop_functions_buf);
+        Ok(())
+    });
+    unwrap_exc_or_default(&env, res)
+}
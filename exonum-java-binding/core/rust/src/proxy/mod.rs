@@ -12,8 +12,10 @@
 // See the License for the specific language governing permissions and
 // limitations under the License.
 
+mod drop_batch;
 mod node;
 mod runtime;
 
+pub use self::drop_batch::*;
 pub use self::node::*;
 pub use self::runtime::*;
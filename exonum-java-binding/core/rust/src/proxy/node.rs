@@ -16,14 +16,14 @@
 
 use exonum::{
     blockchain::Blockchain,
-    crypto::{Hash, PublicKey},
+    crypto::{Hash, PublicKey, HASH_SIZE},
     messages::Verified,
     runtime::{AnyTx, CallInfo},
 };
 use exonum_merkledb::{ObjectHash, Snapshot};
 use failure;
 use jni::objects::JClass;
-use jni::sys::{jbyteArray, jshort};
+use jni::sys::{jbyteArray, jintArray, jobjectArray, jshort};
 use jni::JNIEnv;
 
 use std::{panic, ptr};
@@ -119,6 +119,70 @@ pub extern "system" fn Java_com_exonum_binding_core_service_NodeProxy_nativeSubm
     unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Submits the transactions into the network, in the given order. Returns the concatenated
+/// hashes of the transactions as byte array.
+///
+/// If a transaction cannot be submitted, throws `TransactionSubmissionException`;
+/// the preceding transactions remain submitted.
+///
+/// Parameters:
+/// - `node_handle` - a native handle to the native node object
+/// - `arguments` - an array of the arrays containing the arguments of each transaction
+/// - `instance_ids` - an array of the identifiers of the services
+/// - `method_ids` - an array of the identifiers of the methods within the services
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_service_NodeProxy_nativeSubmitAll(
+    env: JNIEnv,
+    _: JClass,
+    node_handle: Handle,
+    arguments: jobjectArray,
+    instance_ids: jintArray,
+    method_ids: jintArray,
+) -> jbyteArray {
+    let res = panic::catch_unwind(|| {
+        let node = cast_handle::<Node>(node_handle);
+        let hashes = unwrap_jni_verbose(
+            &env,
+            || -> JniResult<jbyteArray> {
+                let transactions_count = env.get_array_length(arguments)?;
+                let mut instance_id_values = vec![0; transactions_count as usize];
+                env.get_int_array_region(instance_ids, 0, &mut instance_id_values)?;
+                let mut method_id_values = vec![0; transactions_count as usize];
+                env.get_int_array_region(method_ids, 0, &mut method_id_values)?;
+
+                let mut hashes = Vec::with_capacity(transactions_count as usize * HASH_SIZE);
+                for i in 0..transactions_count {
+                    let args_object = env.auto_local(env.get_object_array_element(arguments, i)?);
+                    let args: jbyteArray = args_object.as_obj().into_inner();
+                    let tx = AnyTx {
+                        call_info: CallInfo {
+                            instance_id: instance_id_values[i as usize] as u32,
+                            method_id: method_id_values[i as usize] as u32,
+                        },
+                        arguments: env.convert_byte_array(args)?,
+                    };
+
+                    match node.submit(tx) {
+                        Ok(tx_hash) => hashes.extend_from_slice(tx_hash.as_ref()),
+                        Err(err) => {
+                            let error_description = format!(
+                                "Failed to submit the transaction #{} (the preceding ones \
+                                 are submitted): {}",
+                                i, err
+                            );
+                            env.throw_new(TX_SUBMISSION_EXCEPTION, error_description)?;
+                            return Ok(ptr::null_mut());
+                        }
+                    }
+                }
+                env.byte_array_from_slice(&hashes)
+            }(),
+        );
+        Ok(hashes)
+    });
+    unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
 /// Creates a new snapshot of the current database state.
 ///
 /// The snapshot must be explicitly destroyed by the caller from Java.
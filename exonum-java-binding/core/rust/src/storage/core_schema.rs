@@ -13,23 +13,78 @@
 // limitations under the License.
 
 use exonum::blockchain::Schema;
+use exonum::crypto::Hash;
+use exonum::helpers::Height;
 use exonum::runtime::{BlockchainData, InstanceDescriptor, SnapshotExt};
 use exonum_merkledb::{BinaryValue, ReadonlyFork, Snapshot};
 use handle::{self, Handle};
 use jni::{
-    objects::JClass,
-    sys::{jbyteArray, jlong},
+    objects::{JClass, JObject},
+    sys::{jbyteArray, jlong, jobjectArray},
     JNIEnv,
 };
 use std::{panic, ptr};
 use storage::db::{View, ViewRef};
 use utils;
+use JniResult;
 
 type CoreSchema<T> = Schema<T>;
 
 /// TODO: remove this (ECR-3865)
 static FAKE_INSTANCE_DESCRIPTOR_NAME: &str = "fake_name";
 
+/// Collects the serialized blocks at heights `[from, to]` of the given schema.
+macro_rules! serialize_blocks {
+    ($schema:expr, $from:expr, $to:expr) => {{
+        let block_hashes = $schema.block_hashes_by_height();
+        let blocks = $schema.blocks();
+        ($from..=$to)
+            .map(|height| {
+                let block_hash = block_hashes
+                    .get(height)
+                    .unwrap_or_else(|| panic!("No block at height {}", height));
+                blocks
+                    .get(&block_hash)
+                    .unwrap_or_else(|| panic!("No block with hash {:?}", block_hash))
+                    .into_bytes()
+            })
+            .collect::<Vec<Vec<u8>>>()
+    }};
+}
+
+/// Collects the transaction hashes of each block at heights `[from, to]` of the given schema.
+/// The hashes of a single block are concatenated.
+macro_rules! serialize_block_transactions {
+    ($schema:expr, $from:expr, $to:expr) => {{
+        ($from..=$to)
+            .map(|height| {
+                let mut hashes = Vec::new();
+                for tx_hash in $schema.block_transactions(Height(height)).iter() {
+                    hashes.extend_from_slice(tx_hash.as_ref());
+                }
+                hashes
+            })
+            .collect::<Vec<Vec<u8>>>()
+    }};
+}
+
+/// Collects the serialized message, location and execution status of each transaction
+/// with the given hash from the given schema; the absent values are `None`.
+macro_rules! serialize_transactions {
+    ($schema:expr, $tx_hashes:expr) => {{
+        let messages = $schema.transactions();
+        let locations = $schema.transactions_locations();
+        let results = $schema.transaction_results();
+        let mut transactions = Vec::with_capacity($tx_hashes.len() * 3);
+        for tx_hash in $tx_hashes.iter() {
+            transactions.push(messages.get(tx_hash).map(BinaryValue::into_bytes));
+            transactions.push(locations.get(tx_hash).map(BinaryValue::into_bytes));
+            transactions.push(results.get(tx_hash).map(BinaryValue::into_bytes));
+        }
+        transactions
+    }};
+}
+
 enum SchemaType {
     SnapshotSchema(CoreSchema<&'static dyn Snapshot>),
     ForkSchema(CoreSchema<ReadonlyFork<'static>>),
@@ -105,3 +160,101 @@ pub extern "system" fn Java_com_exonum_binding_core_blockchain_CoreSchemaProxy_n
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
+
+/// Returns the serialized blocks at heights in range `[from_height, to_height]` as an array
+/// of byte arrays. The range is expected to be validated by the caller.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_blockchain_CoreSchemaProxy_nativeGetBlocks(
+    env: JNIEnv,
+    _: JClass,
+    schema_handle: Handle,
+    from_height: jlong,
+    to_height: jlong,
+) -> jobjectArray {
+    let res = panic::catch_unwind(|| {
+        let (from, to) = (from_height as u64, to_height as u64);
+        let blocks = match handle::cast_handle::<SchemaType>(schema_handle) {
+            SchemaType::SnapshotSchema(schema) => serialize_blocks!(schema, from, to),
+            SchemaType::ForkSchema(schema) => serialize_blocks!(schema, from, to),
+        };
+        to_java_byte_arrays(&env, &blocks)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
+/// Returns the transaction hashes of the blocks at heights in range `[from_height, to_height]`
+/// as an array of byte arrays: one array of concatenated 32-byte hashes per block.
+/// The range is expected to be validated by the caller.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_blockchain_CoreSchemaProxy_nativeGetBlockTransactions(
+    env: JNIEnv,
+    _: JClass,
+    schema_handle: Handle,
+    from_height: jlong,
+    to_height: jlong,
+) -> jobjectArray {
+    let res = panic::catch_unwind(|| {
+        let (from, to) = (from_height as u64, to_height as u64);
+        let transactions = match handle::cast_handle::<SchemaType>(schema_handle) {
+            SchemaType::SnapshotSchema(schema) => serialize_block_transactions!(schema, from, to),
+            SchemaType::ForkSchema(schema) => serialize_block_transactions!(schema, from, to),
+        };
+        to_java_byte_arrays(&env, &transactions)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
+/// Returns the serialized message, location and execution status of each transaction with
+/// the given hash, three consecutive elements per transaction. Absent values (of unknown
+/// or uncommitted transactions) are nulls.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_blockchain_CoreSchemaProxy_nativeGetTransactions(
+    env: JNIEnv,
+    _: JClass,
+    schema_handle: Handle,
+    tx_hashes: jobjectArray,
+) -> jobjectArray {
+    let res = panic::catch_unwind(|| {
+        let tx_hashes = convert_to_hashes(&env, tx_hashes)?;
+        let transactions = match handle::cast_handle::<SchemaType>(schema_handle) {
+            SchemaType::SnapshotSchema(schema) => serialize_transactions!(schema, tx_hashes),
+            SchemaType::ForkSchema(schema) => serialize_transactions!(schema, tx_hashes),
+        };
+        to_java_optional_byte_arrays(&env, &transactions)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
+fn convert_to_hashes(env: &JNIEnv, array: jobjectArray) -> JniResult<Vec<Hash>> {
+    let num_hashes = env.get_array_length(array)?;
+    let mut hashes = Vec::with_capacity(num_hashes as usize);
+    for i in 0..num_hashes {
+        let hash_object = env.auto_local(env.get_object_array_element(array, i)?);
+        let hash = utils::convert_to_hash(env, hash_object.as_obj().into_inner())?;
+        hashes.push(hash);
+    }
+    Ok(hashes)
+}
+
+fn to_java_optional_byte_arrays(
+    env: &JNIEnv,
+    values: &[Option<Vec<u8>>],
+) -> JniResult<jobjectArray> {
+    let array = env.new_object_array(values.len() as i32, "[B", JObject::null())?;
+    for (i, value) in values.iter().enumerate() {
+        if let Some(value) = value {
+            let element = env.auto_local(env.byte_array_from_slice(value)?);
+            env.set_object_array_element(array, i as i32, element.as_obj())?;
+        }
+    }
+    Ok(array)
+}
+
+fn to_java_byte_arrays(env: &JNIEnv, values: &[Vec<u8>]) -> JniResult<jobjectArray> {
+    let array = env.new_object_array(values.len() as i32, "[B", JObject::null())?;
+    for (i, value) in values.iter().enumerate() {
+        let element = env.auto_local(env.byte_array_from_slice(value)?);
+        env.set_object_array_element(array, i as i32, element.as_obj())?;
+    }
+    Ok(array)
+}
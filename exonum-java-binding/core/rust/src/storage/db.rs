@@ -13,7 +13,7 @@
 // limitations under the License.
 
 use exonum_merkledb::{Fork, Snapshot};
-use jni::{objects::JClass, JNIEnv};
+use jni::{objects::JClass, sys::jlong, JNIEnv};
 
 use handle::{self, Handle};
 
@@ -200,6 +200,15 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_database_Views_nativ
     handle::drop_handle::<View>(&env, view_handle);
 }
 
+/// Returns the type-erased destructor of the `Snapshot` and `Fork` objects.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_database_Views_nativeGetDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> jlong {
+    handle::drop_function::<View>()
+}
+
 #[cfg(test)]
 mod tests {
     use super::*;
@@ -15,7 +15,7 @@
 use exonum_merkledb::{access::FromAccess, Entry, Fork, ObjectHash, Snapshot};
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray},
+    sys::{jboolean, jbyteArray, jlong},
     JNIEnv,
 };
 
@@ -66,6 +66,15 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_EntryIndexPr
     handle::drop_handle::<IndexType>(&env, entry_handle);
 }
 
+/// Returns the type-erased destructor of the `EntryIndex` objects.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_EntryIndexProxy_nativeGetDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> jlong {
+    handle::drop_function::<IndexType>()
+}
+
 /// Returns the value or null pointer if it is absent.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_EntryIndexProxy_nativeGet(
@@ -17,7 +17,7 @@ use exonum_merkledb::{
 };
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray},
+    sys::{jboolean, jbyteArray, jlong},
     JNIEnv,
 };
 
@@ -92,6 +92,15 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_KeySetIndexP
     handle::drop_handle::<IndexType>(&env, set_handle);
 }
 
+/// Returns the type-erased destructor of the `KeySetIndex` objects.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_KeySetIndexProxy_nativeGetDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> jlong {
+    handle::drop_function::<IndexType>()
+}
+
 /// Returns `true` if the set contains the specified value.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_KeySetIndexProxy_nativeContains(
@@ -92,6 +92,15 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexPro
     handle::drop_handle::<IndexType>(&env, list_handle);
 }
 
+/// Returns the type-erased destructor of the `ListIndex` objects.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexProxy_nativeGetDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> jlong {
+    handle::drop_function::<IndexType>()
+}
+
 /// Returns the value by index. Null pointer is returned if value is not found.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ListIndexProxy_nativeGet(
@@ -19,7 +19,7 @@ use exonum_merkledb::{
 };
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray, jobject},
+    sys::{jboolean, jbyteArray, jlong, jobject},
     JNIEnv,
 };
 
@@ -101,6 +101,15 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProx
     handle::drop_handle::<IndexType>(&env, map_handle);
 }
 
+/// Returns the type-erased destructor of the `MapIndex` objects.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeGetDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> jlong {
+    handle::drop_function::<IndexType>()
+}
+
 /// Returns value identified by the `key`. Null pointer is returned if value is not found.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_MapIndexProxy_nativeGet(
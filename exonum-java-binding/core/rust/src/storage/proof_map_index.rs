@@ -22,7 +22,7 @@ use exonum_merkledb::{
 use exonum_proto::ProtobufConvert;
 use jni::{
     objects::{GlobalRef, JClass, JMethodID, JObject, JString},
-    sys::{jboolean, jbyteArray, jobject, jobjectArray, JNI_TRUE},
+    sys::{jboolean, jbyteArray, jlong, jobject, jobjectArray, JNI_TRUE},
     JNIEnv,
 };
 use protobuf::Message;
@@ -196,6 +196,15 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapInde
     handle::drop_handle::<IndexType>(&env, map_handle);
 }
 
+/// Returns the type-erased destructor of the `ProofMapIndex` objects.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeGetDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> jlong {
+    handle::drop_function::<IndexType>()
+}
+
 /// Returns the object hash of the proof map or default hash value if it is empty.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ProofMapIndexProxy_nativeGetIndexHash(
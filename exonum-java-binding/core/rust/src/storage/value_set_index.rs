@@ -19,7 +19,7 @@ use exonum_merkledb::{
 };
 use jni::{
     objects::{JClass, JObject, JString},
-    sys::{jboolean, jbyteArray, jobject},
+    sys::{jboolean, jbyteArray, jlong, jobject},
     JNIEnv,
 };
 
@@ -102,6 +102,15 @@ pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetInde
     handle::drop_handle::<IndexType>(&env, set_handle);
 }
 
+/// Returns the type-erased destructor of the `ValueSetIndex` objects.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_core_storage_indices_ValueSetIndexProxy_nativeGetDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> jlong {
+    handle::drop_function::<IndexType>()
+}
+
 /// Returns `true` if the set contains the specified value.
 #[no_mangle]
 pub extern "C" fn Java_com_exonum_binding_core_storage_indices_ValueSetIndexProxy_nativeContains(
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Closing of a cleaner, destroying the native proxies registered in it.
+ */
+@Name("com.exonum.CleanerClose")
+@Label("Cleaner Close")
+@Description("Closing of a cleaner, destroying the native proxies registered in it")
+@Category({"Exonum", "Proxy"})
+final class CleanerCloseEvent extends Event implements EventSpan {
+
+  @Label("Cleaner")
+  String cleanerDescription;
+
+  @Label("Clean Actions")
+  int numCleanActions;
+
+  @Override
+  public EventSpan setResultSize(int resultSize) {
+    return this;
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * An operation on a fork: creation of a checkpoint or a rollback.
+ */
+@Name("com.exonum.ForkOperation")
+@Label("Fork Operation")
+@Description("Creation of a checkpoint or a rollback of a fork")
+@Category({"Exonum", "Storage"})
+final class ForkOperationEvent extends Event implements EventSpan {
+
+  @Label("Operation")
+  String operation;
+
+  @Override
+  public EventSpan setResultSize(int resultSize) {
+    return this;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A native operation on an index.
+ *
+ * <p>As index operations are frequent, this event is disabled by default and must be enabled
+ * explicitly in the recording settings.
+ */
+@Name("com.exonum.IndexCall")
+@Label("Index Call")
+@Description("A native operation on a MerkleDB index")
+@Category({"Exonum", "Storage"})
+@Enabled(false)
+final class IndexCallEvent extends Event implements EventSpan {
+
+  @Label("Index Name")
+  String indexName;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Key Size")
+  @DataAmount
+  int keySize;
+
+  @Label("Value Size")
+  @DataAmount
+  int valueSize;
+
+  @Override
+  public EventSpan setResultSize(int resultSize) {
+    this.valueSize = resultSize;
+    return this;
+  }
+}
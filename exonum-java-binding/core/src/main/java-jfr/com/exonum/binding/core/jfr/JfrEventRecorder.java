@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.jfr;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Records the framework events with the Java Flight Recorder.
+ *
+ * <p>The events are created only if they are enabled in some recording, so that the disabled
+ * events do not create any garbage.
+ *
+ * <p>This class is loaded reflectively by {@link FrameworkEvents}.
+ */
+final class JfrEventRecorder implements EventRecorder {
+
+  private final EventType runtimeCallType;
+  private final EventType indexCallType;
+  private final EventType cleanerCloseType;
+  private final EventType forkOperationType;
+
+  JfrEventRecorder() {
+    if (!FlightRecorder.isAvailable()) {
+      throw new IllegalStateException("Flight recorder is not available");
+    }
+    runtimeCallType = EventType.getEventType(RuntimeCallEvent.class);
+    indexCallType = EventType.getEventType(IndexCallEvent.class);
+    cleanerCloseType = EventType.getEventType(CleanerCloseEvent.class);
+    forkOperationType = EventType.getEventType(ForkOperationEvent.class);
+  }
+
+  @Override
+  public EventSpan runtimeCall(String operation, int serviceId, int transactionId,
+      int argumentsSize) {
+    if (!runtimeCallType.isEnabled()) {
+      return EventSpan.NOOP;
+    }
+    RuntimeCallEvent event = new RuntimeCallEvent();
+    event.operation = operation;
+    event.serviceId = serviceId;
+    event.transactionId = transactionId;
+    event.argumentsSize = argumentsSize;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public EventSpan indexCall(String indexName, String operation, int keySize, int valueSize) {
+    if (!indexCallType.isEnabled()) {
+      return EventSpan.NOOP;
+    }
+    IndexCallEvent event = new IndexCallEvent();
+    event.indexName = indexName;
+    event.operation = operation;
+    event.keySize = keySize;
+    event.valueSize = valueSize;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public EventSpan cleanerClose(String cleanerDescription, int numCleanActions) {
+    if (!cleanerCloseType.isEnabled()) {
+      return EventSpan.NOOP;
+    }
+    CleanerCloseEvent event = new CleanerCloseEvent();
+    event.cleanerDescription = cleanerDescription;
+    event.numCleanActions = numCleanActions;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public EventSpan forkOperation(String operation) {
+    if (!forkOperationType.isEnabled()) {
+      return EventSpan.NOOP;
+    }
+    ForkOperationEvent event = new ForkOperationEvent();
+    event.operation = operation;
+    event.begin();
+    return event;
+  }
+}
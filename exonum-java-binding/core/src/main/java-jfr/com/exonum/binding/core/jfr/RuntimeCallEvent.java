@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A call of the native code into the service runtime.
+ */
+@Name("com.exonum.RuntimeCall")
+@Label("Runtime Call")
+@Description("A call of the native code into the Java service runtime")
+@Category({"Exonum", "Runtime"})
+final class RuntimeCallEvent extends Event implements EventSpan {
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Service ID")
+  int serviceId;
+
+  @Label("Transaction ID")
+  int transactionId;
+
+  @Label("Arguments Size")
+  @DataAmount
+  int argumentsSize;
+
+  @Label("Result Size")
+  @DataAmount
+  int resultSize;
+
+  @Override
+  public EventSpan setResultSize(int resultSize) {
+    this.resultSize = resultSize;
+    return this;
+  }
+}
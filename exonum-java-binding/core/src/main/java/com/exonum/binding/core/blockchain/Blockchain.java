@@ -30,7 +30,12 @@ import com.exonum.binding.core.storage.indices.ProofMapIndexProxy;
 import com.exonum.core.messages.Blockchain.Config;
 import com.exonum.core.messages.Runtime.ExecutionStatus;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Provides read-only access to the subset of
@@ -50,11 +55,12 @@ public final class Blockchain {
   }
 
   /**
-   * Constructs a new blockchain instance for the given database view.
+   * Returns a blockchain instance for the given database view. The instance is created once
+   * per view, and shared by all the callers using the same view.
    */
   public static Blockchain newInstance(View view) {
-    CoreSchemaProxy coreSchema = CoreSchemaProxy.newInstance(view);
-    return new Blockchain(coreSchema);
+    return view.getOrCreateViewScoped(Blockchain.class,
+        v -> new Blockchain(CoreSchemaProxy.newInstance(v)));
   }
 
   /**
@@ -130,6 +136,28 @@ public final class Blockchain {
     return getBlockTransactions(block.getHeight());
   }
 
+  /**
+   * Returns the lists of transaction hashes committed in the blocks at heights
+   * in range {@code [fromHeight, toHeight]}, in the order of block heights: the first element
+   * of the stream corresponds to the block at {@code fromHeight}. The hashes of the blocks
+   * are retrieved in batches, with a single native call per batch, which makes this method
+   * preferable to {@link #getBlockTransactions(long)} when the transactions of many blocks
+   * are needed.
+   *
+   * <p>The stream is lazily populated and must be consumed while the database view
+   * of this blockchain is valid.
+   *
+   * @param fromHeight the height of the first block in the range, inclusive
+   * @param toHeight the height of the last block in the range, inclusive
+   * @throws IndexOutOfBoundsException if either height is not valid: negative or exceeding
+   *     the {@linkplain #getHeight() blockchain height}
+   * @throws IllegalArgumentException if {@code fromHeight} is greater than {@code toHeight}
+   */
+  public Stream<List<HashCode>> getBlockTransactions(long fromHeight, long toHeight) {
+    checkHeightRange(fromHeight, toHeight);
+    return schema.getBlockTransactions(fromHeight, toHeight);
+  }
+
   /**
    * Returns a map of transaction messages identified by their SHA-256 hashes. Both committed and
    * in-pool (not yet processed) transactions are returned.
@@ -158,6 +186,22 @@ public final class Blockchain {
     return Optional.ofNullable(transactionResult);
   }
 
+  /**
+   * Returns the information on the transactions with the given hashes: their messages, and
+   * the locations and execution results of the committed ones. The information on all
+   * transactions is retrieved with a single native call, which makes this method preferable
+   * to the lookups in {@link #getTxMessages()}, {@link #getTxLocations()}
+   * and {@link #getTxResults()} when many transactions are needed.
+   *
+   * @param txHashes the hashes of transaction messages
+   * @return a map of the transaction information by the transaction message hash,
+   *     with the entries in the iteration order of the given hashes. Unknown transactions
+   *     are not included
+   */
+  public Map<HashCode, TransactionInfo> getTransactions(Collection<HashCode> txHashes) {
+    return schema.getTransactions(ImmutableSet.copyOf(txHashes));
+  }
+
   /**
    * Returns a map that keeps the transaction position inside the blockchain for every transaction
    * hash.
@@ -202,6 +246,33 @@ public final class Blockchain {
     return blocks.get(blockHash);
   }
 
+  /**
+   * Returns the blocks at heights in range {@code [fromHeight, toHeight]}, in the order
+   * of their heights. The blocks are retrieved in batches, with a single native call
+   * per batch, and deserialized as the stream is consumed, which makes this method
+   * preferable to {@link #getBlock(long)} when many blocks are needed.
+   *
+   * <p>The stream is lazily populated and must be consumed while the database view
+   * of this blockchain is valid.
+   *
+   * @param fromHeight the height of the first block in the range, inclusive
+   * @param toHeight the height of the last block in the range, inclusive
+   * @throws IndexOutOfBoundsException if either height is not valid: negative or exceeding
+   *     the {@linkplain #getHeight() blockchain height}
+   * @throws IllegalArgumentException if {@code fromHeight} is greater than {@code toHeight}
+   */
+  public Stream<Block> getBlocks(long fromHeight, long toHeight) {
+    checkHeightRange(fromHeight, toHeight);
+    return schema.getBlocks(fromHeight, toHeight);
+  }
+
+  private void checkHeightRange(long fromHeight, long toHeight) {
+    checkArgument(fromHeight <= toHeight, "fromHeight (%s) > toHeight (%s)",
+        fromHeight, toHeight);
+    checkHeight(fromHeight);
+    checkHeight(toHeight);
+  }
+
   private void checkHeight(long height) {
     long blockchainHeight = getHeight();
     if (height < 0 || height > blockchainHeight) {
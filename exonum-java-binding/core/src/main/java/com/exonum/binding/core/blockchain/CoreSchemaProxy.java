@@ -16,6 +16,7 @@
 
 package com.exonum.binding.core.blockchain;
 
+import static com.exonum.binding.common.hash.Hashing.DEFAULT_HASH_SIZE_BYTES;
 import static com.exonum.binding.common.serialization.StandardSerializers.protobuf;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
@@ -42,8 +43,18 @@ import com.exonum.binding.core.storage.indices.ProofMapIndexProxy;
 import com.exonum.binding.core.util.LibraryLoader;
 import com.exonum.core.messages.Blockchain.Config;
 import com.exonum.core.messages.Runtime.ExecutionStatus;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 /**
  * A proxy class for the blockchain::Schema struct maintained by Exonum core.
@@ -56,8 +67,34 @@ final class CoreSchemaProxy {
     LibraryLoader.load();
   }
 
+  /**
+   * The maximum number of blocks which data is retrieved with a single native call
+   * in the range queries.
+   */
+  @VisibleForTesting
+  static final int RANGE_BATCH_SIZE = 512;
+
+  /**
+   * The number of serialized fields per transaction returned by
+   * {@link #nativeGetTransactions(long, byte[][])}: message, location and execution status.
+   */
+  private static final int TX_INFO_FIELDS = 3;
+
+  private static final long UNKNOWN_HEIGHT = -1L;
+
   private final NativeHandle nativeHandle;
   private final View dbView;
+  /**
+   * Whether the database state is immutable, which allows to memoize the values
+   * that are costly to retrieve.
+   */
+  private final boolean immutableState;
+  /** The memoized height, or {@link #UNKNOWN_HEIGHT} if not retrieved yet. */
+  private long height = UNKNOWN_HEIGHT;
+  @Nullable
+  private Block lastBlock;
+  @Nullable
+  private Config consensusConfiguration;
   private static final Serializer<Block> BLOCK_SERIALIZER = BlockSerializer.INSTANCE;
   private static final Serializer<TransactionLocation> TRANSACTION_LOCATION_SERIALIZER =
       TransactionLocationSerializer.INSTANCE;
@@ -71,6 +108,7 @@ final class CoreSchemaProxy {
   private CoreSchemaProxy(NativeHandle nativeHandle, View dbView) {
     this.nativeHandle = nativeHandle;
     this.dbView = dbView;
+    this.immutableState = !dbView.canModify();
   }
 
   /**
@@ -93,7 +131,14 @@ final class CoreSchemaProxy {
    * @throws RuntimeException if the "genesis block" was not created
    */
   long getHeight() {
-    return nativeGetHeight(nativeHandle.get());
+    if (height != UNKNOWN_HEIGHT) {
+      return height;
+    }
+    long currentHeight = nativeGetHeight(nativeHandle.get());
+    if (immutableState) {
+      height = currentHeight;
+    }
+    return currentHeight;
   }
 
   /**
@@ -131,13 +176,74 @@ final class CoreSchemaProxy {
         CoreIndex.BLOCKS, dbView, StandardSerializers.hash(), BLOCK_SERIALIZER);
   }
 
+  /**
+   * Returns the blocks at heights in range {@code [fromHeight, toHeight]}. The blocks
+   * are retrieved from the database in batches of up to {@value #RANGE_BATCH_SIZE} blocks
+   * with a single native call per batch, and deserialized as the stream is consumed.
+   *
+   * <p>The range must be valid: {@code 0 <= fromHeight <= toHeight <= getHeight()}.
+   */
+  Stream<Block> getBlocks(long fromHeight, long toHeight) {
+    return batchesOf(fromHeight, toHeight)
+        .flatMap(batch -> Arrays.stream(nativeGetBlocks(nativeHandle.get(), batch[0], batch[1])))
+        .map(BLOCK_SERIALIZER::fromBytes);
+  }
+
+  /**
+   * Returns the lists of transaction hashes of the blocks at heights in range
+   * {@code [fromHeight, toHeight]}, in the order of block heights. The hashes are retrieved
+   * from the database in batches of up to {@value #RANGE_BATCH_SIZE} blocks
+   * with a single native call per batch.
+   *
+   * <p>The range must be valid: {@code 0 <= fromHeight <= toHeight <= getHeight()}.
+   */
+  Stream<List<HashCode>> getBlockTransactions(long fromHeight, long toHeight) {
+    return batchesOf(fromHeight, toHeight)
+        .flatMap(batch -> Arrays.stream(
+            nativeGetBlockTransactions(nativeHandle.get(), batch[0], batch[1])))
+        .map(CoreSchemaProxy::splitHashes);
+  }
+
+  /**
+   * Splits the range {@code [fromHeight, toHeight]} into consecutive closed sub-ranges
+   * of at most {@value #RANGE_BATCH_SIZE} heights.
+   */
+  private static Stream<long[]> batchesOf(long fromHeight, long toHeight) {
+    long numBatches = (toHeight - fromHeight) / RANGE_BATCH_SIZE + 1;
+    return LongStream.range(0, numBatches)
+        .mapToObj(i -> {
+          long batchFrom = fromHeight + i * RANGE_BATCH_SIZE;
+          long batchTo = Math.min(batchFrom + RANGE_BATCH_SIZE - 1, toHeight);
+          return new long[] {batchFrom, batchTo};
+        });
+  }
+
+  private static List<HashCode> splitHashes(byte[] hashes) {
+    checkState(hashes.length % DEFAULT_HASH_SIZE_BYTES == 0,
+        "Invalid length of the block transaction hashes: %s", hashes.length);
+    ImmutableList.Builder<HashCode> hashCodes =
+        ImmutableList.builderWithExpectedSize(hashes.length / DEFAULT_HASH_SIZE_BYTES);
+    for (int from = 0; from < hashes.length; from += DEFAULT_HASH_SIZE_BYTES) {
+      byte[] hash = Arrays.copyOfRange(hashes, from, from + DEFAULT_HASH_SIZE_BYTES);
+      hashCodes.add(HashCode.fromBytes(hash));
+    }
+    return hashCodes.build();
+  }
+
   /**
    * Returns the latest committed block.
    *
    * @throws RuntimeException if the "genesis block" was not created
    */
   Block getLastBlock() {
-    return BLOCK_SERIALIZER.fromBytes(nativeGetLastBlock(nativeHandle.get()));
+    if (lastBlock != null) {
+      return lastBlock;
+    }
+    Block block = BLOCK_SERIALIZER.fromBytes(nativeGetLastBlock(nativeHandle.get()));
+    if (immutableState) {
+      lastBlock = block;
+    }
+    return block;
   }
 
   /**
@@ -166,6 +272,40 @@ final class CoreSchemaProxy {
         StandardSerializers.hash(), TRANSACTION_LOCATION_SERIALIZER);
   }
 
+  /**
+   * Returns the information on the transactions with the given hashes, retrieved with a single
+   * native call. The returned map contains the entries for the known transactions only,
+   * in the iteration order of the hashes.
+   */
+  Map<HashCode, TransactionInfo> getTransactions(Set<HashCode> txHashes) {
+    byte[][] hashes = txHashes.stream()
+        .map(HashCode::asBytes)
+        .toArray(byte[][]::new);
+    byte[][] transactions = nativeGetTransactions(nativeHandle.get(), hashes);
+    checkState(transactions.length == hashes.length * TX_INFO_FIELDS,
+        "Expected %s transactions, but got %s fields", hashes.length, transactions.length);
+
+    ImmutableMap.Builder<HashCode, TransactionInfo> result = ImmutableMap.builder();
+    int i = 0;
+    for (HashCode txHash : txHashes) {
+      byte[] message = transactions[i];
+      byte[] location = transactions[i + 1];
+      byte[] executionStatus = transactions[i + 2];
+      i += TX_INFO_FIELDS;
+      if (message == null) {
+        continue;
+      }
+      TransactionMessage txMessage = TRANSACTION_MESSAGE_SERIALIZER.fromBytes(message);
+      TransactionInfo txInfo = (location == null)
+          ? TransactionInfo.inPool(txMessage)
+          : TransactionInfo.committed(txMessage,
+              TRANSACTION_LOCATION_SERIALIZER.fromBytes(location),
+              EXECUTION_STATUS_SERIALIZER.fromBytes(executionStatus));
+      result.put(txHash, txInfo);
+    }
+    return result.build();
+  }
+
   /**
    * Returns a set of uncommitted (in-pool) transaction hashes; empty in case of no transactions.
    * Note that this pool represents the state as of the current snapshot, and its state is volatile
@@ -184,11 +324,18 @@ final class CoreSchemaProxy {
    * @throws IllegalStateException if the "genesis block" was not created
    */
   Config getConsensusConfiguration() {
+    if (consensusConfiguration != null) {
+      return consensusConfiguration;
+    }
     EntryIndexProxy<Config> configEntry = EntryIndexProxy.newInstance(CoreIndex.CONSENSUS_CONFIG,
         dbView, CONSENSUS_CONFIG_SERIALIZER);
     checkState(configEntry.isPresent(), "No consensus configuration: requesting the configuration "
         + "before the genesis block was created");
-    return configEntry.get();
+    Config configuration = configEntry.get();
+    if (immutableState) {
+      consensusConfiguration = configuration;
+    }
+    return configuration;
   }
 
   private static native long nativeCreate(long viewNativeHandle);
@@ -204,6 +351,26 @@ final class CoreSchemaProxy {
    */
   private static native byte[] nativeGetLastBlock(long nativeHandle);
 
+  /**
+   * Returns the serialized blocks at heights in range {@code [fromHeight, toHeight]}.
+   */
+  private static native byte[][] nativeGetBlocks(long nativeHandle, long fromHeight,
+      long toHeight);
+
+  /**
+   * Returns the transaction hashes of the blocks at heights in range
+   * {@code [fromHeight, toHeight]}: an array of concatenated hashes per block.
+   */
+  private static native byte[][] nativeGetBlockTransactions(long nativeHandle, long fromHeight,
+      long toHeight);
+
+  /**
+   * Returns the serialized message, location and execution status of each transaction
+   * with the given hash, three consecutive elements per transaction. Absent values
+   * (of unknown or uncommitted transactions) are nulls.
+   */
+  private static native byte[][] nativeGetTransactions(long nativeHandle, byte[][] txHashes);
+
   private byte[] toCoreStorageKey(long value) {
     return ByteBuffer.allocate(Long.BYTES)
         .order(ByteOrder.BIG_ENDIAN)
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.blockchain;
+
+import com.exonum.binding.common.blockchain.TransactionLocation;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.core.messages.Runtime.ExecutionStatus;
+import com.google.auto.value.AutoValue;
+import java.util.Optional;
+
+/**
+ * Information on a transaction known to the blockchain: its message and, if the transaction
+ * is committed, its location in the blockchain and the execution status.
+ *
+ * @see Blockchain#getTransactions(java.util.Collection)
+ */
+@AutoValue
+public abstract class TransactionInfo {
+
+  /**
+   * Creates information on a committed transaction.
+   */
+  public static TransactionInfo committed(TransactionMessage message,
+      TransactionLocation location, ExecutionStatus executionStatus) {
+    return new AutoValue_TransactionInfo(message, Optional.of(location),
+        Optional.of(executionStatus));
+  }
+
+  /**
+   * Creates information on an in-pool (not yet committed) transaction.
+   */
+  public static TransactionInfo inPool(TransactionMessage message) {
+    return new AutoValue_TransactionInfo(message, Optional.empty(), Optional.empty());
+  }
+
+  /**
+   * Returns the transaction message.
+   */
+  public abstract TransactionMessage getMessage();
+
+  /**
+   * Returns the position of the transaction in the blockchain; or {@code Optional.empty()}
+   * if the transaction is not yet committed.
+   */
+  public abstract Optional<TransactionLocation> getLocation();
+
+  /**
+   * Returns the result of the transaction execution; or {@code Optional.empty()}
+   * if the transaction is not yet committed.
+   */
+  public abstract Optional<ExecutionStatus> getExecutionStatus();
+
+  /**
+   * Returns true if the transaction is committed to the blockchain;
+   * false if it is in the pool of unconfirmed transactions.
+   */
+  public final boolean isCommitted() {
+    return getLocation().isPresent();
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.jfr;
+
+/**
+ * A factory of the spans of framework events.
+ *
+ * @see FrameworkEvents
+ */
+interface EventRecorder {
+
+  EventSpan runtimeCall(String operation, int serviceId, int transactionId, int argumentsSize);
+
+  EventSpan indexCall(String indexName, String operation, int keySize, int valueSize);
+
+  EventSpan cleanerClose(String cleanerDescription, int numCleanActions);
+
+  EventSpan forkOperation(String operation);
+}
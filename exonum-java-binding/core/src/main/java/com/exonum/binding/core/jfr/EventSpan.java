@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.jfr;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+/**
+ * A timed framework operation, recorded as a flight recorder event when it {@linkplain #commit()
+ * ends}. The spans of disabled events are no-op.
+ *
+ * <p>Spans are not thread-safe and must be committed in the thread that started them.
+ *
+ * @see FrameworkEvents
+ */
+public interface EventSpan {
+
+  /**
+   * A span of a disabled event.
+   */
+  EventSpan NOOP = new EventSpan() {
+    @Override
+    public EventSpan setResultSize(int resultSize) {
+      return this;
+    }
+
+    @Override
+    public void commit() {}
+  };
+
+  /**
+   * Sets the size of the data the operation produced, in bytes.
+   */
+  @CanIgnoreReturnValue
+  EventSpan setResultSize(int resultSize);
+
+  /**
+   * Ends the operation and records the event.
+   */
+  void commit();
+}
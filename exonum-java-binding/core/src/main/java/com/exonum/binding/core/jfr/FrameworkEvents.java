@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.jfr;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Starts the spans of the framework events recorded by the Java Flight Recorder.
+ *
+ * <p>The flight recorder events are available on JDK 11 and newer. On older JDKs,
+ * or if the events are disabled with the {@value #DISABLE_PROPERTY} system property,
+ * the methods of this class return {@link EventSpan#NOOP}. When the flight recorder is
+ * available, but no recording of a certain event type is in progress, a no-op span is
+ * returned as well, without creating any events.
+ *
+ * <p>The usage pattern is:
+ * <pre>{@code
+ * EventSpan span = FrameworkEvents.forkOperation("rollback");
+ * try {
+ *   // Perform the operation
+ * } finally {
+ *   span.commit();
+ * }
+ * }</pre>
+ *
+ * <p>This class is thread-safe.
+ */
+public final class FrameworkEvents {
+
+  /**
+   * The value of a service or transaction id of events that have no such property.
+   */
+  public static final int NO_ID = -1;
+
+  /**
+   * The name of the system property that disables the flight recorder events if set to "true".
+   */
+  public static final String DISABLE_PROPERTY = "exonum.jfr.disabled";
+
+  private static final String JFR_RECORDER_CLASS =
+      "com.exonum.binding.core.jfr.JfrEventRecorder";
+
+  private static final Logger logger = LogManager.getLogger(FrameworkEvents.class);
+
+  private static final EventRecorder recorder = loadRecorder();
+
+  private static EventRecorder loadRecorder() {
+    if (Boolean.getBoolean(DISABLE_PROPERTY)) {
+      return NoOpEventRecorder.INSTANCE;
+    }
+    try {
+      // The flight recorder events are compiled only on JDK 11+ (see the jfr-events profile),
+      // hence might be missing in the classpath; and the flight recorder itself might be
+      // unavailable in the current JVM.
+      Class<?> recorderClass = Class.forName(JFR_RECORDER_CLASS);
+      return (EventRecorder) recorderClass.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      logger.debug("Flight recorder events are not available", e);
+      return NoOpEventRecorder.INSTANCE;
+    }
+  }
+
+  /**
+   * Starts a span of a call of the native code into the runtime.
+   *
+   * @param operation the name of the operation, e.g., "executeTransaction"
+   * @param serviceId the id of the service, or {@link #NO_ID} if the operation is not
+   *     service-specific
+   * @param transactionId the id of the transaction, or {@link #NO_ID} if the operation is not
+   *     a transaction execution
+   * @param argumentsSize the size of the operation arguments, in bytes
+   */
+  public static EventSpan runtimeCall(String operation, int serviceId, int transactionId,
+      int argumentsSize) {
+    return recorder.runtimeCall(operation, serviceId, transactionId, argumentsSize);
+  }
+
+  /**
+   * Starts a span of a native operation on an index.
+   *
+   * @param indexName the name of the index
+   * @param operation the name of the operation, e.g., "get"
+   * @param keySize the size of the key, in bytes; or zero if the operation has none
+   * @param valueSize the size of the value, in bytes; or zero if the operation has none.
+   *     The size of a returned value can be set with {@link EventSpan#setResultSize(int)}
+   */
+  public static EventSpan indexCall(String indexName, String operation, int keySize,
+      int valueSize) {
+    return recorder.indexCall(indexName, operation, keySize, valueSize);
+  }
+
+  /**
+   * Starts a span of closing a cleaner.
+   *
+   * @param cleanerDescription the description of the cleaner
+   * @param numCleanActions the number of the clean actions to perform
+   */
+  public static EventSpan cleanerClose(String cleanerDescription, int numCleanActions) {
+    return recorder.cleanerClose(cleanerDescription, numCleanActions);
+  }
+
+  /**
+   * Starts a span of an operation on a fork, e.g., "createCheckpoint".
+   *
+   * @param operation the name of the operation
+   */
+  public static EventSpan forkOperation(String operation) {
+    return recorder.forkOperation(operation);
+  }
+
+  private enum NoOpEventRecorder implements EventRecorder {
+    INSTANCE;
+
+    @Override
+    public EventSpan runtimeCall(String operation, int serviceId, int transactionId,
+        int argumentsSize) {
+      return EventSpan.NOOP;
+    }
+
+    @Override
+    public EventSpan indexCall(String indexName, String operation, int keySize,
+        int valueSize) {
+      return EventSpan.NOOP;
+    }
+
+    @Override
+    public EventSpan cleanerClose(String cleanerDescription, int numCleanActions) {
+      return EventSpan.NOOP;
+    }
+
+    @Override
+    public EventSpan forkOperation(String operation) {
+      return EventSpan.NOOP;
+    }
+  }
+
+  private FrameworkEvents() {}
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Contains the <a href="https://docs.oracle.com/en/java/javase/11/docs/api/jdk.jfr/jdk/jfr/package-summary.html">Java Flight Recorder</a>
+ * events of the framework: the calls of the native code into the runtime, the native
+ * operations on indexes, closing of the cleaners and checkpoints and rollbacks of forks.
+ *
+ * <p>The events are recorded only when the framework is built and run on JDK 11 or newer,
+ * and a recording including them is in progress, for example:
+ * <pre>
+ * jcmd &lt;pid&gt; JFR.start name=exonum settings=profile duration=60s filename=exonum.jfr
+ * </pre>
+ * Otherwise, the events are disabled and have next to no overhead.
+ *
+ * <p>The events of index operations ({@code com.exonum.IndexCall}) are frequent, hence
+ * disabled by default. They can be enabled in a custom recording configuration
+ * ({@code .jfc} file).
+ */
+package com.exonum.binding.core.jfr;
@@ -18,12 +18,15 @@ package com.exonum.binding.core.proxy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.core.jfr.EventSpan;
+import com.exonum.binding.core.jfr.FrameworkEvents;
 import com.google.common.base.MoreObjects;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -34,6 +37,10 @@ import org.apache.logging.log4j.Logger;
  * when it is {@linkplain #close() closed}. Once closed, the context must no longer be used
  * to register new clean actions.
  *
+ * <p>The native objects which {@linkplain ProxyDestructor proxy destructors} are registered
+ * with a native drop function are destroyed in batches, with a single native call per each run
+ * of such proxies between other clean actions.
+ *
  * <p>The context might have a description of its origin so that it can be identified
  * for a particular context.
  *
@@ -60,6 +67,8 @@ public final class Cleaner implements AutoCloseable {
   private final Deque<CleanAction<?>> registeredCleanActions;
   private final String description;
   private boolean closed;
+  @Nullable
+  private NativeDropBatch dropBatch;
 
   /**
    * Creates a new cleaner with no (an empty) description.
@@ -150,6 +159,9 @@ public final class Cleaner implements AutoCloseable {
    * <p>If any clean operation throws an exception in its {@link CleanAction#clean()},
    * the context logs the exception and attempts to perform the remaining operations.
    *
+   * <p>Consecutive proxy destructors supporting the batch destruction are performed
+   * in a single native call; the order of destruction is preserved.
+   *
    * <p>The implementation is idempotent — subsequent invocations have no effect.
    *
    * @throws CloseFailuresException if any clean action failed. The exception includes all
@@ -162,21 +174,35 @@ public final class Cleaner implements AutoCloseable {
     }
 
     closed = true;
+    int numCleanActions = getNumRegisteredActions();
+    NativeProxyMetrics.cleanerClosed(numCleanActions);
+    EventSpan span = FrameworkEvents.cleanerClose(description, numCleanActions);
 
     // Currently only the number of failures is recorded. If extra context is needed,
     // the clean actions might be included as well.
     List<Throwable> suppressedExceptions = new ArrayList<>();
-    while (!registeredCleanActions.isEmpty()) {
-      CleanAction cleanAction = registeredCleanActions.pop();
-      // Try to perform the operation.
-      try {
-        cleanAction.clean();
-      } catch (Throwable t) {
-        // Record the failure
-        suppressedExceptions.add(t);
-        // Log the details
-        logCleanActionFailure(cleanAction, t);
+    try {
+      while (!registeredCleanActions.isEmpty()) {
+        CleanAction cleanAction = registeredCleanActions.pop();
+        if (isBatchDestructible(cleanAction)) {
+          addToDropBatch((ProxyDestructor) cleanAction);
+          continue;
+        }
+        // Destroy the pending native objects before the operation to keep the reversed order.
+        dropPendingObjects(suppressedExceptions);
+        // Try to perform the operation.
+        try {
+          cleanAction.clean();
+        } catch (Throwable t) {
+          // Record the failure
+          suppressedExceptions.add(t);
+          // Log the details
+          logCleanActionFailure(cleanAction, t);
+        }
       }
+      dropPendingObjects(suppressedExceptions);
+    } finally {
+      span.commit();
     }
 
     // If there have been any failures, throw an exception with a detailed error message.
@@ -190,6 +216,35 @@ public final class Cleaner implements AutoCloseable {
     }
   }
 
+  private static boolean isBatchDestructible(CleanAction<?> cleanAction) {
+    return cleanAction instanceof ProxyDestructor
+        && ((ProxyDestructor) cleanAction).hasNativeDropFunction();
+  }
+
+  private void addToDropBatch(ProxyDestructor destructor) {
+    long handle = destructor.detachNativeHandle();
+    if (handle == NativeHandle.INVALID_NATIVE_HANDLE) {
+      return;
+    }
+    if (dropBatch == null) {
+      dropBatch = new NativeDropBatch();
+    }
+    dropBatch.add(handle, destructor.getNativeDropFunction());
+  }
+
+  private void dropPendingObjects(List<Throwable> suppressedExceptions) {
+    if (dropBatch == null || dropBatch.isEmpty()) {
+      return;
+    }
+    try {
+      dropBatch.dropAll();
+    } catch (Throwable t) {
+      suppressedExceptions.add(t);
+      logger.error("Exception occurred when this context ({}) attempted to destroy "
+          + "native objects:", this, t);
+    }
+  }
+
   private void logCleanActionFailure(CleanAction cleanAction, Throwable cleanException) {
     logger.error("Exception occurred when this context ({}) attempted to perform "
         + "a clean operation ({}):", this, cleanAction, cleanException);
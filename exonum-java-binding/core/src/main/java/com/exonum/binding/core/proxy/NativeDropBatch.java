@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.proxy;
+
+import com.exonum.binding.core.util.LibraryLoader;
+import java.util.Arrays;
+
+/**
+ * A batch of native objects to destroy in a single native call. Each object is destroyed with
+ * its own type-erased destructor (a native drop function), hence the batch may contain objects
+ * of various types.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @see ProxyDestructor#getNativeDropFunction()
+ */
+final class NativeDropBatch {
+
+  static {
+    LibraryLoader.load();
+  }
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] handles = new long[INITIAL_CAPACITY];
+  private long[] dropFunctions = new long[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Adds a native object to destroy.
+   *
+   * @param handle a native handle of the object
+   * @param dropFunction a native drop function of the object
+   */
+  void add(long handle, long dropFunction) {
+    if (size == handles.length) {
+      handles = Arrays.copyOf(handles, size * 2);
+      dropFunctions = Arrays.copyOf(dropFunctions, size * 2);
+    }
+    handles[size] = handle;
+    dropFunctions[size] = dropFunction;
+    size++;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Destroys the native objects in this batch, in the order they were added, and clears it.
+   * Attempts to destroy all objects even if some of them fail to.
+   *
+   * @throws RuntimeException if any of the objects failed to be destroyed
+   */
+  void dropAll() {
+    int numObjects = size;
+    // Clear first so that the batch can be reused if destruction fails
+    size = 0;
+    nativeDropAll(handles, dropFunctions, numObjects);
+  }
+
+  private static native void nativeDropAll(long[] handles, long[] dropFunctions, int size);
+}
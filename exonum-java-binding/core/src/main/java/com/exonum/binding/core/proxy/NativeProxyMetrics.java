@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.proxy;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide metrics of native proxies: the number of native proxies created and destroyed,
+ * by proxy class; and the distribution of the number of clean actions performed by cleaners.
+ * The difference between the created and destroyed proxies of a certain class is the number
+ * of live native objects of that type accessible from Java.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @see ProxyDestructor
+ * @see Cleaner
+ */
+public final class NativeProxyMetrics {
+
+  /**
+   * The upper bounds (inclusive) of the buckets of the number of clean actions performed by
+   * a cleaner. The last, implicit, bucket includes all values above the last bound.
+   */
+  private static final int[] CLEAN_ACTIONS_BUCKETS = {0, 1, 2, 4, 8, 16, 32, 64, 128, 256, 512,
+      1024};
+
+  private static final ConcurrentMap<Class<?>, LongAdder> createdProxies =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentMap<Class<?>, LongAdder> destroyedProxies =
+      new ConcurrentHashMap<>();
+  private static final AtomicLongArray cleanActionsBucketCounts =
+      new AtomicLongArray(CLEAN_ACTIONS_BUCKETS.length + 1);
+  private static final LongAdder totalCleanActions = new LongAdder();
+
+  /** Records the creation of a native proxy of the given class. */
+  static void proxyCreated(Class<?> proxyClass) {
+    counter(createdProxies, proxyClass).increment();
+  }
+
+  /**
+   * Records the destruction of a native proxy of the given class, or the transfer of
+   * the ownership of its native object to the native code.
+   */
+  static void proxyDestroyed(Class<?> proxyClass) {
+    counter(destroyedProxies, proxyClass).increment();
+  }
+
+  /** Records the closing of a cleaner that had the given number of clean actions. */
+  static void cleanerClosed(int numCleanActions) {
+    int bucket = 0;
+    while (bucket < CLEAN_ACTIONS_BUCKETS.length
+        && numCleanActions > CLEAN_ACTIONS_BUCKETS[bucket]) {
+      bucket++;
+    }
+    cleanActionsBucketCounts.incrementAndGet(bucket);
+    totalCleanActions.add(numCleanActions);
+  }
+
+  private static LongAdder counter(ConcurrentMap<Class<?>, LongAdder> counters,
+      Class<?> proxyClass) {
+    // Check with get first, as computeIfAbsent may lock the map entry even if it is present
+    LongAdder counter = counters.get(proxyClass);
+    return counter != null ? counter : counters.computeIfAbsent(proxyClass, c -> new LongAdder());
+  }
+
+  /**
+   * Returns the number of native proxies created, by proxy class name.
+   */
+  public static Map<String, Long> getCreatedProxies() {
+    return snapshot(createdProxies);
+  }
+
+  /**
+   * Returns the number of native proxies destroyed (or which native objects were transferred
+   * to the native code), by proxy class name.
+   */
+  public static Map<String, Long> getDestroyedProxies() {
+    return snapshot(destroyedProxies);
+  }
+
+  private static Map<String, Long> snapshot(ConcurrentMap<Class<?>, LongAdder> counters) {
+    ImmutableMap.Builder<String, Long> snapshot = ImmutableMap.builder();
+    counters.forEach((proxyClass, counter) ->
+        snapshot.put(proxyClass.getSimpleName(), counter.sum()));
+    return snapshot.build();
+  }
+
+  /**
+   * Returns the cumulative distribution of the number of clean actions performed by cleaners:
+   * the number of closed cleaners that had at most <em>key</em> clean actions. The last entry
+   * has {@link Integer#MAX_VALUE} as the key and contains the total number of closed cleaners.
+   */
+  public static Map<Integer, Long> getCleanActionsDistribution() {
+    ImmutableMap.Builder<Integer, Long> distribution = ImmutableMap.builder();
+    long cumulativeCount = 0;
+    for (int i = 0; i < CLEAN_ACTIONS_BUCKETS.length; i++) {
+      cumulativeCount += cleanActionsBucketCounts.get(i);
+      distribution.put(CLEAN_ACTIONS_BUCKETS[i], cumulativeCount);
+    }
+    cumulativeCount += cleanActionsBucketCounts.get(CLEAN_ACTIONS_BUCKETS.length);
+    distribution.put(Integer.MAX_VALUE, cumulativeCount);
+    return distribution.build();
+  }
+
+  /**
+   * Returns the total number of clean actions performed by the closed cleaners.
+   */
+  public static long getTotalCleanActions() {
+    return totalCleanActions.sum();
+  }
+
+  private NativeProxyMetrics() {}
+}
@@ -36,9 +36,16 @@ import java.util.function.LongConsumer;
  */
 public final class ProxyDestructor implements CancellableCleanAction<Class<?>> {
 
+  /**
+   * The value of the native drop function of the proxies that do not support destruction
+   * in a {@linkplain Cleaner#close() batch}.
+   */
+  public static final long NO_DROP_FUNCTION = 0L;
+
   private final NativeHandle nativeHandle;
   private final LongConsumer cleanFunction;
   private final Class<?> proxyClass;
+  private final long nativeDropFunction;
   private boolean destroyed;
   private boolean cancelled;
 
@@ -55,7 +62,32 @@ public final class ProxyDestructor implements CancellableCleanAction<Class<?>> {
                                               NativeHandle nativeHandle,
                                               Class<?> proxyClass,
                                               LongConsumer destructorFunction) {
-    ProxyDestructor d = new ProxyDestructor(nativeHandle, proxyClass, destructorFunction);
+    return newRegistered(cleaner, nativeHandle, proxyClass, destructorFunction,
+        NO_DROP_FUNCTION);
+  }
+
+  /**
+   * Creates a new destructor of a native proxy, registered in the given cleaner.
+   * The native object can be destroyed either with the destructor function; or with
+   * the native drop function, together with other native objects of the cleaner in a single
+   * native call.
+   *
+   * @param cleaner a cleaner to register the destructor in
+   * @param nativeHandle a handle to the native object
+   * @param proxyClass a class of proxy
+   * @param destructorFunction a clean function to perform
+   * @param nativeDropFunction a pointer to the native type-erased destructor of the native
+   *     object; or {@link #NO_DROP_FUNCTION} if it can be destroyed with the destructor function
+   *     only
+   */
+  @CanIgnoreReturnValue
+  public static ProxyDestructor newRegistered(Cleaner cleaner,
+                                              NativeHandle nativeHandle,
+                                              Class<?> proxyClass,
+                                              LongConsumer destructorFunction,
+                                              long nativeDropFunction) {
+    ProxyDestructor d = new ProxyDestructor(nativeHandle, proxyClass, destructorFunction,
+        nativeDropFunction);
     cleaner.add(d);
     return d;
   }
@@ -69,11 +101,18 @@ public final class ProxyDestructor implements CancellableCleanAction<Class<?>> {
    */
   public ProxyDestructor(NativeHandle nativeHandle, Class<?> proxyClass,
                          LongConsumer destructorFunction) {
+    this(nativeHandle, proxyClass, destructorFunction, NO_DROP_FUNCTION);
+  }
+
+  private ProxyDestructor(NativeHandle nativeHandle, Class<?> proxyClass,
+      LongConsumer destructorFunction, long nativeDropFunction) {
     this.nativeHandle = checkNotNull(nativeHandle);
     this.cleanFunction = checkNotNull(destructorFunction);
     this.proxyClass = checkNotNull(proxyClass);
+    this.nativeDropFunction = nativeDropFunction;
     destroyed = false;
     cancelled = false;
+    NativeProxyMetrics.proxyCreated(proxyClass);
   }
 
   /**
@@ -86,24 +125,53 @@ public final class ProxyDestructor implements CancellableCleanAction<Class<?>> {
    */
   @Override
   public void clean() {
+    long handle = detachNativeHandle();
+
+    // Perform the clean action if the native handle was valid.
+    if (handle != NativeHandle.INVALID_NATIVE_HANDLE) {
+      cleanFunction.accept(handle);
+    }
+  }
+
+  /**
+   * Returns true if the native object can be destroyed with the native drop function.
+   */
+  boolean hasNativeDropFunction() {
+    return nativeDropFunction != NO_DROP_FUNCTION;
+  }
+
+  /**
+   * Returns the native type-erased destructor of the native object.
+   */
+  long getNativeDropFunction() {
+    return nativeDropFunction;
+  }
+
+  /**
+   * Marks this destructor as performed and closes the native handle, so that the native
+   * object can be destroyed by the caller.
+   *
+   * @return the value of the native handle to destroy; or
+   *     {@link NativeHandle#INVALID_NATIVE_HANDLE} if there is nothing to destroy
+   */
+  long detachNativeHandle() {
     if (destroyed || cancelled) {
-      return;
+      return NativeHandle.INVALID_NATIVE_HANDLE;
     }
 
     destroyed = true;
+    NativeProxyMetrics.proxyDestroyed(proxyClass);
 
     // Do not perform the destructor if the native handle is not valid.
     if (!nativeHandle.isValid()) {
-      return;
+      return NativeHandle.INVALID_NATIVE_HANDLE;
     }
 
     long handle = nativeHandle.get();
 
     // Close the native handle.
     nativeHandle.close();
-
-    // Perform the clean action.
-    cleanFunction.accept(handle);
+    return handle;
   }
 
   @Override
@@ -113,6 +181,10 @@ public final class ProxyDestructor implements CancellableCleanAction<Class<?>> {
 
   @Override
   public void cancel() {
+    if (!(destroyed || cancelled)) {
+      // The native code takes the ownership of the native object
+      NativeProxyMetrics.proxyDestroyed(proxyClass);
+    }
     cancelled = true;
   }
 
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * The configuration of the dispatch of {@linkplain ServiceRuntime#afterCommit block commit events}
+ * to services.
+ *
+ * <p>In the synchronous mode (the default), the runtime invokes the after commit handlers
+ * of all services one after another on the thread committing the block.
+ *
+ * <p>In the asynchronous mode, each service has a dedicated thread and a bounded queue
+ * of block commit events. Each handler receives its own snapshot proxy and runs at most for
+ * the configured timeout, after which its thread is interrupted. If the queue of a service
+ * is full, the new events for that service are dropped.
+ *
+ * @see AfterCommitStats
+ */
+@AutoValue
+public abstract class AfterCommitConfig {
+
+  /** The system property enabling the asynchronous mode. */
+  public static final String ASYNC_PROPERTY = "exonum.runtime.afterCommit.async";
+  /**
+   * The system property specifying the timeout of the after commit handlers, in milliseconds.
+   * The timeout of a particular service can be set with the property with the service name
+   * appended, e.g., {@code exonum.runtime.afterCommit.timeoutMillis.timestamping}.
+   */
+  public static final String TIMEOUT_MILLIS_PROPERTY = "exonum.runtime.afterCommit.timeoutMillis";
+  /** The system property specifying the maximum number of pending events of a service. */
+  public static final String MAX_QUEUE_SIZE_PROPERTY = "exonum.runtime.afterCommit.maxQueueSize";
+
+  static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+  static final int DEFAULT_MAX_QUEUE_SIZE = 16;
+
+  /**
+   * Returns true if the block commit events are dispatched to services asynchronously.
+   */
+  public abstract boolean isAsync();
+
+  /**
+   * Returns the maximum duration of an after commit handler of a service that has no
+   * {@linkplain #getServiceTimeouts() specific timeout}. Applies only to the asynchronous mode.
+   */
+  public abstract Duration getDefaultTimeout();
+
+  /**
+   * Returns the maximum durations of after commit handlers of particular services,
+   * by service name. Applies only to the asynchronous mode.
+   */
+  public abstract ImmutableMap<String, Duration> getServiceTimeouts();
+
+  /**
+   * Returns the maximum number of block commit events pending processing by a service.
+   * Applies only to the asynchronous mode.
+   */
+  public abstract int getMaxQueueSize();
+
+  /**
+   * Returns the timeout of the after commit handler of the service with the given name.
+   */
+  public Duration getTimeout(String serviceName) {
+    return getServiceTimeouts().getOrDefault(serviceName, getDefaultTimeout());
+  }
+
+  /**
+   * Returns the configuration of the synchronous dispatch.
+   */
+  public static AfterCommitConfig synchronous() {
+    return builder().build();
+  }
+
+  /**
+   * Creates the configuration from the {@linkplain System#getProperties() system properties}.
+   * The properties that are not set have their default values.
+   *
+   * @throws IllegalArgumentException if any property has invalid value
+   */
+  public static AfterCommitConfig fromSystemProperties() {
+    return fromProperties(System.getProperties());
+  }
+
+  static AfterCommitConfig fromProperties(Properties properties) {
+    Builder builder = builder()
+        .async(Boolean.parseBoolean(properties.getProperty(ASYNC_PROPERTY)));
+    String timeoutMillis = properties.getProperty(TIMEOUT_MILLIS_PROPERTY);
+    if (timeoutMillis != null) {
+      builder.defaultTimeout(parseMillis(timeoutMillis));
+    }
+    String maxQueueSize = properties.getProperty(MAX_QUEUE_SIZE_PROPERTY);
+    if (maxQueueSize != null) {
+      builder.maxQueueSize(Integer.parseInt(maxQueueSize));
+    }
+    String serviceTimeoutPrefix = TIMEOUT_MILLIS_PROPERTY + ".";
+    for (String name : properties.stringPropertyNames()) {
+      if (name.startsWith(serviceTimeoutPrefix)) {
+        String serviceName = name.substring(serviceTimeoutPrefix.length());
+        builder.serviceTimeout(serviceName, parseMillis(properties.getProperty(name)));
+      }
+    }
+    return builder.build();
+  }
+
+  private static Duration parseMillis(String millis) {
+    return Duration.ofMillis(Long.parseLong(millis));
+  }
+
+  /**
+   * Creates a new builder of the configuration, with the synchronous mode and default
+   * parameters set.
+   */
+  public static Builder builder() {
+    return new AutoValue_AfterCommitConfig.Builder()
+        .async(false)
+        .defaultTimeout(DEFAULT_TIMEOUT)
+        .maxQueueSize(DEFAULT_MAX_QUEUE_SIZE);
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    /**
+     * Sets whether the block commit events must be dispatched asynchronously.
+     */
+    public abstract Builder async(boolean async);
+
+    /**
+     * Sets the timeout of the after commit handlers of services, which have no specific timeout.
+     */
+    public abstract Builder defaultTimeout(Duration timeout);
+
+    abstract ImmutableMap.Builder<String, Duration> serviceTimeoutsBuilder();
+
+    /**
+     * Sets the timeout of the after commit handler of the service with the given name.
+     */
+    public Builder serviceTimeout(String serviceName, Duration timeout) {
+      serviceTimeoutsBuilder().put(serviceName, timeout);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of block commit events pending processing by a service.
+     */
+    public abstract Builder maxQueueSize(int maxQueueSize);
+
+    abstract AfterCommitConfig autoBuild();
+
+    /**
+     * Creates the configuration.
+     *
+     * @throws IllegalArgumentException if any timeout is not positive, or if the queue size
+     *     is not positive
+     */
+    public AfterCommitConfig build() {
+      AfterCommitConfig config = autoBuild();
+      checkTimeout(config.getDefaultTimeout());
+      config.getServiceTimeouts().values()
+          .forEach(Builder::checkTimeout);
+      checkArgument(config.getMaxQueueSize() > 0, "maxQueueSize must be positive, but is %s",
+          config.getMaxQueueSize());
+      return config;
+    }
+
+    private static void checkTimeout(Duration timeout) {
+      checkArgument(!timeout.isNegative() && !timeout.isZero(),
+          "Timeout must be positive, but is %s", timeout);
+    }
+  }
+}
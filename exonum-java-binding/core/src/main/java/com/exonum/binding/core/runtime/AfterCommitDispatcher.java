@@ -0,0 +1,307 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.runtime.RuntimeMetrics.Operation;
+import com.exonum.binding.core.service.BlockCommittedEvent;
+import com.exonum.binding.core.service.BlockCommittedEventImpl;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A dispatcher of block commit events to the services, which invokes their after commit handlers
+ * asynchronously.
+ *
+ * <p>Each service has a dedicated thread with a bounded queue of events, so that the events
+ * are handled by a service in the order of blocks, but the services do not wait for each other.
+ * Each handler receives its own native snapshot, created when the event is dispatched, so that
+ * the handlers never access the same native snapshot concurrently. The snapshot is destroyed
+ * once the service handles the event, or the event is dropped.
+ *
+ * <p>A handler that exceeds its timeout is interrupted. If it does not respond to the interrupt,
+ * the service is reported as {@linkplain AfterCommitStats#isStalled() stalled}, and an error
+ * with the stack trace of the handler is logged each timeout period until it completes.
+ *
+ * <p>This class is thread-safe.
+ */
+final class AfterCommitDispatcher {
+
+  private static final Logger logger = LogManager.getLogger(AfterCommitDispatcher.class);
+
+  private final AfterCommitConfig config;
+  private final RuntimeMetrics metrics;
+  private final ScheduledExecutorService timeoutScheduler;
+  private final Map<Integer, ServiceQueue> queues = new ConcurrentHashMap<>();
+  private volatile long committedHeight = -1;
+  private volatile boolean shutdown;
+
+  AfterCommitDispatcher(AfterCommitConfig config, RuntimeMetrics metrics) {
+    this.config = checkNotNull(config);
+    this.metrics = checkNotNull(metrics);
+    this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("after-commit-timeouts-%d")
+        .setDaemon(true)
+        .build());
+  }
+
+  /**
+   * Dispatches the block commit event to the given services. This method does not wait
+   * for the services to handle the event.
+   *
+   * <p>The dispatcher creates a snapshot of the committed state for each service, registered
+   * in a new cleaner, with the given factory; and destroys it once the service has handled
+   * the event.
+   *
+   * @param services the services to notify
+   * @param snapshotFactory the factory of the snapshots of the committed state, registering
+   *     the snapshot in the given cleaner. It is invoked in the calling thread
+   * @param validatorId the validator id of this node, if it is a validator
+   * @param height the height of the committed block
+   */
+  void dispatch(Collection<ServiceWrapper> services, Function<Cleaner, Snapshot> snapshotFactory,
+      OptionalInt validatorId, long height) {
+    if (shutdown) {
+      // Do not throw into the native code if a block is committed during the shutdown
+      logger.warn("Dropped the block commit event at height {}: the dispatcher is shut down",
+          height);
+      return;
+    }
+    committedHeight = height;
+    for (ServiceWrapper service : services) {
+      ServiceQueue queue = queues.computeIfAbsent(service.getId(),
+          id -> new ServiceQueue(service, height - 1));
+      // The task takes the ownership of the snapshot and its cleaner
+      Cleaner cleaner = new Cleaner("afterCommit");
+      Snapshot snapshot;
+      try {
+        snapshot = snapshotFactory.apply(cleaner);
+      } catch (RuntimeException e) {
+        destroy(cleaner);
+        throw e;
+      }
+      queue.submit(new AfterCommitTask(queue, snapshot, validatorId, height));
+    }
+  }
+
+  /**
+   * Returns the statistics of the dispatch of events to each service, by service name.
+   */
+  Map<String, AfterCommitStats> getStats() {
+    long height = committedHeight;
+    ImmutableMap.Builder<String, AfterCommitStats> stats = ImmutableMap.builder();
+    for (ServiceQueue queue : queues.values()) {
+      stats.put(queue.service.getName(), queue.getStats(height));
+    }
+    return stats.build();
+  }
+
+  /**
+   * Stops the dispatcher. The handlers that are being executed are given the time to complete;
+   * the pending events are discarded.
+   *
+   * @throws InterruptedException if an interrupt was requested
+   */
+  void shutdown() throws InterruptedException {
+    shutdown = true;
+    List<Runnable> pending = new ArrayList<>();
+    for (ServiceQueue queue : queues.values()) {
+      queue.executor.getQueue().drainTo(pending);
+      queue.executor.shutdown();
+    }
+    pending.forEach(task -> ((AfterCommitTask) task).discard());
+    for (ServiceQueue queue : queues.values()) {
+      Duration timeout = config.getTimeout(queue.service.getName());
+      if (!queue.executor.awaitTermination(timeout.toMillis(), MILLISECONDS)) {
+        logger.warn("The after commit handler of service {} did not complete in {}",
+            queue.service.getName(), timeout);
+      }
+    }
+    timeoutScheduler.shutdownNow();
+  }
+
+  /**
+   * The queue of events of a single service.
+   */
+  private final class ServiceQueue {
+    final ServiceWrapper service;
+    final ThreadPoolExecutor executor;
+    final AtomicLong droppedEvents = new AtomicLong();
+    final AtomicLong timedOutEvents = new AtomicLong();
+    volatile long lastHandledHeight;
+    volatile boolean stalled;
+
+    ServiceQueue(ServiceWrapper service, long lastHandledHeight) {
+      this.service = service;
+      this.lastHandledHeight = lastHandledHeight;
+      this.executor = new ThreadPoolExecutor(1, 1, 0L, MILLISECONDS,
+          new ArrayBlockingQueue<>(config.getMaxQueueSize()),
+          new ThreadFactoryBuilder()
+              .setNameFormat("after-commit-" + service.getId() + "-%d")
+              .setDaemon(true)
+              .build());
+    }
+
+    void submit(AfterCommitTask task) {
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        logger.warn("Dropped the block commit event at height {} for service {}: "
+            + "{} events are pending", task.height, service.getName(),
+            executor.getQueue().size());
+        task.discard();
+      }
+    }
+
+    AfterCommitStats getStats(long committedHeight) {
+      long lastHandled = lastHandledHeight;
+      return AfterCommitStats.newInstance(service.getName(), lastHandled,
+          Math.max(0, committedHeight - lastHandled), droppedEvents.get(), timedOutEvents.get(),
+          stalled);
+    }
+  }
+
+  /**
+   * A task invoking the after commit handler of a service.
+   */
+  private final class AfterCommitTask implements Runnable {
+    final ServiceQueue queue;
+    final Snapshot snapshot;
+    final OptionalInt validatorId;
+    final long height;
+    /** Whether the handler has completed. Guarded by this. */
+    boolean completed;
+    /** The task checking the handler for a timeout. Guarded by this. */
+    ScheduledFuture<?> watchdog;
+
+    AfterCommitTask(ServiceQueue queue, Snapshot snapshot, OptionalInt validatorId, long height) {
+      this.queue = queue;
+      this.snapshot = snapshot;
+      this.validatorId = validatorId;
+      this.height = height;
+    }
+
+    @Override
+    public void run() {
+      ServiceWrapper service = queue.service;
+      Thread worker = Thread.currentThread();
+      Duration timeout = config.getTimeout(service.getName());
+      synchronized (this) {
+        scheduleWatchdog(worker, timeout, 1);
+      }
+      long startNanos = System.nanoTime();
+      Exception failure = null;
+      try {
+        BlockCommittedEvent event = BlockCommittedEventImpl.valueOf(snapshot, validatorId, height);
+        service.afterCommit(event);
+      } catch (Exception e) {
+        // Log, but do not re-throw
+        failure = e;
+        logger.error("Service {} threw an exception in its afterCommit handler of block {}",
+            service.getName(), height, e);
+      } finally {
+        metrics.record(service.getName(), Operation.AFTER_COMMIT, startNanos, failure);
+        synchronized (this) {
+          completed = true;
+          if (watchdog != null) {
+            watchdog.cancel(false);
+          }
+        }
+        // Clear the interrupted status, possibly set on timeout, so that it does not affect
+        // the handling of the next events
+        Thread.interrupted();
+        queue.stalled = false;
+        queue.lastHandledHeight = height;
+        destroy(snapshot.getCleaner());
+      }
+    }
+
+    /**
+     * Handles the expiration of the given number of timeout periods since the handler start:
+     * interrupts the handler on the first one; and reports it as stalled on the next ones.
+     */
+    private synchronized void onTimeout(Thread worker, Duration timeout, int periods) {
+      if (completed) {
+        return;
+      }
+      String serviceName = queue.service.getName();
+      if (periods == 1) {
+        queue.timedOutEvents.incrementAndGet();
+        logger.warn("The afterCommit handler of service {} has not completed in {} "
+            + "(block {}); interrupting", serviceName, timeout, height);
+        worker.interrupt();
+      } else {
+        queue.stalled = true;
+        Throwable handlerTrace = new Throwable("The stack trace of " + worker.getName());
+        handlerTrace.setStackTrace(worker.getStackTrace());
+        logger.error("The afterCommit handler of service {} has not completed in {} (block {}) "
+            + "and does not respond to the interrupt. The service will not handle "
+            + "the following events until it completes; they are dropped once its queue "
+            + "is full", serviceName, timeout.multipliedBy(periods), height, handlerTrace);
+      }
+      scheduleWatchdog(worker, timeout, periods + 1);
+    }
+
+    /** Schedules a timeout check after the given number of periods. Must hold this. */
+    private void scheduleWatchdog(Thread worker, Duration timeout, int periods) {
+      try {
+        watchdog = timeoutScheduler.schedule(() -> onTimeout(worker, timeout, periods),
+            timeout.toNanos(), NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        // The dispatcher is shut down
+        watchdog = null;
+      }
+    }
+
+    /** Discards this task without invoking the handler. */
+    void discard() {
+      queue.droppedEvents.incrementAndGet();
+      destroy(snapshot.getCleaner());
+    }
+  }
+
+  private static void destroy(Cleaner snapshotCleaner) {
+    try {
+      snapshotCleaner.close();
+    } catch (CloseFailuresException e) {
+      logger.error("Failed to destroy the snapshot", e);
+    }
+  }
+}
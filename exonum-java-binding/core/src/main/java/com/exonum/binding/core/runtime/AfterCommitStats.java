@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * The statistics of the asynchronous dispatch of block commit events to a service.
+ *
+ * @see AfterCommitConfig
+ * @see ServiceRuntime#getAfterCommitStats()
+ */
+@AutoValue
+public abstract class AfterCommitStats {
+
+  /**
+   * Returns the name of the service.
+   */
+  public abstract String getServiceName();
+
+  /**
+   * Returns the height of the last block, which commit event the service has handled.
+   */
+  public abstract long getLastHandledHeight();
+
+  /**
+   * Returns the number of blocks the service is behind the last committed block,
+   * i.e., the number of committed blocks which events the service has not handled yet,
+   * or which events were dropped.
+   */
+  public abstract long getLag();
+
+  /**
+   * Returns the number of events dropped because the queue of the service was full.
+   */
+  public abstract long getDroppedEvents();
+
+  /**
+   * Returns the number of events which handling exceeded the timeout.
+   */
+  public abstract long getTimedOutEvents();
+
+  /**
+   * Returns true if the handler of the service has exceeded the timeout and has not completed
+   * after it was interrupted. Until it completes, the service does not handle the following
+   * events, and they are dropped once its queue is full.
+   */
+  public abstract boolean isStalled();
+
+  static AfterCommitStats newInstance(String serviceName, long lastHandledHeight, long lag,
+      long droppedEvents, long timedOutEvents, boolean stalled) {
+    return new AutoValue_AfterCommitStats(serviceName, lastHandledHeight, lag, droppedEvents,
+        timedOutEvents, stalled);
+  }
+}
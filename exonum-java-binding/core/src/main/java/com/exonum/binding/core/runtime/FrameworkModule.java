@@ -19,6 +19,7 @@ package com.exonum.binding.core.runtime;
 import static com.google.inject.name.Names.named;
 
 import com.exonum.binding.core.transport.Server;
+import com.exonum.binding.core.transport.ServerConfig;
 import com.google.common.collect.ImmutableMap;
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
@@ -59,7 +60,8 @@ public final class FrameworkModule extends AbstractModule {
     install(new RuntimeModule(dependencyReferenceClasses));
 
     // Specify framework-wide bindings
-    bind(Server.class).toProvider(Server::create)
+    ServerConfig serverConfig = ServerConfig.fromSystemProperties();
+    bind(Server.class).toProvider(() -> Server.create(serverConfig))
         .in(Singleton.class);
     bind(Path.class).annotatedWith(named(SERVICE_RUNTIME_ARTIFACTS_DIRECTORY))
         .toInstance(serviceArtifactsDir);
@@ -67,6 +69,7 @@ public final class FrameworkModule extends AbstractModule {
         .toInstance(serviceWebServerPort);
 
     bind(ViewFactory.class).toInstance(ViewProxyFactory.getInstance());
+    bind(AfterCommitConfig.class).toInstance(AfterCommitConfig.fromSystemProperties());
     // todo: Consider providing an implementation of a Node —
     //   requires changing its contract.
   }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies with log-linear buckets, similar to HDR histograms. Each power-of-two
+ * range of values is split into {@value #SUB_BUCKETS} equal buckets, giving the relative
+ * precision of about 6% for any recorded value.
+ *
+ * <p>This class is thread-safe. The recording does not block and does not allocate.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  /** The number of buckets in each power-of-two range. */
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  /** The number of buckets: linear ones for small values, and log-linear for others. */
+  private static final int NUM_BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalValue = new LongAdder();
+  private final AtomicLong maxValue = new AtomicLong();
+
+  /**
+   * Records the value.
+   *
+   * @param value a non-negative value, e.g., a duration in nanoseconds
+   */
+  void record(long value) {
+    checkArgument(value >= 0, "Negative value: %s", value);
+    counts.incrementAndGet(bucketIndex(value));
+    totalCount.increment();
+    totalValue.add(value);
+    maxValue.accumulateAndGet(value, Math::max);
+  }
+
+  /** Returns the number of recorded values. */
+  long getCount() {
+    return totalCount.sum();
+  }
+
+  /** Returns the sum of recorded values. */
+  long getTotal() {
+    return totalValue.sum();
+  }
+
+  /** Returns the maximum recorded value; or zero if no values were recorded. */
+  long getMax() {
+    return maxValue.get();
+  }
+
+  /**
+   * Returns the value at the given percentile: the highest value that is equivalent
+   * (i.e., falls in the same bucket) to the value, below or at which the given percentage
+   * of recorded values fall. The returned value does not exceed the maximum recorded value.
+   * If no values were recorded, returns zero.
+   *
+   * @param percentile a percentile in range [0; 100]
+   */
+  long getValueAtPercentile(double percentile) {
+    checkArgument(0 <= percentile && percentile <= 100,
+        "Percentile (%s) must be in range [0; 100]", percentile);
+    long[] bucketCounts = new long[NUM_BUCKETS];
+    long count = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      bucketCounts[i] = counts.get(i);
+      count += bucketCounts[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long targetCount = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long cumulativeCount = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      cumulativeCount += bucketCounts[i];
+      if (cumulativeCount >= targetCount) {
+        return Math.min(bucketUpperBound(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Returns the index of the bucket of the given value. The values below {@link #SUB_BUCKETS}
+   * have a bucket each; other values are put in one of the {@link #SUB_BUCKETS} buckets
+   * of their power-of-two range.
+   */
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Returns the highest value that falls into the bucket with the given index.
+   */
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    int subBucket = index % SUB_BUCKETS;
+    long lowerBound = (long) (SUB_BUCKETS + subBucket) << shift;
+    return lowerBound + ((1L << shift) - 1);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static com.exonum.binding.common.serialization.json.JsonSerializer.json;
+import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves the {@linkplain RuntimeMetrics runtime metrics} as JSON.
+ */
+final class MetricsApiController {
+
+  private final RuntimeMetrics metrics;
+
+  MetricsApiController(RuntimeMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  void mountApi(Router router) {
+    router.get("/").handler(this::getMetrics);
+  }
+
+  private void getMetrics(RoutingContext rc) {
+    List<OperationStats> stats = metrics.getStats();
+    rc.response()
+        .putHeader(CONTENT_TYPE, "application/json")
+        .end(json().toJson(toJson(stats)));
+  }
+
+  static JsonArray toJson(List<OperationStats> stats) {
+    JsonArray array = new JsonArray();
+    stats.forEach(s -> array.add(toJson(s)));
+    return array;
+  }
+
+  private static JsonObject toJson(OperationStats stats) {
+    JsonObject json = new JsonObject();
+    json.addProperty("serviceName", stats.getServiceName());
+    json.addProperty("operation", stats.getOperation().name());
+    stats.getTxId().ifPresent(txId -> json.addProperty("txId", txId));
+    if (stats.isUnknownTransaction()) {
+      json.addProperty("unknownTransaction", true);
+    }
+    json.addProperty("count", stats.getCount());
+    json.addProperty("errorCount", stats.getErrorCount());
+    JsonObject errorCodes = new JsonObject();
+    for (Map.Entry<Integer, Long> e : stats.getErrorCodes().entrySet()) {
+      errorCodes.addProperty(String.valueOf(e.getKey()), e.getValue());
+    }
+    json.add("errorCodes", errorCodes);
+    json.addProperty("totalNanos", stats.getTotalNanos());
+    json.addProperty("meanNanos", stats.getMeanNanos());
+    json.addProperty("p50Nanos", stats.getP50Nanos());
+    json.addProperty("p90Nanos", stats.getP90Nanos());
+    json.addProperty("p99Nanos", stats.getP99Nanos());
+    json.addProperty("maxNanos", stats.getMaxNanos());
+    return json;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import com.exonum.binding.core.runtime.RuntimeMetrics.Operation;
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableMap;
+import java.util.OptionalInt;
+
+/**
+ * The statistics of a runtime operation on a service: the number of invocations, failures,
+ * and the distribution of their latencies. The transaction execution has separate statistics
+ * for each transaction type.
+ *
+ * <p>The latencies are recorded with the relative precision of about 6%.
+ *
+ * @see RuntimeMetrics
+ */
+@AutoValue
+public abstract class OperationStats {
+
+  /** Returns the name of the service. */
+  public abstract String getServiceName();
+
+  /** Returns the operation. */
+  public abstract Operation getOperation();
+
+  /**
+   * Returns the transaction type identifier, if the operation is a transaction execution
+   * or verification.
+   */
+  public abstract OptionalInt getTxId();
+
+  /**
+   * Returns true if these are the statistics of the operations on the transactions
+   * which ids are unknown to the service. Such operations are recorded together,
+   * and have no {@linkplain #getTxId() transaction id}.
+   */
+  public abstract boolean isUnknownTransaction();
+
+  /** Returns the number of invocations of the operation. */
+  public abstract long getCount();
+
+  /** Returns the number of invocations that completed with an exception. */
+  public abstract long getErrorCount();
+
+  /**
+   * Returns the number of failed transactions by the
+   * {@linkplain com.exonum.binding.core.transaction.TransactionExecutionException#getErrorCode()
+   * error code}. The failures with other exceptions are not included.
+   */
+  public abstract ImmutableMap<Integer, Long> getErrorCodes();
+
+  /** Returns the total time spent in the operation, in nanoseconds. */
+  public abstract long getTotalNanos();
+
+  /** Returns the median latency of the operation, in nanoseconds. */
+  public abstract long getP50Nanos();
+
+  /** Returns the 90th percentile of the operation latencies, in nanoseconds. */
+  public abstract long getP90Nanos();
+
+  /** Returns the 99th percentile of the operation latencies, in nanoseconds. */
+  public abstract long getP99Nanos();
+
+  /** Returns the maximum latency of the operation, in nanoseconds. */
+  public abstract long getMaxNanos();
+
+  /**
+   * Returns the mean latency of the operation, in nanoseconds; or zero if it was not invoked.
+   */
+  public long getMeanNanos() {
+    long count = getCount();
+    return count == 0 ? 0 : getTotalNanos() / count;
+  }
+
+  static Builder builder() {
+    return new AutoValue_OperationStats.Builder();
+  }
+
+  @AutoValue.Builder
+  abstract static class Builder {
+    abstract Builder serviceName(String serviceName);
+
+    abstract Builder operation(Operation operation);
+
+    abstract Builder txId(OptionalInt txId);
+
+    abstract Builder unknownTransaction(boolean unknownTransaction);
+
+    abstract Builder count(long count);
+
+    abstract Builder errorCount(long errorCount);
+
+    abstract Builder errorCodes(ImmutableMap<Integer, Long> errorCodes);
+
+    abstract Builder totalNanos(long totalNanos);
+
+    abstract Builder p50Nanos(long p50Nanos);
+
+    abstract Builder p90Nanos(long p90Nanos);
+
+    abstract Builder p99Nanos(long p99Nanos);
+
+    abstract Builder maxNanos(long maxNanos);
+
+    abstract OperationStats build();
+  }
+}
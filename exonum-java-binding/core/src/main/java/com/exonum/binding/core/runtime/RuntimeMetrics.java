@@ -0,0 +1,280 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Comparator.comparing;
+
+import com.exonum.binding.core.transaction.TransactionExecutionException;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * The metrics of the operations of the service runtime: the number of invocations, failures
+ * and the latency histograms of each operation on each service. The transaction execution
+ * has separate metrics for each transaction type known to the service; the operations
+ * on unknown transactions are recorded together.
+ *
+ * <p>The metrics are available in-process with {@link #getStats()}, and are also served as JSON
+ * by the runtime web server at {@value ServiceRuntime#METRICS_API_PATH}, and in the Prometheus
+ * format at {@value com.exonum.binding.core.transport.Server#METRICS_PATH}.
+ *
+ * <p>This class is thread-safe.
+ */
+@Singleton
+public final class RuntimeMetrics {
+
+  /**
+   * The runtime operations on services.
+   */
+  public enum Operation {
+    /** The verification of a transaction, including its conversion. */
+    VERIFY_TRANSACTION,
+    /** The execution of a transaction of the service. */
+    EXECUTE_TRANSACTION,
+    /** The execution of a method of an interface implemented by the service. */
+    EXECUTE_INTERFACE_METHOD,
+    /** The computation of the service state hashes. */
+    STATE_HASHES,
+    /** The before commit handler. */
+    BEFORE_COMMIT,
+    /** The after commit handler. */
+    AFTER_COMMIT
+  }
+
+  /**
+   * The transaction id to record the operations on the transactions unknown to the service.
+   */
+  static final int UNKNOWN_TX_ID = -2;
+
+  private static final int NO_TX_ID = -1;
+
+  /** The number of the possible error codes of a transaction execution exception. */
+  private static final int NUM_ERROR_CODES = 256;
+
+  private static final Comparator<OperationStats> STATS_ORDER =
+      comparing(OperationStats::getServiceName)
+          .thenComparing(OperationStats::getOperation)
+          .thenComparing(OperationStats::isUnknownTransaction)
+          .thenComparingInt(stats -> stats.getTxId().orElse(NO_TX_ID));
+
+  private static final Operation[] OPERATIONS = Operation.values();
+
+  private final ConcurrentMap<String, ServiceMetrics> services = new ConcurrentHashMap<>();
+
+  @Inject
+  public RuntimeMetrics() {}
+
+  /**
+   * Records an invocation of an operation on a service.
+   *
+   * @param serviceName the name of the service
+   * @param operation the operation
+   * @param startNanos the {@linkplain System#nanoTime() time} at which the operation started
+   * @param failure the exception the operation completed with; or null if it succeeded
+   */
+  void record(String serviceName, Operation operation, long startNanos,
+      @Nullable Throwable failure) {
+    recordTransaction(serviceName, operation, NO_TX_ID, startNanos, failure);
+  }
+
+  /**
+   * Records an invocation of an operation on a transaction of a service.
+   *
+   * <p>As the transaction ids come from the network, the callers must pass
+   * {@link #UNKNOWN_TX_ID} instead of the ids that the service does not
+   * {@linkplain ServiceWrapper#isKnownTransaction(String, int) know}, so that
+   * the number of the recorded metrics stays bounded.
+   *
+   * @param serviceName the name of the service
+   * @param operation the operation
+   * @param txId the transaction type identifier; or {@link #UNKNOWN_TX_ID}
+   * @param startNanos the {@linkplain System#nanoTime() time} at which the operation started
+   * @param failure the exception the operation completed with; or null if it succeeded
+   */
+  void recordTransaction(String serviceName, Operation operation, int txId, long startNanos,
+      @Nullable Throwable failure) {
+    long durationNanos = Math.max(0, System.nanoTime() - startNanos);
+    // The lookup by the service name, the operation ordinal and the primitive transaction id
+    // does not allocate once the metrics are created
+    ServiceMetrics service = services.get(serviceName);
+    if (service == null) {
+      service = services.computeIfAbsent(serviceName, ServiceMetrics::new);
+    }
+    service.getOrCreate(operation, txId)
+        .record(durationNanos, failure);
+  }
+
+  /**
+   * Returns the statistics of all operations that have been invoked, ordered by the service name,
+   * the operation and the transaction id; the statistics of unknown transactions
+   * follow the known ones.
+   */
+  public List<OperationStats> getStats() {
+    List<OperationStats> stats = new ArrayList<>();
+    for (ServiceMetrics service : services.values()) {
+      service.collectStats(stats);
+    }
+    stats.sort(STATS_ORDER);
+    return stats;
+  }
+
+  /**
+   * The metrics of the operations on a single service.
+   */
+  private static final class ServiceMetrics {
+    final String serviceName;
+    /** The metrics tables, indexed by the operation ordinal. Guarded by this on writes. */
+    final AtomicReferenceArray<MetricsTable> operations =
+        new AtomicReferenceArray<>(OPERATIONS.length);
+
+    ServiceMetrics(String serviceName) {
+      this.serviceName = checkNotNull(serviceName);
+      for (int i = 0; i < OPERATIONS.length; i++) {
+        operations.set(i, new MetricsTable());
+      }
+    }
+
+    OperationMetrics getOrCreate(Operation operation, int txId) {
+      OperationMetrics metrics = operations.get(operation.ordinal()).get(txId);
+      if (metrics != null) {
+        return metrics;
+      }
+      return add(operation, txId);
+    }
+
+    private synchronized OperationMetrics add(Operation operation, int txId) {
+      int index = operation.ordinal();
+      MetricsTable table = operations.get(index);
+      OperationMetrics metrics = table.get(txId);
+      if (metrics == null) {
+        metrics = new OperationMetrics();
+        operations.set(index, table.with(txId, metrics));
+      }
+      return metrics;
+    }
+
+    void collectStats(List<OperationStats> stats) {
+      for (Operation operation : OPERATIONS) {
+        operations.get(operation.ordinal())
+            .collectStats(serviceName, operation, stats);
+      }
+    }
+  }
+
+  /**
+   * The metrics of an operation, by the transaction id. The table is replaced on each addition,
+   * so that the lookup does not lock nor allocate.
+   */
+  private static final class MetricsTable {
+    /** The transaction ids in ascending order. */
+    final int[] txIds;
+    /** The metrics, in the order of the transaction ids. */
+    final OperationMetrics[] metrics;
+
+    MetricsTable() {
+      this(new int[0], new OperationMetrics[0]);
+    }
+
+    private MetricsTable(int[] txIds, OperationMetrics[] metrics) {
+      this.txIds = txIds;
+      this.metrics = metrics;
+    }
+
+    /** Returns the metrics of the transaction; or null if there are none in this table. */
+    @Nullable
+    OperationMetrics get(int txId) {
+      int index = Arrays.binarySearch(txIds, txId);
+      return index >= 0 ? metrics[index] : null;
+    }
+
+    /** Returns a new table with the given metrics added. */
+    MetricsTable with(int txId, OperationMetrics added) {
+      int index = -(Arrays.binarySearch(txIds, txId) + 1);
+      int size = txIds.length;
+      int[] newIds = new int[size + 1];
+      OperationMetrics[] newMetrics = new OperationMetrics[size + 1];
+      System.arraycopy(txIds, 0, newIds, 0, index);
+      System.arraycopy(metrics, 0, newMetrics, 0, index);
+      newIds[index] = txId;
+      newMetrics[index] = added;
+      System.arraycopy(txIds, index, newIds, index + 1, size - index);
+      System.arraycopy(metrics, index, newMetrics, index + 1, size - index);
+      return new MetricsTable(newIds, newMetrics);
+    }
+
+    void collectStats(String serviceName, Operation operation, List<OperationStats> stats) {
+      for (int i = 0; i < txIds.length; i++) {
+        stats.add(metrics[i].getStats(serviceName, operation, txIds[i]));
+      }
+    }
+  }
+
+  private static final class OperationMetrics {
+    final LatencyHistogram latencies = new LatencyHistogram();
+    final LongAdder errorCount = new LongAdder();
+    final AtomicLongArray errorCodes = new AtomicLongArray(NUM_ERROR_CODES);
+
+    void record(long durationNanos, @Nullable Throwable failure) {
+      latencies.record(durationNanos);
+      if (failure != null) {
+        errorCount.increment();
+        if (failure instanceof TransactionExecutionException) {
+          int errorCode = Byte.toUnsignedInt(
+              ((TransactionExecutionException) failure).getErrorCode());
+          errorCodes.incrementAndGet(errorCode);
+        }
+      }
+    }
+
+    OperationStats getStats(String serviceName, Operation operation, int txId) {
+      ImmutableMap.Builder<Integer, Long> codes = ImmutableMap.builder();
+      for (int code = 0; code < NUM_ERROR_CODES; code++) {
+        long count = errorCodes.get(code);
+        if (count != 0) {
+          codes.put(code, count);
+        }
+      }
+      return OperationStats.builder()
+          .serviceName(serviceName)
+          .operation(operation)
+          .txId(txId < 0 ? OptionalInt.empty() : OptionalInt.of(txId))
+          .unknownTransaction(txId == UNKNOWN_TX_ID)
+          .count(latencies.getCount())
+          .errorCount(errorCount.sum())
+          .errorCodes(codes.build())
+          .totalNanos(latencies.getTotal())
+          .p50Nanos(latencies.getValueAtPercentile(50))
+          .p90Nanos(latencies.getValueAtPercentile(90))
+          .p99Nanos(latencies.getValueAtPercentile(99))
+          .maxNanos(latencies.getMax())
+          .build();
+    }
+  }
+}
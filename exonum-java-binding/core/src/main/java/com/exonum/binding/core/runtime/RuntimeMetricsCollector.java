@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import com.exonum.binding.core.transport.MetricsCollector;
+import com.exonum.binding.core.transport.PrometheusWriter;
+import com.exonum.binding.core.transport.PrometheusWriter.MetricType;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the {@linkplain RuntimeMetrics runtime metrics} in the Prometheus format.
+ * The transaction throughput is the rate of the {@code EXECUTE_TRANSACTION} operations.
+ */
+final class RuntimeMetricsCollector implements MetricsCollector {
+
+  static final String OPERATIONS_METRIC = "exonum_runtime_operations_total";
+  static final String ERRORS_METRIC = "exonum_runtime_operation_errors_total";
+  static final String LATENCY_METRIC = "exonum_runtime_operation_duration_seconds";
+  /** The value of the transaction id label of the operations on unknown transactions. */
+  static final String UNKNOWN_TX_ID_LABEL = "unknown";
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final RuntimeMetrics metrics;
+
+  RuntimeMetricsCollector(RuntimeMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void collect(PrometheusWriter writer) {
+    List<OperationStats> stats = metrics.getStats();
+
+    writer.declare(OPERATIONS_METRIC, MetricType.COUNTER,
+        "Number of runtime operations performed on services");
+    for (OperationStats s : stats) {
+      writer.sample(OPERATIONS_METRIC, labels(s), s.getCount());
+    }
+
+    writer.declare(ERRORS_METRIC, MetricType.COUNTER,
+        "Number of runtime operations on services that failed");
+    for (OperationStats s : stats) {
+      writer.sample(ERRORS_METRIC, labels(s), s.getErrorCount());
+    }
+
+    writer.declare(LATENCY_METRIC, MetricType.SUMMARY,
+        "Time it took to perform the runtime operations on services");
+    for (OperationStats s : stats) {
+      writer.sample(LATENCY_METRIC, labels(s, "0.5"), toSeconds(s.getP50Nanos()))
+          .sample(LATENCY_METRIC, labels(s, "0.9"), toSeconds(s.getP90Nanos()))
+          .sample(LATENCY_METRIC, labels(s, "0.99"), toSeconds(s.getP99Nanos()))
+          .sample(LATENCY_METRIC + "_sum", labels(s), toSeconds(s.getTotalNanos()))
+          .sample(LATENCY_METRIC + "_count", labels(s), s.getCount());
+    }
+  }
+
+  private static Map<String, String> labels(OperationStats stats) {
+    ImmutableMap.Builder<String, String> labels = ImmutableMap.<String, String>builder()
+        .put("service", stats.getServiceName())
+        .put("operation", stats.getOperation().name());
+    stats.getTxId().ifPresent(txId -> labels.put("tx_id", Integer.toString(txId)));
+    if (stats.isUnknownTransaction()) {
+      labels.put("tx_id", UNKNOWN_TX_ID_LABEL);
+    }
+    return labels.build();
+  }
+
+  private static Map<String, String> labels(OperationStats stats, String quantile) {
+    return ImmutableMap.<String, String>builder()
+        .putAll(labels(stats))
+        .put("quantile", quantile)
+        .build();
+  }
+
+  private static double toSeconds(long nanos) {
+    return nanos / NANOS_PER_SECOND;
+  }
+}
@@ -79,6 +79,27 @@ public final class RuntimeTransport implements AutoCloseable {
     logApiMountEvent(service, serviceApiPath, router);
   }
 
+  /**
+   * Connects the API serving the runtime metrics to the web-server, and registers them
+   * in its Prometheus endpoint.
+   */
+  void connectMetricsApi(RuntimeMetrics metrics) {
+    Router router = server.createRouter();
+    new MetricsApiController(metrics).mountApi(router);
+    server.mountSubRouter(ServiceRuntime.METRICS_API_PATH, router);
+    server.addMetricsCollector(new RuntimeMetricsCollector(metrics));
+  }
+
+  /**
+   * Notifies the web-server of the committed block, so that it discards the responses
+   * cached for the previous height.
+   *
+   * @param height the height of the committed block
+   */
+  void onBlockCommitted(long height) {
+    server.setCommittedHeight(height);
+  }
+
   private static String createServiceApiPath(ServiceWrapper service) {
     String servicePathFragment = service.getPublicApiRelativePath();
     return ServiceRuntime.API_ROOT_PATH + "/" + servicePathFragment;
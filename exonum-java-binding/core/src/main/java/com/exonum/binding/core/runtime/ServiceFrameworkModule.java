@@ -17,7 +17,9 @@
 package com.exonum.binding.core.runtime;
 
 import com.exonum.binding.core.service.Node;
+import com.exonum.binding.core.service.TransactionConverter;
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.OptionalBinder;
 
 /**
  * A framework module providing per-service bindings. These bindings are supplied
@@ -39,5 +41,7 @@ class ServiceFrameworkModule extends AbstractModule {
     //   accessible key names.
     bind(ServiceInstanceSpec.class).toInstance(instanceSpec);
     bind(Node.class).toInstance(node);
+    // The transaction converter is optional: the services might have transaction methods instead
+    OptionalBinder.newOptionalBinder(binder(), TransactionConverter.class);
   }
 }
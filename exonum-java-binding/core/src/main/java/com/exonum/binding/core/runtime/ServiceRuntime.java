@@ -24,6 +24,8 @@ import static java.util.stream.Collectors.toList;
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.runtime.RuntimeMetrics.Operation;
 import com.exonum.binding.core.runtime.ServiceRuntimeProtos.ServiceRuntimeStateHashes;
 import com.exonum.binding.core.runtime.ServiceRuntimeProtos.ServiceStateHashes;
 import com.exonum.binding.core.service.BlockCommittedEvent;
@@ -34,18 +36,21 @@ import com.exonum.binding.core.transaction.TransactionContext;
 import com.exonum.binding.core.transaction.TransactionExecutionException;
 import com.exonum.binding.core.transport.Server;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import com.google.protobuf.ByteString;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -55,34 +60,42 @@ import org.apache.logging.log4j.Logger;
  * services), create and stop services defined in the loaded artifacts.
  *
  * <p>This class is thread-safe and does not support client-side locking.
- * The thread-safety is provided because the class is a singleton and may be provided to
- * other objects. Currently, however, there is a single injection point where ServiceRuntime
- * is instantiated (during bootstrap) and it is used by the native runtime only in a single-threaded
- * context, hence thread-safety isn't <em>strictly</em> required, but rather provided to avoid
- * possible errors if it is ever accessed by other objects.
+ * The operations changing the set of artifacts and services (deploying artifacts,
+ * adding services, shutdown) are serialized on the runtime lock and publish an immutable
+ * snapshot of the registered services. The operations on services (transaction verification
+ * and execution, state hashes, commit handlers) do not take the runtime lock: they look up
+ * the service in the current snapshot and rely on the per-service lock of
+ * the {@link ServiceWrapper}. That allows, for example, the transaction verification
+ * requested from the transaction pool to proceed while the block is being executed.
  */
 @Singleton
 public final class ServiceRuntime implements AutoCloseable {
 
   @VisibleForTesting
   static final String API_ROOT_PATH = "/api/services";
+  /** The path at which the runtime metrics are served. */
+  static final String METRICS_API_PATH = "/api/runtime/metrics";
   private static final Logger logger = LogManager.getLogger(ServiceRuntime.class);
 
   private final ServiceLoader serviceLoader;
   private final ServicesFactory servicesFactory;
   private final RuntimeTransport runtimeTransport;
   private final Path artifactsDir;
+  private final RuntimeMetrics metrics;
   /**
-   * The active services indexed by their name. It is stored in a sorted map that offers
-   * the same iteration order on all nodes with the same services, which is required
-   * for correct operation of beforeCommit and {@link #getStateHashes(Snapshot)}.
+   * The dispatcher of block commit events; or null if they are dispatched synchronously.
    */
-  private final SortedMap<String, ServiceWrapper> services = new TreeMap<>();
+  @Nullable
+  private final AfterCommitDispatcher afterCommitDispatcher;
   /**
-   * Same active services, indexed by their numeric identifier.
-   * @see ServiceInstanceSpec#getId()
+   * The active services. The registry is immutable and is replaced on each modification
+   * under the {@link #lock}, allowing the read operations to access it without locking.
+   */
+  private volatile ServiceRegistry services = ServiceRegistry.EMPTY;
+  /**
+   * The lock guarding the modifications of the runtime state: the node, the artifacts
+   * and the service registry.
    */
-  private final Map<Integer, ServiceWrapper> servicesById = new HashMap<>();
   private final Object lock = new Object();
 
   // todo: [ECR-2334] Ensure the Node is properly destroyed when the runtime is stopped
@@ -96,15 +109,22 @@ public final class ServiceRuntime implements AutoCloseable {
    * @param runtimeTransport a web server providing transport to Java services
    * @param artifactsDir the directory in which administrators place and from which
    *     the service runtime loads service artifacts; may not exist at instantiation time
+   * @param afterCommitConfig the configuration of the dispatch of block commit events
+   * @param metrics the metrics of the runtime operations
    */
   @Inject
   public ServiceRuntime(ServiceLoader serviceLoader, ServicesFactory servicesFactory,
       RuntimeTransport runtimeTransport,
-      @Named(FrameworkModule.SERVICE_RUNTIME_ARTIFACTS_DIRECTORY) Path artifactsDir) {
+      @Named(FrameworkModule.SERVICE_RUNTIME_ARTIFACTS_DIRECTORY) Path artifactsDir,
+      AfterCommitConfig afterCommitConfig, RuntimeMetrics metrics) {
     this.serviceLoader = checkNotNull(serviceLoader);
     this.servicesFactory = checkNotNull(servicesFactory);
     this.runtimeTransport = checkNotNull(runtimeTransport);
     this.artifactsDir = checkNotNull(artifactsDir);
+    this.metrics = checkNotNull(metrics);
+    this.afterCommitDispatcher = afterCommitConfig.isAsync()
+        ? new AfterCommitDispatcher(afterCommitConfig, metrics)
+        : null;
   }
 
   /**
@@ -118,6 +138,9 @@ public final class ServiceRuntime implements AutoCloseable {
 
       // Start the server
       runtimeTransport.start();
+
+      // Connect the runtime API
+      runtimeTransport.connectMetricsApi(metrics);
     }
   }
 
@@ -239,7 +262,7 @@ public final class ServiceRuntime implements AutoCloseable {
     // Check no such service in the runtime
     String name = instanceSpec.getName();
     checkArgument(!findService(name).isPresent(),
-        "Service with name '%s' already created: %s", name, services.get(name));
+        "Service with name '%s' already created: %s", name, services.findByName(name));
 
     // Find the service definition
     ServiceArtifactId artifactId = instanceSpec.getArtifactId();
@@ -251,11 +274,7 @@ public final class ServiceRuntime implements AutoCloseable {
   }
 
   private void registerService(ServiceWrapper service) {
-    String name = service.getName();
-    services.put(name, service);
-
-    int id = service.getId();
-    servicesById.put(id, service);
+    services = services.withService(service);
   }
 
   /**
@@ -293,23 +312,30 @@ public final class ServiceRuntime implements AutoCloseable {
       byte[] arguments, Fork fork, int callerServiceId, HashCode txMessageHash,
       PublicKey authorPublicKey)
       throws TransactionExecutionException {
-    synchronized (lock) {
-      ServiceWrapper service = getServiceById(serviceId);
-      String serviceName = service.getName();
-      TransactionContext context = TransactionContext.builder()
-          .fork(fork)
-          .txMessageHash(txMessageHash)
-          .authorPk(authorPublicKey)
-          .serviceName(serviceName)
-          .serviceId(serviceId)
-          .build();
-      try {
-        service.executeTransaction(interfaceName, txId, arguments, callerServiceId, context);
-      } catch (Exception e) {
-        logger.info("Transaction execution failed (service={}, txId={}, txMessageHash={})",
-            service.getName(), txId, context.getTransactionMessageHash(), e);
-        throw e;
-      }
+    ServiceWrapper service = getServiceById(serviceId);
+    String serviceName = service.getName();
+    TransactionContext context = TransactionContext.builder()
+        .fork(fork)
+        .txMessageHash(txMessageHash)
+        .authorPk(authorPublicKey)
+        .serviceName(serviceName)
+        .serviceId(serviceId)
+        .build();
+    Operation operation = ServiceWrapper.DEFAULT_INTERFACE_NAME.equals(interfaceName)
+        ? Operation.EXECUTE_TRANSACTION
+        : Operation.EXECUTE_INTERFACE_METHOD;
+    long startNanos = System.nanoTime();
+    Exception failure = null;
+    try {
+      service.executeTransaction(interfaceName, txId, arguments, callerServiceId, context);
+    } catch (Exception e) {
+      failure = e;
+      logger.info("Transaction execution failed (service={}, txId={}, txMessageHash={})",
+          service.getName(), txId, context.getTransactionMessageHash(), e);
+      throw e;
+    } finally {
+      metrics.recordTransaction(serviceName, operation,
+          metricsTxId(service, interfaceName, txId), startNanos, failure);
     }
   }
 
@@ -317,24 +343,26 @@ public final class ServiceRuntime implements AutoCloseable {
    * Returns the state hashes of this runtime and the services registered in it as a protobuf
    * message.
    *
+   * <p>The state hashes of services are computed in the calling thread, as the native snapshot
+   * does not support concurrent access. They are ordered by the service name in the resulting
+   * message.
+   *
    * @param snapshot the snapshot of the current database state
    */
   public ServiceRuntimeStateHashes getStateHashes(Snapshot snapshot) {
-    synchronized (lock) {
-      // Collect the service state hashes
-      List<ServiceStateHashes> serviceStateHashes = services.values().stream()
-          .map(service -> getServiceStateHashes(service, snapshot))
-          .collect(toList());
-
-      return ServiceRuntimeStateHashes.newBuilder()
-              // The runtime itself does not have any state hashes at the moment.
-              .addAllServiceStateHashes(serviceStateHashes)
-              .build();
-    }
+    // Collect the service state hashes
+    List<ServiceStateHashes> serviceStateHashes = services.all().stream()
+        .map(service -> getServiceStateHashes(service, snapshot))
+        .collect(toList());
+
+    return ServiceRuntimeStateHashes.newBuilder()
+            // The runtime itself does not have any state hashes at the moment.
+            .addAllServiceStateHashes(serviceStateHashes)
+            .build();
   }
 
   private ServiceStateHashes getServiceStateHashes(ServiceWrapper service, Snapshot snapshot) {
-    List<HashCode> stateHashes = service.getStateHashes(snapshot);
+    List<HashCode> stateHashes = getStateHashesRecorded(service, snapshot);
     List<ByteString> stateHashesAsBytes = stateHashes.stream()
         .map(hash -> ByteString.copyFrom(hash.asBytes()))
         .collect(toList());
@@ -344,6 +372,19 @@ public final class ServiceRuntime implements AutoCloseable {
         .build();
   }
 
+  private List<HashCode> getStateHashesRecorded(ServiceWrapper service, Snapshot snapshot) {
+    long startNanos = System.nanoTime();
+    RuntimeException failure = null;
+    try {
+      return service.getStateHashes(snapshot);
+    } catch (RuntimeException e) {
+      failure = e;
+      throw e;
+    } finally {
+      metrics.record(service.getName(), Operation.STATE_HASHES, startNanos, failure);
+    }
+  }
+
   /**
    * Performs the before commit operation on the specified service in this runtime.
    *
@@ -351,47 +392,102 @@ public final class ServiceRuntime implements AutoCloseable {
    * @param fork a fork allowing the runtime and the service to modify the database state.
    */
   public void beforeCommit(int serviceId, Fork fork) {
-    synchronized (lock) {
-      ServiceWrapper service = getServiceById(serviceId);
-      try {
-        service.beforeCommit(fork);
-      } catch (Exception e) {
-        logger.error("Service {} threw exception in beforeCommit. Any changes will be rolled-back",
-            service.getName(), e);
-        throw e;
-      }
+    ServiceWrapper service = getServiceById(serviceId);
+    long startNanos = System.nanoTime();
+    Exception failure = null;
+    try {
+      service.beforeCommit(fork);
+    } catch (Exception e) {
+      failure = e;
+      logger.error("Service {} threw exception in beforeCommit. Any changes will be rolled-back",
+          service.getName(), e);
+      throw e;
+    } finally {
+      metrics.record(service.getName(), Operation.BEFORE_COMMIT, startNanos, failure);
     }
   }
 
   /**
-   * Notifies the services in the runtime of the block commit event.
+   * Notifies the services in the runtime of the block commit event, invoking their handlers
+   * one after another.
+   *
+   * <p>The cached responses of the service APIs of the previous height are discarded
+   * before the handlers are invoked.
+   *
+   * @see #afterCommitAsync(Function, OptionalInt, long)
    */
   public void afterCommit(BlockCommittedEvent event) {
-    synchronized (lock) {
-      for (ServiceWrapper service: services.values()) {
-        try {
-          // todo: [ECR-3436] BCE carries a Snapshot which is based on a cleaner, which gets
-          //   re-used by all services. If the total number of native proxies they create is large,
-          //   that may result in excessive memory usage. Some ways to solve this:
-          //   1. Take a handle, create a fresh snapshot for each service — but will need hacks
-          //   to destroy the native peer once.
-          //   2. Support Snapshot copying with new cleaners — but that breaks index de-duplication
-          //   (though for snapshots that mustn't be an issue).
-          //   -
-          //   As a side note, 'excessive memory usage' may occur in any *single* transaction/
-          //   read request/service life-cycle method, it just has higher probability when
-          //   we invoke a number of such 'foreign' (to framework) methods with no intermediate
-          //   clean-up.
-          service.afterCommit(event);
-        } catch (Exception e) {
-          // Log, but do not re-throw either immediately or later
-          logger.error("Service {} threw an exception in its afterCommit handler of {}",
-              service.getName(), event, e);
-        }
+    runtimeTransport.onBlockCommitted(event.getHeight());
+    for (ServiceWrapper service : services.all()) {
+      long startNanos = System.nanoTime();
+      Exception failure = null;
+      try {
+        // todo: [ECR-3436] BCE carries a Snapshot which is based on a cleaner, which gets
+        //   re-used by all services. If the total number of native proxies they create is large,
+        //   that may result in excessive memory usage. Some ways to solve this:
+        //   1. Take a handle, create a fresh snapshot for each service — but will need hacks
+        //   to destroy the native peer once.
+        //   2. Support Snapshot copying with new cleaners — but that breaks index de-duplication
+        //   (though for snapshots that mustn't be an issue).
+        //   -
+        //   As a side note, 'excessive memory usage' may occur in any *single* transaction/
+        //   read request/service life-cycle method, it just has higher probability when
+        //   we invoke a number of such 'foreign' (to framework) methods with no intermediate
+        //   clean-up.
+        service.afterCommit(event);
+      } catch (Exception e) {
+        // Log, but do not re-throw either immediately or later
+        failure = e;
+        logger.error("Service {} threw an exception in its afterCommit handler of {}",
+            service.getName(), event, e);
+      } finally {
+        metrics.record(service.getName(), Operation.AFTER_COMMIT, startNanos, failure);
       }
     }
   }
 
+  /**
+   * Returns true if the block commit events are dispatched to the services asynchronously,
+   * i.e., with {@link #afterCommitAsync(Function, OptionalInt, long)}.
+   *
+   * @see AfterCommitConfig#isAsync()
+   */
+  public boolean isAfterCommitAsync() {
+    return afterCommitDispatcher != null;
+  }
+
+  /**
+   * Notifies the services in the runtime of the block commit event asynchronously.
+   * This method does not wait for the services to handle the event.
+   *
+   * <p>The runtime creates a separate snapshot of the committed state for each service
+   * with the given factory, in the calling thread, and destroys it once the service has handled
+   * the event.
+   *
+   * @param snapshotFactory the factory of the snapshots of the committed state, registering
+   *     the created snapshot in the given cleaner. Each snapshot must own its native peer
+   * @param validatorId the validator id of this node, if it is a validator
+   * @param height the height of the committed block
+   * @throws IllegalStateException if the asynchronous dispatch is not enabled
+   * @see AfterCommitConfig
+   */
+  public void afterCommitAsync(Function<Cleaner, Snapshot> snapshotFactory,
+      OptionalInt validatorId, long height) {
+    checkState(afterCommitDispatcher != null, "Asynchronous afterCommit dispatch is disabled");
+    runtimeTransport.onBlockCommitted(height);
+    afterCommitDispatcher.dispatch(services.all(), snapshotFactory, validatorId, height);
+  }
+
+  /**
+   * Returns the statistics of the asynchronous dispatch of block commit events to each service,
+   * by service name. If the asynchronous dispatch is disabled, returns an empty map.
+   */
+  public Map<String, AfterCommitStats> getAfterCommitStats() {
+    return afterCommitDispatcher == null
+        ? ImmutableMap.of()
+        : afterCommitDispatcher.getStats();
+  }
+
   /**
    * Verifies that an Exonum raw transaction can be correctly converted to an executable
    * transaction of given service.
@@ -406,12 +502,39 @@ public final class ServiceRuntime implements AutoCloseable {
    *     be deserialized, or do not meet the preconditions
    */
   public void verifyTransaction(int serviceId, int txId, byte[] arguments) {
-    synchronized (lock) {
-      ServiceWrapper service = getServiceById(serviceId);
+    ServiceWrapper service = getServiceById(serviceId);
+    long startNanos = System.nanoTime();
+    RuntimeException failure = null;
+    try {
       service.convertTransaction(txId, arguments);
+    } catch (RuntimeException e) {
+      failure = e;
+      throw e;
+    } finally {
+      metrics.recordTransaction(service.getName(), Operation.VERIFY_TRANSACTION,
+          metricsTxId(service, ServiceWrapper.DEFAULT_INTERFACE_NAME, txId), startNanos,
+          failure);
     }
   }
 
+  /**
+   * Returns the transaction id to record in the metrics: the given id if it is known
+   * to the service; or {@link RuntimeMetrics#UNKNOWN_TX_ID} otherwise. As the ids
+   * come from the network, that keeps the number of the recorded metrics bounded.
+   */
+  private static int metricsTxId(ServiceWrapper service, String interfaceName, int txId) {
+    return (txId >= 0 && service.isKnownTransaction(interfaceName, txId))
+        ? txId
+        : RuntimeMetrics.UNKNOWN_TX_ID;
+  }
+
+  /**
+   * Returns the metrics of the operations of this runtime on services.
+   */
+  public RuntimeMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Stops this runtime. It will stop the server providing transport to services,
    * remove all services and unload their artifacts. The operation is irreversible;
@@ -427,6 +550,11 @@ public final class ServiceRuntime implements AutoCloseable {
         // Stop the server
         stopServer();
 
+        // Stop the dispatcher of block commit events
+        if (afterCommitDispatcher != null) {
+          afterCommitDispatcher.shutdown();
+        }
+
         // Clear the services
         clearServices();
 
@@ -457,8 +585,7 @@ public final class ServiceRuntime implements AutoCloseable {
   }
 
   private void clearServices() {
-    services.clear();
-    servicesById.clear();
+    services = ServiceRegistry.EMPTY;
   }
 
   private void unloadArtifacts() {
@@ -477,20 +604,81 @@ public final class ServiceRuntime implements AutoCloseable {
     shutdown();
   }
 
-  private ServiceWrapper getServiceById(Integer serviceId) {
-    checkService(serviceId);
-    return servicesById.get(serviceId);
-  }
-
-  /** Checks that the service with the given id is started in this runtime. */
-  private void checkService(Integer serviceId) {
-    checkArgument(servicesById.containsKey(serviceId),
-        "No service with id=%s in the Java runtime", serviceId);
+  /**
+   * Returns the service with the given id.
+   *
+   * @throws IllegalArgumentException if there is no such service started in this runtime
+   */
+  private ServiceWrapper getServiceById(int serviceId) {
+    ServiceWrapper service = services.findById(serviceId);
+    checkArgument(service != null, "No service with id=%s in the Java runtime", serviceId);
+    return service;
   }
 
   @VisibleForTesting
   Optional<ServiceWrapper> findService(String name) {
-    return Optional.ofNullable(services.get(name));
+    return Optional.ofNullable(services.findByName(name));
+  }
+
+  /**
+   * An immutable registry of the active services.
+   */
+  private static final class ServiceRegistry {
+
+    static final ServiceRegistry EMPTY = new ServiceRegistry(ImmutableSortedMap.of(),
+        ImmutableMap.of());
+
+    /**
+     * The active services indexed by their name. It is stored in a sorted map that offers
+     * the same iteration order on all nodes with the same services, which is required
+     * for correct operation of beforeCommit and {@link ServiceRuntime#getStateHashes(Snapshot)}.
+     */
+    private final ImmutableSortedMap<String, ServiceWrapper> servicesByName;
+    /**
+     * Same active services, indexed by their numeric identifier.
+     * @see ServiceInstanceSpec#getId()
+     */
+    private final ImmutableMap<Integer, ServiceWrapper> servicesById;
+
+    private ServiceRegistry(ImmutableSortedMap<String, ServiceWrapper> servicesByName,
+        ImmutableMap<Integer, ServiceWrapper> servicesById) {
+      this.servicesByName = servicesByName;
+      this.servicesById = servicesById;
+    }
+
+    /**
+     * Returns a new registry with the given service added to the services of this registry.
+     */
+    ServiceRegistry withService(ServiceWrapper service) {
+      ImmutableSortedMap<String, ServiceWrapper> newServicesByName =
+          ImmutableSortedMap.<String, ServiceWrapper>naturalOrder()
+              .putAll(servicesByName)
+              .put(service.getName(), service)
+              .build();
+      ImmutableMap<Integer, ServiceWrapper> newServicesById =
+          ImmutableMap.<Integer, ServiceWrapper>builder()
+              .putAll(servicesById)
+              .put(service.getId(), service)
+              .build();
+      return new ServiceRegistry(newServicesByName, newServicesById);
+    }
+
+    @Nullable
+    ServiceWrapper findByName(String name) {
+      return servicesByName.get(name);
+    }
+
+    @Nullable
+    ServiceWrapper findById(int id) {
+      return servicesById.get(id);
+    }
+
+    /**
+     * Returns all services, ordered by their name.
+     */
+    Collection<ServiceWrapper> all() {
+      return servicesByName.values();
+    }
   }
 
   // TODO: unloadArtifact and stopService, once they can be used/ECR-2275
@@ -16,8 +16,12 @@
 
 package com.exonum.binding.core.runtime;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.core.jfr.EventSpan;
+import com.exonum.binding.core.jfr.FrameworkEvents;
 import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.CloseFailuresException;
 import com.exonum.binding.core.runtime.ServiceRuntimeProtos.ServiceRuntimeStateHashes;
@@ -33,7 +37,9 @@ import com.exonum.core.messages.Runtime.ArtifactId;
 import com.exonum.core.messages.Runtime.InstanceSpec;
 import com.google.inject.Inject;
 import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.Optional;
 import java.util.OptionalInt;
+import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -47,6 +53,8 @@ public class ServiceRuntimeAdapter {
 
   private final ServiceRuntime serviceRuntime;
   private final ViewFactory viewFactory;
+  @Nullable
+  private volatile NodeProxy node;
   private static final Logger logger = LogManager.getLogger(ServiceRuntimeAdapter.class);
 
   @Inject
@@ -62,6 +70,14 @@ public class ServiceRuntimeAdapter {
     return serviceRuntime;
   }
 
+  /**
+   * Returns the node the runtime is initialized with; or {@code Optional.empty()}
+   * if it is not initialized yet.
+   */
+  public Optional<Node> getNode() {
+    return Optional.ofNullable(node);
+  }
+
   /**
    * Initializes the runtime.
    *
@@ -69,7 +85,7 @@ public class ServiceRuntimeAdapter {
    * @see ServiceRuntime#initialize(Node)
    */
   void initialize(long nodeNativeHandle) {
-    Node node = new NodeProxy(nodeNativeHandle);
+    node = new NodeProxy(nodeNativeHandle);
     serviceRuntime.initialize(node);
   }
 
@@ -179,7 +195,8 @@ public class ServiceRuntimeAdapter {
   void executeTransaction(int serviceId, String interfaceName, int txId, byte[] arguments,
       long forkNativeHandle, int callerServiceId, byte[] txMessageHash, byte[] authorPublicKey)
       throws TransactionExecutionException, CloseFailuresException {
-
+    EventSpan span = FrameworkEvents.runtimeCall("executeTransaction", serviceId, txId,
+        arguments.length);
     try (Cleaner cleaner = new Cleaner("executeTransaction")) {
       Fork fork = viewFactory.createFork(forkNativeHandle, cleaner);
       HashCode hash = HashCode.fromBytes(txMessageHash);
@@ -189,6 +206,8 @@ public class ServiceRuntimeAdapter {
           callerServiceId, hash, authorPk);
     } catch (CloseFailuresException e) {
       handleCloseFailure(e);
+    } finally {
+      span.commit();
     }
   }
 
@@ -202,14 +221,20 @@ public class ServiceRuntimeAdapter {
    * @see ServiceRuntimeStateHashes
    */
   byte[] getStateHashes(long snapshotHandle) throws CloseFailuresException {
+    EventSpan span = FrameworkEvents.runtimeCall("getStateHashes", FrameworkEvents.NO_ID,
+        FrameworkEvents.NO_ID, 0);
     try (Cleaner cleaner = new Cleaner("getStateHashes")) {
       Snapshot snapshot = viewFactory.createSnapshot(snapshotHandle, cleaner);
       ServiceRuntimeStateHashes stateHashes = serviceRuntime.getStateHashes(snapshot);
-      return stateHashes.toByteArray();
+      byte[] stateHashesBytes = stateHashes.toByteArray();
+      span.setResultSize(stateHashesBytes.length);
+      return stateHashesBytes;
     } catch (CloseFailuresException e) {
       handleCloseFailure(e);
       // unreachable, ^ throws
       return null;
+    } finally {
+      span.commit();
     }
   }
 
@@ -222,18 +247,22 @@ public class ServiceRuntimeAdapter {
    * @see ServiceRuntime#beforeCommit(int, Fork)
    */
   void beforeCommit(int serviceId, long forkHandle) throws CloseFailuresException {
+    EventSpan span = FrameworkEvents.runtimeCall("beforeCommit", serviceId,
+        FrameworkEvents.NO_ID, 0);
     try (Cleaner cleaner = new Cleaner("beforeCommit")) {
       Fork fork = viewFactory.createFork(forkHandle, cleaner);
       serviceRuntime.beforeCommit(serviceId, fork);
     } catch (CloseFailuresException e) {
       handleCloseFailure(e);
+    } finally {
+      span.commit();
     }
   }
 
   /**
    * Notifies the runtime of the block commit event.
    *
-   * @param snapshotHandle a handle to the native snapshot object
+   * @param snapshotHandle a handle to the native snapshot object, valid during this call only
    * @param validatorId a validator id. Negative if this node is not a validator
    * @param height the current blockchain height
    * @throws CloseFailuresException if there was a failure in destroying some native peers
@@ -241,13 +270,40 @@ public class ServiceRuntimeAdapter {
    */
   void afterCommit(long snapshotHandle, int validatorId, long height)
       throws CloseFailuresException {
+    OptionalInt optionalValidatorId = validatorId >= 0
+        ? OptionalInt.of(validatorId)
+        : OptionalInt.empty();
+    EventSpan span = FrameworkEvents.runtimeCall("afterCommit", FrameworkEvents.NO_ID,
+        FrameworkEvents.NO_ID, 0);
+    try {
+      // Drop the snapshot of the previous block before the services and the web-server
+      // are notified, so that they observe the committed state, and the responses
+      // cached for the new height are never computed from the previous block
+      if (node != null) {
+        node.invalidateSharedSnapshot();
+      }
+      if (serviceRuntime.isAfterCommitAsync()) {
+        afterCommitAsync(optionalValidatorId, height);
+      } else {
+        afterCommitSync(snapshotHandle, optionalValidatorId, height);
+      }
+    } finally {
+      span.commit();
+    }
+  }
+
+  private void afterCommitAsync(OptionalInt validatorId, long height) {
+    // The snapshot passed by the native code is valid during this call only: the handlers,
+    // invoked after it returns, need their own snapshots of the committed state
+    NodeProxy node = checkNotNull(this.node, "The runtime is not initialized");
+    serviceRuntime.afterCommitAsync(node::createSnapshot, validatorId, height);
+  }
+
+  private void afterCommitSync(long snapshotHandle, OptionalInt validatorId, long height)
+      throws CloseFailuresException {
     try (Cleaner cleaner = new Cleaner("afterCommit")) {
       Snapshot snapshot = viewFactory.createSnapshot(snapshotHandle, cleaner);
-      OptionalInt optionalValidatorId = validatorId >= 0
-          ? OptionalInt.of(validatorId)
-          : OptionalInt.empty();
-      BlockCommittedEvent event =
-          BlockCommittedEventImpl.valueOf(snapshot, optionalValidatorId, height);
+      BlockCommittedEvent event = BlockCommittedEventImpl.valueOf(snapshot, validatorId, height);
 
       serviceRuntime.afterCommit(event);
     } catch (CloseFailuresException e) {
@@ -262,6 +318,9 @@ public class ServiceRuntimeAdapter {
    */
   void shutdown() throws InterruptedException {
     serviceRuntime.shutdown();
+    if (node != null) {
+      node.invalidateSharedSnapshot();
+    }
   }
 
   private static void handleCloseFailure(CloseFailuresException e) throws CloseFailuresException {
@@ -32,17 +32,31 @@ import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.transaction.Transaction;
 import com.exonum.binding.core.transaction.TransactionContext;
 import com.exonum.binding.core.transaction.TransactionExecutionException;
+import com.exonum.binding.core.transaction.TransactionMethod;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.io.BaseEncoding;
 import com.google.common.net.UrlEscapers;
 import com.google.inject.Inject;
 import io.vertx.ext.web.Router;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
 
 /**
  * The service wrapper represents an Exonum service as a whole and allows the service runtime
  * to operate on them conveniently. It separates the <em>extension</em>,
  * user-facing, interface from the <em>runtime</em>, internal, interface.
+ *
+ * <p>The operations that access the service state (initialization, transaction execution,
+ * state hashes and the before commit handler) are serialized on a per-service lock, so that
+ * a service is never invoked concurrently from these operations, but different services
+ * can be operated on concurrently. The after commit handler is serialized on a separate lock:
+ * as it may be invoked asynchronously, it must not block the processing of the next blocks.
+ * The transaction conversion ({@link #convertTransaction}) is stateless and does not take
+ * any lock.
  */
 final class ServiceWrapper {
 
@@ -65,18 +79,74 @@ final class ServiceWrapper {
   @VisibleForTesting static final int VERIFY_CONFIGURATION_TX_ID = 0;
   @VisibleForTesting static final int APPLY_CONFIGURATION_TX_ID = 1;
 
+  /**
+   * The maximum total size of the arguments of the cached converted transactions, in bytes.
+   */
+  @VisibleForTesting static final long MAX_CACHED_TRANSACTIONS_WEIGHT = 16 * 1024 * 1024;
+
+  /**
+   * The maximum number of distinct transaction ids, converted by a {@link TransactionConverter},
+   * that this wrapper {@linkplain #isKnownTransaction(String, int) reports as known}.
+   */
+  @VisibleForTesting static final int MAX_KNOWN_CONVERTED_TRANSACTIONS = 256;
+
   private final Service service;
   private final TransactionConverter txConverter;
   private final ServiceInstanceSpec instanceSpec;
   private final Node node;
+  private final Object lock = new Object();
+  private final Object afterCommitLock = new Object();
+  /**
+   * The cache of converted transactions, if the transactions of this service are immutable;
+   * or null.
+   */
+  @Nullable
+  private final Cache<TransactionKey, Transaction> convertedTransactions;
+  /**
+   * The sorted ids of the transactions that have been successfully converted
+   * by the {@link TransactionConverter} of this service. Replaced on each modification
+   * under this wrapper monitor.
+   */
+  private volatile int[] convertedTransactionIds = new int[0];
 
+  /**
+   * Creates a service wrapper. The transactions of the service are converted with
+   * the given transaction converter, if it is bound; or dispatched to
+   * the {@linkplain TransactionMethod transaction methods} of the service otherwise.
+   *
+   * @throws IllegalArgumentException if the service has both a transaction converter and
+   *     transaction methods, or if its transaction methods are not valid
+   */
   @Inject
+  ServiceWrapper(Service service, Optional<TransactionConverter> txConverter,
+      ServiceInstanceSpec instanceSpec, Node node) {
+    this(service, resolveTransactionConverter(service, txConverter), instanceSpec, node);
+  }
+
   ServiceWrapper(Service service, TransactionConverter txConverter,
       ServiceInstanceSpec instanceSpec, Node node) {
     this.service = service;
     this.txConverter = txConverter;
     this.instanceSpec = instanceSpec;
     this.node = node;
+    this.convertedTransactions = txConverter.producesImmutableTransactions()
+        ? CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_TRANSACTIONS_WEIGHT)
+            .<TransactionKey, Transaction>weigher((key, tx) -> key.arguments.length)
+            .build()
+        : null;
+  }
+
+  private static TransactionConverter resolveTransactionConverter(Service service,
+      Optional<TransactionConverter> txConverter) {
+    TransactionMethodTable transactionMethods = TransactionMethodTable.of(service);
+    if (!txConverter.isPresent()) {
+      return transactionMethods;
+    }
+    checkArgument(transactionMethods.isEmpty(), "Service (%s) must either have "
+        + "the transaction methods, or bind a TransactionConverter, but not both",
+        service.getClass().getName());
+    return txConverter.get();
   }
 
   /**
@@ -101,23 +171,24 @@ final class ServiceWrapper {
   }
 
   void initialize(Fork view, Configuration configuration) {
-    service.initialize(view, configuration);
+    synchronized (lock) {
+      service.initialize(view, configuration);
+    }
   }
 
   void executeTransaction(String interfaceName, int txId, byte[] arguments, int callerServiceId,
       TransactionContext context)
       throws TransactionExecutionException {
-    switch (interfaceName) {
-      case DEFAULT_INTERFACE_NAME: {
+    synchronized (lock) {
+      // Check the default interface first, as most transactions belong to it
+      if (interfaceName.isEmpty()) {
         executeIntrinsicTransaction(txId, arguments, context);
-        break;
-      }
-      case CONFIGURE_INTERFACE_NAME: {
+      } else if (interfaceName.equals(CONFIGURE_INTERFACE_NAME)) {
         executeConfigurableTransaction(txId, arguments, callerServiceId, context);
-        break;
+      } else {
+        throw new IllegalArgumentException(
+            format("Unknown interface (name=%s, txId=%d)", interfaceName, txId));
       }
-      default: throw new IllegalArgumentException(
-          format("Unknown interface (name=%s, txId=%d)", interfaceName, txId));
     }
   }
 
@@ -132,6 +203,10 @@ final class ServiceWrapper {
   /**
    * Converts an Exonum raw transaction to an executable transaction of this service.
    *
+   * <p>If the {@linkplain TransactionConverter#producesImmutableTransactions() transactions
+   * are immutable}, the converted transactions are cached, so that a transaction that
+   * has been verified is not converted again when it is executed.
+   *
    * @param txId the {@linkplain TransactionMessage#getTransactionId() transaction type identifier}
    *     within the service
    * @param arguments the {@linkplain TransactionMessage#getPayload() serialized transaction
@@ -141,7 +216,22 @@ final class ServiceWrapper {
    *     arguments are not valid: e.g., cannot be deserialized, or do not meet the preconditions
    */
   Transaction convertTransaction(int txId, byte[] arguments) {
-    return convertIntrinsicTransaction(txId, arguments);
+    if (convertedTransactions == null) {
+      return convertIntrinsicTransaction(txId, arguments);
+    }
+    // The lookup key refers to the given arguments; a copy is made for the cached entries only
+    TransactionKey key = new TransactionKey(txId, arguments);
+    Transaction transaction = convertedTransactions.getIfPresent(key);
+    if (transaction == null) {
+      // Copy the arguments before the conversion, as the converted transaction may keep
+      // and modify the original array (e.g., the identity decoder of annotated services
+      // passes it as is)
+      TransactionKey entryKey = key.copy();
+      // Conversion failures are not cached, as they are not expected to be frequent
+      transaction = convertIntrinsicTransaction(txId, arguments);
+      convertedTransactions.put(entryKey, transaction);
+    }
+    return transaction;
   }
 
   private Transaction convertIntrinsicTransaction(int txId, byte[] arguments) {
@@ -154,9 +244,56 @@ final class ServiceWrapper {
           + "Throw an exception if your service does not recognize this message id (%s) "
           + "or arguments (%s)", txId, BaseEncoding.base16().encode(arguments)));
     }
+    if (!(txConverter instanceof TransactionMethodTable)) {
+      addConvertedTransactionId(txId);
+    }
     return transaction;
   }
 
+  private void addConvertedTransactionId(int txId) {
+    int[] ids = convertedTransactionIds;
+    if (ids.length >= MAX_KNOWN_CONVERTED_TRANSACTIONS || Arrays.binarySearch(ids, txId) >= 0) {
+      return;
+    }
+    synchronized (this) {
+      ids = convertedTransactionIds;
+      int index = Arrays.binarySearch(ids, txId);
+      if (ids.length >= MAX_KNOWN_CONVERTED_TRANSACTIONS || index >= 0) {
+        return;
+      }
+      int insertionPoint = -(index + 1);
+      int[] newIds = new int[ids.length + 1];
+      System.arraycopy(ids, 0, newIds, 0, insertionPoint);
+      newIds[insertionPoint] = txId;
+      System.arraycopy(ids, insertionPoint, newIds, insertionPoint + 1,
+          ids.length - insertionPoint);
+      convertedTransactionIds = newIds;
+    }
+  }
+
+  /**
+   * Returns true if the transaction (or the interface method) with the given id is known
+   * to this service: if the service declares a transaction method with this id,
+   * or if its {@link TransactionConverter} has successfully converted a transaction with
+   * this id (up to {@value #MAX_KNOWN_CONVERTED_TRANSACTIONS} distinct ids).
+   *
+   * <p>As the ids come from the network, the metrics use this method to limit the number
+   * of the transaction ids they keep separate statistics for.
+   *
+   * @param interfaceName the name of the interface of the transaction
+   * @param txId the transaction type identifier
+   */
+  boolean isKnownTransaction(String interfaceName, int txId) {
+    if (interfaceName.isEmpty()) {
+      if (txConverter instanceof TransactionMethodTable) {
+        return ((TransactionMethodTable) txConverter).hasMethod(txId);
+      }
+      return Arrays.binarySearch(convertedTransactionIds, txId) >= 0;
+    }
+    return interfaceName.equals(CONFIGURE_INTERFACE_NAME)
+        && (txId == VERIFY_CONFIGURATION_TX_ID || txId == APPLY_CONFIGURATION_TX_ID);
+  }
+
   private void executeConfigurableTransaction(int txId, byte[] arguments, int callerServiceId,
       TransactionContext context) {
     // Check the service implements Configurable
@@ -184,15 +321,21 @@ final class ServiceWrapper {
   }
 
   List<HashCode> getStateHashes(Snapshot snapshot) {
-    return service.getStateHashes(snapshot);
+    synchronized (lock) {
+      return service.getStateHashes(snapshot);
+    }
   }
 
   void beforeCommit(Fork fork) {
-    service.beforeCommit(fork);
+    synchronized (lock) {
+      service.beforeCommit(fork);
+    }
   }
 
   void afterCommit(BlockCommittedEvent event) {
-    service.afterCommit(event);
+    synchronized (afterCommitLock) {
+      service.afterCommit(event);
+    }
   }
 
   void createPublicApiHandlers(Router router) {
@@ -211,4 +354,51 @@ final class ServiceWrapper {
     return UrlEscapers.urlPathSegmentEscaper()
         .escape(getName());
   }
+
+  /**
+   * A key of a converted transaction: the transaction type identifier and its arguments.
+   */
+  private static final class TransactionKey {
+    final int txId;
+    final byte[] arguments;
+    final int hashCode;
+
+    /**
+     * Creates a key referring to the given arguments, without copying them.
+     */
+    TransactionKey(int txId, byte[] arguments) {
+      this(txId, arguments, 31 * txId + Arrays.hashCode(arguments));
+    }
+
+    private TransactionKey(int txId, byte[] arguments, int hashCode) {
+      this.txId = txId;
+      this.arguments = arguments;
+      this.hashCode = hashCode;
+    }
+
+    /**
+     * Returns a key with a copy of the arguments of this key.
+     */
+    TransactionKey copy() {
+      return new TransactionKey(txId, arguments.clone(), hashCode);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof TransactionKey)) {
+        return false;
+      }
+      TransactionKey that = (TransactionKey) o;
+      return txId == that.txId
+          && Arrays.equals(arguments, that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.service.Service;
+import com.exonum.binding.core.service.TransactionConverter;
+import com.exonum.binding.core.transaction.Transaction;
+import com.exonum.binding.core.transaction.TransactionContext;
+import com.exonum.binding.core.transaction.TransactionExecutionException;
+import com.exonum.binding.core.transaction.TransactionMethod;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.protobuf.MessageLite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A dispatch table of the {@linkplain TransactionMethod transaction methods} of a service.
+ * The table is built once, when the service is created, and maps the transaction type
+ * identifiers to the method handles bound to the service instance, and the deserializers
+ * of their arguments. The conversion of a transaction is an array lookup and
+ * the deserialization of its arguments.
+ */
+final class TransactionMethodTable implements TransactionConverter {
+
+  /** The maximum transaction type identifier of a transaction method. */
+  @VisibleForTesting
+  static final int MAX_TRANSACTION_ID = 65535;
+
+  private static final MethodType INVOKER_TYPE =
+      MethodType.methodType(void.class, Object.class, TransactionContext.class);
+
+  /** The transaction methods indexed by the transaction ids; null for unknown ids. */
+  private final TransactionMethodInvoker[] methods;
+  private final Set<Integer> transactionIds;
+
+  private TransactionMethodTable(TransactionMethodInvoker[] methods,
+      Set<Integer> transactionIds) {
+    this.methods = methods;
+    this.transactionIds = transactionIds;
+  }
+
+  /**
+   * Creates a dispatch table of the transaction methods of the given service.
+   *
+   * @param service a service instance
+   * @throws IllegalArgumentException if any transaction method is not valid, or if several
+   *     methods have the same transaction id
+   */
+  static TransactionMethodTable of(Service service) {
+    SortedMap<Integer, TransactionMethodInvoker> methodsById = new TreeMap<>();
+    for (Method method : findTransactionMethods(service.getClass())) {
+      int txId = method.getAnnotation(TransactionMethod.class).value();
+      checkArgument(0 <= txId && txId <= MAX_TRANSACTION_ID,
+          "Transaction id (%s) of method %s is not in range [0; %s]", txId, method,
+          MAX_TRANSACTION_ID);
+      TransactionMethodInvoker invoker = createInvoker(service, method);
+      TransactionMethodInvoker existing = methodsById.put(txId, invoker);
+      checkArgument(existing == null, "Several transaction methods have the same id (%s): "
+          + "%s and %s", txId, existing == null ? "" : existing.method, method);
+    }
+
+    int tableSize = methodsById.isEmpty() ? 0 : methodsById.lastKey() + 1;
+    TransactionMethodInvoker[] methods = new TransactionMethodInvoker[tableSize];
+    methodsById.forEach((txId, invoker) -> methods[txId] = invoker);
+    return new TransactionMethodTable(methods, methodsById.keySet());
+  }
+
+  /**
+   * Returns the annotated methods of the class and its superclasses. If an annotated method
+   * is overridden in a subclass, the annotation of the most specific method applies.
+   * As the methods are invoked virtually, the overriding method is invoked in any case.
+   */
+  private static List<Method> findTransactionMethods(Class<?> serviceClass) {
+    List<Method> transactionMethods = new ArrayList<>();
+    Set<List<Object>> annotatedSignatures = new HashSet<>();
+    for (Class<?> c = serviceClass; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Method method : c.getDeclaredMethods()) {
+        if (method.isBridge() || method.isSynthetic()
+            || !method.isAnnotationPresent(TransactionMethod.class)) {
+          continue;
+        }
+        List<Object> signature = Arrays.asList(method.getName(),
+            Arrays.asList(method.getParameterTypes()));
+        if (annotatedSignatures.add(signature)) {
+          transactionMethods.add(method);
+        }
+      }
+    }
+    return transactionMethods;
+  }
+
+  private static TransactionMethodInvoker createInvoker(Service service, Method method) {
+    int modifiers = method.getModifiers();
+    checkArgument(Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers),
+        "Transaction method %s must be public and non-static", method);
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    checkArgument(parameterTypes.length == 2
+            && parameterTypes[1] == TransactionContext.class,
+        "Transaction method %s must accept the transaction arguments and the %s",
+        method, TransactionContext.class.getSimpleName());
+    for (Class<?> exceptionType : method.getExceptionTypes()) {
+      checkArgument(TransactionExecutionException.class.isAssignableFrom(exceptionType)
+              || RuntimeException.class.isAssignableFrom(exceptionType)
+              || Error.class.isAssignableFrom(exceptionType),
+          "Transaction method %s may only throw %s or unchecked exceptions, but declares %s",
+          method, TransactionExecutionException.class.getSimpleName(), exceptionType.getName());
+    }
+    Function<byte[], ?> argumentsDecoder = argumentsDecoder(method, parameterTypes[0]);
+
+    MethodHandle handle;
+    try {
+      // Allow public methods of non-public service classes
+      method.setAccessible(true);
+      handle = MethodHandles.lookup().unreflect(method)
+          .bindTo(service)
+          .asType(INVOKER_TYPE);
+    } catch (IllegalAccessException e) {
+      throw new IllegalArgumentException(format("Cannot access transaction method %s", method),
+          e);
+    }
+    return new TransactionMethodInvoker(method, handle, argumentsDecoder);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<byte[], ?> argumentsDecoder(Method method, Class<?> argumentsType) {
+    if (argumentsType == byte[].class) {
+      return Function.identity();
+    }
+    checkArgument(MessageLite.class.isAssignableFrom(argumentsType),
+        "The arguments of transaction method %s must be either byte[] or a protobuf message, "
+            + "but %s", method, argumentsType);
+    return StandardSerializers.protobuf((Class<? extends MessageLite>) argumentsType)::fromBytes;
+  }
+
+  /**
+   * Returns true if the service has no transaction methods.
+   */
+  boolean isEmpty() {
+    return transactionIds.isEmpty();
+  }
+
+  @Override
+  public Transaction toTransaction(int txId, byte[] arguments) {
+    TransactionMethodInvoker invoker = findMethod(txId);
+    checkArgument(invoker != null, "Unknown transaction id (%s), must be one of %s",
+        txId, transactionIds);
+    Object decodedArguments = invoker.argumentsDecoder.apply(arguments);
+    return context -> invoker.invoke(decodedArguments, context);
+  }
+
+  /**
+   * Returns true if the service has a transaction method with the given id.
+   */
+  boolean hasMethod(int txId) {
+    return findMethod(txId) != null;
+  }
+
+  @Nullable
+  private TransactionMethodInvoker findMethod(int txId) {
+    if (0 <= txId && txId < methods.length) {
+      return methods[txId];
+    }
+    return null;
+  }
+
+  /**
+   * Returns true, as the converted transactions hold the deserialized arguments only,
+   * and pass a copy of the raw arguments to each invocation of a method.
+   */
+  @Override
+  public boolean producesImmutableTransactions() {
+    return true;
+  }
+
+  private static final class TransactionMethodInvoker {
+    final Method method;
+    /** A handle of type {@link #INVOKER_TYPE}, bound to the service instance. */
+    final MethodHandle handle;
+    final Function<byte[], ?> argumentsDecoder;
+
+    TransactionMethodInvoker(Method method, MethodHandle handle,
+        Function<byte[], ?> argumentsDecoder) {
+      this.method = method;
+      this.handle = handle;
+      this.argumentsDecoder = argumentsDecoder;
+    }
+
+    void invoke(Object arguments, TransactionContext context)
+        throws TransactionExecutionException {
+      // The converted transactions may be cached and executed more than once, hence
+      // each invocation gets its own copy of the raw arguments, which the method may modify
+      Object methodArguments = (arguments instanceof byte[])
+          ? ((byte[]) arguments).clone()
+          : arguments;
+      try {
+        handle.invokeExact(methodArguments, context);
+      } catch (Throwable t) {
+        Throwables.throwIfInstanceOf(t, TransactionExecutionException.class);
+        Throwables.throwIfUnchecked(t);
+        // Not expected, as the methods may only throw the exceptions above
+        throw new UndeclaredThrowableException(t);
+      }
+    }
+  }
+}
@@ -16,11 +16,15 @@
 
 package com.exonum.binding.core.service;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.core.blockchain.Blockchain;
 import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.transaction.RawTransaction;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -52,6 +56,31 @@ public interface Node {
    */
   HashCode submitTransaction(RawTransaction rawTransaction);
 
+  /**
+   * Creates transactions from the given parameters, signs them with
+   * the {@linkplain #getPublicKey() node service key}, and then submits them into Exonum network
+   * in the given order. This method is equivalent to invoking
+   * {@link #submitTransaction(RawTransaction)} for each transaction, but implementations
+   * may submit them more efficiently.
+   *
+   * <p>If a transaction cannot be submitted, the preceding transactions remain submitted,
+   * and the subsequent ones are not submitted.
+   *
+   * @param rawTransactions transaction parameters to include in transaction messages
+   * @return hashes of the transaction messages created by the framework, in the order
+   *     of the given transactions
+   * @throws TransactionSubmissionException if any transaction belongs to an unknown service,
+   *     or cannot be submitted
+   * @throws NullPointerException if the list or any transaction is null
+   */
+  default List<HashCode> submitTransactions(List<RawTransaction> rawTransactions) {
+    List<HashCode> hashes = new ArrayList<>(rawTransactions.size());
+    for (RawTransaction rawTransaction : rawTransactions) {
+      hashes.add(submitTransaction(checkNotNull(rawTransaction)));
+    }
+    return hashes;
+  }
+
   /**
    * Performs the given function with a snapshot of the current database state.
    *
@@ -16,6 +16,10 @@
 
 package com.exonum.binding.core.service;
 
+import static com.exonum.binding.common.hash.Hashing.DEFAULT_HASH_SIZE_BYTES;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.core.proxy.AbstractCloseableNativeProxy;
@@ -24,6 +28,10 @@ import com.exonum.binding.core.proxy.CloseFailuresException;
 import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.transaction.RawTransaction;
 import com.exonum.binding.core.util.LibraryLoader;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +39,15 @@ import org.apache.logging.log4j.Logger;
 /**
  * An Exonum node context. Allows to add transactions to Exonum network
  * and get a snapshot of the database state.
+ *
+ * <p>The {@link #withSnapshot(Function)} operations performed in the same thread share
+ * a native snapshot, until the {@linkplain #invalidateSharedSnapshot() next block is committed}
+ * (hence, the operations performed after a block is committed, but before the runtime
+ * is notified of that, observe the state of the previous block). Each thread has its own
+ * native snapshot, as it does not support concurrent access. Each operation
+ * has its own snapshot proxy, hence the index proxies created in the operations
+ * are not shared. The shared snapshots can be disabled with
+ * the {@value #SHARED_SNAPSHOT_DISABLED_PROPERTY} system property.
  */
 public final class NodeProxy extends AbstractCloseableNativeProxy implements Node {
 
@@ -38,8 +55,34 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
     LibraryLoader.load();
   }
 
+  /**
+   * The name of the system property disabling the shared snapshots. If it is {@code true},
+   * each {@link #withSnapshot(Function)} operation uses a new native snapshot.
+   */
+  public static final String SHARED_SNAPSHOT_DISABLED_PROPERTY =
+      "exonum.node.sharedSnapshot.disabled";
+
   private static final Logger logger = LogManager.getLogger(NodeProxy.class);
 
+  private final boolean shareSnapshot;
+  /**
+   * The snapshot shared by the operations of the current thread; or null, if the thread
+   * has not performed any yet. The snapshot may be invalidated.
+   */
+  private final ThreadLocal<SharedSnapshot> threadSnapshot = new ThreadLocal<>();
+  /**
+   * A lock guarding the creation and the invalidation of the shared snapshots. A snapshot
+   * is created and registered under this lock, so that a snapshot created before a block
+   * is committed cannot be registered after they are {@linkplain #invalidateSharedSnapshot()
+   * invalidated}.
+   */
+  private final Object sharedSnapshotLock = new Object();
+  /**
+   * The shared snapshots created since the last invalidation. Guarded by
+   * {@link #sharedSnapshotLock}.
+   */
+  private List<SharedSnapshot> sharedSnapshots = new ArrayList<>();
+
   /**
    * Creates a proxy of a node. Native code owns the node,
    * and, therefore, shall destroy the object.
@@ -47,7 +90,19 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
    * @param nativeHandle an implementation-specific reference to a native node
    */
   public NodeProxy(long nativeHandle) {
+    this(nativeHandle, !Boolean.getBoolean(SHARED_SNAPSHOT_DISABLED_PROPERTY));
+  }
+
+  /**
+   * Creates a proxy of a node. Native code owns the node,
+   * and, therefore, shall destroy the object.
+   *
+   * @param nativeHandle an implementation-specific reference to a native node
+   * @param shareSnapshot whether to share a snapshot between the operations
+   */
+  public NodeProxy(long nativeHandle, boolean shareSnapshot) {
     super(nativeHandle, false);
+    this.shareSnapshot = shareSnapshot;
   }
 
   /**
@@ -77,6 +132,59 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
   private static native byte[] nativeSubmit(long nodeHandle, byte[] payload, int serviceId,
       int transactionId);
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The transactions are submitted with a single native call.
+   *
+   * @throws IllegalStateException if the node proxy is closed
+   */
+  @Override
+  public List<HashCode> submitTransactions(List<RawTransaction> rawTransactions) {
+    int numTransactions = rawTransactions.size();
+    if (numTransactions == 0) {
+      return ImmutableList.of();
+    }
+    byte[][] payloads = new byte[numTransactions][];
+    int[] serviceIds = new int[numTransactions];
+    int[] transactionIds = new int[numTransactions];
+    int i = 0;
+    for (RawTransaction rawTransaction : rawTransactions) {
+      checkNotNull(rawTransaction, "rawTransactions[%s] is null", i);
+      payloads[i] = rawTransaction.getPayload();
+      serviceIds[i] = rawTransaction.getServiceId();
+      transactionIds[i] = rawTransaction.getTransactionId();
+      i++;
+    }
+    byte[] txMessageHashes = nativeSubmitAll(getNativeHandle(), payloads, serviceIds,
+        transactionIds);
+
+    return splitHashes(txMessageHashes, numTransactions);
+  }
+
+  private static List<HashCode> splitHashes(byte[] hashes, int numHashes) {
+    checkState(hashes.length == numHashes * DEFAULT_HASH_SIZE_BYTES,
+        "Expected %s hashes, but got %s bytes", numHashes, hashes.length);
+    ImmutableList.Builder<HashCode> hashCodes = ImmutableList.builderWithExpectedSize(numHashes);
+    for (int from = 0; from < hashes.length; from += DEFAULT_HASH_SIZE_BYTES) {
+      byte[] hash = Arrays.copyOfRange(hashes, from, from + DEFAULT_HASH_SIZE_BYTES);
+      hashCodes.add(HashCode.fromBytes(hash));
+    }
+    return hashCodes.build();
+  }
+
+  /**
+   * Submits transactions into the network.
+   *
+   * @param nodeHandle a native handle to the native node object
+   * @param payloads serialized transaction payloads
+   * @param serviceIds identifiers of the services
+   * @param transactionIds identifiers of the transactions
+   * @return the concatenated hashes of the submitted transaction messages
+   */
+  private static native byte[] nativeSubmitAll(long nodeHandle, byte[][] payloads,
+      int[] serviceIds, int[] transactionIds);
+
   /**
    * {@inheritDoc}
    *
@@ -84,6 +192,23 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
    */
   @Override
   public <ResultT> ResultT withSnapshot(Function<Snapshot, ResultT> snapshotFunction) {
+    if (!shareSnapshot) {
+      return withNewSnapshot(snapshotFunction);
+    }
+    SharedSnapshot shared = acquireSharedSnapshot();
+    try (Cleaner cleaner = new Cleaner("NodeProxy#withSnapshot")) {
+      // The proxy does not own the shared snapshot, only borrows it for this operation
+      Snapshot snapshot = Snapshot.newInstance(shared.getNativeHandle(), false, cleaner);
+      return snapshotFunction.apply(snapshot);
+    } catch (CloseFailuresException e) {
+      logger.error(e);
+      throw new RuntimeException(e);
+    } finally {
+      shared.release();
+    }
+  }
+
+  private <ResultT> ResultT withNewSnapshot(Function<Snapshot, ResultT> snapshotFunction) {
     try (Cleaner cleaner = new Cleaner("NodeProxy#withSnapshot")) {
       long nodeNativeHandle = getNativeHandle();
       long snapshotNativeHandle = nativeCreateSnapshot(nodeNativeHandle);
@@ -95,6 +220,66 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
     }
   }
 
+  /**
+   * Creates a new snapshot of the database state, owning its native peer. Unlike the snapshots
+   * passed to {@link #withSnapshot(Function)}, it may be used after this method returns,
+   * till the given cleaner is closed.
+   *
+   * @param cleaner the cleaner to register the snapshot in
+   * @throws IllegalStateException if the node proxy is closed
+   */
+  public Snapshot createSnapshot(Cleaner cleaner) {
+    long snapshotNativeHandle = nativeCreateSnapshot(getNativeHandle());
+    return Snapshot.newInstance(snapshotNativeHandle, cleaner);
+  }
+
+  /**
+   * Returns the shared snapshot of the current thread with a reference acquired
+   * by the caller; creates a new one if there is none, or it is invalidated.
+   */
+  private SharedSnapshot acquireSharedSnapshot() {
+    SharedSnapshot current = threadSnapshot.get();
+    if (current != null && current.tryRetain()) {
+      return current;
+    }
+    return createSharedSnapshot();
+  }
+
+  private SharedSnapshot createSharedSnapshot() {
+    synchronized (sharedSnapshotLock) {
+      long snapshotNativeHandle = nativeCreateSnapshot(getNativeHandle());
+      Cleaner cleaner = new Cleaner("NodeProxy#sharedSnapshot");
+      Snapshot.newInstance(snapshotNativeHandle, true, cleaner);
+      SharedSnapshot snapshot = new SharedSnapshot(snapshotNativeHandle, cleaner);
+      // Acquire the reference of the caller before the snapshot can be invalidated
+      boolean retained = snapshot.tryRetain();
+      checkState(retained, "A new snapshot must not be invalidated");
+      sharedSnapshots.add(snapshot);
+      threadSnapshot.set(snapshot);
+      return snapshot;
+    }
+  }
+
+  /**
+   * Invalidates the shared snapshots, so that the subsequent {@link #withSnapshot(Function)}
+   * operations observe the latest database state. The snapshots are destroyed once
+   * the operations in progress that use them complete.
+   *
+   * <p>The runtime invokes this method when a block is committed, before notifying
+   * the services and the web-server of the new height. Once this method returns, no operation
+   * may observe the state preceding the call, unless it has acquired the snapshot before.
+   */
+  public void invalidateSharedSnapshot() {
+    List<SharedSnapshot> previous;
+    synchronized (sharedSnapshotLock) {
+      previous = sharedSnapshots;
+      sharedSnapshots = new ArrayList<>();
+    }
+    for (SharedSnapshot snapshot : previous) {
+      snapshot.invalidate();
+    }
+  }
+
   private native long nativeCreateSnapshot(long nativeHandle);
 
   /**
@@ -112,6 +297,8 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
 
   @Override
   protected void disposeInternal() {
+    // Destroy the shared snapshots once the operations in progress complete
+    invalidateSharedSnapshot();
     nativeFree(getNativeHandle());
   }
 
@@ -119,8 +119,15 @@ public interface Service {
    * invoked by the blockchain after each block commit. For example, a service can create one or
    * more transactions if a specific condition has occurred.
    *
-   * <p>This method is invoked synchronously from the thread that commits the block, therefore,
-   * implementations of this method must not perform any blocking or long-running operations.
+   * <p>By default, this method is invoked synchronously from the thread that commits the block,
+   * therefore, implementations of this method must not perform any blocking or long-running
+   * operations. If the runtime is configured to dispatch the events asynchronously
+   * (see {@link com.exonum.binding.core.runtime.AfterCommitConfig}), this method is invoked
+   * from a dedicated thread of this service, which is interrupted if the method does not complete
+   * in the configured time. In this mode, the method may run concurrently with the transactions
+   * and the other block handlers of this service in the next blocks, therefore, it must
+   * synchronize the access to any state shared with them; but it is never invoked concurrently
+   * with itself: the events are handled one by one, in the order of blocks.
    *
    * <p>Any exceptions in this method will be swallowed and will not affect the processing of
    * transactions or blocks.
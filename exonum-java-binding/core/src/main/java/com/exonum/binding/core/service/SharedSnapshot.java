@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.service;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.proxy.CloseFailuresException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A native snapshot reused by several operations. The snapshot is reference-counted:
+ * it is created with a single reference, held by its owner (e.g., a cache of snapshots);
+ * each operation {@linkplain #tryRetain() retains} it for its duration,
+ * and {@linkplain #release() releases} it afterwards. The owner {@linkplain #invalidate()
+ * invalidates} the snapshot once it must no longer be used by new operations.
+ * The native snapshot is destroyed when the last reference is released.
+ *
+ * <p>This class is thread-safe. However, the native snapshot does not support concurrent
+ * access, therefore, the operations using it must not run concurrently.
+ */
+final class SharedSnapshot {
+
+  private static final Logger logger = LogManager.getLogger(SharedSnapshot.class);
+
+  private final long nativeHandle;
+  private final Cleaner cleaner;
+  private final AtomicInteger references = new AtomicInteger(1);
+  private volatile boolean invalidated;
+
+  /**
+   * Creates a shared snapshot with a single reference.
+   *
+   * @param nativeHandle a handle to the native snapshot
+   * @param cleaner a cleaner destroying the native snapshot when closed
+   */
+  SharedSnapshot(long nativeHandle, Cleaner cleaner) {
+    this.nativeHandle = nativeHandle;
+    this.cleaner = checkNotNull(cleaner);
+  }
+
+  /**
+   * Returns the handle to the native snapshot. It must be accessed only when a reference
+   * to this snapshot is held.
+   */
+  long getNativeHandle() {
+    return nativeHandle;
+  }
+
+  /**
+   * Acquires a reference to this snapshot, if it is not invalidated.
+   *
+   * @return true if the reference is acquired; false if the snapshot is invalidated
+   */
+  boolean tryRetain() {
+    while (true) {
+      int n = references.get();
+      if (n == 0) {
+        return false;
+      }
+      if (references.compareAndSet(n, n + 1)) {
+        break;
+      }
+    }
+    // Check the snapshot after the reference is acquired: if it has been invalidated
+    // concurrently, the owner reference may be already released
+    if (invalidated) {
+      release();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Invalidates this snapshot and releases the owner reference. The subsequent
+   * {@link #tryRetain()} calls fail; the operations that have already retained the snapshot
+   * may keep using it till they release it.
+   *
+   * <p>Must be invoked by the owner once.
+   */
+  void invalidate() {
+    invalidated = true;
+    release();
+  }
+
+  /**
+   * Releases a reference to this snapshot, destroying it if it was the last one.
+   *
+   * @throws IllegalStateException if there are no references to this snapshot
+   */
+  void release() {
+    int n = references.decrementAndGet();
+    checkState(n >= 0, "Released a destroyed snapshot");
+    if (n == 0) {
+      try {
+        cleaner.close();
+      } catch (CloseFailuresException e) {
+        logger.error("Failed to destroy a shared snapshot", e);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of the references to this snapshot.
+   */
+  int getReferences() {
+    return references.get();
+  }
+}
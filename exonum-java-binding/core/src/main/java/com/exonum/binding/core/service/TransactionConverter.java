@@ -19,11 +19,15 @@ package com.exonum.binding.core.service;
 import com.exonum.binding.common.message.TransactionMessage;
 import com.exonum.binding.core.annotations.AutoGenerationCandidate;
 import com.exonum.binding.core.transaction.Transaction;
+import com.exonum.binding.core.transaction.TransactionMethod;
 
 /**
  * A converter of a transaction type id and serialized transaction arguments into an executable
  * transaction.
  *
+ * <p>A service might have the {@linkplain TransactionMethod transaction methods} instead;
+ * it must not bind a transaction converter then.
+ *
  * @see TransactionMessage
  */
 @FunctionalInterface
@@ -45,4 +49,17 @@ public interface TransactionConverter {
    *     the preconditions
    */
   Transaction toTransaction(int txId, byte[] arguments);
+
+  /**
+   * Returns true if the transactions produced by this converter are immutable, and
+   * the conversion depends on its arguments only. The framework may then cache the converted
+   * transactions and re-use them, e.g., convert a transaction once when it is verified
+   * and execute the cached instance.
+   *
+   * <p>The default implementation returns false, i.e., each transaction is converted
+   * each time it is needed.
+   */
+  default boolean producesImmutableTransactions() {
+    return false;
+  }
 }
@@ -19,6 +19,8 @@ package com.exonum.binding.core.storage.database;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import com.exonum.binding.core.jfr.EventSpan;
+import com.exonum.binding.core.jfr.FrameworkEvents;
 import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.CloseFailuresException;
 import com.exonum.binding.core.proxy.NativeHandle;
@@ -78,12 +80,16 @@ public final class Fork extends View {
     checkNotNull(cleaner, "cleaner");
 
     NativeHandle h = new NativeHandle(nativeHandle);
+    // Do not access the Views unless the native peer is owned, so that non-owning proxies
+    // can be created without the native library
+    long dropFunction = owningHandle ? Views.NATIVE_DROP_FUNCTION
+        : ProxyDestructor.NO_DROP_FUNCTION;
     // Add an action destroying the native peer if necessary.
     ProxyDestructor destructor = ProxyDestructor.newRegistered(cleaner, h, Fork.class, nh -> {
       if (owningHandle) {
         Views.nativeFree(nh);
       }
-    });
+    }, dropFunction);
 
     return new Fork(h, destructor, cleaner);
   }
@@ -169,9 +175,14 @@ public final class Fork extends View {
     checkState(nativeCanRollback(getNativeHandle()),
         "This fork does not support checkpoints");
 
-    closeDependentObjects();
+    EventSpan span = FrameworkEvents.forkOperation("createCheckpoint");
+    try {
+      closeDependentObjects();
 
-    nativeCreateCheckpoint(getNativeHandle());
+      nativeCreateCheckpoint(getNativeHandle());
+    } finally {
+      span.commit();
+    }
   }
 
   /**
@@ -187,9 +198,14 @@ public final class Fork extends View {
     checkState(nativeCanRollback(getNativeHandle()),
         "This fork does not support rollbacks");
 
-    closeDependentObjects();
+    EventSpan span = FrameworkEvents.forkOperation("rollback");
+    try {
+      closeDependentObjects();
 
-    nativeRollback(getNativeHandle());
+      nativeRollback(getNativeHandle());
+    } finally {
+      span.commit();
+    }
   }
 
   private void closeDependentObjects() {
@@ -23,6 +23,7 @@ import com.exonum.binding.core.storage.indices.StorageIndex;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import javax.annotation.Nullable;
 
 /**
  * A registry of open {@linkplain com.exonum.binding.core.storage.indices indexes}. Allows
@@ -32,9 +33,17 @@ import java.util.Optional;
  */
 class OpenIndexRegistry {
 
-  private final Map<IndexAddress, StorageIndex> indexes = new HashMap<>();
+  /**
+   * The open indexes; or null if none were registered. Allocated lazily, as the framework
+   * creates views for each operation, many of which do not use any indexes.
+   */
+  @Nullable
+  private Map<IndexAddress, StorageIndex> indexes;
 
   void registerIndex(StorageIndex index) {
+    if (indexes == null) {
+      indexes = new HashMap<>();
+    }
     IndexAddress address = index.getAddress();
     Object present = indexes.putIfAbsent(address, index);
     checkArgument(present == null, "Cannot register index (%s): the address (%s) is already "
@@ -42,10 +51,15 @@ class OpenIndexRegistry {
   }
 
   Optional<StorageIndex> findIndex(IndexAddress address) {
+    if (indexes == null) {
+      return Optional.empty();
+    }
     return Optional.ofNullable(indexes.get(address));
   }
 
   void clear() {
-    indexes.clear();
+    if (indexes != null) {
+      indexes.clear();
+    }
   }
 }
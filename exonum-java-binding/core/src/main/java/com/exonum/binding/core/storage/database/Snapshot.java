@@ -63,11 +63,15 @@ public final class Snapshot extends View {
     checkNotNull(cleaner, "cleaner");
 
     NativeHandle h = new NativeHandle(nativeHandle);
+    // Do not access the Views unless the native peer is owned, so that non-owning proxies
+    // can be created without the native library
+    long dropFunction = owningHandle ? Views.NATIVE_DROP_FUNCTION
+        : ProxyDestructor.NO_DROP_FUNCTION;
     ProxyDestructor.newRegistered(cleaner, h, Snapshot.class, nh -> {
       if (owningHandle) {
         Views.nativeFree(nh);
       }
-    });
+    }, dropFunction);
 
     return new Snapshot(h, cleaner);
   }
@@ -21,7 +21,11 @@ import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.storage.indices.IndexAddress;
 import com.exonum.binding.core.storage.indices.StorageIndex;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * Represents a view of the database.
@@ -39,6 +43,12 @@ public abstract class View extends AbstractNativeProxy {
 
   private final OpenIndexRegistry indexRegistry = new OpenIndexRegistry();
   private final boolean canModify;
+  /**
+   * The objects bound to this view, by their type; or null if none were created. Allocated
+   * lazily, as most views do not need any.
+   */
+  @Nullable
+  private Map<Class<?>, Object> viewScopedObjects;
 
   /**
    * Create a new view proxy.
@@ -97,13 +107,44 @@ public abstract class View extends AbstractNativeProxy {
   }
 
   /**
-   * Clears the registry of open indexes.
+   * Returns the object of the given type bound to this view, creating it with the given factory
+   * if there is none. Allows to share the objects which are costly to create, e.g., proxies
+   * of native schemas, among all the users of this view.
+   *
+   * <p>The objects are discarded together with the {@linkplain #findOpenIndex(IndexAddress)
+   * open indexes}, therefore, they must not outlive the resources registered
+   * with {@linkplain #getCleaner() the cleaner of this view}.
+   *
+   * <p><em>This method is for internal use. It is not designed to be used by services.</em>
+   *
+   * @param type the type of the object, which identifies it in this view
+   * @param factory a factory creating a new object for this view
+   */
+  public <T> T getOrCreateViewScoped(Class<T> type, Function<? super View, ? extends T> factory) {
+    if (viewScopedObjects == null) {
+      viewScopedObjects = new HashMap<>();
+    }
+    Object present = viewScopedObjects.get(type);
+    if (present != null) {
+      return type.cast(present);
+    }
+    T object = factory.apply(this);
+    viewScopedObjects.put(type, object);
+    return object;
+  }
+
+  /**
+   * Clears the registry of open indexes and the {@linkplain #getOrCreateViewScoped(Class,
+   * Function) view-scoped objects}.
    *
    * <p>This operation does not destroy the indexes in the registry, therefore,
    * if it might be needed to access them again, they must be destroyed separately.
    */
   void clearOpenIndexes() {
     indexRegistry.clear();
+    if (viewScopedObjects != null) {
+      viewScopedObjects.clear();
+    }
   }
 
   /**
@@ -24,8 +24,13 @@ final class Views {
     LibraryLoader.load();
   }
 
+  /** The type-erased destructor of the native `View` objects. */
+  static final long NATIVE_DROP_FUNCTION = nativeGetDropFunction();
+
   /** Destroys the native `View` object. May be used with both Snapshots and Forks. */
   static native void nativeFree(long viewNativeHandle);
 
+  private static native long nativeGetDropFunction();
+
   private Views() {}
 }
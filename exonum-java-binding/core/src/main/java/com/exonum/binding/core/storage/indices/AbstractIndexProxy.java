@@ -18,6 +18,8 @@ package com.exonum.binding.core.storage.indices;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.core.jfr.EventSpan;
+import com.exonum.binding.core.jfr.FrameworkEvents;
 import com.exonum.binding.core.proxy.AbstractNativeProxy;
 import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.storage.database.Fork;
@@ -62,6 +64,25 @@ abstract class AbstractIndexProxy extends AbstractNativeProxy implements Storage
     return address;
   }
 
+  /**
+   * Starts a span of a native operation on this index.
+   *
+   * @param operation the name of the operation
+   * @param keySize the size of the key, in bytes; or zero if the operation has none
+   * @param valueSize the size of the value, in bytes; or zero if the operation has none
+   * @see FrameworkEvents#indexCall(String, String, int, int)
+   */
+  EventSpan startIndexCall(String operation, int keySize, int valueSize) {
+    return FrameworkEvents.indexCall(getName(), operation, keySize, valueSize);
+  }
+
+  /**
+   * Returns the size of the value returned by a native operation, or zero if there is none.
+   */
+  static int resultSize(byte[] value) {
+    return (value == null) ? 0 : value.length;
+  }
+
   /**
    * Checks that this index <em>can</em> be modified and changes the modification counter.
    *
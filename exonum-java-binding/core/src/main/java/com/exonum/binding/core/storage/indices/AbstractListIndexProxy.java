@@ -21,6 +21,7 @@ import static com.exonum.binding.core.storage.indices.StoragePreconditions.check
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
+import com.exonum.binding.core.jfr.EventSpan;
 import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.storage.database.View;
 import java.util.Collection;
@@ -48,7 +49,12 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
   public final void add(T e) {
     notifyModified();
     byte[] dbElement = serializer.toBytes(e);
-    nativeAdd(getNativeHandle(), dbElement);
+    EventSpan span = startIndexCall("add", 0, dbElement.length);
+    try {
+      nativeAdd(getNativeHandle(), dbElement);
+    } finally {
+      span.commit();
+    }
   }
 
   @Override
@@ -72,13 +78,25 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
     checkElementIndex(index, size());
     notifyModified();
     byte[] dbElement = serializer.toBytes(e);
-    nativeSet(getNativeHandle(), index, dbElement);
+    EventSpan span = startIndexCall("set", 0, dbElement.length);
+    try {
+      nativeSet(getNativeHandle(), index, dbElement);
+    } finally {
+      span.commit();
+    }
   }
 
   @Override
   public final T get(long index) {
     checkElementIndex(index, size());
-    byte[] e = nativeGet(getNativeHandle(), index);
+    EventSpan span = startIndexCall("get", 0, 0);
+    byte[] e;
+    try {
+      e = nativeGet(getNativeHandle(), index);
+      span.setResultSize(resultSize(e));
+    } finally {
+      span.commit();
+    }
     return serializer.fromBytes(e);
   }
 
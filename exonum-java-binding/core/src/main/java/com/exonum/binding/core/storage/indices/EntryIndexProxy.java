@@ -19,6 +19,7 @@ package com.exonum.binding.core.storage.indices;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.jfr.EventSpan;
 import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.proxy.ProxyDestructor;
@@ -55,6 +56,8 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
     LibraryLoader.load();
   }
 
+  private static final long NATIVE_DROP_FUNCTION = nativeGetDropFunction();
+
   private final CheckingSerializerDecorator<T> serializer;
 
   /**
@@ -66,7 +69,7 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
    *             If a view is read-only, "destructive" operations are not permitted.
    * @param elementType the class of an element-protobuf message
    * @param <E> the type of entry; must be a protobuf message
-   *     that has a static {@code #parseFrom(byte[])} method
+   *     that has a static {@code #getDefaultInstance()} method
    *
    * @throws IllegalArgumentException if the name is empty
    * @throws IllegalStateException if the view proxy is invalid
@@ -121,7 +124,7 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
 
     Cleaner cleaner = view.getCleaner();
     ProxyDestructor.newRegistered(cleaner, entryNativeHandle, EntryIndexProxy.class,
-        EntryIndexProxy::nativeFree);
+        EntryIndexProxy::nativeFree, NATIVE_DROP_FUNCTION);
     return entryNativeHandle;
   }
 
@@ -141,7 +144,12 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
   public void set(T value) {
     notifyModified();
     byte[] valueBytes = serializer.toBytes(value);
-    nativeSet(getNativeHandle(), valueBytes);
+    EventSpan span = startIndexCall("set", 0, valueBytes.length);
+    try {
+      nativeSet(getNativeHandle(), valueBytes);
+    } finally {
+      span.commit();
+    }
   }
 
   /**
@@ -163,7 +171,14 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
    * @throws IllegalArgumentException if the supplied serializer cannot decode the value
    */
   public T get() {
-    byte[] value = nativeGet(getNativeHandle());
+    EventSpan span = startIndexCall("get", 0, 0);
+    byte[] value;
+    try {
+      value = nativeGet(getNativeHandle());
+      span.setResultSize(resultSize(value));
+    } finally {
+      span.commit();
+    }
     if (value == null) {
       throw new NoSuchElementException("No value in this entry");
     }
@@ -222,5 +237,7 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
 
   private native void nativeRemove(long nativeHandle);
 
+  private static native long nativeGetDropFunction();
+
   private static native void nativeFree(long nativeHandle);
 }
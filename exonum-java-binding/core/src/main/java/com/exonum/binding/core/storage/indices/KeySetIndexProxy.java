@@ -65,6 +65,8 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
     LibraryLoader.load();
   }
 
+  private static final long NATIVE_DROP_FUNCTION = nativeGetDropFunction();
+
   // Note that we do *not* specify Spliterator.DISTINCT because it is documented in terms
   // of Object#equals which this set does not use.
   private static final int BASE_SPLITERATOR_CHARACTERISTICS =
@@ -81,7 +83,7 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
    *             "destructive" operations are not permitted.
    * @param keyType the class of a key-protobuf message
    * @param <E> the type of keys in this set; must be a protobuf message
-   *     that has a public static {@code #parseFrom(byte[])} method
+   *     that has a public static {@code #getDefaultInstance()} method
    * @throws IllegalStateException if the view is not valid
    * @throws IllegalArgumentException if the name is empty
    */
@@ -166,7 +168,7 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
     Cleaner cleaner = view.getCleaner();
     NativeHandle setNativeHandle = new NativeHandle(nativeSetConstructor.getAsLong());
     ProxyDestructor.newRegistered(cleaner, setNativeHandle, KeySetIndexProxy.class,
-        KeySetIndexProxy::nativeFree);
+        KeySetIndexProxy::nativeFree, NATIVE_DROP_FUNCTION);
     return setNativeHandle;
   }
 
@@ -280,5 +282,7 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
 
   private native void nativeRemove(long nativeHandle, byte[] e);
 
+  private static native long nativeGetDropFunction();
+
   private static native void nativeFree(long nativeHandle);
 }
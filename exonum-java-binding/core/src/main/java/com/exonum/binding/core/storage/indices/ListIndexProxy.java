@@ -55,6 +55,8 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
     LibraryLoader.load();
   }
 
+  private static final long NATIVE_DROP_FUNCTION = nativeGetDropFunction();
+
   /**
    * Creates a new ListIndexProxy storing protobuf messages.
    *
@@ -64,7 +66,7 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
    *             If a view is read-only, "destructive" operations are not permitted.
    * @param elementType the class of an element-protobuf message
    * @param <E> the type of elements in this list; must be a protobuf message
-   *     that has a public static {@code #parseFrom(byte[])} method
+   *     that has a public static {@code #getDefaultInstance()} method
    * @throws IllegalStateException if the view is not valid
    * @throws IllegalArgumentException if the name is empty
    */
@@ -150,7 +152,7 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
 
     Cleaner cleaner = view.getCleaner();
     ProxyDestructor.newRegistered(cleaner, listNativeHandle, ListIndexProxy.class,
-        ListIndexProxy::nativeFree);
+        ListIndexProxy::nativeFree, NATIVE_DROP_FUNCTION);
     return listNativeHandle;
   }
 
@@ -164,6 +166,8 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
   private static native long nativeCreateInGroup(String groupName, byte[] listId,
                                                  long viewNativeHandle);
 
+  private static native long nativeGetDropFunction();
+
   private static native void nativeFree(long nativeHandle);
 
   @Override
@@ -22,6 +22,7 @@ import com.exonum.binding.common.collect.MapEntry;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.jfr.EventSpan;
 import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.proxy.ProxyDestructor;
@@ -59,6 +60,8 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
     LibraryLoader.load();
   }
 
+  private static final long NATIVE_DROP_FUNCTION = nativeGetDropFunction();
+
   private final CheckingSerializerDecorator<K> keySerializer;
   private final CheckingSerializerDecorator<V> valueSerializer;
 
@@ -79,7 +82,7 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
    * @param <V> the type of values in the map; must be a protobuf message
    * @throws IllegalStateException if the view is not valid
    * @throws IllegalArgumentException if the name is empty; or a key or value class is
-   *     not a valid protobuf message that has a public static {@code #parseFrom(byte[])} method
+   *     not a valid protobuf message that has a public static {@code #getDefaultInstance()} method
    */
   public static <K extends MessageLite, V extends MessageLite> MapIndexProxy<K, V> newInstance(
       String name, View view, Class<K> keyType, Class<V> valueType) {
@@ -176,7 +179,7 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
     Cleaner cleaner = view.getCleaner();
     ProxyDestructor.newRegistered(cleaner, mapNativeHandle, MapIndexProxy.class,
-        MapIndexProxy::nativeFree);
+        MapIndexProxy::nativeFree, NATIVE_DROP_FUNCTION);
     return mapNativeHandle;
   }
 
@@ -212,13 +215,25 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
   private void putInternal(long thisNativeHandle, K key, V value) {
     byte[] dbKey = keySerializer.toBytes(key);
     byte[] dbValue = valueSerializer.toBytes(value);
-    nativePut(thisNativeHandle, dbKey, dbValue);
+    EventSpan span = startIndexCall("put", dbKey.length, dbValue.length);
+    try {
+      nativePut(thisNativeHandle, dbKey, dbValue);
+    } finally {
+      span.commit();
+    }
   }
 
   @Override
   public V get(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
-    byte[] dbValue = nativeGet(getNativeHandle(), dbKey);
+    EventSpan span = startIndexCall("get", dbKey.length, 0);
+    byte[] dbValue;
+    try {
+      dbValue = nativeGet(getNativeHandle(), dbKey);
+      span.setResultSize(resultSize(dbValue));
+    } finally {
+      span.commit();
+    }
     return (dbValue == null) ? null : valueSerializer.fromBytes(dbValue);
   }
 
@@ -304,6 +319,8 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
   private native void nativeClear(long nativeHandle);
 
+  private static native long nativeGetDropFunction();
+
   private static native void nativeFree(long nativeHandle);
 
 }
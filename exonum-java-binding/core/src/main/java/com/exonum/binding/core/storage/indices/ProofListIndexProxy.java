@@ -60,6 +60,8 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
     LibraryLoader.load();
   }
 
+  private static final long NATIVE_DROP_FUNCTION = nativeGetDropFunction();
+
   /**
    * Creates a new ProofListIndexProxy storing protobuf messages.
    *
@@ -69,7 +71,7 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
    *             If a view is read-only, "destructive" operations are not permitted.
    * @param elementType the class of elements-protobuf messages
    * @param <E> the type of elements in this list; must be a protobuf message
-   *     that has a public static {@code #parseFrom(byte[])} method
+   *     that has a public static {@code #getDefaultInstance()} method
    * @throws IllegalStateException if the view is not valid
    * @throws IllegalArgumentException if the name is empty
    */
@@ -160,7 +162,7 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
 
     Cleaner cleaner = view.getCleaner();
     ProxyDestructor.newRegistered(cleaner, listNativeHandle, ProofListIndexProxy.class,
-        ProofListIndexProxy::nativeFree);
+        ProofListIndexProxy::nativeFree, NATIVE_DROP_FUNCTION);
     return listNativeHandle;
   }
 
@@ -223,6 +225,8 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
 
   private native byte[] nativeGetIndexHash(long nativeHandle);
 
+  private static native long nativeGetDropFunction();
+
   private static native void nativeFree(long nativeHandle);
 
   @Override
@@ -24,10 +24,12 @@ import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.core.jfr.EventSpan;
 import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.NativeHandle;
 import com.exonum.binding.core.proxy.ProxyDestructor;
 import com.exonum.binding.core.storage.database.View;
+import com.exonum.binding.core.util.LibraryLoader;
 import com.google.common.collect.Lists;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.util.Collection;
@@ -87,6 +89,12 @@ import java.util.function.LongSupplier;
  */
 public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implements MapIndex<K, V> {
 
+  static {
+    LibraryLoader.load();
+  }
+
+  private static final long NATIVE_DROP_FUNCTION = nativeGetDropFunction();
+
   private final Serializer<K> keySerializer;
   private final CheckingSerializerDecorator<V> valueSerializer;
 
@@ -240,7 +248,7 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
     Cleaner cleaner = view.getCleaner();
     ProxyDestructor.newRegistered(cleaner, mapNativeHandle, ProofMapIndexProxy.class,
-        ProofMapIndexProxy::nativeFree);
+        ProofMapIndexProxy::nativeFree, NATIVE_DROP_FUNCTION);
     return mapNativeHandle;
   }
 
@@ -294,7 +302,12 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   private void putInternal(long nativeHandle, K key, V value) {
     byte[] dbKey = keySerializer.toBytes(key);
     byte[] dbValue = valueSerializer.toBytes(value);
-    nativePut(nativeHandle, dbKey, dbValue);
+    EventSpan span = startIndexCall("put", dbKey.length, dbValue.length);
+    try {
+      nativePut(nativeHandle, dbKey, dbValue);
+    } finally {
+      span.commit();
+    }
   }
 
   private native void nativePut(long nativeHandle, byte[] key, byte[] value);
@@ -302,7 +315,14 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   @Override
   public V get(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
-    byte[] dbValue = nativeGet(getNativeHandle(), dbKey);
+    EventSpan span = startIndexCall("get", dbKey.length, 0);
+    byte[] dbValue;
+    try {
+      dbValue = nativeGet(getNativeHandle(), dbKey);
+      span.setResultSize(resultSize(dbValue));
+    } finally {
+      span.commit();
+    }
     return (dbValue == null) ? null : valueSerializer.fromBytes(dbValue);
   }
 
@@ -350,7 +370,14 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private MapProof getSingleKeyProof(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
-    byte[] proofMessage = nativeGetProof(getNativeHandle(), dbKey);
+    EventSpan span = startIndexCall("getProof", dbKey.length, 0);
+    byte[] proofMessage;
+    try {
+      proofMessage = nativeGetProof(getNativeHandle(), dbKey);
+      span.setResultSize(proofMessage.length);
+    } finally {
+      span.commit();
+    }
     return decodeProofMessage(proofMessage);
   }
 
@@ -358,7 +385,14 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private MapProof getMultiKeyProof(Collection<? extends K> keys) {
     byte[][] dbKeys = keysToArray(keys);
-    byte[] proofMessage = nativeGetMultiProof(getNativeHandle(), dbKeys);
+    EventSpan span = startIndexCall("getMultiProof", totalSize(dbKeys), 0);
+    byte[] proofMessage;
+    try {
+      proofMessage = nativeGetMultiProof(getNativeHandle(), dbKeys);
+      span.setResultSize(proofMessage.length);
+    } finally {
+      span.commit();
+    }
     return decodeProofMessage(proofMessage);
   }
 
@@ -368,6 +402,14 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
         .toArray(byte[][]::new);
   }
 
+  private static int totalSize(byte[][] dbKeys) {
+    int size = 0;
+    for (byte[] dbKey : dbKeys) {
+      size += dbKey.length;
+    }
+    return size;
+  }
+
   private native byte[] nativeGetMultiProof(long nativeHandle, byte[][] keys);
 
   private static MapProof decodeProofMessage(byte[] proofMessage) {
@@ -386,7 +428,14 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
    * @throws IllegalStateException if this map is not valid
    */
   public HashCode getIndexHash() {
-    return HashCode.fromBytes(nativeGetIndexHash(getNativeHandle()));
+    EventSpan span = startIndexCall("getIndexHash", 0, 0);
+    byte[] indexHash;
+    try {
+      indexHash = nativeGetIndexHash(getNativeHandle());
+    } finally {
+      span.commit();
+    }
+    return HashCode.fromBytes(indexHash);
   }
 
   private native byte[] nativeGetIndexHash(long nativeHandle);
@@ -462,5 +511,7 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private native void nativeClear(long nativeHandle);
 
+  private static native long nativeGetDropFunction();
+
   private static native void nativeFree(long nativeHandle);
 }
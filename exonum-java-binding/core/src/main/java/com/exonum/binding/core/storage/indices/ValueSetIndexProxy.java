@@ -72,6 +72,8 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
     LibraryLoader.load();
   }
 
+  private static final long NATIVE_DROP_FUNCTION = nativeGetDropFunction();
+
   // Note that we do *not* specify Spliterator.DISTINCT because it is documented in terms
   // of Object#equals which this set does not use.
   private static final int BASE_SPLITERATOR_CHARACTERISTICS =
@@ -88,7 +90,7 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
    *             "destructive" operations are not permitted.
    * @param valueType the class of values-protobuf messages
    * @param <E> the type of values in this set; must be a protobuf message
-   *     that has a public static {@code #parseFrom(byte[])} method
+   *     that has a public static {@code #getDefaultInstance()} method
    * @throws IllegalStateException if the view is not valid
    * @throws IllegalArgumentException if the name is empty
    */
@@ -174,7 +176,7 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
 
     Cleaner cleaner = view.getCleaner();
     ProxyDestructor.newRegistered(cleaner, setNativeHandle, ValueSetIndexProxy.class,
-        ValueSetIndexProxy::nativeFree);
+        ValueSetIndexProxy::nativeFree, NATIVE_DROP_FUNCTION);
     return setNativeHandle;
   }
 
@@ -397,5 +399,7 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
 
   private native void nativeRemoveByHash(long nativeHandle, byte[] elementHash);
 
+  private static native long nativeGetDropFunction();
+
   private static native void nativeFree(long nativeHandle);
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transaction;
+
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.binding.core.service.Service;
+import com.exonum.binding.core.service.TransactionConverter;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method of a {@link Service} implementation that executes the transactions
+ * of the given type. A service with transaction methods needs no {@link TransactionConverter}:
+ * the framework dispatches the transactions to the methods by their
+ * {@linkplain TransactionMessage#getTransactionId() transaction type identifiers}.
+ *
+ * <p>A transaction method must be public and non-static, be declared in the service class
+ * or any of its superclasses, and have the following signature:
+ * <pre>
+ *   &#64;TransactionMethod(CREATE_WALLET_TX_ID)
+ *   public void createWallet(TxMessageProtos.CreateWalletTx arguments, TransactionContext context)
+ *       throws TransactionExecutionException {
+ *     // Execute the transaction
+ *   }
+ * </pre>
+ *
+ * <p>An overriding method inherits the annotation of the overridden method,
+ * unless it is annotated itself.
+ *
+ * <p>The first parameter accepts the transaction arguments, either serialized
+ * ({@code byte[]}), or as a Protocol Buffers message, which the framework deserializes
+ * before the method is invoked. The method may only throw {@link TransactionExecutionException}
+ * or unchecked exceptions, as specified in {@link Transaction#execute(TransactionContext)}.
+ *
+ * <p>The framework may deserialize the transaction arguments once and invoke the method
+ * with the same message object to verify and to execute the transaction; the transaction
+ * methods must not depend on any state but the service data, accessible through the context.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface TransactionMethod {
+
+  /**
+   * Returns the transaction type identifier within the service. Must be in range
+   * [0; 65535]; service transactions usually have small consecutive identifiers.
+   */
+  int value();
+}
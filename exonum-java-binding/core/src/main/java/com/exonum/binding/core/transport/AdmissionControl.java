@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.exonum.binding.core.transport.PrometheusWriter.MetricType;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RoutingContext;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Admission control of the submission (POST) requests to the services. Each service has
+ * a bound on the number of submissions in flight and, optionally, a token bucket rate limit.
+ * The requests exceeding the rate limit are rejected with the status 429 (Too Many Requests);
+ * the ones exceeding the in-flight bound — with 503 (Service Unavailable). Both responses
+ * have a {@code Retry-After} header.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @see ServerConfig
+ */
+final class AdmissionControl implements MetricsCollector {
+
+  static final String ACCEPTED_METRIC = "exonum_http_submissions_accepted_total";
+  static final String REJECTED_METRIC = "exonum_http_submissions_rejected_total";
+
+  static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+  private final int rateLimit;
+  private final int burstSize;
+  private final int maxInFlight;
+  private final Ticker ticker;
+  private final ConcurrentMap<String, ServiceAdmission> services = new ConcurrentHashMap<>();
+
+  AdmissionControl(ServerConfig config) {
+    this(config, Ticker.systemTicker());
+  }
+
+  AdmissionControl(ServerConfig config, Ticker ticker) {
+    this.rateLimit = config.getSubmissionRateLimit();
+    // The bucket holds a second worth of tokens by default
+    this.burstSize = config.getSubmissionBurstSize() > 0
+        ? config.getSubmissionBurstSize()
+        : config.getSubmissionRateLimit();
+    this.maxInFlight = config.getMaxInFlightSubmissions();
+    this.ticker = ticker;
+  }
+
+  /**
+   * Enables the admission control of the submissions to the service with the given
+   * mount point, unless it is already enabled.
+   */
+  void addService(String mountPoint) {
+    services.computeIfAbsent(mountPoint, m -> new ServiceAdmission(m,
+        rateLimit > 0 ? new TokenBucket(rateLimit, burstSize, ticker) : null));
+  }
+
+  /**
+   * Decides whether the request to the service with the given mount point must be handled.
+   * If it must not, responds to the request. The requests other than submissions,
+   * or to the services without admission control, are always admitted.
+   *
+   * @param rc the routing context of the request
+   * @param mountPoint the mount point of the handler of the request
+   * @return true if the request is admitted; false if it is rejected
+   */
+  boolean admit(RoutingContext rc, String mountPoint) {
+    if (rc.request().method() != HttpMethod.POST) {
+      return true;
+    }
+    ServiceAdmission service = services.get(mountPoint);
+    if (service == null) {
+      return true;
+    }
+    return service.admit(rc);
+  }
+
+  @Override
+  public void collect(PrometheusWriter writer) {
+    writer.declare(ACCEPTED_METRIC, MetricType.COUNTER,
+        "Number of submission requests admitted for handling");
+    for (ServiceAdmission service : services.values()) {
+      writer.sample(ACCEPTED_METRIC, ImmutableMap.of("handler", service.mountPoint),
+          service.accepted.sum());
+    }
+
+    writer.declare(REJECTED_METRIC, MetricType.COUNTER,
+        "Number of submission requests rejected because of the rate limit or the bound"
+            + " on the submissions in flight");
+    for (ServiceAdmission service : services.values()) {
+      writer.sample(REJECTED_METRIC, rejectedLabels(service, "rate_limit"),
+          service.rejectedByRate.sum());
+      writer.sample(REJECTED_METRIC, rejectedLabels(service, "in_flight"),
+          service.rejectedInFlight.sum());
+    }
+  }
+
+  private static Map<String, String> rejectedLabels(ServiceAdmission service, String reason) {
+    return ImmutableMap.of("handler", service.mountPoint, "reason", reason);
+  }
+
+  private final class ServiceAdmission {
+    final String mountPoint;
+    @Nullable
+    final TokenBucket rateLimiter;
+    final AtomicInteger inFlight = new AtomicInteger();
+    final LongAdder accepted = new LongAdder();
+    final LongAdder rejectedByRate = new LongAdder();
+    final LongAdder rejectedInFlight = new LongAdder();
+
+    ServiceAdmission(String mountPoint, @Nullable TokenBucket rateLimiter) {
+      this.mountPoint = mountPoint;
+      this.rateLimiter = rateLimiter;
+    }
+
+    boolean admit(RoutingContext rc) {
+      // Check the in-flight bound first, so that the rejected requests do not take tokens
+      if (!tryAcquireInFlight()) {
+        rejectedInFlight.increment();
+        reject(rc, HTTP_UNAVAILABLE, 1L);
+        return false;
+      }
+      long waitNanos = (rateLimiter == null) ? 0L : rateLimiter.tryAcquire();
+      if (waitNanos > 0) {
+        inFlight.decrementAndGet();
+        rejectedByRate.increment();
+        reject(rc, HTTP_TOO_MANY_REQUESTS, toRetryAfterSeconds(waitNanos));
+        return false;
+      }
+      accepted.increment();
+
+      // Release the in-flight slot once the response is sent or fails (e.g., the connection
+      // is closed). The end handlers of the routing context, unlike the ones of the response,
+      // cannot be replaced by the downstream handlers. The release is idempotent,
+      // in case the handler is notified more than once.
+      AtomicBoolean released = new AtomicBoolean();
+      rc.addEndHandler(ar -> {
+        if (released.compareAndSet(false, true)) {
+          inFlight.decrementAndGet();
+        }
+      });
+      return true;
+    }
+
+    private boolean tryAcquireInFlight() {
+      while (true) {
+        int current = inFlight.get();
+        if (current >= maxInFlight) {
+          return false;
+        }
+        if (inFlight.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+  }
+
+  private static long toRetryAfterSeconds(long waitNanos) {
+    long seconds = NANOSECONDS.toSeconds(waitNanos);
+    // Round up, so that the client does not retry too early
+    return (SECONDS.toNanos(seconds) < waitNanos) ? seconds + 1 : seconds;
+  }
+
+  private static void reject(RoutingContext rc, int statusCode, long retryAfterSeconds) {
+    rc.response()
+        .setStatusCode(statusCode)
+        .putHeader("Retry-After", Long.toString(retryAfterSeconds))
+        .end();
+  }
+}
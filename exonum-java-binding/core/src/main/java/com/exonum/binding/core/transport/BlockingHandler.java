@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * A request handler that executes the given handler on a worker thread instead of
+ * the event loop. Use it for the handlers that may block, e.g., the ones reading
+ * the blockchain state with {@code Node#withSnapshot}:
+ *
+ * <pre>{@code
+ * router.get("/wallets/:id")
+ *     .handler(BlockingHandler.of(this::getWallet));
+ * }</pre>
+ *
+ * <p>The blocking handlers of a service {@linkplain Server#mountSubRouter mounted} to the server
+ * run on a dedicated worker pool of that service, so that slow requests to one service
+ * do not delay the requests to the others. The number of pending blocking requests
+ * of a service is limited; if it is reached, the handler responds with the status 503
+ * (Service Unavailable) and a {@code Retry-After} header, without running the given
+ * handler.
+ *
+ * <p>If the given handler throws an exception, the request is
+ * {@linkplain RoutingContext#fail(Throwable) failed}.
+ *
+ * @see ServerConfig
+ */
+public final class BlockingHandler implements Handler<RoutingContext> {
+
+  /** The key of the worker pool of the request handler in the routing context data. */
+  static final String WORKER_POOL_KEY = "exonum.workerPool";
+  /** The delay after which the client may retry a rejected request, in seconds. */
+  static final String RETRY_AFTER_SECONDS = "1";
+
+  private final Handler<RoutingContext> handler;
+
+  private BlockingHandler(Handler<RoutingContext> handler) {
+    this.handler = checkNotNull(handler);
+  }
+
+  /**
+   * Creates a handler that executes the given handler on a worker thread.
+   *
+   * @param handler a request handler that may block
+   */
+  public static BlockingHandler of(Handler<RoutingContext> handler) {
+    return new BlockingHandler(handler);
+  }
+
+  @Override
+  public void handle(RoutingContext rc) {
+    WorkerPool pool = rc.get(WORKER_POOL_KEY);
+    if (pool == null) {
+      // The router is not mounted to the server: use the default worker pool of Vert.x
+      rc.vertx().executeBlocking((Promise<Void> promise) -> handleBlocking(rc, promise), false,
+          ar -> handleResult(rc, ar));
+      return;
+    }
+    boolean submitted = pool.tryExecute((Promise<Void> promise) -> handleBlocking(rc, promise),
+        ar -> handleResult(rc, ar));
+    if (!submitted) {
+      rc.response()
+          .setStatusCode(HTTP_UNAVAILABLE)
+          .putHeader("Retry-After", RETRY_AFTER_SECONDS)
+          .end();
+    }
+  }
+
+  private void handleBlocking(RoutingContext rc, Promise<Void> promise) {
+    handler.handle(rc);
+    promise.complete();
+  }
+
+  private static void handleResult(RoutingContext rc, AsyncResult<Void> result) {
+    if (result.failed()) {
+      rc.fail(result.cause());
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.net.HttpURLConnection.HTTP_OK;
+
+import com.google.common.hash.Hashing;
+import io.vertx.core.buffer.Buffer;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * A response of a {@link CachingHandler}: the status code, the content type and the body.
+ *
+ * <p>The successful (2xx) responses have an entity tag derived from their body, so that
+ * the clients may validate their copies with the {@code If-None-Match} header.
+ *
+ * <p>This class is immutable; the body buffer must not be modified once the response is
+ * created.
+ */
+public final class CachedResponse {
+
+  private final int statusCode;
+  private final String contentType;
+  private final Buffer body;
+  @Nullable
+  private final String entityTag;
+
+  private CachedResponse(int statusCode, String contentType, Buffer body) {
+    checkArgument(100 <= statusCode && statusCode < 600, "Invalid status code: %s", statusCode);
+    this.statusCode = statusCode;
+    this.contentType = checkNotNull(contentType);
+    this.body = checkNotNull(body);
+    this.entityTag = isSuccessful(statusCode) ? entityTagOf(body) : null;
+  }
+
+  /**
+   * Creates a successful response (200) with the given body.
+   *
+   * @param contentType the media type of the body
+   * @param body the response body
+   */
+  public static CachedResponse ok(String contentType, String body) {
+    return of(HTTP_OK, contentType, Buffer.buffer(body));
+  }
+
+  /**
+   * Creates a response with the given status code and body.
+   *
+   * @param statusCode the HTTP status code
+   * @param contentType the media type of the body
+   * @param body the response body
+   */
+  public static CachedResponse of(int statusCode, String contentType, Buffer body) {
+    return new CachedResponse(statusCode, contentType, body);
+  }
+
+  /**
+   * Returns the HTTP status code of the response.
+   */
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Returns the media type of the response body.
+   */
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Returns the response body.
+   */
+  public Buffer getBody() {
+    return body;
+  }
+
+  /**
+   * Returns the entity tag of the response, including the quotes; or {@code Optional.empty()}
+   * if it is not successful.
+   */
+  public Optional<String> getEntityTag() {
+    return Optional.ofNullable(entityTag);
+  }
+
+  private static boolean isSuccessful(int statusCode) {
+    return statusCode / 100 == 2;
+  }
+
+  private static String entityTagOf(Buffer body) {
+    return '"' + Hashing.murmur3_128().hashBytes(body.getBytes()).toString() + '"';
+  }
+
+  @Override
+  public String toString() {
+    return "CachedResponse{"
+        + "statusCode=" + statusCode
+        + ", contentType='" + contentType + '\''
+        + ", bodyLength=" + body.length()
+        + ", entityTag=" + entityTag
+        + '}';
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.net.HttpURLConnection.HTTP_NOT_MODIFIED;
+
+import com.google.common.base.Splitter;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A request handler which responses are cached until the next block is committed.
+ * Use it for the read requests which responses depend only on the request
+ * and the committed blockchain state:
+ *
+ * <pre>{@code
+ * router.get("/wallets/:id")
+ *     .handler(CachingHandler.blocking(rc -> {
+ *       Wallet wallet = node.withSnapshot(s -> findWallet(s, rc.pathParam("id")));
+ *       return CachedResponse.ok("application/json", json().toJson(wallet));
+ *     }));
+ * }</pre>
+ *
+ * <p>The responses are cached by the request method and URI (i.e., the path with
+ * the path parameters and the query string) for the current committed height.
+ * The cache is invalidated when the {@linkplain Server#setCommittedHeight(long) committed height}
+ * changes.
+ *
+ * <p>The successful responses include an {@code ETag} header. If the request
+ * has an {@code If-None-Match} header matching the entity tag of the response,
+ * the handler responds with the status 304 (Not Modified) and no body.
+ *
+ * @see ServerConfig#getResponseCacheSize()
+ */
+public final class CachingHandler implements Handler<RoutingContext> {
+
+  /** The key of the response cache in the routing context data. */
+  static final String RESPONSE_CACHE_KEY = "exonum.responseCache";
+
+  private static final Splitter ENTITY_TAG_SPLITTER = Splitter.on(',')
+      .trimResults()
+      .omitEmptyStrings();
+
+  private final Function<RoutingContext, CachedResponse> responseFunction;
+  private final boolean blocking;
+
+  private CachingHandler(Function<RoutingContext, CachedResponse> responseFunction,
+      boolean blocking) {
+    this.responseFunction = checkNotNull(responseFunction);
+    this.blocking = blocking;
+  }
+
+  /**
+   * Creates a caching handler which computes the responses on the event loop.
+   * The function must not block.
+   *
+   * @param responseFunction a function computing the response to the request
+   */
+  public static CachingHandler of(Function<RoutingContext, CachedResponse> responseFunction) {
+    return new CachingHandler(responseFunction, false);
+  }
+
+  /**
+   * Creates a caching handler which computes the responses that are not cached
+   * on a worker thread, as a {@link BlockingHandler} does. The cached responses are served
+   * on the event loop.
+   *
+   * @param responseFunction a function computing the response to the request; it may block
+   */
+  public static CachingHandler blocking(
+      Function<RoutingContext, CachedResponse> responseFunction) {
+    return new CachingHandler(responseFunction, true);
+  }
+
+  @Override
+  public void handle(RoutingContext rc) {
+    ResponseCache.Generation cache = rc.get(RESPONSE_CACHE_KEY);
+    String requestKey = rc.request().rawMethod() + " " + rc.request().uri();
+    if (cache != null) {
+      CachedResponse cachedResponse = cache.get(requestKey);
+      if (cachedResponse != null) {
+        respond(rc, cachedResponse);
+        return;
+      }
+    }
+
+    Handler<RoutingContext> computeResponse = context -> {
+      CachedResponse response = responseFunction.apply(context);
+      checkNotNull(response, "The response function returned null");
+      if (cache != null) {
+        cache.put(requestKey, response);
+      }
+      respond(context, response);
+    };
+    if (blocking) {
+      BlockingHandler.of(computeResponse).handle(rc);
+    } else {
+      computeResponse.handle(rc);
+    }
+  }
+
+  private static void respond(RoutingContext rc, CachedResponse cachedResponse) {
+    HttpServerResponse response = rc.response();
+    Optional<String> entityTag = cachedResponse.getEntityTag();
+    if (entityTag.isPresent()) {
+      response.putHeader(HttpHeaders.ETAG, entityTag.get());
+      String ifNoneMatch = rc.request().getHeader(HttpHeaders.IF_NONE_MATCH);
+      if (matchesAny(ifNoneMatch, entityTag.get())) {
+        response.setStatusCode(HTTP_NOT_MODIFIED)
+            .end();
+        return;
+      }
+    }
+    response.setStatusCode(cachedResponse.getStatusCode())
+        .putHeader(HttpHeaders.CONTENT_TYPE, cachedResponse.getContentType())
+        .end(cachedResponse.getBody());
+  }
+
+  /**
+   * Returns true if the value of the If-None-Match header matches the given entity tag.
+   * The header contains "*" or a list of entity tags, each possibly weak ("W/" prefixed),
+   * which are compared with the weak comparison function (RFC 7232, section 3.2).
+   */
+  static boolean matchesAny(@Nullable String ifNoneMatch, String entityTag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String tag : ENTITY_TAG_SPLITTER.split(ifNoneMatch)) {
+      if (tag.equals("*") || stripWeakPrefix(tag).equals(entityTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String stripWeakPrefix(String entityTag) {
+    return entityTag.startsWith("W/") ? entityTag.substring(2) : entityTag;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.exonum.binding.core.transport.PrometheusWriter.MetricType;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the time the event loop threads are blocked. Each event loop runs a periodic
+ * timer; the delay of a timer event past its due time is the time the loop was busy
+ * and could not handle other events, including the requests.
+ *
+ * <p>This class is thread-safe.
+ */
+final class EventLoopMonitor implements MetricsCollector {
+
+  static final String BLOCKED_TIME_METRIC = "exonum_http_event_loop_blocked_seconds_total";
+  static final String DELAY_METRIC = "exonum_http_event_loop_delay_seconds";
+
+  static final long PROBE_INTERVAL_MILLIS = 100;
+  private static final long PROBE_INTERVAL_NANOS = MILLISECONDS.toNanos(PROBE_INTERVAL_MILLIS);
+
+  private final Vertx vertx;
+  private final List<Probe> probes;
+
+  /**
+   * Starts monitoring the event loops of the given Vert.x instance.
+   *
+   * <p>Must be invoked from a non-Vert.x thread, so that each probe gets
+   * a context on a different event loop.
+   *
+   * @param vertx the Vert.x instance
+   * @param eventLoopPoolSize the number of event loop threads of the instance
+   */
+  EventLoopMonitor(Vertx vertx, int eventLoopPoolSize) {
+    checkArgument(eventLoopPoolSize > 0, "eventLoopPoolSize must be positive, but is %s",
+        eventLoopPoolSize);
+    this.vertx = vertx;
+    ImmutableList.Builder<Probe> probes = ImmutableList.builder();
+    for (int i = 0; i < eventLoopPoolSize; i++) {
+      // A new context is assigned to the next event loop in a round-robin fashion
+      Context context = vertx.getOrCreateContext();
+      Probe probe = new Probe(Integer.toString(i));
+      context.runOnContext(v -> probe.schedule());
+      probes.add(probe);
+    }
+    this.probes = probes.build();
+  }
+
+  @Override
+  public void collect(PrometheusWriter writer) {
+    writer.declare(BLOCKED_TIME_METRIC, MetricType.COUNTER,
+        "Total time the event loop threads were busy past the due time of their timers");
+    for (Probe probe : probes) {
+      writer.sample(BLOCKED_TIME_METRIC, probe.labels(), toSeconds(probe.blockedNanos.sum()));
+    }
+
+    writer.declare(DELAY_METRIC, MetricType.GAUGE,
+        "The last measured delay of the timer of the event loop thread");
+    for (Probe probe : probes) {
+      writer.sample(DELAY_METRIC, probe.labels(), toSeconds(probe.lastDelayNanos));
+    }
+  }
+
+  private static double toSeconds(long nanos) {
+    return nanos / (double) SECONDS.toNanos(1);
+  }
+
+  /**
+   * A probe of a single event loop. It is scheduled and fired on the same event loop.
+   */
+  private final class Probe {
+    final String loop;
+    final LongAdder blockedNanos = new LongAdder();
+    volatile long lastDelayNanos;
+    long dueNanos;
+
+    Probe(String loop) {
+      this.loop = loop;
+    }
+
+    void schedule() {
+      dueNanos = System.nanoTime() + PROBE_INTERVAL_NANOS;
+      vertx.setTimer(PROBE_INTERVAL_MILLIS, id -> fire());
+    }
+
+    void fire() {
+      long delayNanos = Math.max(0L, System.nanoTime() - dueNanos);
+      blockedNanos.add(delayNanos);
+      lastDelayNanos = delayNanos;
+      schedule();
+    }
+
+    Map<String, String> labels() {
+      return ImmutableMap.of("loop", loop);
+    }
+  }
+}
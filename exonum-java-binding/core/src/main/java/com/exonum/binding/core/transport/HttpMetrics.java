@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.exonum.binding.core.transport.PrometheusWriter.MetricType;
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.http.HttpMethod;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms of the HTTP requests handled by the server, by handler mount point,
+ * method and status class. The methods are limited to the {@linkplain HttpMethod known ones},
+ * with any other request method recorded as {@link HttpMethod#OTHER}, so that the clients
+ * cannot create an unbounded number of histograms.
+ *
+ * <p>This class is thread-safe.
+ */
+final class HttpMetrics implements MetricsCollector {
+
+  static final String LATENCY_METRIC = "exonum_http_request_duration_seconds";
+
+  /** The upper bounds of the latency buckets, in seconds (the Prometheus client defaults). */
+  private static final double[] BUCKETS_SECONDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1,
+      2.5, 5, 10};
+  private static final long[] BUCKETS_NANOS = new long[BUCKETS_SECONDS.length];
+
+  static {
+    for (int i = 0; i < BUCKETS_SECONDS.length; i++) {
+      BUCKETS_NANOS[i] = (long) (BUCKETS_SECONDS[i] * SECONDS.toNanos(1));
+    }
+  }
+
+  private final ConcurrentMap<RequestKey, Histogram> histograms = new ConcurrentHashMap<>();
+
+  /**
+   * Records the latency of a handled request.
+   *
+   * @param handler the mount point of the handler of the request
+   * @param method the request method; {@link HttpMethod#OTHER} for any non-standard method
+   * @param statusCode the response status code
+   * @param latencyNanos the time it took to handle the request
+   */
+  void record(String handler, HttpMethod method, int statusCode, long latencyNanos) {
+    RequestKey key = new RequestKey(handler, method, (statusCode / 100) + "xx");
+    Histogram histogram = histograms.get(key);
+    if (histogram == null) {
+      histogram = histograms.computeIfAbsent(key, k -> new Histogram());
+    }
+    histogram.record(latencyNanos);
+  }
+
+  @Override
+  public void collect(PrometheusWriter writer) {
+    writer.declare(LATENCY_METRIC, MetricType.HISTOGRAM,
+        "Time it took to handle the HTTP requests");
+    histograms.forEach((key, histogram) -> histogram.write(writer, key));
+  }
+
+  private static final class RequestKey {
+    final String handler;
+    final HttpMethod method;
+    final String statusClass;
+
+    RequestKey(String handler, HttpMethod method, String statusClass) {
+      this.handler = handler;
+      this.method = method;
+      this.statusClass = statusClass;
+    }
+
+    Map<String, String> labels() {
+      return ImmutableMap.of("handler", handler, "method", method.name(), "status", statusClass);
+    }
+
+    Map<String, String> bucketLabels(String upperBound) {
+      return ImmutableMap.of("handler", handler, "method", method.name(), "status", statusClass,
+          "le", upperBound);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof RequestKey)) {
+        return false;
+      }
+      RequestKey that = (RequestKey) o;
+      return handler.equals(that.handler)
+          && method == that.method
+          && statusClass.equals(that.statusClass);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(handler, method, statusClass);
+    }
+  }
+
+  private static final class Histogram {
+    /** Non-cumulative counts; the last one is the +Inf bucket. */
+    final LongAdder[] bucketCounts = new LongAdder[BUCKETS_NANOS.length + 1];
+    final LongAdder totalNanos = new LongAdder();
+
+    Histogram() {
+      for (int i = 0; i < bucketCounts.length; i++) {
+        bucketCounts[i] = new LongAdder();
+      }
+    }
+
+    void record(long latencyNanos) {
+      int bucket = 0;
+      while (bucket < BUCKETS_NANOS.length && latencyNanos > BUCKETS_NANOS[bucket]) {
+        bucket++;
+      }
+      bucketCounts[bucket].increment();
+      totalNanos.add(latencyNanos);
+    }
+
+    void write(PrometheusWriter writer, RequestKey key) {
+      long cumulativeCount = 0;
+      for (int i = 0; i < BUCKETS_SECONDS.length; i++) {
+        cumulativeCount += bucketCounts[i].sum();
+        writer.sample(LATENCY_METRIC + "_bucket",
+            key.bucketLabels(PrometheusWriter.formatValue(BUCKETS_SECONDS[i])), cumulativeCount);
+      }
+      cumulativeCount += bucketCounts[BUCKETS_SECONDS.length].sum();
+      writer.sample(LATENCY_METRIC + "_bucket", key.bucketLabels("+Inf"), cumulativeCount);
+      writer.sample(LATENCY_METRIC + "_sum", key.labels(),
+          totalNanos.sum() / (double) SECONDS.toNanos(1));
+      writer.sample(LATENCY_METRIC + "_count", key.labels(), cumulativeCount);
+    }
+  }
+}
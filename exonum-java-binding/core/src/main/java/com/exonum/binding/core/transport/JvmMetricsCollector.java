@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import com.exonum.binding.core.transport.PrometheusWriter.MetricType;
+import com.google.common.collect.ImmutableMap;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Collects the basic JVM metrics: memory usage, threads and garbage collections.
+ */
+final class JvmMetricsCollector implements MetricsCollector {
+
+  @Override
+  public void collect(PrometheusWriter writer) {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    MemoryUsage heap = memory.getHeapMemoryUsage();
+    MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+    writer.declare("jvm_memory_bytes_used", MetricType.GAUGE, "Used bytes of a memory area")
+        .sample("jvm_memory_bytes_used", ImmutableMap.of("area", "heap"), heap.getUsed())
+        .sample("jvm_memory_bytes_used", ImmutableMap.of("area", "nonheap"), nonHeap.getUsed());
+    writer.declare("jvm_memory_bytes_committed", MetricType.GAUGE,
+        "Committed bytes of a memory area")
+        .sample("jvm_memory_bytes_committed", ImmutableMap.of("area", "heap"),
+            heap.getCommitted())
+        .sample("jvm_memory_bytes_committed", ImmutableMap.of("area", "nonheap"),
+            nonHeap.getCommitted());
+
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    writer.declare("jvm_threads_current", MetricType.GAUGE, "Current thread count of the JVM")
+        .sample("jvm_threads_current", threads.getThreadCount());
+
+    List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    writer.declare("jvm_gc_collection_seconds_count", MetricType.COUNTER,
+        "Number of collections of a garbage collector");
+    for (GarbageCollectorMXBean gc : collectors) {
+      writer.sample("jvm_gc_collection_seconds_count", ImmutableMap.of("gc", gc.getName()),
+          Math.max(0L, gc.getCollectionCount()));
+    }
+    writer.declare("jvm_gc_collection_seconds_sum", MetricType.COUNTER,
+        "Time spent in a garbage collector, in seconds");
+    for (GarbageCollectorMXBean gc : collectors) {
+      writer.sample("jvm_gc_collection_seconds_sum", ImmutableMap.of("gc", gc.getName()),
+          Math.max(0L, gc.getCollectionTime()) / 1000.0);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+/**
+ * A source of metrics exposed by the {@linkplain Server server} in
+ * the <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus text
+ * format</a>.
+ *
+ * <p>Collectors are invoked on each request to the metrics endpoint, from the server threads,
+ * hence must be thread-safe and must not block.
+ *
+ * @see Server#addMetricsCollector(MetricsCollector)
+ */
+@FunctionalInterface
+public interface MetricsCollector {
+
+  /**
+   * Writes the current values of the metrics of this collector.
+   *
+   * @param writer a writer to write the metric families to
+   */
+  void collect(PrometheusWriter writer);
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import com.exonum.binding.core.proxy.NativeProxyMetrics;
+import com.exonum.binding.core.transport.PrometheusWriter.MetricType;
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Collects the {@linkplain NativeProxyMetrics metrics of native proxies}: the number of created,
+ * destroyed and live native proxies by type; and the distribution of the number of clean actions
+ * performed by each cleaner.
+ */
+final class NativeProxyMetricsCollector implements MetricsCollector {
+
+  private static final String CLEAN_ACTIONS_METRIC = "exonum_cleaner_clean_actions";
+
+  @Override
+  public void collect(PrometheusWriter writer) {
+    Map<String, Long> created = NativeProxyMetrics.getCreatedProxies();
+    Map<String, Long> destroyed = NativeProxyMetrics.getDestroyedProxies();
+    Set<String> proxyTypes = new TreeSet<>(created.keySet());
+
+    writer.declare("exonum_native_proxies_created_total", MetricType.COUNTER,
+        "Number of created native proxies");
+    for (String proxyType : proxyTypes) {
+      writer.sample("exonum_native_proxies_created_total", proxyLabels(proxyType),
+          created.get(proxyType));
+    }
+
+    writer.declare("exonum_native_proxies_destroyed_total", MetricType.COUNTER,
+        "Number of destroyed native proxies, including the ones which native objects"
+            + " were transferred to the native code");
+    for (String proxyType : proxyTypes) {
+      writer.sample("exonum_native_proxies_destroyed_total", proxyLabels(proxyType),
+          destroyed.getOrDefault(proxyType, 0L));
+    }
+
+    writer.declare("exonum_native_proxies_live", MetricType.GAUGE,
+        "Number of native proxies which native objects are not yet destroyed");
+    for (String proxyType : proxyTypes) {
+      // The destroyed count is read after the created, hence the difference might be negative
+      long live = Math.max(0L, created.get(proxyType) - destroyed.getOrDefault(proxyType, 0L));
+      writer.sample("exonum_native_proxies_live", proxyLabels(proxyType), live);
+    }
+
+    writer.declare(CLEAN_ACTIONS_METRIC, MetricType.HISTOGRAM,
+        "Number of clean actions performed by a cleaner when closed");
+    Map<Integer, Long> distribution = NativeProxyMetrics.getCleanActionsDistribution();
+    long count = 0;
+    for (Map.Entry<Integer, Long> bucket : distribution.entrySet()) {
+      int upperBound = bucket.getKey();
+      String le = (upperBound == Integer.MAX_VALUE) ? "+Inf" : Integer.toString(upperBound);
+      count = bucket.getValue();
+      writer.sample(CLEAN_ACTIONS_METRIC + "_bucket", ImmutableMap.of("le", le), count);
+    }
+    writer.sample(CLEAN_ACTIONS_METRIC + "_sum", NativeProxyMetrics.getTotalCleanActions());
+    writer.sample(CLEAN_ACTIONS_METRIC + "_count", count);
+  }
+
+  private static Map<String, String> proxyLabels(String proxyType) {
+    return ImmutableMap.of("proxy", proxyType);
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A writer of metrics in the
+ * <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus text
+ * format</a>, version 0.0.4.
+ *
+ * <p>Each metric family must be {@linkplain #declare(String, MetricType, String) declared}
+ * once, before its samples are written.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class PrometheusWriter {
+
+  /** The content type of the Prometheus text format. */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private static final Pattern METRIC_NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+  private static final Pattern LABEL_NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+  /** The type of a metric family. */
+  public enum MetricType {
+    COUNTER,
+    GAUGE,
+    SUMMARY,
+    HISTOGRAM,
+    UNTYPED
+  }
+
+  private final StringBuilder out = new StringBuilder();
+  private final Set<String> declaredFamilies = new HashSet<>();
+
+  /**
+   * Declares a metric family, writing its help and type.
+   *
+   * @param name the name of the metric family
+   * @param type the type of the metrics
+   * @param help a description of the metric family
+   * @throws IllegalArgumentException if the name is not valid or the family has already
+   *     been declared
+   */
+  @CanIgnoreReturnValue
+  public PrometheusWriter declare(String name, MetricType type, String help) {
+    checkMetricName(name);
+    checkArgument(declaredFamilies.add(name), "Metric family %s is already declared", name);
+    out.append("# HELP ").append(name).append(' ');
+    escape(help, false);
+    out.append('\n')
+        .append("# TYPE ").append(name).append(' ')
+        .append(type.name().toLowerCase(Locale.ROOT)).append('\n');
+    return this;
+  }
+
+  /**
+   * Writes a sample with no labels.
+   *
+   * @param name the name of the metric
+   * @param value the value of the metric
+   */
+  @CanIgnoreReturnValue
+  public PrometheusWriter sample(String name, double value) {
+    return sample(name, ImmutableMap.of(), value);
+  }
+
+  /**
+   * Writes a sample with the given labels.
+   *
+   * @param name the name of the metric
+   * @param labels the labels of the sample, in the order they shall appear in the output
+   * @param value the value of the metric
+   * @throws IllegalArgumentException if the metric name or any label name is not valid
+   */
+  @CanIgnoreReturnValue
+  public PrometheusWriter sample(String name, Map<String, String> labels, double value) {
+    checkMetricName(name);
+    out.append(name);
+    if (!labels.isEmpty()) {
+      out.append('{');
+      boolean first = true;
+      for (Map.Entry<String, String> label : labels.entrySet()) {
+        String labelName = label.getKey();
+        checkArgument(LABEL_NAME.matcher(labelName).matches(), "Invalid label name: %s",
+            labelName);
+        if (!first) {
+          out.append(',');
+        }
+        first = false;
+        out.append(labelName).append("=\"");
+        escape(checkNotNull(label.getValue()), true);
+        out.append('"');
+      }
+      out.append('}');
+    }
+    out.append(' ').append(formatValue(value)).append('\n');
+    return this;
+  }
+
+  private static void checkMetricName(String name) {
+    checkArgument(METRIC_NAME.matcher(name).matches(), "Invalid metric name: %s", name);
+  }
+
+  private void escape(String s, boolean escapeQuotes) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '"':
+          out.append(escapeQuotes ? "\\\"" : "\"");
+          break;
+        default:
+          out.append(c);
+      }
+    }
+  }
+
+  /**
+   * Formats the value: integral values are written without the fractional part.
+   */
+  static String formatValue(double value) {
+    if (Double.isNaN(value)) {
+      return "NaN";
+    }
+    if (Double.isInfinite(value)) {
+      return value > 0 ? "+Inf" : "-Inf";
+    }
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+
+  /**
+   * Returns the text written so far.
+   */
+  @Override
+  public String toString() {
+    return out.toString();
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.exonum.binding.core.transport.PrometheusWriter.MetricType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * A cache of the responses of {@linkplain CachingHandler caching handlers}. The cached
+ * responses are valid for a single committed height: once the height changes,
+ * the responses of the previous height are discarded.
+ *
+ * <p>Until the committed height is known, the responses are not cached.
+ *
+ * <p>This class is thread-safe.
+ */
+final class ResponseCache implements MetricsCollector {
+
+  static final String HITS_METRIC = "exonum_http_response_cache_hits_total";
+  static final String MISSES_METRIC = "exonum_http_response_cache_misses_total";
+
+  private static final long UNKNOWN_HEIGHT = -1L;
+
+  private final int maxSize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private volatile Generation current = new Generation(UNKNOWN_HEIGHT);
+
+  /**
+   * Creates a cache.
+   *
+   * @param maxSize the maximum number of responses cached for a single height;
+   *     zero disables the cache
+   */
+  ResponseCache(int maxSize) {
+    checkArgument(maxSize >= 0, "maxSize must not be negative, but is %s", maxSize);
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Sets the committed height. If it differs from the current one, the cached responses
+   * are discarded.
+   *
+   * @param height the height of the latest committed block
+   */
+  synchronized void setCommittedHeight(long height) {
+    checkArgument(height >= 0, "height must not be negative, but is %s", height);
+    if (current.height != height) {
+      current = new Generation(height);
+    }
+  }
+
+  /**
+   * Returns the responses cached for the current committed height; or {@code null}
+   * if the responses must not be cached.
+   */
+  @Nullable
+  Generation getCurrentGeneration() {
+    Generation generation = current;
+    if (maxSize == 0 || generation.height == UNKNOWN_HEIGHT) {
+      return null;
+    }
+    return generation;
+  }
+
+  @Override
+  public void collect(PrometheusWriter writer) {
+    writer.declare(HITS_METRIC, MetricType.COUNTER,
+        "Number of requests served from the response cache")
+        .sample(HITS_METRIC, hits.sum());
+    writer.declare(MISSES_METRIC, MetricType.COUNTER,
+        "Number of requests to the caching handlers not found in the response cache")
+        .sample(MISSES_METRIC, misses.sum());
+  }
+
+  /**
+   * The responses cached for a certain committed height, by request.
+   */
+  final class Generation {
+    private final long height;
+    private final ConcurrentMap<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    private Generation(long height) {
+      this.height = height;
+    }
+
+    /**
+     * Returns the cached response to the given request; or {@code null} if there is none.
+     */
+    @Nullable
+    CachedResponse get(String requestKey) {
+      CachedResponse response = responses.get(requestKey);
+      if (response == null) {
+        misses.increment();
+      } else {
+        hits.increment();
+      }
+      return response;
+    }
+
+    /**
+     * Caches the response to the given request, unless this generation is full.
+     */
+    void put(String requestKey, CachedResponse response) {
+      // The size check is not atomic, hence the limit may be exceeded by the number
+      // of concurrent requests, which is bounded
+      if (responses.size() < maxSize) {
+        responses.putIfAbsent(requestKey, response);
+      }
+    }
+
+    long getHeight() {
+      return height;
+    }
+  }
+}
@@ -23,10 +23,19 @@ import java.util.concurrent.CompletableFuture;
 /**
  * An HTTP server providing transport for Exonum transactions and read-requests.
  *
+ * <p>The handlers of requests run on the event loop threads and must not block.
+ * Wrap the handlers that may block, e.g., the ones accessing the blockchain state,
+ * into a {@link BlockingHandler}.
+ *
  * @implNote This interface <strong>is</strong> necessary to facilitate testing.
  */
 public interface Server {
 
+  /**
+   * The path of the endpoint exposing the metrics in the Prometheus text format.
+   */
+  String METRICS_PATH = "/metrics";
+
   /**
    * Creates an HTTP server with no request handlers.
    *
@@ -36,6 +45,17 @@ public interface Server {
     return new VertxServer();
   }
 
+  /**
+   * Creates an HTTP server with no request handlers and the given configuration.
+   *
+   * <p>Use {@link #start(int)} to start listening to incoming requests.
+   *
+   * @param config the configuration of the server
+   */
+  static Server create(ServerConfig config) {
+    return new VertxServer(config);
+  }
+
   /**
    * Creates a request router. The router is empty: it has no routes to request handlers set up.
    *
@@ -52,11 +72,35 @@ public interface Server {
    * and '/cryptocurrency/balance', use prefix '/cryptocurrency' and a router forwarding
    * requests to '/send-money' and '/balance' to the appropriate handlers.
    *
+   * <p>The submission (POST) requests to the sub router are subject to admission control:
+   * the requests over the configured rate or in-flight limits are rejected
+   * with the status 429 or 503 correspondingly. See {@link ServerConfig}.
+   *
    * @param mountPoint a mount point (a path prefix) to mount it on
    * @param subRouter a router responsible for handling requests that have the given path prefix
    */
   void mountSubRouter(String mountPoint, Router subRouter);
 
+  /**
+   * Adds a collector of metrics to expose at the {@value #METRICS_PATH} endpoint
+   * of this server. The server exposes the JVM, native proxy and HTTP metrics by default.
+   *
+   * @param collector a collector of metrics
+   * @see PrometheusWriter
+   */
+  void addMetricsCollector(MetricsCollector collector);
+
+  /**
+   * Sets the height of the latest committed block. The responses of
+   * the {@linkplain CachingHandler caching handlers} are cached for the committed height;
+   * changing it discards the responses cached for the previous height.
+   *
+   * <p>Until the committed height is set, the responses are not cached.
+   *
+   * @param height the height of the latest committed block
+   */
+  void setCommittedHeight(long height);
+
   /**
    * Requests the server to start listening on the given TCP port.
    *
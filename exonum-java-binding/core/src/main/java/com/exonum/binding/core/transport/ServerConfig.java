@@ -0,0 +1,368 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.auto.value.AutoValue;
+import io.vertx.core.VertxOptions;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The configuration of the HTTP server.
+ *
+ * <p>The server handles the requests on a fixed number of event loop threads.
+ * The {@linkplain BlockingHandler blocking handlers} of each service run on a dedicated
+ * pool of worker threads of that service. Each service may have a limited number
+ * of pending blocking requests (running and queued); the requests exceeding that limit
+ * are rejected with the status 503 (Service Unavailable).
+ *
+ * <p>The responses of the {@linkplain CachingHandler caching handlers} are kept until
+ * the next block is committed, up to the configured number of responses.
+ *
+ * <p>The submission (POST) requests to each service are subject to admission control:
+ * the number of submissions in flight is limited, and their rate may be limited with
+ * a token bucket. The excess requests are rejected with the status 503
+ * or 429 (Too Many Requests) correspondingly.
+ *
+ * <p>The transport options allow to use the native epoll transport, HTTP/2 over clear text,
+ * compression of the responses, and to tune the TCP options.
+ */
+@AutoValue
+public abstract class ServerConfig {
+
+  /** The system property specifying the number of event loop threads. */
+  public static final String EVENT_LOOP_POOL_SIZE_PROPERTY = "exonum.server.eventLoopPoolSize";
+  /** The system property specifying the number of worker threads of each service. */
+  public static final String WORKER_POOL_SIZE_PROPERTY = "exonum.server.workerPoolSize";
+  /**
+   * The system property specifying the maximum number of pending blocking requests
+   * of each service.
+   */
+  public static final String MAX_QUEUED_REQUESTS_PROPERTY = "exonum.server.maxQueuedRequests";
+  /**
+   * The system property specifying the maximum number of cached responses. Zero disables
+   * the cache.
+   */
+  public static final String RESPONSE_CACHE_SIZE_PROPERTY = "exonum.server.responseCacheSize";
+  /**
+   * The system property specifying the maximum rate of submissions to each service,
+   * per second. Zero disables the rate limit.
+   */
+  public static final String SUBMISSION_RATE_LIMIT_PROPERTY =
+      "exonum.server.submissionRateLimit";
+  /**
+   * The system property specifying the maximum number of submissions to each service
+   * admitted at once, after a period of inactivity. By default, equals to the rate limit.
+   */
+  public static final String SUBMISSION_BURST_SIZE_PROPERTY =
+      "exonum.server.submissionBurstSize";
+  /**
+   * The system property specifying the maximum number of submissions to each service
+   * in flight.
+   */
+  public static final String MAX_IN_FLIGHT_SUBMISSIONS_PROPERTY =
+      "exonum.server.maxInFlightSubmissions";
+  /**
+   * The system property enabling the native transport (epoll), if it is available
+   * on the platform.
+   */
+  public static final String NATIVE_TRANSPORT_PROPERTY = "exonum.server.nativeTransport";
+  /** The system property enabling HTTP/2 over clear text (h2c). */
+  public static final String HTTP2_CLEAR_TEXT_PROPERTY = "exonum.server.http2ClearText";
+  /**
+   * The system property specifying the level of the compression of the responses,
+   * from 1 to 9. Zero disables the compression.
+   */
+  public static final String COMPRESSION_LEVEL_PROPERTY = "exonum.server.compressionLevel";
+  /** The system property enabling TCP_NODELAY. */
+  public static final String TCP_NO_DELAY_PROPERTY = "exonum.server.tcpNoDelay";
+  /** The system property enabling TCP Fast Open. Requires the native transport. */
+  public static final String TCP_FAST_OPEN_PROPERTY = "exonum.server.tcpFastOpen";
+  /**
+   * The system property specifying the size of the TCP receive buffer, in bytes.
+   * Zero means the system default.
+   */
+  public static final String RECEIVE_BUFFER_SIZE_PROPERTY = "exonum.server.receiveBufferSize";
+
+  static final int DEFAULT_EVENT_LOOP_POOL_SIZE = VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE;
+  static final int DEFAULT_WORKER_POOL_SIZE = 8;
+  static final int DEFAULT_MAX_QUEUED_REQUESTS = 256;
+  static final int DEFAULT_RESPONSE_CACHE_SIZE = 1024;
+  static final int DEFAULT_MAX_IN_FLIGHT_SUBMISSIONS = 256;
+  static final int MAX_COMPRESSION_LEVEL = 9;
+
+  /**
+   * Returns the number of event loop threads of the server.
+   */
+  public abstract int getEventLoopPoolSize();
+
+  /**
+   * Returns the number of worker threads running the blocking handlers of each service.
+   */
+  public abstract int getWorkerPoolSize();
+
+  /**
+   * Returns the maximum number of blocking requests of each service that are being handled
+   * or are waiting for a worker thread.
+   */
+  public abstract int getMaxQueuedRequests();
+
+  /**
+   * Returns the maximum number of the responses cached for the current committed height.
+   * Zero means the responses are not cached.
+   */
+  public abstract int getResponseCacheSize();
+
+  /**
+   * Returns the maximum rate of submissions to each service, per second; at most 10<sup>9</sup>.
+   * Zero means the rate is not limited.
+   */
+  public abstract int getSubmissionRateLimit();
+
+  /**
+   * Returns the maximum number of submissions to each service admitted at once.
+   * Zero means it is equal to the {@linkplain #getSubmissionRateLimit() rate limit}.
+   */
+  public abstract int getSubmissionBurstSize();
+
+  /**
+   * Returns the maximum number of submissions to each service that are being handled
+   * at the same time.
+   */
+  public abstract int getMaxInFlightSubmissions();
+
+  /**
+   * Returns true if the server shall use the native transport (epoll), if it is available.
+   */
+  public abstract boolean isNativeTransport();
+
+  /**
+   * Returns true if the server accepts HTTP/2 over clear text connections, both with
+   * the prior knowledge and upgraded from HTTP/1.1.
+   */
+  public abstract boolean isHttp2ClearText();
+
+  /**
+   * Returns the level of the compression of the responses, from 1 (the fastest)
+   * to 9 (the best compression). Zero means the responses are not compressed.
+   */
+  public abstract int getCompressionLevel();
+
+  /**
+   * Returns true if TCP_NODELAY is enabled, i.e., the small packets are sent immediately.
+   */
+  public abstract boolean isTcpNoDelay();
+
+  /**
+   * Returns true if TCP Fast Open is enabled. Applies only to the native transport.
+   */
+  public abstract boolean isTcpFastOpen();
+
+  /**
+   * Returns the size of the TCP receive buffer, in bytes. Zero means the system default.
+   */
+  public abstract int getReceiveBufferSize();
+
+  /**
+   * Returns the default configuration.
+   */
+  public static ServerConfig defaultConfig() {
+    return builder().build();
+  }
+
+  /**
+   * Creates the configuration from the {@linkplain System#getProperties() system properties}.
+   * The properties that are not set have their default values.
+   *
+   * @throws IllegalArgumentException if any property has invalid value
+   */
+  public static ServerConfig fromSystemProperties() {
+    return fromProperties(System.getProperties());
+  }
+
+  static ServerConfig fromProperties(Properties properties) {
+    Builder builder = builder();
+    setIfPresent(properties, EVENT_LOOP_POOL_SIZE_PROPERTY, Integer::parseInt,
+        builder::eventLoopPoolSize);
+    setIfPresent(properties, WORKER_POOL_SIZE_PROPERTY, Integer::parseInt,
+        builder::workerPoolSize);
+    setIfPresent(properties, MAX_QUEUED_REQUESTS_PROPERTY, Integer::parseInt,
+        builder::maxQueuedRequests);
+    setIfPresent(properties, RESPONSE_CACHE_SIZE_PROPERTY, Integer::parseInt,
+        builder::responseCacheSize);
+    setIfPresent(properties, SUBMISSION_RATE_LIMIT_PROPERTY, Integer::parseInt,
+        builder::submissionRateLimit);
+    setIfPresent(properties, SUBMISSION_BURST_SIZE_PROPERTY, Integer::parseInt,
+        builder::submissionBurstSize);
+    setIfPresent(properties, MAX_IN_FLIGHT_SUBMISSIONS_PROPERTY, Integer::parseInt,
+        builder::maxInFlightSubmissions);
+    setIfPresent(properties, NATIVE_TRANSPORT_PROPERTY, Boolean::parseBoolean,
+        builder::nativeTransport);
+    setIfPresent(properties, HTTP2_CLEAR_TEXT_PROPERTY, Boolean::parseBoolean,
+        builder::http2ClearText);
+    setIfPresent(properties, COMPRESSION_LEVEL_PROPERTY, Integer::parseInt,
+        builder::compressionLevel);
+    setIfPresent(properties, TCP_NO_DELAY_PROPERTY, Boolean::parseBoolean,
+        builder::tcpNoDelay);
+    setIfPresent(properties, TCP_FAST_OPEN_PROPERTY, Boolean::parseBoolean,
+        builder::tcpFastOpen);
+    setIfPresent(properties, RECEIVE_BUFFER_SIZE_PROPERTY, Integer::parseInt,
+        builder::receiveBufferSize);
+    return builder.build();
+  }
+
+  private static <T> void setIfPresent(Properties properties, String name,
+      Function<String, T> parser, Consumer<? super T> setter) {
+    String value = properties.getProperty(name);
+    if (value != null) {
+      setter.accept(parser.apply(value));
+    }
+  }
+
+  /**
+   * Creates a new builder of the configuration, with the default parameters set.
+   */
+  public static Builder builder() {
+    return new AutoValue_ServerConfig.Builder()
+        .eventLoopPoolSize(DEFAULT_EVENT_LOOP_POOL_SIZE)
+        .workerPoolSize(DEFAULT_WORKER_POOL_SIZE)
+        .maxQueuedRequests(DEFAULT_MAX_QUEUED_REQUESTS)
+        .responseCacheSize(DEFAULT_RESPONSE_CACHE_SIZE)
+        .submissionRateLimit(0)
+        .submissionBurstSize(0)
+        .maxInFlightSubmissions(DEFAULT_MAX_IN_FLIGHT_SUBMISSIONS)
+        .nativeTransport(false)
+        .http2ClearText(true)
+        .compressionLevel(0)
+        .tcpNoDelay(true)
+        .tcpFastOpen(false)
+        .receiveBufferSize(0);
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    /**
+     * Sets the number of event loop threads.
+     */
+    public abstract Builder eventLoopPoolSize(int eventLoopPoolSize);
+
+    /**
+     * Sets the number of worker threads of each service.
+     */
+    public abstract Builder workerPoolSize(int workerPoolSize);
+
+    /**
+     * Sets the maximum number of pending blocking requests of each service.
+     */
+    public abstract Builder maxQueuedRequests(int maxQueuedRequests);
+
+    /**
+     * Sets the maximum number of cached responses; zero disables the cache.
+     */
+    public abstract Builder responseCacheSize(int responseCacheSize);
+
+    /**
+     * Sets the maximum rate of submissions to each service, per second; zero disables
+     * the rate limit.
+     */
+    public abstract Builder submissionRateLimit(int submissionRateLimit);
+
+    /**
+     * Sets the maximum number of submissions to each service admitted at once; zero makes it
+     * equal to the rate limit.
+     */
+    public abstract Builder submissionBurstSize(int submissionBurstSize);
+
+    /**
+     * Sets the maximum number of submissions to each service in flight.
+     */
+    public abstract Builder maxInFlightSubmissions(int maxInFlightSubmissions);
+
+    /**
+     * Sets whether the server shall use the native transport, if it is available.
+     */
+    public abstract Builder nativeTransport(boolean nativeTransport);
+
+    /**
+     * Sets whether the server accepts HTTP/2 over clear text connections.
+     */
+    public abstract Builder http2ClearText(boolean http2ClearText);
+
+    /**
+     * Sets the level of the compression of the responses; zero disables the compression.
+     */
+    public abstract Builder compressionLevel(int compressionLevel);
+
+    /**
+     * Sets whether TCP_NODELAY is enabled.
+     */
+    public abstract Builder tcpNoDelay(boolean tcpNoDelay);
+
+    /**
+     * Sets whether TCP Fast Open is enabled.
+     */
+    public abstract Builder tcpFastOpen(boolean tcpFastOpen);
+
+    /**
+     * Sets the size of the TCP receive buffer, in bytes; zero means the system default.
+     */
+    public abstract Builder receiveBufferSize(int receiveBufferSize);
+
+    abstract ServerConfig autoBuild();
+
+    /**
+     * Creates the configuration.
+     *
+     * @throws IllegalArgumentException if any pool size or request limit is not positive,
+     *     if the response cache size, the submission rate limit or burst size, or the receive
+     *     buffer size is negative, if the submission rate limit exceeds one per nanosecond,
+     *     or if the compression level is not in range [0; 9]
+     */
+    public ServerConfig build() {
+      ServerConfig config = autoBuild();
+      checkPositive(config.getEventLoopPoolSize(), "eventLoopPoolSize");
+      checkPositive(config.getWorkerPoolSize(), "workerPoolSize");
+      checkPositive(config.getMaxQueuedRequests(), "maxQueuedRequests");
+      checkPositive(config.getMaxInFlightSubmissions(), "maxInFlightSubmissions");
+      checkNotNegative(config.getResponseCacheSize(), "responseCacheSize");
+      int submissionRateLimit = config.getSubmissionRateLimit();
+      checkArgument(0 <= submissionRateLimit
+          && submissionRateLimit <= TokenBucket.MAX_TOKENS_PER_SECOND,
+          "submissionRateLimit must be in range [0; %s], but is %s",
+          TokenBucket.MAX_TOKENS_PER_SECOND, submissionRateLimit);
+      checkNotNegative(config.getSubmissionBurstSize(), "submissionBurstSize");
+      checkNotNegative(config.getReceiveBufferSize(), "receiveBufferSize");
+      int compressionLevel = config.getCompressionLevel();
+      checkArgument(0 <= compressionLevel && compressionLevel <= MAX_COMPRESSION_LEVEL,
+          "compressionLevel must be in range [0; %s], but is %s", MAX_COMPRESSION_LEVEL,
+          compressionLevel);
+      return config;
+    }
+
+    private static void checkPositive(int value, String name) {
+      checkArgument(value > 0, "%s must be positive, but is %s", name, value);
+    }
+
+    private static void checkNotNegative(int value, String name) {
+      checkArgument(value >= 0, "%s must not be negative, but is %s", name, value);
+    }
+  }
+}
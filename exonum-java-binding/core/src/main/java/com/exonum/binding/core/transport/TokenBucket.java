@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.base.Ticker;
+
+/**
+ * A token bucket rate limiter. The bucket holds up to a fixed number of tokens and is refilled
+ * at a constant rate; each admitted request takes a token.
+ *
+ * <p>The bucket is implemented as the equivalent generic cell rate algorithm: instead of
+ * the number of tokens, it keeps the time when the bucket becomes full, which allows
+ * to use exact integer arithmetic.
+ *
+ * <p>This class is thread-safe.
+ */
+final class TokenBucket {
+
+  /**
+   * The maximum refill rate, at which a token is added each nanosecond.
+   */
+  static final int MAX_TOKENS_PER_SECOND = (int) SECONDS.toNanos(1);
+
+  private final Ticker ticker;
+  private final long nanosPerToken;
+  /** The time it takes to refill an empty bucket, less one token. */
+  private final long burstNanos;
+  /** The time when the bucket becomes full. */
+  private long fullAtNanos;
+
+  /**
+   * Creates a full token bucket.
+   *
+   * @param tokensPerSecond the refill rate; must be in range [1; {@value #MAX_TOKENS_PER_SECOND}]
+   * @param capacity the maximum number of tokens
+   * @param ticker the source of time
+   */
+  TokenBucket(int tokensPerSecond, int capacity, Ticker ticker) {
+    checkArgument(0 < tokensPerSecond && tokensPerSecond <= MAX_TOKENS_PER_SECOND,
+        "tokensPerSecond must be in range [1; %s], but is %s", MAX_TOKENS_PER_SECOND,
+        tokensPerSecond);
+    checkArgument(capacity > 0, "capacity must be positive, but is %s", capacity);
+    this.ticker = ticker;
+    this.nanosPerToken = SECONDS.toNanos(1) / tokensPerSecond;
+    this.burstNanos = (capacity - 1) * nanosPerToken;
+    this.fullAtNanos = ticker.read();
+  }
+
+  /**
+   * Takes a token if there is any.
+   *
+   * @return zero if a token is taken; or the time in nanoseconds until the next token
+   *     is available
+   */
+  synchronized long tryAcquire() {
+    long now = ticker.read();
+    long fullAt = Math.max(fullAtNanos, now);
+    long waitNanos = fullAt - now - burstNanos;
+    if (waitNanos > 0) {
+      return waitNanos;
+    }
+    fullAtNanos = fullAt + nanosPerToken;
+    return 0L;
+  }
+}
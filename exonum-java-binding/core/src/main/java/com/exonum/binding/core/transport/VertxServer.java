@@ -19,13 +19,20 @@ package com.exonum.binding.core.transport;
 import static com.exonum.binding.core.transport.VertxServer.State.IDLE;
 import static com.exonum.binding.core.transport.VertxServer.State.STARTED;
 import static com.exonum.binding.core.transport.VertxServer.State.STOPPED;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import java.util.List;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -45,7 +52,13 @@ final class VertxServer implements Server {
   private final Vertx vertx;
   private final HttpServer server;
   private final Router rootRouter;
+  private final WorkerPools workerPools;
+  private final ResponseCache responseCache;
+  private final AdmissionControl admissionControl;
   private final Object lock = new Object();
+  private final HttpMetrics httpMetrics = new HttpMetrics();
+  private final List<MetricsCollector> metricsCollectors = new CopyOnWriteArrayList<>();
+  private final List<String> mountPoints = new CopyOnWriteArrayList<>();
 
   enum State {
     IDLE,
@@ -57,18 +70,65 @@ final class VertxServer implements Server {
   private CompletableFuture<Void> stopFuture;
 
   /**
-   * Creates an HTTP server with no request handlers.
+   * Creates an HTTP server with no request handlers and the default configuration.
    *
    * <p>Use {@link #start(int)} to start listening to incoming requests.
    */
   VertxServer() {
-    vertx = Vertx.vertx();
+    this(ServerConfig.defaultConfig());
+  }
+
+  /**
+   * Creates an HTTP server with no request handlers.
+   *
+   * <p>Use {@link #start(int)} to start listening to incoming requests.
+   *
+   * @param config the configuration of the server
+   */
+  VertxServer(ServerConfig config) {
+    vertx = Vertx.vertx(new VertxOptions()
+        .setEventLoopPoolSize(config.getEventLoopPoolSize())
+        .setPreferNativeTransport(config.isNativeTransport()));
+    if (config.isNativeTransport() && !vertx.isNativeTransportEnabled()) {
+      logger.warn("The native transport is not available on this platform, using NIO");
+    }
+    workerPools = new WorkerPools(vertx, config);
+    responseCache = new ResponseCache(config.getResponseCacheSize());
+    admissionControl = new AdmissionControl(config);
     rootRouter = Router.router(vertx);
-    server = vertx.createHttpServer()
+    // Measure the latency of all requests, hence this handler goes first
+    rootRouter.route().handler(this::handleRequest);
+    rootRouter.get(METRICS_PATH).handler(this::handleMetricsRequest);
+    metricsCollectors.add(new JvmMetricsCollector());
+    metricsCollectors.add(new NativeProxyMetricsCollector());
+    metricsCollectors.add(httpMetrics);
+    metricsCollectors.add(workerPools);
+    metricsCollectors.add(responseCache);
+    metricsCollectors.add(admissionControl);
+    metricsCollectors.add(new EventLoopMonitor(vertx, config.getEventLoopPoolSize()));
+    server = vertx.createHttpServer(createHttpServerOptions(config))
         .requestHandler(rootRouter);
     state = IDLE;
   }
 
+  private HttpServerOptions createHttpServerOptions(ServerConfig config) {
+    HttpServerOptions options = new HttpServerOptions()
+        .setHttp2ClearTextEnabled(config.isHttp2ClearText())
+        .setTcpNoDelay(config.isTcpNoDelay())
+        // TCP Fast Open is supported by the native transport only
+        .setTcpFastOpen(config.isTcpFastOpen() && vertx.isNativeTransportEnabled());
+    int compressionLevel = config.getCompressionLevel();
+    if (compressionLevel > 0) {
+      options.setCompressionSupported(true)
+          .setCompressionLevel(compressionLevel);
+    }
+    int receiveBufferSize = config.getReceiveBufferSize();
+    if (receiveBufferSize > 0) {
+      options.setReceiveBufferSize(receiveBufferSize);
+    }
+    return options;
+  }
+
   @Override
   public Router createRouter() {
     synchronized (lock) {
@@ -81,10 +141,93 @@ final class VertxServer implements Server {
   public void mountSubRouter(String mountPoint, Router subRouter) {
     synchronized (lock) {
       checkNotStopped();
+      workerPools.createPool(mountPoint);
+      admissionControl.addService(mountPoint);
       rootRouter.mountSubRouter(mountPoint, subRouter);
+      mountPoints.add(mountPoint);
     }
   }
 
+  @Override
+  public void addMetricsCollector(MetricsCollector collector) {
+    checkNotNull(collector);
+    synchronized (lock) {
+      checkNotStopped();
+      metricsCollectors.add(collector);
+    }
+  }
+
+  @Override
+  public void setCommittedHeight(long height) {
+    responseCache.setCommittedHeight(height);
+  }
+
+  /**
+   * Records the latency of the request, applies the admission control and passes
+   * the per-service resources to the request handlers.
+   */
+  private void handleRequest(RoutingContext rc) {
+    long startNanos = System.nanoTime();
+    String handler = findHandlerMountPoint(rc.request().path());
+    WorkerPool workerPool = workerPools.getPool(handler);
+    if (workerPool != null) {
+      // Let the blocking handlers of the service use its worker pool
+      rc.put(BlockingHandler.WORKER_POOL_KEY, workerPool);
+    }
+    ResponseCache.Generation cachedResponses = responseCache.getCurrentGeneration();
+    if (cachedResponses != null) {
+      // Let the caching handlers use the responses cached for the current height
+      rc.put(CachingHandler.RESPONSE_CACHE_KEY, cachedResponses);
+    }
+    rc.addBodyEndHandler(v -> {
+      long latencyNanos = System.nanoTime() - startNanos;
+      // Use the parsed method, which is OTHER for any non-standard one, as the raw method
+      // is controlled by the client
+      httpMetrics.record(handler, rc.request().method(), rc.response().getStatusCode(),
+          latencyNanos);
+    });
+    if (admissionControl.admit(rc, handler)) {
+      rc.next();
+    }
+  }
+
+  /**
+   * Returns the longest mount point matching the given request path; or "other" if there
+   * is none. Mount points are used instead of the full paths to keep the number
+   * of the latency histograms bounded.
+   */
+  private String findHandlerMountPoint(String path) {
+    if (path == null) {
+      return "other";
+    }
+    if (path.equals(METRICS_PATH)) {
+      return METRICS_PATH;
+    }
+    String handler = "other";
+    for (String mountPoint : mountPoints) {
+      boolean matches = path.startsWith(mountPoint)
+          && (path.length() == mountPoint.length() || path.charAt(mountPoint.length()) == '/');
+      if (matches && (handler.equals("other") || mountPoint.length() > handler.length())) {
+        handler = mountPoint;
+      }
+    }
+    return handler;
+  }
+
+  private void handleMetricsRequest(RoutingContext rc) {
+    PrometheusWriter writer = new PrometheusWriter();
+    for (MetricsCollector collector : metricsCollectors) {
+      try {
+        collector.collect(writer);
+      } catch (RuntimeException e) {
+        logger.error("Metrics collector {} failed", collector, e);
+      }
+    }
+    rc.response()
+        .putHeader(HttpHeaders.CONTENT_TYPE, PrometheusWriter.CONTENT_TYPE)
+        .end(writer.toString());
+  }
+
   private void checkNotStopped() {
     if (state == STOPPED) {
       throw new IllegalStateException("Server is stopped");
@@ -145,6 +288,9 @@ final class VertxServer implements Server {
 
       logger.info("Requesting to stop");
 
+      // Release the worker threads of the services
+      workerPools.closeAll();
+
       // Request the vertx instance to close itself
       vertx.close(this::notifyVertxStopped);
       return stopFuture;
@@ -196,20 +342,20 @@ final class VertxServer implements Server {
           rc.response().end("Hi from /s1/foo");
         });
     router.get("/slow-handler")
-        // A terrible idea to sleep in a supposedly non-blocking handler :-) Don't do that.
-        // It is NOT interrupted!
-        .handler((rc) -> {
+        // Sleeping in an event loop handler blocks the other requests, hence it runs
+        // on a worker thread. It is NOT interrupted!
+        .handler(BlockingHandler.of((rc) -> {
           try {
             Thread.sleep(8000);
             rc.response().end("Hi from a terribly slow handler.");
           } catch (InterruptedException e) {
-            // Will not happen: Vert.x doesn't interrupt non-blocking handlers.
+            // Will not happen: Vert.x doesn't interrupt the handlers.
             System.err.printf("The thread (%s) has been interrupted:%n",
                 Thread.currentThread().toString());
             e.printStackTrace();
             Thread.currentThread().interrupt();
           }
-        });
+        }));
 
     // Mount the service router to a certain path
     server.mountSubRouter("/s1", router);
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.WorkerExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of worker threads running the {@linkplain BlockingHandler blocking handlers}
+ * of a single service. The pool limits the number of pending tasks: the ones that are being
+ * executed or are waiting for a worker thread.
+ *
+ * <p>This class is thread-safe.
+ */
+final class WorkerPool {
+
+  private final String mountPoint;
+  private final WorkerExecutor executor;
+  private final int maxQueuedTasks;
+  private final AtomicInteger pendingTasks = new AtomicInteger();
+  private final LongAdder rejectedTasks = new LongAdder();
+
+  /**
+   * Creates a pool of worker threads.
+   *
+   * @param mountPoint the mount point of the service which handlers run in this pool
+   * @param executor the executor of the blocking tasks
+   * @param maxQueuedTasks the maximum number of pending tasks
+   */
+  WorkerPool(String mountPoint, WorkerExecutor executor, int maxQueuedTasks) {
+    checkArgument(maxQueuedTasks > 0, "maxQueuedTasks must be positive, but is %s",
+        maxQueuedTasks);
+    this.mountPoint = mountPoint;
+    this.executor = executor;
+    this.maxQueuedTasks = maxQueuedTasks;
+  }
+
+  /**
+   * Submits the blocking task for execution, unless this pool already has the maximum number
+   * of pending tasks.
+   *
+   * @param blockingCode the blocking task to execute on a worker thread
+   * @param resultHandler the handler of the task result, invoked on the context
+   *     of the caller
+   * @return true if the task is submitted; false if it is rejected
+   */
+  <T> boolean tryExecute(Handler<Promise<T>> blockingCode,
+      Handler<AsyncResult<T>> resultHandler) {
+    if (!tryAcquire()) {
+      rejectedTasks.increment();
+      return false;
+    }
+    // The tasks of different requests are independent, hence they are executed unordered
+    executor.executeBlocking(blockingCode, false, ar -> {
+      pendingTasks.decrementAndGet();
+      resultHandler.handle(ar);
+    });
+    return true;
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      int pending = pendingTasks.get();
+      if (pending >= maxQueuedTasks) {
+        return false;
+      }
+      if (pendingTasks.compareAndSet(pending, pending + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns the mount point of the service which handlers run in this pool.
+   */
+  String getMountPoint() {
+    return mountPoint;
+  }
+
+  /**
+   * Returns the number of tasks that are being executed or are waiting for a worker thread.
+   */
+  int getPendingTasks() {
+    return pendingTasks.get();
+  }
+
+  /**
+   * Returns the total number of tasks rejected because this pool was full.
+   */
+  long getRejectedTasks() {
+    return rejectedTasks.sum();
+  }
+
+  /**
+   * Releases the worker threads of this pool.
+   */
+  void close() {
+    executor.close();
+  }
+}
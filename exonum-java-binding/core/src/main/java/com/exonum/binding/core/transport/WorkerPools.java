@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import com.exonum.binding.core.transport.PrometheusWriter.MetricType;
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.Vertx;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * The worker pools of the services, by mount point, and their metrics.
+ *
+ * <p>This class is thread-safe.
+ */
+final class WorkerPools implements MetricsCollector {
+
+  static final String PENDING_METRIC = "exonum_http_blocking_requests_pending";
+  static final String REJECTED_METRIC = "exonum_http_blocking_requests_rejected_total";
+
+  private final Vertx vertx;
+  private final int workerPoolSize;
+  private final int maxQueuedRequests;
+  private final ConcurrentMap<String, WorkerPool> pools = new ConcurrentHashMap<>();
+
+  WorkerPools(Vertx vertx, ServerConfig config) {
+    this.vertx = vertx;
+    this.workerPoolSize = config.getWorkerPoolSize();
+    this.maxQueuedRequests = config.getMaxQueuedRequests();
+  }
+
+  /**
+   * Creates a worker pool for the service with the given mount point, unless it already
+   * exists.
+   */
+  void createPool(String mountPoint) {
+    pools.computeIfAbsent(mountPoint, m -> new WorkerPool(m,
+        vertx.createSharedWorkerExecutor("exonum-api-worker" + m, workerPoolSize),
+        maxQueuedRequests));
+  }
+
+  /**
+   * Returns the worker pool of the service with the given mount point; or {@code null}
+   * if there is none.
+   */
+  @Nullable
+  WorkerPool getPool(String mountPoint) {
+    return pools.get(mountPoint);
+  }
+
+  /**
+   * Releases the worker threads of all pools.
+   */
+  void closeAll() {
+    pools.values().forEach(WorkerPool::close);
+    pools.clear();
+  }
+
+  @Override
+  public void collect(PrometheusWriter writer) {
+    writer.declare(PENDING_METRIC, MetricType.GAUGE,
+        "Number of blocking requests that are being handled or wait for a worker thread");
+    for (WorkerPool pool : pools.values()) {
+      writer.sample(PENDING_METRIC, handlerLabels(pool), pool.getPendingTasks());
+    }
+
+    writer.declare(REJECTED_METRIC, MetricType.COUNTER,
+        "Number of blocking requests rejected because the worker pool of the service was full");
+    for (WorkerPool pool : pools.values()) {
+      writer.sample(REJECTED_METRIC, handlerLabels(pool), pool.getRejectedTasks());
+    }
+  }
+
+  private static Map<String, String> handlerLabels(WorkerPool pool) {
+    return ImmutableMap.of("handler", pool.getMountPoint());
+  }
+}
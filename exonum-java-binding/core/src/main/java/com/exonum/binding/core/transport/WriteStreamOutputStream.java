@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * An output stream that writes data to a Vert.x {@link WriteStream} (e.g., an HTTP response)
+ * in chunks of the given size. It allows to write large responses, e.g., with
+ * {@link com.exonum.binding.common.serialization.json.JsonSerializer#writeArray},
+ * without accumulating the whole response body in memory:
+ *
+ * <pre><code>
+ * HttpServerResponse response = rc.response()
+ *     .setChunked(true)
+ *     .putHeader(CONTENT_TYPE, "application/json");
+ * try (OutputStream out = new WriteStreamOutputStream(response)) {
+ *   JsonSerializer.writeArray(json(), entries.iterator(), Entry.class, out);
+ * }
+ * response.end();
+ * </code></pre>
+ *
+ * <p>When the {@linkplain WriteStream#writeQueueFull() write queue} of the stream is full,
+ * a write blocks the calling thread until the stream drains, so that a slow client does not
+ * make the response accumulate in the outgoing buffers. The writer fails with an
+ * {@link IOException} if the stream does not drain within the drain timeout, or reports
+ * an exception while it is awaited; the stream is closed in that case. While waiting,
+ * this stream installs its own drain and exception handlers on the write stream.
+ * Writes on an event loop thread never block, because the stream can only drain on it:
+ * produce large responses from a worker thread (e.g., in a blocking handler).
+ *
+ * <p>Closing this stream writes the buffered data, but does not end the write stream.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class WriteStreamOutputStream extends OutputStream {
+
+  /**
+   * The default size of chunks, in bytes.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+  /**
+   * The default time to wait for the write stream to drain.
+   */
+  public static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+  private final WriteStream<Buffer> stream;
+  private final int chunkSize;
+  private final Duration drainTimeout;
+  private Buffer chunk;
+  private boolean closed;
+
+  /**
+   * Creates an output stream writing chunks of the {@linkplain #DEFAULT_CHUNK_SIZE default size}.
+   *
+   * @param stream the stream to write the data to
+   */
+  public WriteStreamOutputStream(WriteStream<Buffer> stream) {
+    this(stream, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Creates an output stream writing chunks of the given size.
+   *
+   * @param stream the stream to write the data to
+   * @param chunkSize the size of chunks in bytes; must be positive
+   */
+  public WriteStreamOutputStream(WriteStream<Buffer> stream, int chunkSize) {
+    this(stream, chunkSize, DEFAULT_DRAIN_TIMEOUT);
+  }
+
+  /**
+   * Creates an output stream writing chunks of the given size.
+   *
+   * @param stream the stream to write the data to
+   * @param chunkSize the size of chunks in bytes; must be positive
+   * @param drainTimeout the maximum time to wait for the stream to drain when its write queue
+   *     is full; must be positive
+   */
+  public WriteStreamOutputStream(WriteStream<Buffer> stream, int chunkSize,
+      Duration drainTimeout) {
+    checkArgument(chunkSize > 0, "chunkSize must be positive, but was %s", chunkSize);
+    checkArgument(!drainTimeout.isNegative() && !drainTimeout.isZero(),
+        "drainTimeout must be positive, but was %s", drainTimeout);
+    this.stream = checkNotNull(stream);
+    this.chunkSize = chunkSize;
+    this.drainTimeout = drainTimeout;
+    this.chunk = Buffer.buffer(chunkSize);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    checkNotClosed();
+    chunk.appendByte((byte) b);
+    if (chunk.length() >= chunkSize) {
+      writeChunk();
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    checkNotClosed();
+    checkPositionIndexes(off, off + len, b.length);
+    int written = 0;
+    while (written < len) {
+      int n = Math.min(len - written, chunkSize - chunk.length());
+      chunk.appendBytes(b, off + written, n);
+      written += n;
+      if (chunk.length() >= chunkSize) {
+        writeChunk();
+      }
+    }
+  }
+
+  /**
+   * Writes the buffered data to the write stream.
+   */
+  @Override
+  public void flush() throws IOException {
+    checkNotClosed();
+    if (chunk.length() > 0) {
+      writeChunk();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    flush();
+    closed = true;
+  }
+
+  private void writeChunk() throws IOException {
+    stream.write(chunk);
+    // The written buffer belongs to the stream now
+    chunk = Buffer.buffer(chunkSize);
+    awaitDrain();
+  }
+
+  private void awaitDrain() throws IOException {
+    // The stream drains on the event loop, hence waiting on it would never end
+    if (Context.isOnEventLoopThread() || !stream.writeQueueFull()) {
+      return;
+    }
+    CompletableFuture<Void> drained = new CompletableFuture<>();
+    stream.drainHandler(v -> drained.complete(null));
+    stream.exceptionHandler(drained::completeExceptionally);
+    try {
+      // Check again, as the stream might have drained before the handler was set
+      if (stream.writeQueueFull()) {
+        drained.get(drainTimeout.toNanos(), TimeUnit.NANOSECONDS);
+      }
+    } catch (InterruptedException e) {
+      closed = true;
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the stream to drain");
+    } catch (ExecutionException e) {
+      closed = true;
+      throw new IOException("The stream failed while waiting for it to drain", e.getCause());
+    } catch (TimeoutException e) {
+      closed = true;
+      throw new IOException("The stream has not drained in " + drainTimeout);
+    } finally {
+      stream.drainHandler(null);
+      stream.exceptionHandler(null);
+    }
+  }
+
+  private void checkNotClosed() throws IOException {
+    if (closed) {
+      throw new IOException("The stream is closed");
+    }
+  }
+}
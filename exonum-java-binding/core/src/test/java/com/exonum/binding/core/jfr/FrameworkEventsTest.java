@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class FrameworkEventsTest {
+
+  @Test
+  void spansAreNoOpWhenNotRecording() {
+    // No flight recording is in progress in tests, hence the events must be disabled
+    assertThat(FrameworkEvents.runtimeCall("executeTransaction", 1, 2, 3))
+        .isSameAs(EventSpan.NOOP);
+    assertThat(FrameworkEvents.indexCall("test_index", "get", 1, 0))
+        .isSameAs(EventSpan.NOOP);
+    assertThat(FrameworkEvents.cleanerClose("test", 1))
+        .isSameAs(EventSpan.NOOP);
+    assertThat(FrameworkEvents.forkOperation("rollback"))
+        .isSameAs(EventSpan.NOOP);
+  }
+
+  @Test
+  void noOpSpanIgnoresAllOperations() {
+    EventSpan span = EventSpan.NOOP;
+
+    assertThat(span.setResultSize(10)).isSameAs(span);
+    span.commit();
+  }
+}
@@ -19,6 +19,7 @@ package com.exonum.binding.core.proxy;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -103,6 +104,58 @@ class ProxyDestructorTest {
     verify(destructor, never()).accept(anyLong());
   }
 
+  @Test
+  void newRegisteredWithNativeDropFunction() {
+    Cleaner cleaner = mock(Cleaner.class);
+    NativeHandle handle = new NativeHandle(1L);
+    long dropFunction = 2L;
+
+    ProxyDestructor d = ProxyDestructor.newRegistered(cleaner, handle, CloseableNativeProxy.class,
+        mock(LongConsumer.class), dropFunction);
+
+    assertTrue(d.hasNativeDropFunction());
+    assertThat(d.getNativeDropFunction()).isEqualTo(dropFunction);
+    verify(cleaner).add(d);
+  }
+
+  @Test
+  void hasNoNativeDropFunctionByDefault() {
+    ProxyDestructor d = newDestructor(new NativeHandle(1L), mock(LongConsumer.class));
+
+    assertFalse(d.hasNativeDropFunction());
+  }
+
+  @Test
+  void detachNativeHandle() {
+    long rawNativeHandle = 1L;
+    NativeHandle handle = new NativeHandle(rawNativeHandle);
+    LongConsumer destructor = mock(LongConsumer.class);
+
+    ProxyDestructor d = newDestructor(handle, destructor);
+
+    assertThat(d.detachNativeHandle()).isEqualTo(rawNativeHandle);
+
+    // Check the handle is no longer valid and the destructor is not called
+    assertFalse(handle.isValid());
+    verify(destructor, never()).accept(anyLong());
+
+    // Check subsequent operations have no effect
+    assertThat(d.detachNativeHandle()).isEqualTo(NativeHandle.INVALID_NATIVE_HANDLE);
+    d.clean();
+    verify(destructor, never()).accept(anyLong());
+  }
+
+  @Test
+  void detachNativeHandleCancelled() {
+    NativeHandle handle = new NativeHandle(1L);
+    ProxyDestructor d = newDestructor(handle, mock(LongConsumer.class));
+
+    d.cancel();
+
+    assertThat(d.detachNativeHandle()).isEqualTo(NativeHandle.INVALID_NATIVE_HANDLE);
+    assertTrue(handle.isValid());
+  }
+
   @Test
   void getResourceType() {
     NativeHandle handle = new NativeHandle(1L);
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static com.exonum.binding.core.runtime.AfterCommitConfig.ASYNC_PROPERTY;
+import static com.exonum.binding.core.runtime.AfterCommitConfig.MAX_QUEUE_SIZE_PROPERTY;
+import static com.exonum.binding.core.runtime.AfterCommitConfig.TIMEOUT_MILLIS_PROPERTY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class AfterCommitConfigTest {
+
+  @Test
+  void synchronous() {
+    AfterCommitConfig config = AfterCommitConfig.synchronous();
+
+    assertThat(config.isAsync()).isFalse();
+  }
+
+  @Test
+  void fromEmptyProperties() {
+    AfterCommitConfig config = AfterCommitConfig.fromProperties(new Properties());
+
+    assertThat(config).isEqualTo(AfterCommitConfig.synchronous());
+  }
+
+  @Test
+  void fromProperties() {
+    Properties properties = new Properties();
+    properties.setProperty(ASYNC_PROPERTY, "true");
+    properties.setProperty(TIMEOUT_MILLIS_PROPERTY, "500");
+    properties.setProperty(TIMEOUT_MILLIS_PROPERTY + ".timestamping", "2000");
+    properties.setProperty(MAX_QUEUE_SIZE_PROPERTY, "4");
+
+    AfterCommitConfig config = AfterCommitConfig.fromProperties(properties);
+
+    AfterCommitConfig expected = AfterCommitConfig.builder()
+        .async(true)
+        .defaultTimeout(Duration.ofMillis(500))
+        .serviceTimeout("timestamping", Duration.ofSeconds(2))
+        .maxQueueSize(4)
+        .build();
+    assertThat(config).isEqualTo(expected);
+    assertThat(config.getTimeout("timestamping")).isEqualTo(Duration.ofSeconds(2));
+    assertThat(config.getTimeout("other")).isEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  void rejectsNonPositiveTimeout() {
+    AfterCommitConfig.Builder builder = AfterCommitConfig.builder()
+        .serviceTimeout("s1", Duration.ZERO);
+
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+
+  @Test
+  void rejectsNonPositiveQueueSize() {
+    AfterCommitConfig.Builder builder = AfterCommitConfig.builder()
+        .maxQueueSize(0);
+
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+}
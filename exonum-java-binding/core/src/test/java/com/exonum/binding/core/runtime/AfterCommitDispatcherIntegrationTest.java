@@ -0,0 +1,278 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.core.proxy.Cleaner;
+import com.exonum.binding.core.runtime.RuntimeMetrics.Operation;
+import com.exonum.binding.core.service.BlockCommittedEvent;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.core.storage.database.TemporaryDb;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AfterCommitDispatcherIntegrationTest {
+
+  private static final OptionalInt VALIDATOR_ID = OptionalInt.of(1);
+
+  private final RuntimeMetrics metrics = new RuntimeMetrics();
+  private TemporaryDb database;
+  private AfterCommitDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    database = TemporaryDb.newInstance();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (dispatcher != null) {
+      dispatcher.shutdown();
+    }
+    database.close();
+  }
+
+  @Test
+  void dispatchesToAllServices() throws InterruptedException {
+    dispatcher = new AfterCommitDispatcher(asyncConfig().build(), metrics);
+    CountDownLatch handled = new CountDownLatch(2);
+    List<BlockCommittedEvent> events = new CopyOnWriteArrayList<>();
+    ServiceWrapper s1 = serviceMock(1, "s1", event -> {
+      events.add(event);
+      handled.countDown();
+    });
+    ServiceWrapper s2 = serviceMock(2, "s2", event -> {
+      events.add(event);
+      handled.countDown();
+    });
+    SnapshotFactory snapshots = new SnapshotFactory();
+
+    dispatcher.dispatch(asList(s1, s2), snapshots, VALIDATOR_ID, 10L);
+
+    assertTrue(handled.await(5, TimeUnit.SECONDS));
+    assertThat(events).hasSize(2);
+    for (BlockCommittedEvent event : events) {
+      assertThat(event.getHeight()).isEqualTo(10L);
+      assertThat(event.getValidatorId()).isEqualTo(VALIDATOR_ID);
+    }
+    // Each service receives its own snapshot
+    assertThat(events.get(0).getSnapshot()).isNotSameAs(events.get(1).getSnapshot());
+    // The snapshots are destroyed once the services have handled the event
+    assertThat(snapshots.cleaners).hasSize(2);
+    for (Cleaner cleaner : snapshots.cleaners) {
+      awaitClosed(cleaner);
+    }
+    // The handlers are recorded in the metrics
+    assertThat(metrics.getStats())
+        .extracting(OperationStats::getServiceName, OperationStats::getOperation)
+        .containsExactly(tuple("s1", Operation.AFTER_COMMIT), tuple("s2", Operation.AFTER_COMMIT));
+  }
+
+  @Test
+  void interruptsHandlersExceedingTimeout() throws InterruptedException {
+    dispatcher = new AfterCommitDispatcher(asyncConfig()
+        .serviceTimeout("s1", Duration.ofMillis(100))
+        .build(), metrics);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    ServiceWrapper s1 = serviceMock(1, "s1", event -> {
+      try {
+        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+    });
+
+    dispatcher.dispatch(singletonList(s1), new SnapshotFactory(), VALIDATOR_ID, 1L);
+
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    awaitLastHandledHeight("s1", 1L);
+    AfterCommitStats stats = dispatcher.getStats().get("s1");
+    assertThat(stats.getTimedOutEvents()).isEqualTo(1L);
+    assertThat(stats.getLag()).isZero();
+  }
+
+  @Test
+  void reportsHandlersIgnoringInterrupts() throws InterruptedException {
+    dispatcher = new AfterCommitDispatcher(asyncConfig()
+        .serviceTimeout("s1", Duration.ofMillis(50))
+        .build(), metrics);
+    CountDownLatch mayComplete = new CountDownLatch(1);
+    ServiceWrapper s1 = serviceMock(1, "s1",
+        event -> Uninterruptibles.awaitUninterruptibly(mayComplete));
+
+    dispatcher.dispatch(singletonList(s1), new SnapshotFactory(), VALIDATOR_ID, 1L);
+
+    // The handler is reported once it does not complete after the interrupt
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!dispatcher.getStats().get("s1").isStalled()) {
+      assertTrue(System.nanoTime() < deadline, "Timed out waiting for the stalled handler");
+      Thread.sleep(10);
+    }
+
+    mayComplete.countDown();
+    awaitLastHandledHeight("s1", 1L);
+    AfterCommitStats stats = dispatcher.getStats().get("s1");
+    assertThat(stats.isStalled()).isFalse();
+    assertThat(stats.getTimedOutEvents()).isEqualTo(1L);
+  }
+
+  @Test
+  void dropsEventsIfQueueIsFull() throws InterruptedException {
+    dispatcher = new AfterCommitDispatcher(asyncConfig()
+        .maxQueueSize(1)
+        .build(), metrics);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch mayComplete = new CountDownLatch(1);
+    ServiceWrapper s1 = serviceMock(1, "s1", event -> {
+      started.countDown();
+      try {
+        mayComplete.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    // The first event is being handled, the second is queued, and the third is dropped
+    dispatcher.dispatch(singletonList(s1), new SnapshotFactory(), VALIDATOR_ID, 1L);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    dispatcher.dispatch(singletonList(s1), new SnapshotFactory(), VALIDATOR_ID, 2L);
+    SnapshotFactory droppedSnapshots = new SnapshotFactory();
+    dispatcher.dispatch(singletonList(s1), droppedSnapshots, VALIDATOR_ID, 3L);
+
+    AfterCommitStats stats = dispatcher.getStats().get("s1");
+    assertThat(stats.getDroppedEvents()).isEqualTo(1L);
+    assertThat(stats.getLastHandledHeight()).isZero();
+    assertThat(stats.getLag()).isEqualTo(3L);
+    // The snapshot of the dropped event is destroyed
+    assertThat(droppedSnapshots.cleaners).hasSize(1)
+        .allMatch(Cleaner::isClosed);
+
+    mayComplete.countDown();
+    awaitLastHandledHeight("s1", 2L);
+    assertThat(dispatcher.getStats().get("s1").getLag()).isEqualTo(1L);
+  }
+
+  @Test
+  void shutdownDiscardsPendingEvents() throws InterruptedException {
+    dispatcher = new AfterCommitDispatcher(asyncConfig().build(), metrics);
+    CountDownLatch started = new CountDownLatch(1);
+    ServiceWrapper s1 = serviceMock(1, "s1", event -> {
+      started.countDown();
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    dispatcher.dispatch(singletonList(s1), new SnapshotFactory(), VALIDATOR_ID, 1L);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    SnapshotFactory pendingSnapshots = new SnapshotFactory();
+    dispatcher.dispatch(singletonList(s1), pendingSnapshots, VALIDATOR_ID, 2L);
+
+    dispatcher.shutdown();
+    dispatcher = null;
+
+    assertThat(pendingSnapshots.cleaners).hasSize(1)
+        .allMatch(Cleaner::isClosed);
+  }
+
+  @Test
+  void dispatchAfterShutdownDropsEvent() throws InterruptedException {
+    dispatcher = new AfterCommitDispatcher(asyncConfig().build(), metrics);
+    ServiceWrapper s1 = serviceMock(1, "s1", event -> {
+      throw new AssertionError("Must not be invoked");
+    });
+    dispatcher.shutdown();
+
+    SnapshotFactory snapshots = new SnapshotFactory();
+    dispatcher.dispatch(singletonList(s1), snapshots, VALIDATOR_ID, 1L);
+    dispatcher = null;
+
+    // No snapshots are created for a dropped event
+    assertThat(snapshots.cleaners).isEmpty();
+  }
+
+  private static AfterCommitConfig.Builder asyncConfig() {
+    return AfterCommitConfig.builder()
+        .async(true);
+  }
+
+  private static ServiceWrapper serviceMock(int id, String name, EventHandler handler) {
+    ServiceWrapper service = mock(ServiceWrapper.class, name);
+    when(service.getId()).thenReturn(id);
+    when(service.getName()).thenReturn(name);
+    doAnswer(invocation -> {
+      handler.handle(invocation.getArgument(0));
+      return null;
+    }).when(service).afterCommit(any(BlockCommittedEvent.class));
+    return service;
+  }
+
+  private void awaitLastHandledHeight(String serviceName, long height)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (dispatcher.getStats().get(serviceName).getLastHandledHeight() < height) {
+      assertTrue(System.nanoTime() < deadline, "Timed out waiting for the event handling");
+      Thread.sleep(10);
+    }
+  }
+
+  private static void awaitClosed(Cleaner cleaner) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!cleaner.isClosed()) {
+      assertFalse(System.nanoTime() > deadline, "Timed out waiting for the snapshot destruction");
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Creates the snapshots of the test database, recording their cleaners.
+   */
+  private final class SnapshotFactory implements Function<Cleaner, Snapshot> {
+    final List<Cleaner> cleaners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Snapshot apply(Cleaner cleaner) {
+      cleaners.add(cleaner);
+      return database.createSnapshot(cleaner);
+    }
+  }
+
+  @FunctionalInterface
+  private interface EventHandler {
+    void handle(BlockCommittedEvent event);
+  }
+}
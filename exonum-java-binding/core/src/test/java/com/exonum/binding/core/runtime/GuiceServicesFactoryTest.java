@@ -16,14 +16,17 @@
 
 package com.exonum.binding.core.runtime;
 
+import static com.exonum.binding.core.runtime.TransactionMethodTableTest.RAW_TX_ID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
+import com.exonum.binding.core.runtime.TransactionMethodTableTest.ValidService;
 import com.exonum.binding.core.service.AbstractServiceModule;
 import com.exonum.binding.core.service.Node;
 import com.exonum.binding.core.service.Service;
-import com.exonum.binding.core.service.TransactionConverter;
+import com.exonum.binding.core.transaction.TransactionContext;
+import com.exonum.binding.core.transaction.TransactionExecutionException;
 import com.google.inject.ConfigurationException;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
@@ -75,8 +78,35 @@ class GuiceServicesFactoryTest {
         () -> factory.createService(serviceDefinition, instanceSpec, node));
 
     // Check the message indicates missing bindings
-    assertThat(e).hasMessageContaining(Service.class.getSimpleName())
-        .hasMessageContaining(TransactionConverter.class.getSimpleName());
+    assertThat(e).hasMessageContaining(Service.class.getSimpleName());
+  }
+
+  @Test
+  void createServiceWithTransactionMethods() throws TransactionExecutionException {
+    ServiceArtifactId artifactId = ServiceArtifactId.newJavaId("com.acme:tx-service:1.0.0");
+    LoadedServiceDefinition serviceDefinition = LoadedServiceDefinition
+        .newInstance(artifactId, TransactionMethodsServiceModule::new);
+    ServiceInstanceSpec instanceSpec = ServiceInstanceSpec.newInstance(TEST_NAME,
+        TEST_ID, artifactId);
+    Node node = mock(Node.class);
+
+    // Create the service with no transaction converter
+    ServiceWrapper service = factory.createService(serviceDefinition, instanceSpec, node);
+
+    // Check its transactions are dispatched to the transaction methods
+    TransactionContext context = mock(TransactionContext.class);
+    service.convertTransaction(RAW_TX_ID, new byte[0])
+        .execute(context);
+    ValidService serviceInstance = (ValidService) service.getService();
+    assertThat(serviceInstance.contexts).containsExactly(context);
+  }
+}
+
+class TransactionMethodsServiceModule extends AbstractServiceModule {
+
+  @Override
+  protected void configure() {
+    bind(Service.class).to(ValidService.class);
   }
 }
 
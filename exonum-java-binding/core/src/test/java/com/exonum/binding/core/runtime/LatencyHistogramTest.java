@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LatencyHistogramTest {
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE - 1,
+      Long.MAX_VALUE})
+  void bucketContainsValue(long value) {
+    int index = LatencyHistogram.bucketIndex(value);
+
+    long upperBound = LatencyHistogram.bucketUpperBound(index);
+    long lowerBound = index == 0 ? 0 : LatencyHistogram.bucketUpperBound(index - 1) + 1;
+    assertThat(value).isBetween(lowerBound, upperBound);
+  }
+
+  @Test
+  void emptyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertThat(histogram.getCount()).isZero();
+    assertThat(histogram.getMax()).isZero();
+    assertThat(histogram.getValueAtPercentile(50)).isZero();
+  }
+
+  @Test
+  void percentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000);
+    }
+
+    assertThat(histogram.getCount()).isEqualTo(1000);
+    assertThat(histogram.getTotal()).isEqualTo(500_500_000L);
+    assertThat(histogram.getMax()).isEqualTo(1_000_000L);
+    assertWithinPrecision(histogram.getValueAtPercentile(50), 500_000L);
+    assertWithinPrecision(histogram.getValueAtPercentile(90), 900_000L);
+    assertWithinPrecision(histogram.getValueAtPercentile(99), 990_000L);
+    assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1_000_000L);
+  }
+
+  @Test
+  void rejectsNegativeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+  }
+
+  private static void assertWithinPrecision(long actual, long expected) {
+    double precision = 1.0 / LatencyHistogram.SUB_BUCKETS;
+    assertThat((double) actual).isBetween(expected * (1 - precision), expected * (1 + precision));
+  }
+}
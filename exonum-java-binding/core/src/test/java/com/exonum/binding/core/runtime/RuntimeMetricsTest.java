@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.exonum.binding.core.runtime.RuntimeMetrics.Operation;
+import com.exonum.binding.core.transaction.TransactionExecutionException;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RuntimeMetricsTest {
+
+  private final RuntimeMetrics metrics = new RuntimeMetrics();
+
+  @Test
+  void noStatsInitially() {
+    assertThat(metrics.getStats()).isEmpty();
+  }
+
+  @Test
+  void recordsOperationsPerServiceAndTransaction() {
+    long start = System.nanoTime();
+    metrics.recordTransaction("b", Operation.EXECUTE_TRANSACTION, 2, start, null);
+    metrics.recordTransaction("b", Operation.EXECUTE_TRANSACTION, 1, start, null);
+    metrics.recordTransaction("b", Operation.EXECUTE_TRANSACTION, 1, start,
+        new TransactionExecutionException((byte) 3));
+    metrics.recordTransaction("b", Operation.EXECUTE_TRANSACTION, 1, start,
+        new IllegalStateException());
+    metrics.record("b", Operation.BEFORE_COMMIT, start, null);
+    metrics.record("a", Operation.STATE_HASHES, start, null);
+
+    List<OperationStats> stats = metrics.getStats();
+
+    // Check the order
+    assertThat(stats)
+        .extracting(OperationStats::getServiceName)
+        .containsExactly("a", "b", "b", "b");
+    assertThat(stats)
+        .extracting(OperationStats::getOperation)
+        .containsExactly(Operation.STATE_HASHES, Operation.EXECUTE_TRANSACTION,
+            Operation.EXECUTE_TRANSACTION, Operation.BEFORE_COMMIT);
+
+    // Check the transaction stats
+    OperationStats tx1 = stats.get(1);
+    assertThat(tx1.getTxId()).hasValue(1);
+    assertThat(tx1.getCount()).isEqualTo(3);
+    assertThat(tx1.getErrorCount()).isEqualTo(2);
+    assertThat(tx1.getErrorCodes()).containsExactly(entry(3, 1L));
+    assertThat(tx1.getMaxNanos()).isGreaterThanOrEqualTo(tx1.getP50Nanos());
+
+    OperationStats tx2 = stats.get(2);
+    assertThat(tx2.getTxId()).hasValue(2);
+    assertThat(tx2.getCount()).isEqualTo(1);
+    assertThat(tx2.getErrorCount()).isZero();
+
+    // Check the other operations have no tx id
+    assertThat(stats.get(0).getTxId()).isEmpty();
+    assertThat(stats.get(3).getTxId()).isEmpty();
+  }
+
+  @Test
+  void recordsUnknownTransactionsAfterKnown() {
+    long start = System.nanoTime();
+    metrics.recordTransaction("a", Operation.VERIFY_TRANSACTION, RuntimeMetrics.UNKNOWN_TX_ID,
+        start, new IllegalArgumentException());
+    metrics.recordTransaction("a", Operation.VERIFY_TRANSACTION, 1, start, null);
+
+    List<OperationStats> stats = metrics.getStats();
+
+    assertThat(stats).hasSize(2);
+    assertThat(stats.get(0).getTxId()).hasValue(1);
+    assertThat(stats.get(0).isUnknownTransaction()).isFalse();
+    assertThat(stats.get(1).getTxId()).isEmpty();
+    assertThat(stats.get(1).isUnknownTransaction()).isTrue();
+    assertThat(stats.get(1).getErrorCount()).isEqualTo(1);
+  }
+
+  @Test
+  void statsToJson() {
+    metrics.recordTransaction("a", Operation.EXECUTE_TRANSACTION, 1, System.nanoTime(),
+        new TransactionExecutionException((byte) 3));
+
+    JsonArray json = MetricsApiController.toJson(metrics.getStats());
+
+    assertThat(json.size()).isEqualTo(1);
+    JsonObject stats = json.get(0).getAsJsonObject();
+    assertThat(stats.get("serviceName").getAsString()).isEqualTo("a");
+    assertThat(stats.get("operation").getAsString()).isEqualTo("EXECUTE_TRANSACTION");
+    assertThat(stats.get("txId").getAsInt()).isEqualTo(1);
+    assertThat(stats.get("count").getAsLong()).isEqualTo(1);
+    assertThat(stats.get("errorCodes").getAsJsonObject().get("3").getAsLong()).isEqualTo(1);
+  }
+}
@@ -17,14 +17,17 @@
 package com.exonum.binding.core.runtime;
 
 import static com.exonum.binding.core.runtime.ServiceRuntime.API_ROOT_PATH;
+import static com.exonum.binding.core.runtime.ServiceRuntime.METRICS_API_PATH;
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.exonum.binding.core.transport.Server;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
@@ -72,6 +75,18 @@ class RuntimeTransportTest {
     verify(server).mountSubRouter(API_ROOT_PATH + "/" + serviceApiPath, serviceRouter);
   }
 
+  @Test
+  void connectMetricsApi() {
+    Router router = mock(Router.class);
+    when(router.get("/")).thenReturn(mock(Route.class));
+    when(server.createRouter()).thenReturn(router);
+
+    transport.connectMetricsApi(new RuntimeMetrics());
+
+    verify(server).mountSubRouter(METRICS_API_PATH, router);
+    verify(server).addMetricsCollector(any(RuntimeMetricsCollector.class));
+  }
+
   @Test
   void close() throws InterruptedException {
     when(server.stop()).thenReturn(CompletableFuture.completedFuture(null));
@@ -23,7 +23,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.exonum.binding.core.proxy.Cleaner;
@@ -33,6 +35,7 @@ import com.exonum.binding.core.storage.database.Fork;
 import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.core.messages.Runtime.ArtifactId;
 import com.exonum.core.messages.Runtime.InstanceSpec;
+import java.util.OptionalInt;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,6 +46,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class ServiceRuntimeAdapterTest {
 
+  private static final long NODE_HANDLE = 0x01;
   private static final long SNAPSHOT_HANDLE = 0x0A;
   private static final long HEIGHT = 1;
   private static final int VALIDATOR_ID = 1;
@@ -172,4 +176,17 @@ class ServiceRuntimeAdapterTest {
     assertThat(event.getHeight()).isEqualTo(HEIGHT);
     assertThat(event.getValidatorId()).isEmpty();
   }
+
+  @Test
+  void afterCommitAsync() throws CloseFailuresException {
+    serviceRuntimeAdapter.initialize(NODE_HANDLE);
+    when(serviceRuntime.isAfterCommitAsync()).thenReturn(true);
+
+    serviceRuntimeAdapter.afterCommit(SNAPSHOT_HANDLE, VALIDATOR_ID, HEIGHT);
+
+    verify(serviceRuntime).afterCommitAsync(any(), eq(OptionalInt.of(VALIDATOR_ID)), eq(HEIGHT));
+    verify(serviceRuntime, never()).afterCommit(any(BlockCommittedEvent.class));
+    // The snapshot passed by the native code must not outlive the call
+    verifyNoInteractions(viewFactory);
+  }
 }
@@ -24,9 +24,14 @@ import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -36,6 +41,7 @@ import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.core.proxy.Cleaner;
 import com.exonum.binding.core.proxy.CloseFailuresException;
+import com.exonum.binding.core.runtime.RuntimeMetrics.Operation;
 import com.exonum.binding.core.runtime.ServiceRuntimeProtos.ServiceRuntimeStateHashes;
 import com.exonum.binding.core.runtime.ServiceRuntimeProtos.ServiceStateHashes;
 import com.exonum.binding.core.service.BlockCommittedEvent;
@@ -46,6 +52,7 @@ import com.exonum.binding.core.storage.database.Fork;
 import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.storage.database.TemporaryDb;
 import com.exonum.binding.core.transaction.TransactionContext;
+import com.exonum.binding.core.transaction.TransactionExecutionException;
 import com.google.common.collect.ImmutableMap;
 import com.google.protobuf.ByteString;
 import java.nio.file.Path;
@@ -55,6 +62,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -82,11 +94,14 @@ class ServiceRuntimeIntegrationTest {
   @Mock
   private RuntimeTransport transport;
 
+  private RuntimeMetrics metrics;
   private ServiceRuntime serviceRuntime;
 
   @BeforeEach
   void setUp() {
-    serviceRuntime = new ServiceRuntime(serviceLoader, servicesFactory, transport, ARTIFACTS_DIR);
+    metrics = new RuntimeMetrics();
+    serviceRuntime = new ServiceRuntime(serviceLoader, servicesFactory, transport, ARTIFACTS_DIR,
+        AfterCommitConfig.synchronous(), metrics);
   }
 
   @Test
@@ -96,6 +111,7 @@ class ServiceRuntimeIntegrationTest {
     serviceRuntime.initialize(node);
 
     verify(transport).start();
+    verify(transport).connectMetricsApi(metrics);
   }
 
   @Test
@@ -388,6 +404,66 @@ class ServiceRuntimeIntegrationTest {
       }
     }
 
+    @Test
+    void executeTransactionRecordsMetrics() throws Exception {
+      try (Database database = TemporaryDb.newInstance();
+          Cleaner cleaner = new Cleaner()) {
+        int txId = 1;
+        byte[] arguments = bytes(127);
+        Fork fork = database.createFork(cleaner);
+        byte errorCode = 2;
+        when(serviceWrapper.isKnownTransaction(DEFAULT_INTERFACE_NAME, txId)).thenReturn(true);
+        doThrow(new TransactionExecutionException(errorCode)).when(serviceWrapper)
+            .executeTransaction(eq(DEFAULT_INTERFACE_NAME), eq(txId), eq(arguments), anyInt(),
+                any(TransactionContext.class));
+
+        // Execute a transaction that fails
+        assertThrows(TransactionExecutionException.class,
+            () -> serviceRuntime.executeTransaction(TEST_ID, DEFAULT_INTERFACE_NAME, txId,
+                arguments, fork, 0, TEST_HASH, TEST_PUBLIC_KEY));
+
+        // Check the execution is recorded
+        List<OperationStats> stats = serviceRuntime.getMetrics().getStats();
+        assertThat(stats).hasSize(1);
+        OperationStats txStats = stats.get(0);
+        assertThat(txStats.getServiceName()).isEqualTo(TEST_NAME);
+        assertThat(txStats.getOperation()).isEqualTo(Operation.EXECUTE_TRANSACTION);
+        assertThat(txStats.getTxId()).hasValue(txId);
+        assertThat(txStats.getCount()).isEqualTo(1);
+        assertThat(txStats.getErrorCount()).isEqualTo(1);
+        assertThat(txStats.getErrorCodes()).containsExactly(entry((int) errorCode, 1L));
+      }
+    }
+
+    @Test
+    void executeTransactionRecordsUnknownTransactionsTogether() throws Exception {
+      try (Database database = TemporaryDb.newInstance();
+          Cleaner cleaner = new Cleaner()) {
+        byte[] arguments = bytes(127);
+        Fork fork = database.createFork(cleaner);
+        doThrow(IllegalArgumentException.class).when(serviceWrapper)
+            .executeTransaction(eq(DEFAULT_INTERFACE_NAME), anyInt(), eq(arguments), anyInt(),
+                any(TransactionContext.class));
+
+        // Execute transactions with ids unknown to the service
+        for (int txId = 100; txId < 110; txId++) {
+          int unknownTxId = txId;
+          assertThrows(IllegalArgumentException.class,
+              () -> serviceRuntime.executeTransaction(TEST_ID, DEFAULT_INTERFACE_NAME,
+                  unknownTxId, arguments, fork, 0, TEST_HASH, TEST_PUBLIC_KEY));
+        }
+
+        // Check they are recorded together
+        List<OperationStats> stats = serviceRuntime.getMetrics().getStats();
+        assertThat(stats).hasSize(1);
+        OperationStats txStats = stats.get(0);
+        assertThat(txStats.isUnknownTransaction()).isTrue();
+        assertThat(txStats.getTxId()).isEmpty();
+        assertThat(txStats.getCount()).isEqualTo(10);
+        assertThat(txStats.getErrorCount()).isEqualTo(10);
+      }
+    }
+
     @Test
     void verifyTransaction() {
       int txId = 1;
@@ -398,6 +474,43 @@ class ServiceRuntimeIntegrationTest {
       verify(serviceWrapper).convertTransaction(txId, arguments);
     }
 
+    @Test
+    void verifyTransactionDoesNotBlockOnExecution() throws Exception {
+      CountDownLatch executionStarted = new CountDownLatch(1);
+      CountDownLatch executionMayComplete = new CountDownLatch(1);
+      doAnswer(invocation -> {
+        executionStarted.countDown();
+        executionMayComplete.await();
+        return null;
+      }).when(serviceWrapper).executeTransaction(any(), anyInt(), any(), anyInt(), any());
+
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try (Database database = TemporaryDb.newInstance();
+          Cleaner cleaner = new Cleaner()) {
+        Fork fork = database.createFork(cleaner);
+        // Start the execution of a transaction in another thread
+        Future<?> execution = executor.submit(() -> {
+          serviceRuntime.executeTransaction(TEST_ID, DEFAULT_INTERFACE_NAME, 1, bytes(1), fork,
+              0, TEST_HASH, TEST_PUBLIC_KEY);
+          return null;
+        });
+        assertTrue(executionStarted.await(5, TimeUnit.SECONDS));
+
+        // Verify a transaction whilst the other one is being executed
+        int txId = 2;
+        byte[] arguments = bytes(127);
+        serviceRuntime.verifyTransaction(TEST_ID, txId, arguments);
+        verify(serviceWrapper).convertTransaction(txId, arguments);
+
+        // Let the execution complete
+        executionMayComplete.countDown();
+        execution.get(5, TimeUnit.SECONDS);
+      } finally {
+        executionMayComplete.countDown();
+        executor.shutdownNow();
+      }
+    }
+
     @Test
     void executeTransactionUnknownService() throws Exception {
       try (Database database = TemporaryDb.newInstance();
@@ -481,11 +594,16 @@ class ServiceRuntimeIntegrationTest {
 
     @Test
     void afterCommitSingleService() {
+      long height = 10L;
       BlockCommittedEvent event = mock(BlockCommittedEvent.class);
+      when(event.getHeight()).thenReturn(height);
 
       serviceRuntime.afterCommit(event);
 
-      verify(serviceWrapper).afterCommit(event);
+      InOrder inOrder = Mockito.inOrder(transport, serviceWrapper);
+      // The cached responses must be invalidated before the services handle the event
+      inOrder.verify(transport).onBlockCommitted(height);
+      inOrder.verify(serviceWrapper).afterCommit(event);
     }
 
     @Test
@@ -21,11 +21,16 @@ import static com.exonum.binding.core.runtime.ServiceWrapper.CONFIGURE_INTERFACE
 import static com.exonum.binding.core.runtime.ServiceWrapper.DEFAULT_INTERFACE_NAME;
 import static com.exonum.binding.core.runtime.ServiceWrapper.SUPERVISOR_SERVICE_ID;
 import static com.exonum.binding.core.runtime.ServiceWrapper.VERIFY_CONFIGURATION_TX_ID;
+import static com.exonum.binding.core.runtime.TransactionMethodTableTest.RAW_TX_ID;
 import static com.exonum.binding.test.Bytes.bytes;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +38,7 @@ import com.exonum.binding.common.crypto.CryptoFunctions.Ed25519;
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.core.runtime.TransactionMethodTableTest.ValidService;
 import com.exonum.binding.core.service.Configurable;
 import com.exonum.binding.core.service.Configuration;
 import com.exonum.binding.core.service.Node;
@@ -42,6 +48,7 @@ import com.exonum.binding.core.storage.database.Fork;
 import com.exonum.binding.core.transaction.Transaction;
 import com.exonum.binding.core.transaction.TransactionContext;
 import com.exonum.binding.core.transaction.TransactionExecutionException;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -94,6 +101,81 @@ class ServiceWrapperTest {
     verify(executableTx).execute(context);
   }
 
+  @Test
+  void convertTransactionCachesImmutableTransactions() throws TransactionExecutionException {
+    when(txConverter.producesImmutableTransactions()).thenReturn(true);
+    serviceWrapper = new ServiceWrapper(service, txConverter, instanceSpec, node);
+    int txId = 2;
+    byte[] arguments = bytes(1, 2, 3);
+    Transaction executableTx = mock(Transaction.class);
+    when(txConverter.toTransaction(txId, arguments))
+        .thenReturn(executableTx);
+
+    // Verify the transaction
+    Transaction converted = serviceWrapper.convertTransaction(txId, arguments);
+    assertThat(converted).isSameAs(executableTx);
+
+    // Execute the transaction with equal arguments
+    TransactionContext context = mock(TransactionContext.class);
+    serviceWrapper.executeTransaction(DEFAULT_INTERFACE_NAME, txId, arguments.clone(), 0,
+        context);
+
+    // Check it was converted once
+    verify(txConverter).toTransaction(txId, arguments);
+    verify(executableTx).execute(context);
+  }
+
+  @Test
+  void convertTransactionCacheIsNotAffectedByArgumentsModification() {
+    when(txConverter.producesImmutableTransactions()).thenReturn(true);
+    serviceWrapper = new ServiceWrapper(service, txConverter, instanceSpec, node);
+    int txId = 2;
+    Transaction executableTx = mock(Transaction.class);
+    when(txConverter.toTransaction(eq(txId), any(byte[].class)))
+        .thenReturn(executableTx);
+
+    byte[] arguments = bytes(1, 2, 3);
+    serviceWrapper.convertTransaction(txId, arguments);
+    // Modify the arguments, as a transaction keeping them might do
+    arguments[0] = -1;
+
+    // Check the transaction is found by the original arguments
+    Transaction converted = serviceWrapper.convertTransaction(txId, bytes(1, 2, 3));
+    assertThat(converted).isSameAs(executableTx);
+    verify(txConverter).toTransaction(eq(txId), any(byte[].class));
+  }
+
+  @Test
+  void convertTransactionDoesNotCacheByDefault() {
+    int txId = 2;
+    byte[] arguments = bytes(1, 2, 3);
+    when(txConverter.toTransaction(txId, arguments))
+        .thenReturn(mock(Transaction.class));
+
+    serviceWrapper.convertTransaction(txId, arguments);
+    serviceWrapper.convertTransaction(txId, arguments);
+
+    verify(txConverter, times(2)).toTransaction(txId, arguments);
+  }
+
+  @Test
+  void convertTransactionDoesNotCacheFailures() {
+    when(txConverter.producesImmutableTransactions()).thenReturn(true);
+    serviceWrapper = new ServiceWrapper(service, txConverter, instanceSpec, node);
+    int txId = 2;
+    byte[] arguments = bytes(1, 2, 3);
+    doThrow(IllegalArgumentException.class)
+        .when(txConverter)
+        .toTransaction(txId, arguments);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> serviceWrapper.convertTransaction(txId, arguments));
+    assertThrows(IllegalArgumentException.class,
+        () -> serviceWrapper.convertTransaction(txId, arguments));
+
+    verify(txConverter, times(2)).toTransaction(txId, arguments);
+  }
+
   @Test
   void executeInvalidTransaction() {
     int txId = 2;
@@ -238,6 +320,72 @@ class ServiceWrapperTest {
     assertThat(actual).isSameAs(e);
   }
 
+  @Test
+  void executeTransactionMethod() throws TransactionExecutionException {
+    ValidService transactionMethodsService = new ValidService();
+    serviceWrapper = new ServiceWrapper(transactionMethodsService, Optional.empty(),
+        instanceSpec, node);
+    byte[] arguments = bytes(1, 2, 3);
+
+    TransactionContext context = mock(TransactionContext.class);
+    serviceWrapper.executeTransaction(DEFAULT_INTERFACE_NAME, RAW_TX_ID, arguments, 0, context);
+
+    assertThat(transactionMethodsService.invocations).containsExactly(arguments);
+    assertThat(transactionMethodsService.contexts).containsExactly(context);
+  }
+
+  @Test
+  void isKnownTransactionWithTransactionMethods() {
+    serviceWrapper = new ServiceWrapper(new ValidService(), Optional.empty(), instanceSpec, node);
+
+    assertThat(serviceWrapper.isKnownTransaction(DEFAULT_INTERFACE_NAME, RAW_TX_ID)).isTrue();
+    assertThat(serviceWrapper.isKnownTransaction(DEFAULT_INTERFACE_NAME, 1000)).isFalse();
+    assertThat(serviceWrapper.isKnownTransaction("unknown-interface", RAW_TX_ID)).isFalse();
+    assertThat(serviceWrapper.isKnownTransaction(CONFIGURE_INTERFACE_NAME,
+        APPLY_CONFIGURATION_TX_ID)).isTrue();
+  }
+
+  @Test
+  void isKnownTransactionWithConverter() {
+    int txId = 2;
+    byte[] arguments = bytes(1, 2, 3);
+    when(txConverter.toTransaction(txId, arguments))
+        .thenReturn(mock(Transaction.class));
+
+    assertThat(serviceWrapper.isKnownTransaction(DEFAULT_INTERFACE_NAME, txId)).isFalse();
+
+    serviceWrapper.convertTransaction(txId, arguments);
+
+    assertThat(serviceWrapper.isKnownTransaction(DEFAULT_INTERFACE_NAME, txId)).isTrue();
+    assertThat(serviceWrapper.isKnownTransaction(DEFAULT_INTERFACE_NAME, txId + 1)).isFalse();
+  }
+
+  @Test
+  void isKnownTransactionWithConverterIsBounded() {
+    byte[] arguments = bytes(1, 2, 3);
+    when(txConverter.toTransaction(anyInt(), eq(arguments)))
+        .thenReturn(mock(Transaction.class));
+    int numIds = ServiceWrapper.MAX_KNOWN_CONVERTED_TRANSACTIONS + 1;
+
+    for (int txId = 0; txId < numIds; txId++) {
+      serviceWrapper.convertTransaction(txId, arguments);
+    }
+
+    assertThat(serviceWrapper.isKnownTransaction(DEFAULT_INTERFACE_NAME, 0)).isTrue();
+    assertThat(serviceWrapper.isKnownTransaction(DEFAULT_INTERFACE_NAME, numIds - 1)).isFalse();
+  }
+
+  @Test
+  void createWithTransactionConverterAndMethods() {
+    Optional<TransactionConverter> converter = Optional.of(txConverter);
+    ValidService transactionMethodsService = new ValidService();
+
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> new ServiceWrapper(transactionMethodsService, converter, instanceSpec, node));
+
+    assertThat(e).hasMessageContaining(ValidService.class.getName());
+  }
+
   @ParameterizedTest
   @CsvSource({
       "foo, foo",
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.core.service.Node;
+import com.exonum.binding.core.service.Service;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.core.storage.indices.TestProtoMessages.Point;
+import com.exonum.binding.core.transaction.Transaction;
+import com.exonum.binding.core.transaction.TransactionContext;
+import com.exonum.binding.core.transaction.TransactionExecutionException;
+import com.exonum.binding.core.transaction.TransactionMethod;
+import io.vertx.ext.web.Router;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TransactionMethodTableTest {
+
+  static final int RAW_TX_ID = 0;
+  private static final int POINT_TX_ID = 2;
+  private static final int FAILING_TX_ID = 3;
+
+  @Test
+  void serviceWithNoTransactionMethods() {
+    TransactionMethodTable table = TransactionMethodTable.of(new BaseService());
+
+    assertThat(table.isEmpty()).isTrue();
+    assertThrows(IllegalArgumentException.class,
+        () -> table.toTransaction(RAW_TX_ID, new byte[0]));
+  }
+
+  @Test
+  void toTransactionWithRawArguments() throws TransactionExecutionException {
+    ValidService service = new ValidService();
+    TransactionMethodTable table = TransactionMethodTable.of(service);
+    byte[] arguments = {1, 2, 3};
+
+    Transaction tx = table.toTransaction(RAW_TX_ID, arguments);
+    TransactionContext context = mock(TransactionContext.class);
+    tx.execute(context);
+
+    assertThat(service.invocations).containsExactly(arguments);
+    assertThat(service.contexts).containsExactly(context);
+  }
+
+  @Test
+  void toTransactionPassesCopyOfRawArguments() throws TransactionExecutionException {
+    ModifyingService service = new ModifyingService();
+    TransactionMethodTable table = TransactionMethodTable.of(service);
+    byte[] arguments = {1, 2, 3};
+
+    Transaction tx = table.toTransaction(RAW_TX_ID, arguments);
+    TransactionContext context = mock(TransactionContext.class);
+    tx.execute(context);
+    tx.execute(context);
+
+    // Each invocation receives the original arguments
+    assertThat(service.invocations).containsExactly(new byte[]{1, 2, 3}, new byte[]{1, 2, 3});
+    assertThat(arguments).isEqualTo(new byte[]{1, 2, 3});
+  }
+
+  @Test
+  void toTransactionWithProtobufArguments() throws TransactionExecutionException {
+    ValidService service = new ValidService();
+    TransactionMethodTable table = TransactionMethodTable.of(service);
+    Point point = Point.newBuilder()
+        .setX(1)
+        .setY(2)
+        .build();
+
+    Transaction tx = table.toTransaction(POINT_TX_ID, point.toByteArray());
+    tx.execute(mock(TransactionContext.class));
+
+    assertThat(table.isEmpty()).isFalse();
+    assertThat(service.invocations).containsExactly(point);
+  }
+
+  @Test
+  void toTransactionInvalidProtobufArguments() {
+    TransactionMethodTable table = TransactionMethodTable.of(new ValidService());
+    byte[] invalidArguments = {-1, -1, -1};
+
+    assertThrows(IllegalArgumentException.class,
+        () -> table.toTransaction(POINT_TX_ID, invalidArguments));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, 1, 4, Integer.MAX_VALUE})
+  void toTransactionUnknownId(int txId) {
+    TransactionMethodTable table = TransactionMethodTable.of(new ValidService());
+
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> table.toTransaction(txId, new byte[0]));
+
+    assertThat(e).hasMessageContaining(String.valueOf(txId))
+        .hasMessageContaining("[0, 2, 3]");
+  }
+
+  @Test
+  void executePropagatesExecutionExceptions() {
+    TransactionMethodTable table = TransactionMethodTable.of(new ValidService());
+
+    Transaction tx = table.toTransaction(FAILING_TX_ID, new byte[0]);
+
+    TransactionExecutionException e = assertThrows(TransactionExecutionException.class,
+        () -> tx.execute(mock(TransactionContext.class)));
+    assertThat(e.getErrorCode()).isEqualTo((byte) 1);
+  }
+
+  @Test
+  void inheritedTransactionMethods() throws TransactionExecutionException {
+    ExtendedService service = new ExtendedService();
+    TransactionMethodTable table = TransactionMethodTable.of(service);
+
+    table.toTransaction(RAW_TX_ID, new byte[0])
+        .execute(mock(TransactionContext.class));
+    table.toTransaction(ExtendedService.EXTRA_TX_ID, new byte[0])
+        .execute(mock(TransactionContext.class));
+
+    // The overriding method must be invoked
+    assertThat(service.invocations).containsExactly("overridden", "extra");
+  }
+
+  @Test
+  void producesImmutableTransactions() {
+    TransactionMethodTable table = TransactionMethodTable.of(new ValidService());
+
+    assertThat(table.producesImmutableTransactions()).isTrue();
+  }
+
+  @Test
+  void rejectsDuplicateIds() {
+    Service service = new BaseService() {
+      @TransactionMethod(RAW_TX_ID)
+      public void tx1(byte[] arguments, TransactionContext context) {}
+
+      @TransactionMethod(RAW_TX_ID)
+      public void tx2(byte[] arguments, TransactionContext context) {}
+    };
+
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> TransactionMethodTable.of(service));
+
+    assertThat(e).hasMessageContaining("same id");
+  }
+
+  @Test
+  void rejectsNegativeIds() {
+    Service service = new BaseService() {
+      @TransactionMethod(-1)
+      public void tx(byte[] arguments, TransactionContext context) {}
+    };
+
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> TransactionMethodTable.of(service));
+
+    assertThat(e).hasMessageContaining("Transaction id (-1)");
+  }
+
+  @Test
+  void rejectsTooLargeIds() {
+    Service service = new BaseService() {
+      @TransactionMethod(TransactionMethodTable.MAX_TRANSACTION_ID + 1)
+      public void tx(byte[] arguments, TransactionContext context) {}
+    };
+
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> TransactionMethodTable.of(service));
+
+    assertThat(e).hasMessageContaining("Transaction id (65536)");
+  }
+
+  @Test
+  void rejectsNonPublicMethods() {
+    Service service = new BaseService() {
+      @TransactionMethod(RAW_TX_ID)
+      void tx(byte[] arguments, TransactionContext context) {}
+    };
+
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> TransactionMethodTable.of(service));
+
+    assertThat(e).hasMessageContaining("public");
+  }
+
+  @Test
+  void rejectsMethodsWithoutContext() {
+    Service service = new BaseService() {
+      @TransactionMethod(RAW_TX_ID)
+      public void tx(byte[] arguments) {}
+    };
+
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> TransactionMethodTable.of(service));
+
+    assertThat(e).hasMessageContaining(TransactionContext.class.getSimpleName());
+  }
+
+  @Test
+  void rejectsUnsupportedArgumentTypes() {
+    Service service = new BaseService() {
+      @TransactionMethod(RAW_TX_ID)
+      public void tx(String arguments, TransactionContext context) {}
+    };
+
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> TransactionMethodTable.of(service));
+
+    assertThat(e).hasMessageContaining("protobuf message");
+  }
+
+  @Test
+  void rejectsCheckedExceptions() {
+    Service service = new BaseService() {
+      @TransactionMethod(RAW_TX_ID)
+      public void tx(byte[] arguments, TransactionContext context) throws IOException {}
+    };
+
+    Exception e = assertThrows(IllegalArgumentException.class,
+        () -> TransactionMethodTable.of(service));
+
+    assertThat(e).hasMessageContaining(IOException.class.getName());
+  }
+
+  static class BaseService implements Service {
+
+    @Override
+    public List<HashCode> getStateHashes(Snapshot snapshot) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public void createPublicApiHandlers(Node node, Router router) {
+      // no-op
+    }
+  }
+
+  static class ValidService extends BaseService {
+
+    final List<Object> invocations = new ArrayList<>();
+    final List<TransactionContext> contexts = new ArrayList<>();
+
+    @TransactionMethod(RAW_TX_ID)
+    public void rawTx(byte[] arguments, TransactionContext context) {
+      invocations.add(arguments);
+      contexts.add(context);
+    }
+
+    @TransactionMethod(POINT_TX_ID)
+    public void pointTx(Point arguments, TransactionContext context) {
+      invocations.add(arguments);
+    }
+
+    @TransactionMethod(FAILING_TX_ID)
+    public void failingTx(byte[] arguments, TransactionContext context)
+        throws TransactionExecutionException {
+      throw new TransactionExecutionException((byte) 1);
+    }
+
+    // Not a transaction method
+    public void notTx(byte[] arguments, TransactionContext context) {
+      throw new AssertionError("Must not be invoked");
+    }
+  }
+
+  static class ModifyingService extends BaseService {
+
+    final List<byte[]> invocations = new ArrayList<>();
+
+    @TransactionMethod(RAW_TX_ID)
+    public void rawTx(byte[] arguments, TransactionContext context) {
+      invocations.add(arguments.clone());
+      arguments[0] = -1;
+    }
+  }
+
+  static class ParentService extends BaseService {
+
+    final List<String> invocations = new ArrayList<>();
+
+    @TransactionMethod(RAW_TX_ID)
+    public void rawTx(byte[] arguments, TransactionContext context) {
+      invocations.add("parent");
+    }
+  }
+
+  static class ExtendedService extends ParentService {
+
+    static final int EXTRA_TX_ID = 1;
+
+    @Override
+    public void rawTx(byte[] arguments, TransactionContext context) {
+      invocations.add("overridden");
+    }
+
+    @TransactionMethod(EXTRA_TX_ID)
+    public void extraTx(byte[] arguments, TransactionContext context) {
+      invocations.add("extra");
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.exonum.binding.core.proxy.CleanAction;
+import com.exonum.binding.core.proxy.Cleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SharedSnapshotTest {
+
+  private static final long NATIVE_HANDLE = 0x0A;
+
+  private Cleaner cleaner;
+  private CleanAction<?> destructor;
+  private SharedSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    cleaner = new Cleaner();
+    destructor = mock(CleanAction.class);
+    cleaner.add(destructor);
+    snapshot = new SharedSnapshot(NATIVE_HANDLE, cleaner);
+  }
+
+  @Test
+  void createdWithSingleReference() {
+    assertThat(snapshot.getReferences()).isEqualTo(1);
+    assertThat(snapshot.getNativeHandle()).isEqualTo(NATIVE_HANDLE);
+  }
+
+  @Test
+  void releaseLastReferenceDestroys() {
+    snapshot.release();
+
+    assertThat(snapshot.getReferences()).isZero();
+    assertThat(cleaner.isClosed()).isTrue();
+    verify(destructor).clean();
+  }
+
+  @Test
+  void releaseRetainedDoesNotDestroy() {
+    assertThat(snapshot.tryRetain()).isTrue();
+
+    // Release the owner reference
+    snapshot.release();
+
+    assertThat(snapshot.getReferences()).isEqualTo(1);
+    verify(destructor, never()).clean();
+
+    // Release the reader reference
+    snapshot.release();
+
+    verify(destructor).clean();
+  }
+
+  @Test
+  void tryRetainDestroyed() {
+    snapshot.release();
+
+    assertThat(snapshot.tryRetain()).isFalse();
+    assertThat(snapshot.getReferences()).isZero();
+  }
+
+  @Test
+  void invalidateDestroysIfNotRetained() {
+    snapshot.invalidate();
+
+    assertThat(snapshot.getReferences()).isZero();
+    verify(destructor).clean();
+  }
+
+  @Test
+  void invalidateRetainedDoesNotDestroy() {
+    assertThat(snapshot.tryRetain()).isTrue();
+
+    snapshot.invalidate();
+
+    assertThat(snapshot.getReferences()).isEqualTo(1);
+    verify(destructor, never()).clean();
+
+    // Release the reader reference
+    snapshot.release();
+
+    verify(destructor).clean();
+  }
+
+  @Test
+  void tryRetainInvalidated() {
+    // Keep the snapshot alive with a reader reference
+    assertThat(snapshot.tryRetain()).isTrue();
+    snapshot.invalidate();
+
+    assertThat(snapshot.tryRetain()).isFalse();
+    assertThat(snapshot.getReferences()).isEqualTo(1);
+  }
+
+  @Test
+  void releaseDestroyed() {
+    snapshot.release();
+
+    assertThrows(IllegalStateException.class, () -> snapshot.release());
+  }
+}
@@ -28,7 +28,10 @@ import com.exonum.binding.core.proxy.CloseFailuresException;
 import com.exonum.binding.core.storage.indices.ListIndex;
 import com.exonum.binding.core.storage.indices.ListIndexProxy;
 import com.exonum.binding.test.RequiresNativeLibrary;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -276,6 +279,63 @@ class ForkIntegrationTest {
     }
   }
 
+  @Test
+  void rollbackDiscardsViewScopedObjects() throws CloseFailuresException {
+    try (TemporaryDb db = TemporaryDb.newInstance();
+        Cleaner cleaner = new Cleaner("parent")) {
+      Fork fork = db.createFork(cleaner);
+
+      Object o1 = fork.getOrCreateViewScoped(Object.class, v -> new Object());
+
+      // Rollback
+      fork.rollback();
+
+      // Check a new object is created after rollback
+      Object o2 = fork.getOrCreateViewScoped(Object.class, v -> new Object());
+      assertThat(o2).isNotSameAs(o1);
+    }
+  }
+
+  @Test
+  void closeDestroysProxiesInReversedOrder() throws Exception {
+    try (TemporaryDb db = TemporaryDb.newInstance();
+        Cleaner cleaner = new Cleaner("parent")) {
+      Fork fork = db.createFork(cleaner);
+      Cleaner forkCleaner = fork.getCleaner();
+      ListIndex<String> list1 = newList("list_1", fork);
+      list1.add(V1);
+      // Register a Java-side action between the proxies, which are destroyed in batches
+      AtomicReference<ListIndex<String>> list2Ref = new AtomicReference<>();
+      List<Boolean> listsAccessible = new ArrayList<>();
+      forkCleaner.add(() -> {
+        listsAccessible.add(canAccess(list1));
+        listsAccessible.add(canAccess(list2Ref.get()));
+      });
+      ListIndex<String> list2 = newList("list_2", fork);
+      list2.add(V2);
+      list2Ref.set(list2);
+
+      forkCleaner.close();
+
+      // The list registered before the action must be accessible to it; the one registered
+      // after — already destroyed
+      assertThat(listsAccessible).containsExactly(true, false);
+      assertAll(
+          () -> assertThrows(IllegalStateException.class, list1::size),
+          () -> assertThrows(IllegalStateException.class, list2::size)
+      );
+    }
+  }
+
+  private static boolean canAccess(ListIndex<String> list) {
+    try {
+      list.size();
+      return true;
+    } catch (IllegalStateException e) {
+      return false;
+    }
+  }
+
   private static ListIndex<String> newList(String name, View view) {
     return ListIndexProxy.newInstance(name, view, StandardSerializers.string());
   }
@@ -17,12 +17,14 @@
 package com.exonum.binding.core.storage.database;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 
 import com.exonum.binding.core.proxy.Cleaner;
+import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Nested;
@@ -71,4 +73,24 @@ class SnapshotTest {
     Snapshot s = Snapshot.newInstance(0x0A, false, new Cleaner());
     assertFalse(s.canModify());
   }
+
+  @Test
+  void getOrCreateViewScopedCreatesObjectOnce() {
+    Snapshot s = Snapshot.newInstance(0x0A, false, new Cleaner());
+    Function<View, Object> factory = v -> new Object();
+
+    Object o1 = s.getOrCreateViewScoped(Object.class, factory);
+    Object o2 = s.getOrCreateViewScoped(Object.class, factory);
+
+    assertSame(o1, o2);
+  }
+
+  @Test
+  void getOrCreateViewScopedPassesTheView() {
+    Snapshot s = Snapshot.newInstance(0x0A, false, new Cleaner());
+
+    View view = s.getOrCreateViewScoped(View.class, v -> v);
+
+    assertSame(s, view);
+  }
 }
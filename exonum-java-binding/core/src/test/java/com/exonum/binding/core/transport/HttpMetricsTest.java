@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.Test;
+
+class HttpMetricsTest {
+
+  private final HttpMetrics metrics = new HttpMetrics();
+
+  @Test
+  void recordsRequestsByMethodAndStatusClass() {
+    metrics.record("/api", HttpMethod.GET, 200, 1_000);
+    metrics.record("/api", HttpMethod.GET, 204, 2_000);
+    metrics.record("/api", HttpMethod.POST, 404, 3_000);
+
+    String output = collect();
+
+    assertThat(output)
+        .contains(HttpMetrics.LATENCY_METRIC
+            + "_count{handler=\"/api\",method=\"GET\",status=\"2xx\"} 2\n")
+        .contains(HttpMetrics.LATENCY_METRIC
+            + "_count{handler=\"/api\",method=\"POST\",status=\"4xx\"} 1\n");
+  }
+
+  @Test
+  void recordsNonStandardMethodsTogether() {
+    // Vert.x parses any non-standard request method as OTHER
+    for (int i = 0; i < 3; i++) {
+      metrics.record("/api", HttpMethod.OTHER, 400, 1_000);
+    }
+
+    String output = collect();
+
+    assertThat(output)
+        .contains(HttpMetrics.LATENCY_METRIC
+            + "_count{handler=\"/api\",method=\"OTHER\",status=\"4xx\"} 3\n");
+  }
+
+  private String collect() {
+    PrometheusWriter writer = new PrometheusWriter();
+    metrics.collect(writer);
+    return writer.toString();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.core.transport.PrometheusWriter.MetricType;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PrometheusWriterTest {
+
+  private final PrometheusWriter writer = new PrometheusWriter();
+
+  @Test
+  void declareAndSample() {
+    writer.declare("requests_total", MetricType.COUNTER, "Number of requests")
+        .sample("requests_total", ImmutableMap.of("method", "GET", "code", "200"), 3)
+        .sample("requests_total", 5);
+
+    assertThat(writer.toString()).isEqualTo("# HELP requests_total Number of requests\n"
+        + "# TYPE requests_total counter\n"
+        + "requests_total{method=\"GET\",code=\"200\"} 3\n"
+        + "requests_total 5\n");
+  }
+
+  @Test
+  void escapesLabelValuesAndHelp() {
+    writer.declare("m", MetricType.GAUGE, "A \\ help\nline with \"quotes\"")
+        .sample("m", ImmutableMap.of("l", "a\\b\n\"c\""), 1);
+
+    assertThat(writer.toString()).isEqualTo("# HELP m A \\\\ help\\nline with \"quotes\"\n"
+        + "# TYPE m gauge\n"
+        + "m{l=\"a\\\\b\\n\\\"c\\\"\"} 1\n");
+  }
+
+  @Test
+  void declareRejectsDuplicateFamilies() {
+    writer.declare("m", MetricType.GAUGE, "");
+
+    assertThrows(IllegalArgumentException.class,
+        () -> writer.declare("m", MetricType.COUNTER, ""));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "1m", "m-1", "m 1"})
+  void sampleRejectsInvalidMetricNames(String name) {
+    assertThrows(IllegalArgumentException.class, () -> writer.sample(name, 1));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "1l", "l:1"})
+  void sampleRejectsInvalidLabelNames(String label) {
+    assertThrows(IllegalArgumentException.class,
+        () -> writer.sample("m", ImmutableMap.of(label, "v"), 1));
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0",
+      "-2, -2",
+      "0.25, 0.25",
+      "1e20, 1.0E20",
+      "NaN, NaN",
+      "Infinity, +Inf",
+      "-Infinity, -Inf",
+  })
+  void formatValue(double value, String expected) {
+    assertThat(PrometheusWriter.formatValue(value)).isEqualTo(expected);
+  }
+}
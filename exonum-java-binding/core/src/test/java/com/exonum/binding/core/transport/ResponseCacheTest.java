@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.core.transport.ResponseCache.Generation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ResponseCacheTest {
+
+  private static final String REQUEST = "GET /api/services/test/values?id=1";
+  private static final CachedResponse RESPONSE = CachedResponse.ok("text/plain", "1");
+
+  @Test
+  void noCacheUntilHeightIsKnown() {
+    ResponseCache cache = new ResponseCache(8);
+
+    assertThat(cache.getCurrentGeneration()).isNull();
+  }
+
+  @Test
+  void noCacheIfDisabled() {
+    ResponseCache cache = new ResponseCache(0);
+    cache.setCommittedHeight(1);
+
+    assertThat(cache.getCurrentGeneration()).isNull();
+  }
+
+  @Test
+  void cachesResponsesForHeight() {
+    ResponseCache cache = new ResponseCache(8);
+    cache.setCommittedHeight(1);
+
+    Generation generation = cache.getCurrentGeneration();
+    assertThat(generation.get(REQUEST)).isNull();
+    generation.put(REQUEST, RESPONSE);
+
+    assertThat(cache.getCurrentGeneration().get(REQUEST)).isSameAs(RESPONSE);
+
+    // Same height: the responses are kept
+    cache.setCommittedHeight(1);
+    assertThat(cache.getCurrentGeneration().get(REQUEST)).isSameAs(RESPONSE);
+  }
+
+  @Test
+  void discardsResponsesOnNewHeight() {
+    ResponseCache cache = new ResponseCache(8);
+    cache.setCommittedHeight(1);
+    Generation generation = cache.getCurrentGeneration();
+    generation.put(REQUEST, RESPONSE);
+
+    cache.setCommittedHeight(2);
+
+    Generation newGeneration = cache.getCurrentGeneration();
+    assertThat(newGeneration.getHeight()).isEqualTo(2);
+    assertThat(newGeneration.get(REQUEST)).isNull();
+  }
+
+  @Test
+  void doesNotCacheOverMaxSize() {
+    ResponseCache cache = new ResponseCache(1);
+    cache.setCommittedHeight(1);
+    Generation generation = cache.getCurrentGeneration();
+
+    generation.put(REQUEST, RESPONSE);
+    generation.put("GET /other", RESPONSE);
+
+    assertThat(generation.get(REQUEST)).isSameAs(RESPONSE);
+    assertThat(generation.get("GET /other")).isNull();
+  }
+
+  @Test
+  void rejectsNegativeHeight() {
+    ResponseCache cache = new ResponseCache(1);
+
+    assertThrows(IllegalArgumentException.class, () -> cache.setCommittedHeight(-1));
+  }
+
+  @Test
+  void entityTagOnlyForSuccessfulResponses() {
+    assertThat(RESPONSE.getEntityTag()).isNotEmpty();
+    assertThat(CachedResponse.of(404, "text/plain", RESPONSE.getBody()).getEntityTag())
+        .isEmpty();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "'\"a\"', true",
+      "'*', true",
+      "'W/\"a\"', true",
+      "'\"b\", \"a\"', true",
+      "'\"b\"', false",
+      "'a', false",
+  })
+  void matchesAnyEntityTag(String ifNoneMatch, boolean matches) {
+    assertThat(CachingHandler.matchesAny(ifNoneMatch, "\"a\"")).isEqualTo(matches);
+  }
+}
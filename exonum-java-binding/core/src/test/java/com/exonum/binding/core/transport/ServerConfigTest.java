@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static com.exonum.binding.core.transport.ServerConfig.COMPRESSION_LEVEL_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.EVENT_LOOP_POOL_SIZE_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.HTTP2_CLEAR_TEXT_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.MAX_IN_FLIGHT_SUBMISSIONS_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.MAX_QUEUED_REQUESTS_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.NATIVE_TRANSPORT_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.RECEIVE_BUFFER_SIZE_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.RESPONSE_CACHE_SIZE_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.SUBMISSION_BURST_SIZE_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.SUBMISSION_RATE_LIMIT_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.TCP_FAST_OPEN_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.TCP_NO_DELAY_PROPERTY;
+import static com.exonum.binding.core.transport.ServerConfig.WORKER_POOL_SIZE_PROPERTY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ServerConfigTest {
+
+  @Test
+  void fromEmptyProperties() {
+    ServerConfig config = ServerConfig.fromProperties(new Properties());
+
+    assertThat(config).isEqualTo(ServerConfig.defaultConfig());
+  }
+
+  @Test
+  void fromProperties() {
+    Properties properties = new Properties();
+    properties.setProperty(EVENT_LOOP_POOL_SIZE_PROPERTY, "2");
+    properties.setProperty(WORKER_POOL_SIZE_PROPERTY, "4");
+    properties.setProperty(MAX_QUEUED_REQUESTS_PROPERTY, "32");
+    properties.setProperty(RESPONSE_CACHE_SIZE_PROPERTY, "0");
+    properties.setProperty(SUBMISSION_RATE_LIMIT_PROPERTY, "100");
+    properties.setProperty(SUBMISSION_BURST_SIZE_PROPERTY, "10");
+    properties.setProperty(MAX_IN_FLIGHT_SUBMISSIONS_PROPERTY, "16");
+    properties.setProperty(NATIVE_TRANSPORT_PROPERTY, "true");
+    properties.setProperty(HTTP2_CLEAR_TEXT_PROPERTY, "false");
+    properties.setProperty(COMPRESSION_LEVEL_PROPERTY, "3");
+    properties.setProperty(TCP_NO_DELAY_PROPERTY, "false");
+    properties.setProperty(TCP_FAST_OPEN_PROPERTY, "true");
+    properties.setProperty(RECEIVE_BUFFER_SIZE_PROPERTY, "65536");
+
+    ServerConfig config = ServerConfig.fromProperties(properties);
+
+    ServerConfig expected = ServerConfig.builder()
+        .eventLoopPoolSize(2)
+        .workerPoolSize(4)
+        .maxQueuedRequests(32)
+        .responseCacheSize(0)
+        .submissionRateLimit(100)
+        .submissionBurstSize(10)
+        .maxInFlightSubmissions(16)
+        .nativeTransport(true)
+        .http2ClearText(false)
+        .compressionLevel(3)
+        .tcpNoDelay(false)
+        .tcpFastOpen(true)
+        .receiveBufferSize(65536)
+        .build();
+    assertThat(config).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {EVENT_LOOP_POOL_SIZE_PROPERTY, WORKER_POOL_SIZE_PROPERTY,
+      MAX_QUEUED_REQUESTS_PROPERTY, MAX_IN_FLIGHT_SUBMISSIONS_PROPERTY})
+  void rejectsNonPositiveSizes(String property) {
+    Properties properties = new Properties();
+    properties.setProperty(property, "0");
+
+    assertThrows(IllegalArgumentException.class, () -> ServerConfig.fromProperties(properties));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {RESPONSE_CACHE_SIZE_PROPERTY, SUBMISSION_RATE_LIMIT_PROPERTY,
+      SUBMISSION_BURST_SIZE_PROPERTY, COMPRESSION_LEVEL_PROPERTY, RECEIVE_BUFFER_SIZE_PROPERTY})
+  void rejectsNegativeSizes(String property) {
+    Properties properties = new Properties();
+    properties.setProperty(property, "-1");
+
+    assertThrows(IllegalArgumentException.class, () -> ServerConfig.fromProperties(properties));
+  }
+
+  @Test
+  void rejectsTooHighSubmissionRateLimit() {
+    ServerConfig.Builder builder = ServerConfig.builder()
+        .submissionRateLimit(TokenBucket.MAX_TOKENS_PER_SECOND + 1);
+
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+
+  @Test
+  void rejectsTooHighCompressionLevel() {
+    ServerConfig.Builder builder = ServerConfig.builder()
+        .compressionLevel(10);
+
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.testing.FakeTicker;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TokenBucketTest {
+
+  private final FakeTicker ticker = new FakeTicker();
+
+  @ParameterizedTest
+  @ValueSource(ints = {Integer.MIN_VALUE, -1, 0, TokenBucket.MAX_TOKENS_PER_SECOND + 1,
+      Integer.MAX_VALUE})
+  void rejectsInvalidRate(int tokensPerSecond) {
+    assertThrows(IllegalArgumentException.class,
+        () -> new TokenBucket(tokensPerSecond, 1, ticker));
+  }
+
+  @Test
+  void acquiresAtMaxRate() {
+    TokenBucket bucket = new TokenBucket(TokenBucket.MAX_TOKENS_PER_SECOND, 1, ticker);
+
+    assertThat(bucket.tryAcquire()).isZero();
+    // 1 token per nanosecond
+    assertThat(bucket.tryAcquire()).isEqualTo(1L);
+    ticker.advance(1, TimeUnit.NANOSECONDS);
+    assertThat(bucket.tryAcquire()).isZero();
+  }
+
+  @Test
+  void acquiresUpToCapacity() {
+    TokenBucket bucket = new TokenBucket(10, 2, ticker);
+
+    assertThat(bucket.tryAcquire()).isZero();
+    assertThat(bucket.tryAcquire()).isZero();
+    // 1 token per 100 ms
+    assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  @Test
+  void refillsAtRate() {
+    TokenBucket bucket = new TokenBucket(10, 1, ticker);
+    assertThat(bucket.tryAcquire()).isZero();
+
+    ticker.advance(40, TimeUnit.MILLISECONDS);
+    assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(60));
+
+    ticker.advance(60, TimeUnit.MILLISECONDS);
+    assertThat(bucket.tryAcquire()).isZero();
+  }
+
+  @Test
+  void doesNotRefillOverCapacity() {
+    TokenBucket bucket = new TokenBucket(10, 2, ticker);
+
+    ticker.advance(10, TimeUnit.SECONDS);
+
+    assertThat(bucket.tryAcquire()).isZero();
+    assertThat(bucket.tryAcquire()).isZero();
+    assertThat(bucket.tryAcquire()).isPositive();
+  }
+}
@@ -18,24 +18,33 @@ package com.exonum.binding.core.transport;
 
 import static org.assertj.core.api.AssertionsForClassTypes.fail;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.google.common.base.Strings;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
@@ -180,6 +189,343 @@ class VertxServerIntegrationTest {
     }
   }
 
+  @Test
+  void metrics() throws Exception {
+    Vertx wcVertx = null;
+    try {
+      int port = server.start(ANY_PORT).get();
+      server.addMetricsCollector(writer ->
+          writer.declare("test_metric", PrometheusWriter.MetricType.GAUGE, "A test metric")
+              .sample("test_metric", 42));
+
+      wcVertx = Vertx.vertx();
+      WebClient client = WebClient.create(wcVertx);
+
+      // Send two requests, so that the metrics include the latency of the first one
+      for (int i = 0; i < 2; i++) {
+        CompletableFuture<AsyncResult<HttpResponse<Buffer>>> futureResponse =
+            new CompletableFuture<>();
+        client.get(port, "localhost", Server.METRICS_PATH)
+            .send(futureResponse::complete);
+
+        AsyncResult<HttpResponse<Buffer>> ar =
+            futureResponse.get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+        if (ar.failed()) {
+          fail(ar.cause().getMessage());
+        }
+        HttpResponse<Buffer> response = ar.result();
+        assertThat(response.statusCode(), equalTo(200));
+        assertThat(response.getHeader("Content-Type"), equalTo(PrometheusWriter.CONTENT_TYPE));
+
+        String body = response.bodyAsString();
+        assertThat(body, containsString("test_metric 42\n"));
+        assertThat(body, containsString("# TYPE jvm_memory_bytes_used gauge\n"));
+        assertThat(body, containsString("# TYPE exonum_native_proxies_live gauge\n"));
+        if (i == 1) {
+          assertThat(body, containsString(HttpMetrics.LATENCY_METRIC + "_count{handler=\""
+              + Server.METRICS_PATH + "\",method=\"GET\",status=\"2xx\"}"));
+        }
+      }
+    } finally {
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  @Test
+  void blockingHandlerRunsOnWorkerThread() throws Exception {
+    Vertx wcVertx = null;
+    try {
+      int port = server.start(ANY_PORT).get();
+      Router r = server.createRouter();
+      r.get("/blocking").handler(BlockingHandler.of(rc ->
+          rc.response().end(Boolean.toString(Context.isOnWorkerThread()))));
+      server.mountSubRouter("/s1", r);
+
+      wcVertx = Vertx.vertx();
+      WebClient client = WebClient.create(wcVertx);
+      HttpResponse<Buffer> response = get(client, port, "/s1/blocking")
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+
+      assertThat(response.statusCode(), equalTo(200));
+      assertThat(response.bodyAsString(), equalTo("true"));
+    } finally {
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  @Test
+  void blockingHandlerRejectsRequestsWhenWorkerPoolIsFull() throws Exception {
+    blockingStop();
+    server = new VertxServer(ServerConfig.builder()
+        .workerPoolSize(1)
+        .maxQueuedRequests(1)
+        .build());
+    Vertx wcVertx = null;
+    CountDownLatch handlerStarted = new CountDownLatch(1);
+    CountDownLatch releaseHandler = new CountDownLatch(1);
+    try {
+      int port = server.start(ANY_PORT).get();
+      Router r = server.createRouter();
+      r.get("/blocking").handler(BlockingHandler.of(rc -> {
+        handlerStarted.countDown();
+        try {
+          releaseHandler.await(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        rc.response().end();
+      }));
+      server.mountSubRouter("/s1", r);
+
+      wcVertx = Vertx.vertx();
+      WebClient client = WebClient.create(wcVertx);
+      // Occupy the only slot of the worker pool
+      CompletableFuture<HttpResponse<Buffer>> firstResponse = get(client, port, "/s1/blocking");
+      assertTrue(handlerStarted.await(DEFAULT_TIMEOUT, TimeUnit.SECONDS));
+
+      // Check the next request is rejected
+      HttpResponse<Buffer> rejectedResponse = get(client, port, "/s1/blocking")
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+      assertThat(rejectedResponse.statusCode(), equalTo(503));
+      assertThat(rejectedResponse.getHeader("Retry-After"),
+          equalTo(BlockingHandler.RETRY_AFTER_SECONDS));
+
+      // Check the first request completes once the handler is released
+      releaseHandler.countDown();
+      assertThat(firstResponse.get(DEFAULT_TIMEOUT, TimeUnit.SECONDS).statusCode(),
+          equalTo(200));
+
+      // Check the metrics
+      String metrics = get(client, port, Server.METRICS_PATH)
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS)
+          .bodyAsString();
+      assertThat(metrics, containsString(
+          WorkerPools.REJECTED_METRIC + "{handler=\"/s1\"} 1\n"));
+      assertThat(metrics, containsString(
+          "# TYPE " + EventLoopMonitor.BLOCKED_TIME_METRIC + " counter\n"));
+    } finally {
+      releaseHandler.countDown();
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  @Test
+  void submissionsOverRateLimitAreRejected() throws Exception {
+    blockingStop();
+    server = new VertxServer(ServerConfig.builder()
+        .submissionRateLimit(1)
+        .build());
+    Vertx wcVertx = null;
+    try {
+      int port = server.start(ANY_PORT).get();
+      Router r = server.createRouter();
+      r.post("/submit").handler(rc -> rc.response().end());
+      r.get("/value").handler(rc -> rc.response().end());
+      server.mountSubRouter("/s1", r);
+
+      wcVertx = Vertx.vertx();
+      WebClient client = WebClient.create(wcVertx);
+
+      // The first submission takes the only token
+      HttpResponse<Buffer> response = send(client.post(port, "localhost", "/s1/submit"))
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+      assertThat(response.statusCode(), equalTo(200));
+
+      // The next one is rejected
+      response = send(client.post(port, "localhost", "/s1/submit"))
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+      assertThat(response.statusCode(), equalTo(AdmissionControl.HTTP_TOO_MANY_REQUESTS));
+      assertThat(response.getHeader("Retry-After"), equalTo("1"));
+
+      // The read requests are not limited
+      response = get(client, port, "/s1/value")
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+      assertThat(response.statusCode(), equalTo(200));
+
+      String metrics = get(client, port, Server.METRICS_PATH)
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS)
+          .bodyAsString();
+      assertThat(metrics, containsString(
+          AdmissionControl.ACCEPTED_METRIC + "{handler=\"/s1\"} 1\n"));
+      assertThat(metrics, containsString(
+          AdmissionControl.REJECTED_METRIC + "{handler=\"/s1\",reason=\"rate_limit\"} 1\n"));
+    } finally {
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  @Test
+  void submissionsInFlightAreReleasedIfHandlerReplacesResponseHandlers() throws Exception {
+    blockingStop();
+    server = new VertxServer(ServerConfig.builder()
+        .maxInFlightSubmissions(1)
+        .build());
+    Vertx wcVertx = null;
+    try {
+      int port = server.start(ANY_PORT).get();
+      Router r = server.createRouter();
+      r.post("/submit").handler(rc -> rc.response()
+          .closeHandler(v -> { })
+          .endHandler(v -> { })
+          .end());
+      server.mountSubRouter("/s1", r);
+
+      wcVertx = Vertx.vertx();
+      WebClient client = WebClient.create(wcVertx);
+
+      // Each submission takes the only slot, which is released once it is handled
+      for (int i = 0; i < 3; i++) {
+        HttpResponse<Buffer> response = send(client.post(port, "localhost", "/s1/submit"))
+            .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+        assertThat(response.statusCode(), equalTo(200));
+      }
+    } finally {
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  @Test
+  void compressesResponses() throws Exception {
+    blockingStop();
+    server = new VertxServer(ServerConfig.builder()
+        .compressionLevel(1)
+        .build());
+    Vertx wcVertx = null;
+    try {
+      int port = server.start(ANY_PORT).get();
+      Router r = server.createRouter();
+      r.get("/value").handler(rc -> rc.response().end(Strings.repeat("value", 100)));
+      server.mountSubRouter("/s1", r);
+
+      wcVertx = Vertx.vertx();
+      WebClient client = WebClient.create(wcVertx);
+      HttpResponse<Buffer> response = send(client.get(port, "localhost", "/s1/value")
+          .putHeader("Accept-Encoding", "gzip"))
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+
+      assertThat(response.statusCode(), equalTo(200));
+      assertThat(response.getHeader("Content-Encoding"), equalTo("gzip"));
+    } finally {
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  @Test
+  void acceptsHttp2ClearText() throws Exception {
+    Vertx wcVertx = null;
+    try {
+      int port = server.start(ANY_PORT).get();
+      Router r = server.createRouter();
+      r.get("/value").handler(rc -> rc.response().end("value"));
+      server.mountSubRouter("/s1", r);
+
+      wcVertx = Vertx.vertx();
+      // Use HTTP/2 with the prior knowledge
+      WebClient client = WebClient.create(wcVertx, new WebClientOptions()
+          .setProtocolVersion(HttpVersion.HTTP_2)
+          .setHttp2ClearTextUpgrade(false));
+      HttpResponse<Buffer> response = get(client, port, "/s1/value")
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+
+      assertThat(response.statusCode(), equalTo(200));
+      assertThat(response.version(), equalTo(HttpVersion.HTTP_2));
+      assertThat(response.bodyAsString(), equalTo("value"));
+    } finally {
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  @Test
+  void cachingHandler() throws Exception {
+    Vertx wcVertx = null;
+    try {
+      int port = server.start(ANY_PORT).get();
+      AtomicInteger computedResponses = new AtomicInteger();
+      Router r = server.createRouter();
+      r.get("/value").handler(CachingHandler.blocking(rc -> {
+        int n = computedResponses.incrementAndGet();
+        return CachedResponse.ok("text/plain", rc.request().getParam("id") + ":" + n);
+      }));
+      server.mountSubRouter("/s1", r);
+      server.setCommittedHeight(1);
+
+      wcVertx = Vertx.vertx();
+      WebClient client = WebClient.create(wcVertx);
+
+      // The first response is computed, the second one is cached
+      HttpResponse<Buffer> response = get(client, port, "/s1/value?id=a")
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+      assertThat(response.bodyAsString(), equalTo("a:1"));
+      response = get(client, port, "/s1/value?id=a")
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+      assertThat(response.bodyAsString(), equalTo("a:1"));
+      String entityTag = response.getHeader("ETag");
+      assertThat(entityTag, notNullValue());
+
+      // The requests with other parameters are cached separately
+      response = get(client, port, "/s1/value?id=b")
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+      assertThat(response.bodyAsString(), equalTo("b:2"));
+
+      // The request with a matching entity tag gets no body
+      response = send(client.get(port, "localhost", "/s1/value?id=a")
+          .putHeader("If-None-Match", entityTag))
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+      assertThat(response.statusCode(), equalTo(304));
+      assertThat(response.getHeader("ETag"), equalTo(entityTag));
+
+      // The new block invalidates the cached responses
+      server.setCommittedHeight(2);
+      response = get(client, port, "/s1/value?id=a")
+          .get(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+      assertThat(response.statusCode(), equalTo(200));
+      assertThat(response.bodyAsString(), equalTo("a:3"));
+    } finally {
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  private static CompletableFuture<HttpResponse<Buffer>> get(WebClient client, int port,
+      String path) {
+    return send(client.get(port, "localhost", path));
+  }
+
+  private static CompletableFuture<HttpResponse<Buffer>> send(HttpRequest<Buffer> request) {
+    CompletableFuture<HttpResponse<Buffer>> futureResponse = new CompletableFuture<>();
+    request.send(ar -> {
+      if (ar.succeeded()) {
+        futureResponse.complete(ar.result());
+      } else {
+        futureResponse.completeExceptionally(ar.cause());
+      }
+    });
+    return futureResponse;
+  }
+
   /**
    * A blocking server stop, so that asynchronous exceptions are not hidden.
    */
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.core.transport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.test.Bytes;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class WriteStreamOutputStreamTest {
+
+  private static final int CHUNK_SIZE = 4;
+
+  private WriteStream<Buffer> stream;
+  private OutputStream out;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    stream = mock(WriteStream.class);
+    out = new WriteStreamOutputStream(stream, CHUNK_SIZE);
+  }
+
+  @Test
+  void writeLessThanChunkDoesNotWrite() throws IOException {
+    out.write(Bytes.bytes(1, 2, 3));
+
+    verify(stream, never()).write(any(Buffer.class));
+  }
+
+  @Test
+  void writeSplitsIntoChunks() throws IOException {
+    out.write(Bytes.bytes(1, 2, 3, 4, 5, 6, 7, 8, 9));
+    out.close();
+
+    ArgumentCaptor<Buffer> chunks = ArgumentCaptor.forClass(Buffer.class);
+    verify(stream, times(3)).write(chunks.capture());
+    List<Buffer> written = chunks.getAllValues();
+    assertThat(written.get(0).getBytes(), equalTo(Bytes.bytes(1, 2, 3, 4)));
+    assertThat(written.get(1).getBytes(), equalTo(Bytes.bytes(5, 6, 7, 8)));
+    assertThat(written.get(2).getBytes(), equalTo(Bytes.bytes(9)));
+  }
+
+  @Test
+  void writeSingleBytes() throws IOException {
+    for (int i = 1; i <= CHUNK_SIZE; i++) {
+      out.write(i);
+    }
+
+    ArgumentCaptor<Buffer> chunks = ArgumentCaptor.forClass(Buffer.class);
+    verify(stream).write(chunks.capture());
+    assertThat(chunks.getValue().getBytes(), equalTo(Bytes.bytes(1, 2, 3, 4)));
+  }
+
+  @Test
+  void flushEmptyDoesNotWrite() throws IOException {
+    out.flush();
+
+    verify(stream, never()).write(any(Buffer.class));
+  }
+
+  @Test
+  void closeDoesNotEndStream() throws IOException {
+    out.close();
+
+    verify(stream, never()).end();
+  }
+
+  @Test
+  void writeAfterClose() throws IOException {
+    out.close();
+
+    assertThrows(IOException.class, () -> out.write(1));
+  }
+
+  @Test
+  void writeWaitsForSlowConsumer() throws Exception {
+    int maxQueueSize = 2;
+    int numChunks = 32;
+    BlockingQueue<Buffer> queue = new LinkedBlockingQueue<>();
+    AtomicInteger maxObservedQueueSize = new AtomicInteger();
+    AtomicReference<Handler<Void>> drainHandler = new AtomicReference<>();
+    when(stream.write(any(Buffer.class))).thenAnswer(invocation -> {
+      queue.add(invocation.getArgument(0));
+      maxObservedQueueSize.accumulateAndGet(queue.size(), Math::max);
+      return stream;
+    });
+    when(stream.writeQueueFull()).thenAnswer(invocation -> queue.size() >= maxQueueSize);
+    when(stream.drainHandler(any())).thenAnswer(invocation -> {
+      drainHandler.set(invocation.getArgument(0));
+      return stream;
+    });
+
+    // A consumer that takes the chunks slowly and notifies the producer once the queue drains
+    ExecutorService consumer = Executors.newSingleThreadExecutor();
+    try {
+      Future<Buffer> received = consumer.submit(() -> {
+        Buffer data = Buffer.buffer();
+        for (int i = 0; i < numChunks; i++) {
+          TimeUnit.MILLISECONDS.sleep(1);
+          data.appendBuffer(queue.take());
+          Handler<Void> handler = drainHandler.get();
+          if (handler != null && queue.size() < maxQueueSize) {
+            handler.handle(null);
+          }
+        }
+        return data;
+      });
+
+      byte[] expected = Bytes.randomBytes(numChunks * CHUNK_SIZE);
+      out.write(expected);
+      out.close();
+
+      assertThat(received.get(10, TimeUnit.SECONDS).getBytes(), equalTo(expected));
+      assertThat(maxObservedQueueSize.get(), lessThanOrEqualTo(maxQueueSize));
+    } finally {
+      consumer.shutdownNow();
+    }
+  }
+
+  @Test
+  void writeFailsIfStreamDoesNotDrain() throws IOException {
+    when(stream.writeQueueFull()).thenReturn(true);
+    out = new WriteStreamOutputStream(stream, CHUNK_SIZE, Duration.ofMillis(10));
+
+    assertThrows(IOException.class, () -> out.write(new byte[CHUNK_SIZE]));
+
+    // The stream must be closed after a failure
+    assertThrows(IOException.class, () -> out.write(1));
+  }
+
+  @Test
+  void writeFailsIfStreamFailsWhileDraining() {
+    IOException streamFailure = new IOException("Connection closed");
+    when(stream.writeQueueFull()).thenReturn(true);
+    when(stream.exceptionHandler(any())).thenAnswer(invocation -> {
+      Handler<Throwable> handler = invocation.getArgument(0);
+      if (handler != null) {
+        handler.handle(streamFailure);
+      }
+      return stream;
+    });
+
+    IOException e = assertThrows(IOException.class, () -> out.write(new byte[CHUNK_SIZE]));
+
+    assertThat(e.getCause(), sameInstance(streamFailure));
+  }
+}
@@ -23,17 +23,18 @@ import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.message.TransactionMessage;
 import com.exonum.binding.core.blockchain.Blockchain;
+import com.exonum.binding.core.blockchain.TransactionInfo;
 import com.exonum.binding.core.runtime.ServiceInstanceSpec;
 import com.exonum.binding.core.service.AbstractService;
 import com.exonum.binding.core.service.Node;
 import com.exonum.binding.core.storage.database.View;
-import com.exonum.binding.core.storage.indices.ListIndex;
 import com.exonum.binding.core.storage.indices.MapIndex;
 import com.exonum.binding.cryptocurrency.transactions.TxMessageProtos;
 import com.google.inject.Inject;
 import com.google.protobuf.InvalidProtocolBufferException;
 import io.vertx.ext.web.Router;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nullable;
 
@@ -81,12 +82,14 @@ public final class CryptocurrencyServiceImpl extends AbstractService
 
     return node.withSnapshot(view -> {
       CryptocurrencySchema schema = createDataSchema(view);
-      ListIndex<HashCode> walletHistory = schema.transactionsHistory(ownerKey);
+      List<HashCode> walletHistory = schema.transactionsHistory(ownerKey)
+          .stream()
+          .collect(toList());
       Blockchain blockchain = Blockchain.newInstance(view);
-      MapIndex<HashCode, TransactionMessage> txMessages = blockchain.getTxMessages();
+      Map<HashCode, TransactionInfo> transactions = blockchain.getTransactions(walletHistory);
 
-      return walletHistory.stream()
-          .map(txMessages::get)
+      return transactions.values().stream()
+          .map(TransactionInfo::getMessage)
           .map(this::createTransferHistoryEntry)
           .collect(toList());
     });
@@ -41,4 +41,10 @@ public final class CryptocurrencyTransactionConverter implements TransactionConv
             })
         .apply(arguments);
   }
+
+  @Override
+  public boolean producesImmutableTransactions() {
+    // All transactions of this service are immutable value objects
+    return true;
+  }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.test;
+
+import static com.exonum.binding.common.blockchain.ExecutionStatuses.success;
+import static com.exonum.binding.test.TestArtifactInfo.ARTIFACT_DIR;
+import static com.exonum.binding.test.TestArtifactInfo.ARTIFACT_FILENAME;
+import static com.exonum.binding.test.TestArtifactInfo.ARTIFACT_ID;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.app.export.BlockchainExporter;
+import com.exonum.binding.app.export.ExportFormat;
+import com.exonum.binding.common.blockchain.TransactionLocation;
+import com.exonum.binding.common.crypto.CryptoFunctions;
+import com.exonum.binding.common.crypto.KeyPair;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.binding.core.blockchain.Block;
+import com.exonum.binding.core.blockchain.serialization.BlockSerializer;
+import com.exonum.binding.core.blockchain.serialization.TransactionLocationSerializer;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.fakeservice.Transactions.PutTransactionArgs;
+import com.exonum.binding.testkit.TestKit;
+import com.exonum.core.messages.Runtime.ExecutionStatus;
+import com.google.common.base.Splitter;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.protobuf.CodedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BlockchainExporterIntegrationTest {
+
+  private static final KeyPair KEY_PAIR = CryptoFunctions.ed25519().generateKeyPair();
+  private static final String SERVICE_NAME = "service";
+  private static final int SERVICE_ID = 100;
+
+  private TestKit testKit;
+  private Block block;
+  private TransactionMessage transaction;
+
+  @BeforeEach
+  void setUp() {
+    testKit = TestKit.builder()
+        .withArtifactsDirectory(ARTIFACT_DIR)
+        .withDeployedArtifact(ARTIFACT_ID, ARTIFACT_FILENAME)
+        .withService(ARTIFACT_ID, SERVICE_NAME, SERVICE_ID)
+        .build();
+    transaction = TransactionMessage.builder()
+        .serviceId(SERVICE_ID)
+        .transactionId(0)
+        .payload(PutTransactionArgs.newBuilder()
+            .setKey("k1")
+            .setValue("v1")
+            .build())
+        .sign(KEY_PAIR);
+    block = testKit.createBlockWithTransactions(transaction);
+  }
+
+  @AfterEach
+  void destroyTestKit() {
+    testKit.close();
+  }
+
+  @Test
+  void exportNdjson() throws IOException {
+    byte[] exported = export(ExportFormat.NDJSON, 0, block.getHeight());
+
+    List<String> lines = Splitter.on('\n')
+        .omitEmptyStrings()
+        .splitToList(new String(exported, UTF_8));
+    // Contains both genesis and committed blocks
+    assertThat(lines).hasSize(2);
+
+    JsonObject record = JsonParser.parseString(lines.get(1)).getAsJsonObject();
+    JsonObject exportedBlock = record.getAsJsonObject("block");
+    assertThat(exportedBlock.get("height").getAsLong()).isEqualTo(block.getHeight());
+    JsonObject exportedTx = record.getAsJsonArray("transactions")
+        .get(0)
+        .getAsJsonObject();
+    assertThat(exportedTx.get("hash").getAsString()).isEqualTo(transaction.hash().toString());
+    assertThat(exportedTx.getAsJsonObject("status").get("type").getAsString())
+        .isEqualTo("success");
+  }
+
+  @Test
+  void exportProtobufDelimited() throws IOException {
+    long height = block.getHeight();
+    byte[] exported = export(ExportFormat.PROTOBUF_DELIMITED, height, height);
+
+    CodedInputStream in = CodedInputStream.newInstance(exported);
+    Block exportedBlock = BlockSerializer.INSTANCE.fromBytes(in.readByteArray());
+    assertThat(exportedBlock).isEqualTo(block);
+    TransactionMessage exportedTx = TransactionMessage.fromBytes(in.readByteArray());
+    assertThat(exportedTx).isEqualTo(transaction);
+    TransactionLocation location = TransactionLocationSerializer.INSTANCE
+        .fromBytes(in.readByteArray());
+    assertThat(location).isEqualTo(TransactionLocation.valueOf(height, 0));
+    ExecutionStatus status = ExecutionStatus.parseFrom(in.readByteArray());
+    assertThat(status).isEqualTo(success());
+    assertThat(in.isAtEnd()).isTrue();
+  }
+
+  @Test
+  void exportRejectsHeightsAboveBlockchainHeight() {
+    long invalidHeight = block.getHeight() + 1;
+    assertThrows(IllegalArgumentException.class,
+        () -> export(ExportFormat.NDJSON, 0, invalidHeight));
+  }
+
+  @Test
+  void exportToFile(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("blocks.ndjson");
+    long height = block.getHeight();
+
+    BlockchainExporter exporter = new BlockchainExporter(ExportFormat.NDJSON, 2);
+    exporter.export(testKit.getSnapshot(), height, height, file);
+
+    assertThat(file).hasBinaryContent(export(ExportFormat.NDJSON, height, height));
+  }
+
+  @Test
+  void exportToFileRejectsExistingFile(@TempDir Path tempDir) throws IOException {
+    Path file = Files.write(tempDir.resolve("blocks.ndjson"), new byte[] {1, 2});
+
+    BlockchainExporter exporter = new BlockchainExporter(ExportFormat.NDJSON, 2);
+    Snapshot view = testKit.getSnapshot();
+    long height = block.getHeight();
+    assertThrows(FileAlreadyExistsException.class,
+        () -> exporter.export(view, height, height, file));
+
+    // The existing file must not be modified
+    assertThat(file).hasBinaryContent(new byte[] {1, 2});
+  }
+
+  @Test
+  void exportToFileDeletesFileOnFailure(@TempDir Path tempDir) {
+    Path file = tempDir.resolve("blocks.ndjson");
+    long invalidHeight = block.getHeight() + 1;
+
+    BlockchainExporter exporter = new BlockchainExporter(ExportFormat.NDJSON, 2);
+    Snapshot view = testKit.getSnapshot();
+    assertThrows(IllegalArgumentException.class,
+        () -> exporter.export(view, 0, invalidHeight, file));
+
+    assertThat(file).doesNotExist();
+  }
+
+  private byte[] export(ExportFormat format, long fromHeight, long toHeight) throws IOException {
+    BlockchainExporter exporter = new BlockchainExporter(format, 2);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Snapshot view = testKit.getSnapshot();
+    exporter.export(view, fromHeight, toHeight, out);
+    return out.toByteArray();
+  }
+}
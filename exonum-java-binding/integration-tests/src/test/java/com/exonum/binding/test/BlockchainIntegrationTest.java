@@ -24,6 +24,7 @@ import static com.exonum.binding.test.TestArtifactInfo.ARTIFACT_ID;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.exonum.binding.common.blockchain.TransactionLocation;
@@ -37,6 +38,7 @@ import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.message.TransactionMessage;
 import com.exonum.binding.core.blockchain.Block;
 import com.exonum.binding.core.blockchain.Blockchain;
+import com.exonum.binding.core.blockchain.TransactionInfo;
 import com.exonum.binding.core.storage.database.Snapshot;
 import com.exonum.binding.core.storage.indices.KeySetIndexProxy;
 import com.exonum.binding.core.storage.indices.MapIndex;
@@ -117,6 +119,12 @@ class BlockchainIntegrationTest {
       });
     }
 
+    @Test
+    void newInstanceIsSharedPerView() {
+      Snapshot view = testKit.getSnapshot();
+      assertThat(Blockchain.newInstance(view)).isSameAs(Blockchain.newInstance(view));
+    }
+
     @Test
     void getLastBlock() {
       testKitTest((blockchain) -> {
@@ -318,6 +326,21 @@ class BlockchainIntegrationTest {
       });
     }
 
+    @Test
+    void getTransactions() {
+      testKitTest((blockchain) -> {
+        HashCode txHash = expectedBlockTransaction.hash();
+        HashCode unknownHash = HashCode.fromBytes(new byte[DEFAULT_HASH_SIZE_BYTES]);
+
+        Map<HashCode, TransactionInfo> transactions =
+            blockchain.getTransactions(ImmutableList.of(txHash, unknownHash));
+
+        TransactionInfo expected = TransactionInfo.committed(expectedBlockTransaction,
+            TransactionLocation.valueOf(block.getHeight(), 0L), success());
+        assertThat(transactions).containsExactly(entry(txHash, expected));
+      });
+    }
+
     @Test
     void getTxLocationOfUnknownTx() {
       testKitTest((blockchain) -> {
@@ -366,6 +389,45 @@ class BlockchainIntegrationTest {
       });
     }
 
+    @Test
+    void getBlocksInRange() {
+      testKitTest((blockchain) -> {
+        List<Block> blocks = blockchain.getBlocks(GENESIS_BLOCK_HEIGHT, block.getHeight())
+            .collect(toList());
+        assertThat(blocks).hasSize(2);
+        assertGenesisBlock(blocks.get(0));
+        assertThat(blocks.get(1)).isEqualTo(block);
+      });
+    }
+
+    @Test
+    void getBlocksInRangeWithInvalidHeight() {
+      testKitTest((blockchain) -> {
+        long invalidBlockHeight = block.getHeight() + 1;
+        assertThrows(IndexOutOfBoundsException.class,
+            () -> blockchain.getBlocks(GENESIS_BLOCK_HEIGHT, invalidBlockHeight));
+      });
+    }
+
+    @Test
+    void getBlocksInInvertedRange() {
+      testKitTest((blockchain) -> assertThrows(IllegalArgumentException.class,
+          () -> blockchain.getBlocks(block.getHeight(), GENESIS_BLOCK_HEIGHT)));
+    }
+
+    @Test
+    void getBlockTransactionsInRange() {
+      testKitTest((blockchain) -> {
+        List<List<HashCode>> blockTransactions =
+            blockchain.getBlockTransactions(GENESIS_BLOCK_HEIGHT, block.getHeight())
+                .collect(toList());
+        List<HashCode> genesisBlockTransactions =
+            ImmutableList.copyOf(blockchain.getBlockTransactions(GENESIS_BLOCK_HEIGHT));
+        assertThat(blockTransactions).containsExactly(genesisBlockTransactions,
+            ImmutableList.of(expectedBlockTransaction.hash()));
+      });
+    }
+
     @Test
     void getBlockById() {
       testKitTest((blockchain) -> {
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.test;
+
+import static com.exonum.binding.test.TestArtifactInfo.ARTIFACT_DIR;
+import static com.exonum.binding.test.TestArtifactInfo.ARTIFACT_FILENAME;
+import static com.exonum.binding.test.TestArtifactInfo.ARTIFACT_ID;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.exonum.binding.app.export.BlockchainExporter;
+import com.exonum.binding.app.export.ExportApiController;
+import com.exonum.binding.app.export.ExportFormat;
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.core.blockchain.Block;
+import com.exonum.binding.core.service.Node;
+import com.exonum.binding.core.storage.database.Snapshot;
+import com.exonum.binding.core.transaction.RawTransaction;
+import com.exonum.binding.testkit.TestKit;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ExportApiControllerIntegrationTest {
+
+  private static final String SERVICE_NAME = "service";
+  private static final int SERVICE_ID = 100;
+  private static final String FILE_NAME = "blocks.ndjson";
+  private static final long TIMEOUT_SECONDS = 10;
+
+  @TempDir
+  Path exportDir;
+
+  private TestKit testKit;
+  private Block block;
+  private Optional<Node> node;
+  private Vertx vertx;
+  private HttpServer httpServer;
+  private WebClient client;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    testKit = TestKit.builder()
+        .withArtifactsDirectory(ARTIFACT_DIR)
+        .withDeployedArtifact(ARTIFACT_ID, ARTIFACT_FILENAME)
+        .withService(ARTIFACT_ID, SERVICE_NAME, SERVICE_ID)
+        .build();
+    block = testKit.createBlock();
+    node = Optional.of(new TestKitNode());
+
+    vertx = Vertx.vertx();
+    Router router = Router.router(vertx);
+    new ExportApiController(exportDir, () -> node)
+        .mountApi(router);
+    CompletableFuture<HttpServer> started = new CompletableFuture<>();
+    vertx.createHttpServer()
+        .requestHandler(router)
+        .listen(0, ar -> {
+          if (ar.succeeded()) {
+            started.complete(ar.result());
+          } else {
+            started.completeExceptionally(ar.cause());
+          }
+        });
+    httpServer = started.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    client = WebClient.create(vertx);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    CompletableFuture<Void> closed = new CompletableFuture<>();
+    vertx.close(ar -> closed.complete(null));
+    closed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    testKit.close();
+  }
+
+  @Test
+  void export() throws Exception {
+    long height = block.getHeight();
+
+    HttpResponse<Buffer> response = export(ImmutableMap.of(
+        "file", FILE_NAME,
+        "from", "0",
+        "format", "ndjson"));
+
+    assertThat(response.statusCode()).isEqualTo(HTTP_OK);
+    Path file = exportDir.resolve(FILE_NAME);
+    JsonObject body = JsonParser.parseString(response.bodyAsString()).getAsJsonObject();
+    assertThat(body.get("file").getAsString()).isEqualTo(file.toString());
+    assertThat(body.get("fromHeight").getAsLong()).isZero();
+    // The blockchain height is exported by default
+    assertThat(body.get("toHeight").getAsLong()).isEqualTo(height);
+    assertThat(file).hasBinaryContent(exportToBytes(height));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"../x", "a/b", ""})
+  void exportRejectsInvalidFileNames(String fileName) throws Exception {
+    HttpResponse<Buffer> response = export(ImmutableMap.of("file", fileName));
+
+    assertThat(response.statusCode()).isEqualTo(HTTP_BAD_REQUEST);
+    assertThat(exportDir.toFile().list()).isEmpty();
+  }
+
+  @Test
+  void exportRejectsExistingFile() throws Exception {
+    Path file = Files.write(exportDir.resolve(FILE_NAME), new byte[] {1, 2});
+
+    HttpResponse<Buffer> response = export(ImmutableMap.of("file", FILE_NAME));
+
+    assertThat(response.statusCode()).isEqualTo(HTTP_CONFLICT);
+    // The existing file must not be modified
+    assertThat(file).hasBinaryContent(new byte[] {1, 2});
+  }
+
+  @Test
+  void exportIsUnavailableIfNodeIsNotInitialized() throws Exception {
+    node = Optional.empty();
+
+    HttpResponse<Buffer> response = export(ImmutableMap.of("file", FILE_NAME));
+
+    assertThat(response.statusCode()).isEqualTo(HTTP_UNAVAILABLE);
+    assertThat(exportDir.resolve(FILE_NAME)).doesNotExist();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "from, x",
+      "from, -1",
+      "to, x",
+      // Above the blockchain height
+      "to, 100",
+      "format, xml"
+  })
+  void exportRejectsInvalidParameters(String parameter, String value) throws Exception {
+    HttpResponse<Buffer> response = export(ImmutableMap.of(
+        "file", FILE_NAME,
+        parameter, value));
+
+    assertThat(response.statusCode()).isEqualTo(HTTP_BAD_REQUEST);
+    assertThat(exportDir.resolve(FILE_NAME)).doesNotExist();
+  }
+
+  private HttpResponse<Buffer> export(Map<String, String> parameters) throws Exception {
+    HttpRequest<Buffer> request = client.post(httpServer.actualPort(), "localhost", "/");
+    parameters.forEach(request::addQueryParam);
+    CompletableFuture<HttpResponse<Buffer>> response = new CompletableFuture<>();
+    request.send(ar -> {
+      if (ar.succeeded()) {
+        response.complete(ar.result());
+      } else {
+        response.completeExceptionally(ar.cause());
+      }
+    });
+    return response.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private byte[] exportToBytes(long toHeight) throws IOException {
+    BlockchainExporter exporter = new BlockchainExporter(ExportFormat.NDJSON, 2);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.export(testKit.getSnapshot(), 0, toHeight, out);
+    return out.toByteArray();
+  }
+
+  /**
+   * A node reading the database state of the test kit.
+   */
+  private final class TestKitNode implements Node {
+
+    @Override
+    public HashCode submitTransaction(RawTransaction rawTransaction) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <ResultT> ResultT withSnapshot(Function<Snapshot, ResultT> snapshotFunction) {
+      return testKit.applySnapshot(snapshotFunction);
+    }
+
+    @Override
+    public PublicKey getPublicKey() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -20,6 +20,7 @@ import static com.exonum.binding.common.serialization.json.JsonSerializer.json;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.COUNTER_ID_PARAM;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.GET_CONSENSUS_CONFIGURATION_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.GET_COUNTER_PATH;
+import static com.exonum.binding.qaservice.ApiController.QaPaths.SUBMIT_INCREMENT_COUNTER_TXS_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.SUBMIT_INCREMENT_COUNTER_TX_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.SUBMIT_UNKNOWN_TX_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.TIME_PATH;
@@ -48,6 +49,7 @@ import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -74,6 +76,7 @@ final class ApiController {
     ImmutableMap<String, Handler<RoutingContext>> handlers =
         ImmutableMap.<String, Handler<RoutingContext>>builder()
             .put(SUBMIT_INCREMENT_COUNTER_TX_PATH, this::submitIncrementCounter)
+            .put(SUBMIT_INCREMENT_COUNTER_TXS_PATH, this::submitIncrementCounters)
             .put(SUBMIT_UNKNOWN_TX_PATH, this::submitUnknownTx)
             .put(GET_COUNTER_PATH, this::getCounter)
             .put(GET_CONSENSUS_CONFIGURATION_PATH, this::getConsensusConfiguration)
@@ -95,6 +98,19 @@ final class ApiController {
     replyTxSubmitted(rc, txHash);
   }
 
+  private void submitIncrementCounters(RoutingContext rc) {
+    MultiMap parameters = rc.request().params();
+    long seed = getRequiredParameter(parameters, "seed", Long::parseLong);
+    int count = getRequiredParameter(parameters, "count", Integer::parseInt);
+    HashCode counterId = getRequiredParameter(parameters, COUNTER_ID_PARAM, HashCode::fromString);
+
+    List<HashCode> txHashes = service.submitIncrementCounters(seed, count, counterId);
+    rc.response()
+        .setStatusCode(HTTP_CREATED)
+        .putHeader(CONTENT_TYPE, "application/json")
+        .end(json().toJson(txHashes));
+  }
+
   private void submitUnknownTx(RoutingContext rc) {
     HashCode txHash = service.submitUnknownTx();
     replyTxSubmitted(rc, txHash);
@@ -215,6 +231,8 @@ final class ApiController {
     @VisibleForTesting
     static final String SUBMIT_INCREMENT_COUNTER_TX_PATH = "/submit-increment-counter";
     @VisibleForTesting
+    static final String SUBMIT_INCREMENT_COUNTER_TXS_PATH = "/submit-increment-counters";
+    @VisibleForTesting
     static final String SUBMIT_UNKNOWN_TX_PATH = "/submit-unknown";
     static final String COUNTER_ID_PARAM = "counterId";
     static final String GET_COUNTER_PATH = "/counter/:" + COUNTER_ID_PARAM;
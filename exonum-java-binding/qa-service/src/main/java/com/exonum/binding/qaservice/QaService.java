@@ -24,6 +24,7 @@ import com.exonum.binding.core.service.Service;
 import com.exonum.binding.core.transaction.RawTransaction;
 import com.exonum.core.messages.Blockchain.Config;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -32,6 +33,12 @@ import java.util.Optional;
  */
 public interface QaService extends Service, Configurable {
 
+  /**
+   * The maximum number of transactions submitted with
+   * {@link #submitIncrementCounters(long, int, HashCode)}.
+   */
+  int MAX_TRANSACTIONS_PER_SUBMISSION = 1000;
+
   /**
    * Creates a new self-signed 'increment counter' transaction and submits
    * it through the {@link com.exonum.binding.core.service.Node}.
@@ -39,6 +46,19 @@ public interface QaService extends Service, Configurable {
    */
   HashCode submitIncrementCounter(long requestSeed, HashCode counterId);
 
+  /**
+   * Creates the given number of self-signed 'increment counter' transactions, with
+   * the consecutive seeds starting from the given one, and submits them
+   * through the {@link com.exonum.binding.core.service.Node} at once.
+   * Enables testing of {@link Node#submitTransactions(List)}.
+   *
+   * @return the hashes of the transactions, in the order of their seeds
+   * @throws IllegalArgumentException if the number of transactions is not positive or exceeds
+   *     {@link #MAX_TRANSACTIONS_PER_SUBMISSION}
+   */
+  List<HashCode> submitIncrementCounters(long firstRequestSeed, int numTransactions,
+      HashCode counterId);
+
   /**
    * Creates a new self-signed 'unknown' transaction and submits
    * it through the {@link com.exonum.binding.core.service.Node}.
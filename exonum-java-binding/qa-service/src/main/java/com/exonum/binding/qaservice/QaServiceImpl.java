@@ -48,6 +48,7 @@ import com.google.inject.Inject;
 import io.vertx.ext.web.Router;
 import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -149,6 +150,22 @@ public final class QaServiceImpl extends AbstractService implements QaService {
     return submitTransaction(tx);
   }
 
+  @Override
+  @SuppressWarnings("ConstantConditions") // Node is not null.
+  public List<HashCode> submitIncrementCounters(long firstRequestSeed, int numTransactions,
+      HashCode counterId) {
+    checkArgument(0 < numTransactions && numTransactions <= MAX_TRANSACTIONS_PER_SUBMISSION,
+        "numTransactions (%s) must be in range [1; %s]", numTransactions,
+        MAX_TRANSACTIONS_PER_SUBMISSION);
+    checkBlockchainInitialized();
+    List<RawTransaction> transactions = new ArrayList<>(numTransactions);
+    for (int i = 0; i < numTransactions; i++) {
+      transactions.add(
+          IncrementCounterTx.newRawTransaction(firstRequestSeed + i, counterId, getId()));
+    }
+    return node.submitTransactions(transactions);
+  }
+
   @Override
   public HashCode submitUnknownTx() {
     return submitTransaction(UnknownTx.newRawTransaction(getId()));
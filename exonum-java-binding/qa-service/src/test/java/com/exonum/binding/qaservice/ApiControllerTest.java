@@ -18,6 +18,7 @@ package com.exonum.binding.qaservice;
 
 import static com.exonum.binding.common.hash.Hashing.sha256;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.GET_CONSENSUS_CONFIGURATION_PATH;
+import static com.exonum.binding.qaservice.ApiController.QaPaths.SUBMIT_INCREMENT_COUNTER_TXS_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.SUBMIT_INCREMENT_COUNTER_TX_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.SUBMIT_UNKNOWN_TX_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.TIME_PATH;
@@ -39,6 +40,7 @@ import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.serialization.json.JsonSerializer;
 import com.exonum.binding.core.blockchain.serialization.CoreTypeAdapterFactory;
 import com.exonum.core.messages.Blockchain.Config;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -58,6 +60,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.IntStream;
@@ -158,6 +161,31 @@ class ApiControllerTest {
         }));
   }
 
+  @Test
+  void submitIncrementCounters(VertxTestContext context) {
+    long seed = 1L;
+    int count = 2;
+    HashCode counterId = HASH_1;
+    MultiMap params = multiMap("seed", Long.toString(seed),
+        "count", Integer.toString(count),
+        "counterId", String.valueOf(counterId));
+    List<HashCode> txHashes = ImmutableList.of(EXPECTED_TX_HASH, sha256().hashInt(2));
+
+    when(qaService.submitIncrementCounters(eq(seed), eq(count), eq(counterId)))
+        .thenReturn(txHashes);
+
+    post(SUBMIT_INCREMENT_COUNTER_TXS_PATH)
+        .sendForm(params, context.succeeding(response -> context.verify(() -> {
+          assertThat(response.statusCode()).isEqualTo(HTTP_CREATED);
+
+          List<HashCode> actualHashes = JSON_SERIALIZER.fromJson(response.bodyAsString(),
+              new TypeToken<List<HashCode>>() {}.getType());
+          assertThat(actualHashes).isEqualTo(txHashes);
+
+          context.completeNow();
+        })));
+  }
+
   @Test
   void submitUnknown(VertxTestContext context) {
     when(qaService.submitUnknownTx())
@@ -19,6 +19,7 @@ package com.exonum.binding.qaservice;
 import static com.exonum.binding.common.hash.Hashing.sha256;
 import static com.exonum.binding.common.serialization.json.JsonSerializer.json;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.GET_CONSENSUS_CONFIGURATION_PATH;
+import static com.exonum.binding.qaservice.ApiController.QaPaths.SUBMIT_INCREMENT_COUNTER_TXS_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.SUBMIT_INCREMENT_COUNTER_TX_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.SUBMIT_UNKNOWN_TX_PATH;
 import static com.exonum.binding.qaservice.ApiController.QaPaths.TIME_PATH;
@@ -35,6 +36,8 @@ import static java.net.HttpURLConnection.HTTP_CREATED;
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -66,6 +69,7 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -204,6 +208,40 @@ class QaServiceImplTest {
           })));
     }
 
+    @Test
+    void submitIncrementCounters(TestKit testKit, VertxTestContext context) {
+      // Send 'submitIncrementCounters' request
+      String counterName = "test counter";
+      HashCode counterId = sha256().hashString(counterName, UTF_8);
+      long seed = 17L;
+      int count = 3;
+      MultiMap params = multiMap("counterId", counterId.toString(),
+          "seed", Long.toString(seed),
+          "count", Integer.toString(count));
+
+      post(SUBMIT_INCREMENT_COUNTER_TXS_PATH)
+          .sendForm(params, context.succeeding(response -> context.verify(() -> {
+            // Check response
+            assertThat(response.statusCode()).isEqualTo(HTTP_CREATED);
+
+            // Verify the service submitted the transactions and returned their hashes in order
+            List<TransactionMessage> transactionPool = testKit.getTransactionPool();
+            KeyPair expectedAuthor = testKit.getEmulatedNode().getServiceKeyPair();
+            List<TransactionMessage> expectedMessages = LongStream.range(seed, seed + count)
+                .mapToObj(s -> createIncrementCounterTx(s, counterId, QA_SERVICE_ID,
+                    expectedAuthor))
+                .collect(toList());
+            assertThat(transactionPool).containsAll(expectedMessages);
+
+            String expectedHashes = expectedMessages.stream()
+                .map(m -> "\"" + m.hash() + "\"")
+                .collect(joining(",", "[", "]"));
+            assertThat(response.bodyAsString()).isEqualTo(expectedHashes);
+
+            context.completeNow();
+          })));
+    }
+
     @Test
     void submitUnknownTx(TestKit testKit, VertxTestContext context) {
       // Submit the unknown tx
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.request.BlockFilteringOption;
+import com.exonum.client.request.BlockTimeOption;
+import com.exonum.client.response.Block;
+import com.exonum.client.response.BlockResponse;
+import com.exonum.client.response.BlocksRange;
+import com.exonum.client.response.HealthCheckInfo;
+import com.exonum.client.response.ServiceInstanceInfo;
+import com.exonum.client.response.TransactionResponse;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous interface for Exonum Light client. Provides the same operations
+ * as {@link ExonumClient}, but none of its methods blocks: each one sends the underlying
+ * request(s) and returns a future of the result. Therefore, many concurrent requests
+ * to the node may be served by a few threads.
+ *
+ * <p>The returned futures complete on the threads of the
+ * {@linkplain okhttp3.Dispatcher dispatcher} of the HTTP client; the dependent actions
+ * which might block must use an executor of their own. The dispatcher also limits the number
+ * of concurrent requests to a single host (5, by default); configure it in
+ * the {@linkplain ExonumClient.Builder#setHttpClient(okhttp3.OkHttpClient) HTTP client}
+ * if more concurrent requests are needed.
+ *
+ * <p>The futures complete exceptionally with:
+ * <ul>
+ *   <li>{@link java.io.IOException} if the client is unable to complete a request
+ *       (e.g., in case of connectivity problems)
+ *   <li>{@link IllegalArgumentException} if the node rejected the arguments
+ *       (e.g., the blocks with heights exceeding the blockchain height are requested)
+ *   <li>{@link RuntimeException} if the node responded with an error
+ * </ul>
+ * Invalid arguments that can be checked locally are reported by throwing
+ * an {@link IllegalArgumentException} immediately.
+ *
+ * <p>Cancellation of a future of a single-request operation cancels the request.
+ *
+ * <p><em>Implementations of this interface are required to be thread-safe</em>.
+ *
+ * @see ExonumClient.Builder#buildAsync()
+ */
+public interface AsyncExonumClient {
+
+  /**
+   * Submits the transaction message to an Exonum node.
+   *
+   * @return a future of the transaction message hash
+   * @see ExonumClient#submitTransaction(TransactionMessage)
+   */
+  CompletableFuture<HashCode> submitTransaction(TransactionMessage tx);
+
+  /**
+   * Returns a number of unconfirmed transactions which are currently located in
+   * the unconfirmed transactions pool and are waiting for acceptance to a block.
+   *
+   * @see ExonumClient#getUnconfirmedTransactionsCount()
+   */
+  CompletableFuture<Integer> getUnconfirmedTransactionsCount();
+
+  /**
+   * Returns the node health check information.
+   *
+   * @see ExonumClient#healthCheck()
+   */
+  CompletableFuture<HealthCheckInfo> healthCheck();
+
+  /**
+   * Returns string containing information about Exonum, Rust and OS version.
+   *
+   * @see ExonumClient#getUserAgentInfo()
+   */
+  CompletableFuture<String> getUserAgentInfo();
+
+  /**
+   * Returns the information about the transaction; or {@code Optional.empty()}
+   * if the requested transaction is not found.
+   *
+   * @param id transaction message hash
+   * @see ExonumClient#getTransaction(HashCode)
+   */
+  CompletableFuture<Optional<TransactionResponse>> getTransaction(HashCode id);
+
+  /**
+   * Returns the <em>blockchain height</em> which is the height of the latest committed block
+   * in the blockchain.
+   *
+   * @see ExonumClient#getBlockchainHeight()
+   */
+  CompletableFuture<Long> getBlockchainHeight();
+
+  /**
+   * Returns the information about the block with transaction hashes included at this block.
+   *
+   * @param height blockchain height starting from 0 (genesis block)
+   * @throws IllegalArgumentException if the given height is negative
+   * @see ExonumClient#getBlockByHeight(long)
+   */
+  CompletableFuture<BlockResponse> getBlockByHeight(long height);
+
+  /**
+   * Returns blockchain blocks in the requested <em>closed</em> range. The blocks are returned
+   * in ascending order by their height. If the range exceeds the maximum number of blocks
+   * per request, the pages are requested one after another.
+   *
+   * @param fromHeight the height of the first block to include. Must be non-negative
+   * @param toHeight the height of the last block to include. Must be greater than
+   *        or equal to {@code fromHeight} and less than or equal to the blockchain height.
+   * @param blockFilter controls whether to skip blocks with no transactions
+   * @param timeOption controls whether to include
+   *        the {@linkplain Block#getCommitTime() block commit time}
+   * @throws IllegalArgumentException if {@code fromHeight} is negative;
+   *        or {@code fromHeight} > {@code toHeight}
+   * @see ExonumClient#getBlocks(long, long, BlockFilteringOption, BlockTimeOption)
+   */
+  CompletableFuture<List<Block>> getBlocks(long fromHeight, long toHeight,
+      BlockFilteringOption blockFilter, BlockTimeOption timeOption);
+
+  /**
+   * Returns the range of the most recent blockchain blocks in ascending order by their height.
+   *
+   * @param size the size of the range
+   * @param blockFilter controls whether to skip blocks with no transactions
+   * @param timeOption controls whether to include
+   *        the {@linkplain Block#getCommitTime() block commit time}
+   * @throws IllegalArgumentException if size is non-positive
+   * @see ExonumClient#getLastBlocks(int, BlockFilteringOption, BlockTimeOption)
+   */
+  CompletableFuture<BlocksRange> getLastBlocks(int size, BlockFilteringOption blockFilter,
+      BlockTimeOption timeOption);
+
+  /**
+   * Returns up to the given number of the most recent non-empty blocks in ascending order
+   * by their height.
+   *
+   * @param numBlocks the maximum number of blocks to return. Must be positive
+   * @param timeOption controls whether to include
+   *        the {@linkplain Block#getCommitTime() block commit time}
+   * @throws IllegalArgumentException if numBlocks is non-positive
+   * @see ExonumClient#findNonEmptyBlocks(int, BlockTimeOption)
+   */
+  CompletableFuture<List<Block>> findNonEmptyBlocks(int numBlocks, BlockTimeOption timeOption);
+
+  /**
+   * Returns the last block in the blockchain.
+   *
+   * @see ExonumClient#getLastBlock()
+   */
+  CompletableFuture<Block> getLastBlock();
+
+  /**
+   * Returns the last block in the blockchain which contains transactions;
+   * or {@code Optional.empty()} if there are no blocks with transactions in the blockchain.
+   *
+   * @see ExonumClient#getLastNonEmptyBlock()
+   */
+  CompletableFuture<Optional<Block>> getLastNonEmptyBlock();
+
+  /**
+   * Returns the service info of a started service instance with a given name; or
+   * {@code Optional.empty()} if there is no service instance with such name.
+   *
+   * @param serviceName the name of a service instance
+   * @see ExonumClient#findServiceInfo(String)
+   */
+  CompletableFuture<Optional<ServiceInstanceInfo>> findServiceInfo(String serviceName);
+
+  /**
+   * Returns information on all started service instances.
+   *
+   * @see ExonumClient#getServiceInfoList()
+   */
+  CompletableFuture<List<ServiceInstanceInfo>> getServiceInfoList();
+}
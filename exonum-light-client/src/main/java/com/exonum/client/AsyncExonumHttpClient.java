@@ -0,0 +1,334 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.exonum.client.ExonumApi.MAX_BLOCKS_PER_REQUEST;
+import static com.exonum.client.ExonumHttpClient.blocksQuery;
+import static com.exonum.client.ExonumHttpClient.checkBlocksRange;
+import static com.exonum.client.ExonumHttpClient.get;
+import static com.exonum.client.ExonumHttpClient.post;
+import static com.exonum.client.ExonumHttpClient.postProcessResponseBlocks;
+import static com.exonum.client.ExonumUrls.BLOCK;
+import static com.exonum.client.ExonumUrls.BLOCKS;
+import static com.exonum.client.ExonumUrls.HEALTH_CHECK;
+import static com.exonum.client.ExonumUrls.SERVICES;
+import static com.exonum.client.ExonumUrls.STATS;
+import static com.exonum.client.ExonumUrls.TRANSACTIONS;
+import static com.exonum.client.ExonumUrls.USER_AGENT;
+import static com.exonum.client.HttpUrlHelper.getFullUrl;
+import static com.exonum.client.request.BlockFilteringOption.INCLUDE_EMPTY;
+import static com.exonum.client.request.BlockFilteringOption.SKIP_EMPTY;
+import static com.exonum.client.request.BlockTimeOption.INCLUDE_COMMIT_TIME;
+import static com.exonum.client.request.BlockTimeOption.NO_COMMIT_TIME;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.request.BlockFilteringOption;
+import com.exonum.client.request.BlockTimeOption;
+import com.exonum.client.response.Block;
+import com.exonum.client.response.BlockResponse;
+import com.exonum.client.response.BlocksRange;
+import com.exonum.client.response.BlocksResponse;
+import com.exonum.client.response.HealthCheckInfo;
+import com.exonum.client.response.ServiceInstanceInfo;
+import com.exonum.client.response.SystemStatistics;
+import com.exonum.client.response.TransactionResponse;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Implementation of the {@linkplain AsyncExonumClient} which works over HTTP REST API.
+ * It uses {@linkplain OkHttpClient#newCall(Request) asynchronous calls} of OkHttp,
+ * hence does not block any threads while waiting for responses.
+ */
+class AsyncExonumHttpClient implements AsyncExonumClient {
+  private static final int GENESIS_BLOCK_HEIGHT = 0;
+
+  private final OkHttpClient httpClient;
+  private final URL exonumHost;
+  private final String prefix;
+
+  AsyncExonumHttpClient(OkHttpClient httpClient, URL exonumHost, String prefix) {
+    this.httpClient = httpClient;
+    this.exonumHost = exonumHost;
+    this.prefix = prefix;
+  }
+
+  @Override
+  public CompletableFuture<HashCode> submitTransaction(TransactionMessage transactionMessage) {
+    Request request = post(url(TRANSACTIONS),
+        ExplorerApiHelper.createSubmitTxBody(transactionMessage));
+
+    return executeAndParse(request, ExplorerApiHelper::parseSubmitTxResponse);
+  }
+
+  @Override
+  public CompletableFuture<Integer> getUnconfirmedTransactionsCount() {
+    Request request = get(url(STATS));
+    return executeAndParse(request, SystemApiHelper::parseStatsJson)
+        .thenApply(SystemStatistics::getNumUnconfirmedTransactions);
+  }
+
+  @Override
+  public CompletableFuture<HealthCheckInfo> healthCheck() {
+    Request request = get(url(HEALTH_CHECK));
+
+    return executeAndParse(request, SystemApiHelper::parseHealthCheckJson);
+  }
+
+  @Override
+  public CompletableFuture<String> getUserAgentInfo() {
+    Request request = get(url(USER_AGENT));
+
+    return execute(request, ExonumHttpClient::handlePlainTextResponse);
+  }
+
+  @Override
+  public CompletableFuture<Optional<TransactionResponse>> getTransaction(HashCode id) {
+    HashCode hash = checkNotNull(id);
+    Map<String, String> query = ImmutableMap.of("hash", hash.toString());
+    Request request = get(url(TRANSACTIONS, query));
+
+    return execute(request, ExonumHttpClient::handleGetTxResponse);
+  }
+
+  @Override
+  public CompletableFuture<Long> getBlockchainHeight() {
+    return doGetBlocks(0, INCLUDE_EMPTY, null, NO_COMMIT_TIME)
+        .thenApply(response -> response.getBlocksRangeEnd() - 1); // '$.range.end' is exclusive
+  }
+
+  @Override
+  public CompletableFuture<BlockResponse> getBlockByHeight(long height) {
+    checkArgument(0 <= height, "Height can't be negative, but was %s", height);
+    Map<String, String> query = ImmutableMap.of("height", String.valueOf(height));
+    Request request = get(url(BLOCK, query));
+
+    return execute(request, ExonumHttpClient::handleGetBlockResponse);
+  }
+
+  @Override
+  public CompletableFuture<List<Block>> getBlocks(long fromHeight, long toHeight,
+      BlockFilteringOption blockFilter, BlockTimeOption timeOption) {
+    checkBlocksRange(fromHeight, toHeight);
+
+    // 'maximum' as when skipping empty the actual might be way smaller
+    int maxSize = Math.toIntExact(toHeight - fromHeight + 1);
+    List<Block> blocks = new ArrayList<>(maxSize);
+    return collectBlocks(fromHeight, toHeight, blockFilter, timeOption, blocks)
+        .thenApply(r -> postProcessResponseBlocks(fromHeight, toHeight, blocks).getBlocks());
+  }
+
+  /**
+   * Requests the blocks in range {@code [fromHeight, rangeLast]} page by page,
+   * starting from the top one, and adds them to the given list.
+   */
+  private CompletableFuture<Void> collectBlocks(long fromHeight, long rangeLast,
+      BlockFilteringOption blockFilter, BlockTimeOption timeOption, List<Block> blocks) {
+    if (rangeLast < fromHeight) {
+      return completedFuture(null);
+    }
+    int remainingBlocks = Math.toIntExact(rangeLast - fromHeight + 1);
+    int numBlocks = min(remainingBlocks, MAX_BLOCKS_PER_REQUEST);
+    return doGetBlocks(numBlocks, blockFilter, rangeLast, timeOption)
+        .thenCompose(blocksResponse -> {
+          blocks.addAll(blocksResponse.getBlocks());
+
+          long nextRangeLast = blocksResponse.getBlocksRangeStart() - 1;
+          return collectBlocks(fromHeight, nextRangeLast, blockFilter, timeOption, blocks);
+        });
+  }
+
+  @Override
+  public CompletableFuture<BlocksRange> getLastBlocks(int size, BlockFilteringOption blockFilter,
+      BlockTimeOption timeOption) {
+    checkArgument(0 < size,
+        "Requested blocks range size should be positive but was %s", size);
+
+    List<Block> blocks = new ArrayList<>(size);
+    // The first request does not specify the maximum height to get the top blocks
+    return collectLastBlocks(size, blockFilter, timeOption, null, Long.MIN_VALUE, blocks)
+        .thenApply(blockchainHeight -> {
+          long fromHeight = max(blockchainHeight - size + 1, GENESIS_BLOCK_HEIGHT);
+          return postProcessResponseBlocks(fromHeight, blockchainHeight, blocks);
+        });
+  }
+
+  /**
+   * Requests the pages of the most recent blocks, until the range of the given size
+   * is covered, and adds them to the given list.
+   *
+   * @return a future of the blockchain height
+   */
+  private CompletableFuture<Long> collectLastBlocks(int size, BlockFilteringOption blockFilter,
+      BlockTimeOption timeOption, Long nextHeight, long blockchainHeight,
+      List<Block> blocks) {
+    int remainingBlocks = (nextHeight == null)
+        ? size
+        : Math.toIntExact(size - (blockchainHeight - nextHeight));
+    if (remainingBlocks <= 0 || (nextHeight != null && nextHeight < GENESIS_BLOCK_HEIGHT)) {
+      return completedFuture(blockchainHeight);
+    }
+    int numBlocks = min(remainingBlocks, MAX_BLOCKS_PER_REQUEST);
+    return doGetBlocks(numBlocks, blockFilter, nextHeight, timeOption)
+        .thenCompose(blocksResponse -> {
+          blocks.addAll(blocksResponse.getBlocks());
+
+          long nextRangeLast = blocksResponse.getBlocksRangeStart() - 1;
+          long height = max(blockchainHeight, blocksResponse.getBlocksRangeEnd() - 1);
+          return collectLastBlocks(size, blockFilter, timeOption, nextRangeLast, height, blocks);
+        });
+  }
+
+  @Override
+  public CompletableFuture<List<Block>> findNonEmptyBlocks(int numBlocks,
+      BlockTimeOption timeOption) {
+    checkArgument(0 < numBlocks,
+        "Requested number of blocks should be positive but was %s", numBlocks);
+
+    List<Block> blocks = new ArrayList<>(numBlocks);
+    return collectNonEmptyBlocks(numBlocks, timeOption, null, blocks)
+        .thenApply(r -> ImmutableList.copyOf(Lists.reverse(blocks)));
+  }
+
+  /**
+   * Requests the pages of the most recent non-empty blocks, until the given number of blocks
+   * is found or the genesis block is reached, and adds them to the given list.
+   */
+  private CompletableFuture<Void> collectNonEmptyBlocks(int remainingBlocks,
+      BlockTimeOption timeOption, Long nextHeight, List<Block> blocks) {
+    if (remainingBlocks <= 0 || (nextHeight != null && nextHeight < GENESIS_BLOCK_HEIGHT)) {
+      return completedFuture(null);
+    }
+    int numRequested = min(remainingBlocks, MAX_BLOCKS_PER_REQUEST);
+    return doGetBlocks(numRequested, SKIP_EMPTY, nextHeight, timeOption)
+        .thenCompose(blocksResponse -> {
+          blocks.addAll(blocksResponse.getBlocks());
+
+          long nextRangeLast = blocksResponse.getBlocksRangeStart() - 1;
+          int remaining = remainingBlocks - blocksResponse.getBlocks().size();
+          return collectNonEmptyBlocks(remaining, timeOption, nextRangeLast, blocks);
+        });
+  }
+
+  @Override
+  public CompletableFuture<Block> getLastBlock() {
+    return doGetBlocks(1, INCLUDE_EMPTY, null, INCLUDE_COMMIT_TIME)
+        .thenApply(response -> response.getBlocks()
+            .stream()
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Should never happen, response: " + response)));
+  }
+
+  @Override
+  public CompletableFuture<Optional<Block>> getLastNonEmptyBlock() {
+    return doGetBlocks(1, SKIP_EMPTY, null, INCLUDE_COMMIT_TIME)
+        .thenApply(response -> response.getBlocks()
+            .stream()
+            .findFirst());
+  }
+
+  @Override
+  public CompletableFuture<Optional<ServiceInstanceInfo>> findServiceInfo(String serviceName) {
+    return getServiceInfoList()
+        .thenApply(services -> services.stream()
+            .filter(s -> s.getName().equals(serviceName))
+            .findFirst());
+  }
+
+  @Override
+  public CompletableFuture<List<ServiceInstanceInfo>> getServiceInfoList() {
+    Request request = get(url(SERVICES));
+
+    return executeAndParse(request, ExplorerApiHelper::parseServicesResponse);
+  }
+
+  private CompletableFuture<BlocksResponse> doGetBlocks(int count,
+      BlockFilteringOption blockFilter, Long heightMax, BlockTimeOption timeOption) {
+    Map<String, String> query = blocksQuery(count, blockFilter, heightMax, timeOption);
+    Request request = get(url(BLOCKS, query));
+
+    return execute(request, ExonumHttpClient::handleGetBlocksResponse);
+  }
+
+  private HttpUrl url(String path, Map<String, String> query) {
+    return getFullUrl(exonumHost, prefix, path, query);
+  }
+
+  private HttpUrl url(String path) {
+    return url(path, emptyMap());
+  }
+
+  /**
+   * Enqueues the request and returns a future of its response processed with the given
+   * handler. The handler is invoked on a dispatcher thread of the HTTP client.
+   * If the returned future is cancelled, the request is cancelled.
+   */
+  private <T> CompletableFuture<T> execute(Request request,
+      Function<Response, T> responseHandler) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Call call = httpClient.newCall(request);
+    call.enqueue(new Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        result.completeExceptionally(e);
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        try (Response r = response) {
+          result.complete(responseHandler.apply(r));
+        } catch (Throwable t) {
+          result.completeExceptionally(t);
+        }
+      }
+    });
+    result.whenComplete((r, t) -> {
+      if (result.isCancelled()) {
+        call.cancel();
+      }
+    });
+    return result;
+  }
+
+  private <T> CompletableFuture<T> executeAndParse(Request request, Function<String, T> parser) {
+    return execute(request, ExonumHttpClient::handlePlainTextResponse)
+        .thenApply(parser);
+  }
+}
@@ -41,7 +41,7 @@ import okhttp3.OkHttpClient;
  * All the methods of the interface work in a blocking way,
  * i.e., invoke underlying request immediately, and block until the response can be processed
  * or an error occurs. In case the thread is interrupted, the blocked methods will complete
- * exceptionally.
+ * exceptionally. See {@link AsyncExonumClient} for a non-blocking client.
  *
  * <p><em>Implementations of this interface are required to be thread-safe</em>.
  **/
@@ -269,6 +269,16 @@ public interface ExonumClient {
       return new ExonumHttpClient(httpClient, exonumHost, prefix);
     }
 
+    /**
+     * Creates asynchronous Exonum client instance.
+     * @throws IllegalStateException if required fields weren't set
+     * @see AsyncExonumClient
+     */
+    public AsyncExonumClient buildAsync() {
+      checkRequiredFieldsSet();
+      return new AsyncExonumHttpClient(httpClient, exonumHost, prefix);
+    }
+
     private void checkRequiredFieldsSet() {
       String undefinedFields = "";
       undefinedFields = exonumHost == null ? undefinedFields + " exonumHost" : undefinedFields;
@@ -126,18 +126,20 @@ class ExonumHttpClient implements ExonumClient {
     Map<String, String> query = ImmutableMap.of("hash", hash.toString());
     Request request = get(url(TRANSACTIONS, query));
 
-    return blockingExecute(request, response -> {
-      if (response.code() == HTTP_NOT_FOUND) {
-        return Optional.empty();
-      } else if (!response.isSuccessful()) {
-        throw new RuntimeException("Execution wasn't successful: " + response.toString());
-      } else {
-        TransactionResponse txResponse = ExplorerApiHelper
-            .parseGetTxResponse(readBody(response));
+    return blockingExecute(request, ExonumHttpClient::handleGetTxResponse);
+  }
+
+  static Optional<TransactionResponse> handleGetTxResponse(Response response) {
+    if (response.code() == HTTP_NOT_FOUND) {
+      return Optional.empty();
+    } else if (!response.isSuccessful()) {
+      throw new RuntimeException("Execution wasn't successful: " + response.toString());
+    } else {
+      TransactionResponse txResponse = ExplorerApiHelper
+          .parseGetTxResponse(readBody(response));
 
-        return Optional.of(txResponse);
-      }
-    });
+      return Optional.of(txResponse);
+    }
   }
 
   @Override
@@ -153,25 +155,24 @@ class ExonumHttpClient implements ExonumClient {
     Map<String, String> query = ImmutableMap.of("height", String.valueOf(height));
     Request request = get(url(BLOCK, query));
 
-    return blockingExecute(request, response -> {
-      if (response.code() == HTTP_NOT_FOUND) {
-        String message = readBody(response);
-        throw new IllegalArgumentException(message);
-      } else if (!response.isSuccessful()) {
-        throw new RuntimeException("Execution wasn't successful: " + response.toString());
-      } else {
-        return ExplorerApiHelper.parseGetBlockResponse(readBody(response));
-      }
-    });
+    return blockingExecute(request, ExonumHttpClient::handleGetBlockResponse);
+  }
+
+  static BlockResponse handleGetBlockResponse(Response response) {
+    if (response.code() == HTTP_NOT_FOUND) {
+      String message = readBody(response);
+      throw new IllegalArgumentException(message);
+    } else if (!response.isSuccessful()) {
+      throw new RuntimeException("Execution wasn't successful: " + response.toString());
+    } else {
+      return ExplorerApiHelper.parseGetBlockResponse(readBody(response));
+    }
   }
 
   @Override
   public List<Block> getBlocks(long fromHeight, long toHeight, BlockFilteringOption blockFilter,
       BlockTimeOption timeOption) {
-    checkArgument(0 <= fromHeight, "First block height (%s) must be non-negative", fromHeight);
-    checkArgument(fromHeight <= toHeight,
-        "First block height (%s) should be less than or equal to the last block height (%s)",
-        fromHeight, toHeight);
+    checkBlocksRange(fromHeight, toHeight);
 
     // 'maximum' as when skipping empty the actual might be way smaller
     int maxSize = Math.toIntExact(toHeight - fromHeight + 1);
@@ -190,6 +191,13 @@ class ExonumHttpClient implements ExonumClient {
         .getBlocks();
   }
 
+  static void checkBlocksRange(long fromHeight, long toHeight) {
+    checkArgument(0 <= fromHeight, "First block height (%s) must be non-negative", fromHeight);
+    checkArgument(fromHeight <= toHeight,
+        "First block height (%s) should be less than or equal to the last block height (%s)",
+        fromHeight, toHeight);
+  }
+
   @Override
   public BlocksRange getLastBlocks(int size, BlockFilteringOption blockFilter,
       BlockTimeOption timeOption) {
@@ -224,7 +232,7 @@ class ExonumHttpClient implements ExonumClient {
    * 1. Turns them in ascending order by height.
    * 2. Keeps only blocks that fall in range [fromHeight; toHeight].
    */
-  private static BlocksRange postProcessResponseBlocks(long fromHeight, long toHeight,
+  static BlocksRange postProcessResponseBlocks(long fromHeight, long toHeight,
       List<Block> blocks) {
     // Turn the blocks in ascending order
     blocks = Lists.reverse(blocks);
@@ -297,6 +305,18 @@ class ExonumHttpClient implements ExonumClient {
 
   private BlocksResponse doGetBlocks(int count, BlockFilteringOption blockFilter, Long heightMax,
       BlockTimeOption timeOption) {
+    Map<String, String> query = blocksQuery(count, blockFilter, heightMax, timeOption);
+    Request request = get(url(BLOCKS, query));
+
+    return blockingExecute(request, ExonumHttpClient::handleGetBlocksResponse);
+  }
+
+  /**
+   * Returns the query parameters of the request of the given number of blocks,
+   * up to the given height; or the top blocks, if the height is null.
+   */
+  static Map<String, String> blocksQuery(int count, BlockFilteringOption blockFilter,
+      Long heightMax, BlockTimeOption timeOption) {
     checkArgument(count <= MAX_BLOCKS_PER_REQUEST,
         "Requested number of blocks was %s but maximum allowed is %s",
         count, MAX_BLOCKS_PER_REQUEST);
@@ -312,28 +332,28 @@ class ExonumHttpClient implements ExonumClient {
     if (heightMax != null) {
       query.put("latest", String.valueOf(heightMax));
     }
-    Request request = get(url(BLOCKS, query));
+    return query;
+  }
 
-    return blockingExecute(request, response -> {
-      if (response.code() == HTTP_NOT_FOUND) {
-        String message = readBody(response);
-        throw new IllegalArgumentException(message);
-      } else if (!response.isSuccessful()) {
-        throw new RuntimeException("Execution wasn't successful: " + response);
-      } else {
-        return ExplorerApiHelper.parseGetBlocksResponse(readBody(response));
-      }
-    });
+  static BlocksResponse handleGetBlocksResponse(Response response) {
+    if (response.code() == HTTP_NOT_FOUND) {
+      String message = readBody(response);
+      throw new IllegalArgumentException(message);
+    } else if (!response.isSuccessful()) {
+      throw new RuntimeException("Execution wasn't successful: " + response);
+    } else {
+      return ExplorerApiHelper.parseGetBlocksResponse(readBody(response));
+    }
   }
 
-  private static Request get(HttpUrl url) {
+  static Request get(HttpUrl url) {
     return new Request.Builder()
         .url(url)
         .get()
         .build();
   }
 
-  private static Request post(HttpUrl url, String jsonBody) {
+  static Request post(HttpUrl url, String jsonBody) {
     return new Request.Builder()
         .url(url)
         .post(RequestBody.create(jsonBody, MEDIA_TYPE_JSON))
@@ -357,12 +377,14 @@ class ExonumHttpClient implements ExonumClient {
   }
 
   private String blockingExecutePlainText(Request request) {
-    return blockingExecute(request, response -> {
-      if (!response.isSuccessful()) {
-        throw new RuntimeException("Execution wasn't successful: " + response.toString());
-      }
-      return readBody(response);
-    });
+    return blockingExecute(request, ExonumHttpClient::handlePlainTextResponse);
+  }
+
+  static String handlePlainTextResponse(Response response) {
+    if (!response.isSuccessful()) {
+      throw new RuntimeException("Execution wasn't successful: " + response.toString());
+    }
+    return readBody(response);
   }
 
   private <T> T blockingExecuteAndParse(Request request, Function<String, T> parser) {
@@ -370,7 +392,7 @@ class ExonumHttpClient implements ExonumClient {
     return parser.apply(response);
   }
 
-  private static String readBody(Response response) {
+  static String readBody(Response response) {
     try {
       return response.body().string();
     } catch (IOException e) {
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.exonum.client.Blocks.aBlock;
+import static com.exonum.client.ExonumApi.JSON;
+import static com.exonum.client.ExonumApi.MAX_BLOCKS_PER_REQUEST;
+import static com.exonum.client.RecordedRequestMatchers.hasPath;
+import static com.exonum.client.RecordedRequestMatchers.hasQueryParam;
+import static com.exonum.client.TestUtils.createTransactionMessage;
+import static com.exonum.client.request.BlockFilteringOption.SKIP_EMPTY;
+import static com.exonum.client.request.BlockTimeOption.NO_COMMIT_TIME;
+import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.response.Block;
+import com.exonum.client.response.TransactionResponse;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncExonumHttpClientIntegrationTest {
+
+  private MockWebServer server;
+  private AsyncExonumClient exonumClient;
+
+  @BeforeEach
+  void start() throws IOException {
+    server = new MockWebServer();
+    server.start();
+
+    exonumClient = ExonumClient.newBuilder()
+        .setExonumHost(server.url("/").url())
+        .buildAsync();
+  }
+
+  @AfterEach
+  void shutdown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void submitTransaction() throws Exception {
+    TransactionMessage txMessage = createTransactionMessage();
+    String hash = "f128c720e04b8243";
+    server.enqueue(new MockResponse().setBody("{\"tx_hash\":\"" + hash + "\"}"));
+
+    CompletableFuture<HashCode> hashCode = exonumClient.submitTransaction(txMessage);
+
+    assertThat(hashCode.get(10, SECONDS), is(HashCode.fromString(hash)));
+    RecordedRequest recordedRequest = server.takeRequest();
+    assertThat(recordedRequest.getMethod(), is("POST"));
+    assertThat(recordedRequest, hasPath("api/explorer/v1/transactions"));
+  }
+
+  @Test
+  void getTransactionNotFound() throws Exception {
+    server.enqueue(new MockResponse().setResponseCode(HTTP_NOT_FOUND));
+
+    HashCode id = HashCode.fromInt(0x00);
+    Optional<TransactionResponse> response = exonumClient.getTransaction(id)
+        .get(10, SECONDS);
+
+    assertFalse(response.isPresent());
+    RecordedRequest recordedRequest = server.takeRequest();
+    assertThat(recordedRequest, hasQueryParam("hash", id));
+  }
+
+  @Test
+  void getBlockByHeightExceedingBlockchainHeight() {
+    String message = "Requested block height (100) exceeds the blockchain height (2)";
+    server.enqueue(new MockResponse()
+        .setResponseCode(HTTP_NOT_FOUND)
+        .setBody(message));
+
+    CompletableFuture<?> response = exonumClient.getBlockByHeight(100);
+
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> response.get(10, SECONDS));
+    assertThat(e.getCause(), instanceOf(IllegalArgumentException.class));
+    assertThat(e.getCause().getMessage(), containsString(message));
+  }
+
+  @Test
+  void getBlockWrongHeight() {
+    assertThrows(IllegalArgumentException.class, () -> exonumClient.getBlockByHeight(-1L));
+  }
+
+  @Test
+  void getBlocksMultiplePages() throws Exception {
+    long fromHeight = 100;
+    long toHeight = 1200;
+    Block firstPageBlock = aBlock()
+        .height(1100)
+        .build();
+    long startP1 = toHeight - MAX_BLOCKS_PER_REQUEST + 1;
+    enqueueGetBlocksResponse(startP1, toHeight + 1, firstPageBlock);
+    Block secondPageBlock = aBlock()
+        .height(102)
+        .build();
+    enqueueGetBlocksResponse(fromHeight, startP1, secondPageBlock);
+
+    List<Block> blocks = exonumClient.getBlocks(fromHeight, toHeight, SKIP_EMPTY, NO_COMMIT_TIME)
+        .get(10, SECONDS);
+
+    assertThat(blocks, equalTo(ImmutableList.of(secondPageBlock, firstPageBlock)));
+    RecordedRequest firstRequest = server.takeRequest();
+    assertThat(firstRequest, hasQueryParam("latest", toHeight));
+    RecordedRequest secondRequest = server.takeRequest();
+    assertThat(secondRequest, hasQueryParam("latest", startP1 - 1));
+  }
+
+  @Test
+  void completesExceptionallyIfNodeIsUnavailable() throws IOException {
+    server.shutdown();
+
+    CompletableFuture<?> response = exonumClient.healthCheck();
+
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> response.get(10, SECONDS));
+    assertThat(e.getCause(), instanceOf(IOException.class));
+  }
+
+  private void enqueueGetBlocksResponse(long start, long end, Block block) {
+    String blocksResponse = JSON.toJson(ImmutableList.of(block));
+    server.enqueue(new MockResponse()
+        .setHeader(CONTENT_TYPE, "application/json")
+        .setBody("{\n"
+            + "    'range': {\n"
+            + "        'start': " + start + ",\n"
+            + "        'end': " + end + "\n"
+            + "    },\n"
+            + "    'blocks': " + blocksResponse + "\n"
+            + "}\n"));
+  }
+}